@@ -0,0 +1,130 @@
+package PetGame.Benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * <b>Compares a benchmark run with the published baseline and fails if anything got slower.</b>
+ * <p>
+ * Both files are JMH results written with {@code -rf json}. Each benchmark and parameter combination in the run is
+ * matched with the same one in the baseline. A result counts as a regression when it is worse than the baseline by
+ * more than the tolerance, which is {@value #DEFAULT_TOLERANCE_PERCENT}% unless a third argument is given. Results
+ * missing from either file are listed but do not fail the check.
+ * </p>
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar PetGame.Benchmarks.BaselineCheck baseline.json results.json [tolerance %]}
+ * </p>
+ */
+public class BaselineCheck {
+    /** Allowed slowdown before a result counts as a regression, in percent */
+    public static final double DEFAULT_TOLERANCE_PERCENT = 25;
+
+    /**
+     * One benchmark result.
+     */
+    static final class Result {
+        final double score;
+        final String unit;
+        /** True for throughput modes, where a higher score is better */
+        final boolean higherIsBetter;
+
+        Result(double score, String unit, boolean higherIsBetter) {
+            this.score = score;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+
+    /**
+     * Reads the results in a JMH JSON file.
+     *
+     * @param file the file
+     * @return the results keyed by benchmark name and parameters
+     * @throws IOException if the file cannot be read
+     */
+    static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : runs) {
+                JsonObject run = element.getAsJsonObject();
+                StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+                if (run.has("params")) {
+                    Map<String, String> params = new TreeMap<>();
+                    for (Map.Entry<String, JsonElement> param : run.getAsJsonObject("params").entrySet()) {
+                        params.put(param.getKey(), param.getValue().getAsString());
+                    }
+                    key.append(' ').append(params);
+                }
+                JsonObject metric = run.getAsJsonObject("primaryMetric");
+                results.put(key.toString(), new Result(metric.get("score").getAsDouble(), metric.get("scoreUnit").getAsString(),
+                        "thrpt".equals(run.get("mode").getAsString())));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Works out how much worse a result is than its baseline.
+     *
+     * @param baseline the baseline result
+     * @param current the new result
+     * @return the slowdown in percent, negative if the new result is faster
+     */
+    static double slowdownPercent(Result baseline, Result current) {
+        if (baseline.higherIsBetter) {
+            return (baseline.score / current.score - 1) * 100;
+        }
+        return (current.score / baseline.score - 1) * 100;
+    }
+
+    /**
+     * Prints each result next to its baseline and exits with status 1 if any has regressed.
+     *
+     * @param args the baseline file, the results file and optionally the tolerance in percent
+     * @throws IOException if a file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: BaselineCheck <baseline.json> <results.json> [tolerance %]");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT;
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result now = entry.getValue();
+            if (before == null) {
+                System.out.printf("NEW   %s: %.3f %s%n", entry.getKey(), now.score, now.unit);
+                continue;
+            }
+            double slowdown = slowdownPercent(before, now);
+            boolean regressed = slowdown > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%s %s: %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "SLOW " : "OK   ", entry.getKey(),
+                    before.score, now.score, now.unit, slowdown);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.println("NOT RUN " + key);
+            }
+        }
+        System.out.println(regressions == 0 ? "No regressions." : regressions + " regression(s) beyond " + tolerance + "%.");
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+}
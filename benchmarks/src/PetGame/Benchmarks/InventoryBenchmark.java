@@ -0,0 +1,78 @@
+package PetGame.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import PetGame.Inventory;
+import PetGame.PurchasableItem;
+
+/**
+ * <b>Benchmarks looking up and removing items in large inventories.</b>
+ * <p>
+ * The inventory holds {@code kinds} different items with {@value #COPIES} copies of each. Every lookup asks for a
+ * different item in turn, and every removal puts the item back so the inventory keeps its size.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InventoryBenchmark {
+    /** Copies held of each item */
+    private static final int COPIES = 5;
+
+    /** Number of different items in the inventory */
+    @Param({"10", "1000", "100000"})
+    public int kinds;
+
+    private Inventory inventory;
+    private PurchasableItem[] items;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inventory = new Inventory();
+        items = new PurchasableItem[kinds];
+        for (int i = 0; i < kinds; i++) {
+            items[i] = new PurchasableItem("Item " + i, 10);
+            inventory.addItems(items[i], COPIES);
+        }
+    }
+
+    /**
+     * Picks the next item to use, going round all of them.
+     *
+     * @return the item
+     */
+    private PurchasableItem nextItem() {
+        next = next + 1 == kinds ? 0 : next + 1;
+        return items[next];
+    }
+
+    @Benchmark
+    public int getItemQuantity() {
+        return inventory.getItemQuantity(nextItem().getName());
+    }
+
+    @Benchmark
+    public boolean removeItem() {
+        PurchasableItem item = nextItem();
+        boolean removed = inventory.removeItem(item.getName());
+        inventory.addItem(item);
+        return removed;
+    }
+}
@@ -0,0 +1,118 @@
+package PetGame.Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import PetGame.Inventory;
+import PetGame.PetStatistics;
+import PetGame.PetType;
+import PetGame.Player;
+import PetGame.PurchasableItem;
+import PetGame.SaveFormat;
+import PetGame.SaveGame;
+
+/**
+ * <b>Benchmarks writing a save and reading it back the way the load screen does.</b>
+ * <p>
+ * The saved player holds {@code kinds} different items. {@link #saveToFile()} writes the JSON file with
+ * {@link SaveGame#saveToFile(String)}. {@link #load(SavedFile)} follows {@code LoadGame}: it reads the file with
+ * {@link SaveGame#load(String)}, in the {@code format} given, and rebuilds the inventory from it.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveLoadBenchmark {
+
+    /** Number of different items in the saved inventory */
+    @Param({"10", "1000"})
+    public int kinds;
+
+    /**
+     * A save file to read, in each format, kept apart so {@link #saveToFile()} is not run once per format.
+     */
+    @State(Scope.Thread)
+    public static class SavedFile {
+        /** File extension of the save, picking its {@link SaveFormat} */
+        @Param({".json", ".sav"})
+        public String format;
+
+        private String file;
+
+        @Setup(Level.Trial)
+        public void setUp(SaveLoadBenchmark benchmark) throws IOException {
+            file = benchmark.folder.resolve("read" + format).toString();
+            Files.write(Path.of(file), SaveFormat.forFile(file).encode(benchmark.save));
+        }
+    }
+
+    private Path folder;
+    private SaveGame save;
+    private String writeFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("petgame-bench");
+        PetType type = PetType.ENERGETIC;
+        PetStatistics statistics = new PetStatistics(type.maxHealth, type.maxSleep, type.maxFullness, type.maxHappiness,
+                type.sleepDecayRate, type.fullnessDecayRate, type.happinessDecayRate, null, null, null);
+        statistics.stopStatDecay();
+        Player player = new Player(500);
+        for (int i = 0; i < kinds; i++) {
+            player.getInventory().addItems(new PurchasableItem("Item " + i, 10), 3);
+        }
+        player.getScore().increaseScore(250);
+
+        save = new SaveGame();
+        save.petType = type.number;
+        save.petName = "Bench";
+        save.petStats = save.getPetStats(statistics);
+        save.player = save.getPlayerStats(player);
+        save.gameStats = new HashMap<>();
+
+        writeFile = folder.resolve("write.json").toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(folder)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(folder);
+    }
+
+    @Benchmark
+    public void saveToFile() {
+        save.saveToFile(writeFile);
+    }
+
+    @Benchmark
+    public Inventory load(SavedFile saved) throws IOException {
+        SaveGame loaded = SaveGame.load(saved.file);
+        Inventory inventory = new Inventory();
+        inventory.loadSaved(loaded.player.get("inventory"));
+        return inventory;
+    }
+}
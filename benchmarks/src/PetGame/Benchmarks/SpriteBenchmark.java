@@ -0,0 +1,70 @@
+package PetGame.Benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+
+import PetGame.SpriteCache;
+
+/**
+ * <b>Benchmarks creating a sprite {@link Image} from the game's resources, and finding one in the cache.</b>
+ * <p>
+ * Decoding an image needs the JavaFX toolkit, which is started once per fork, so these benchmarks need a display
+ * (or a virtual one such as Xvfb) and are not part of the published baseline when run without one.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpriteBenchmark {
+
+    /** Resource path of the sprite to load */
+    @Param({"/images/blueSprite/BNormal.png", "/images/GreenSprite/GNormal.png"})
+    public String sprite;
+
+    private String url;
+    private SpriteCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        }
+        catch (IllegalStateException e) { /** already started by an earlier trial in this fork */
+            started.countDown();
+        }
+        started.await();
+        url = SpriteCache.class.getResource(sprite).toExternalForm();
+        cache = new SpriteCache();
+        cache.get(sprite);
+    }
+
+    @Benchmark
+    public Image createImage() {
+        return new Image(url);
+    }
+
+    @Benchmark
+    public Image cachedImage() {
+        return cache.get(sprite);
+    }
+}
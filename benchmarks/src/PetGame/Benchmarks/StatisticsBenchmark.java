@@ -0,0 +1,125 @@
+package PetGame.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import PetGame.PetStatStore;
+import PetGame.PetStatistics;
+import PetGame.PetType;
+
+/**
+ * <b>Benchmarks changing a pet's stats and running the warning checks that follow.</b>
+ * <p>
+ * {@link PetStatistics#updateStatistics(int, int, int, int)} is called for every action and item, and runs the
+ * private {@code checkWarnings} step each time. {@link #updateStatistics(Blackhole)} moves the stats without
+ * changing the pet's state, {@link #updateCrossingWarnings(Blackhole)} drives a stat to 0 and back so the state
+ * machine and the low stat warnings run as well. {@link #storeTick(Store)} runs one simulation step for
+ * {@code pets} pets held in a {@link PetStatStore}.
+ * </p>
+ * <p>
+ * Left alone, every pet in the store is dead after about 250 steps, and a dead pet is skipped by the step, so one
+ * iteration would mostly time that skip. The store is therefore reset to full stats every
+ * {@value Store#TICKS_PER_LIFE} steps, before the first pet dies, so the steps measured decay living pets that get
+ * sleepy, angry and hungry as they would in the game. The reset adds about {@code 1 / TICKS_PER_LIFE} of a step's
+ * cost to each step.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsBenchmark {
+
+    /**
+     * A store full of pets, kept apart from the single pet so only {@link #storeTick(Store)} runs for each size.
+     */
+    @State(Scope.Thread)
+    public static class Store {
+        /** Steps after which every pet is reset, fewer than it takes the first pet to die from full stats */
+        static final int TICKS_PER_LIFE = 160;
+
+        /** Number of pets stepped on each call */
+        @Param({"1000", "100000"})
+        public int pets;
+
+        private PetStatStore store;
+        private long tick;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            store = new PetStatStore(pets);
+            for (int i = 0; i < pets; i++) {
+                PetType.values()[i % PetType.values().length].addTo(store);
+            }
+        }
+
+        /**
+         * Gives every pet full stats and puts it back in its normal state. Stat changes cannot bring a dead pet
+         * back, so the stats are set directly.
+         */
+        void refill() {
+            for (int i = 0; i < pets; i++) {
+                PetType type = PetType.values()[i % PetType.values().length];
+                store.set(i, type.maxHealth, type.maxSleep, type.maxFullness, type.maxHappiness, PetStatStore.STATE_NORMAL);
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void checkAlive() {
+            for (int i = 0; i < pets; i++) {
+                if (store.getState(i) == PetStatStore.STATE_DEAD) {
+                    throw new IllegalStateException("Pet " + i + " died, so the iteration timed skipped pets.");
+                }
+            }
+        }
+    }
+
+    private PetStatistics statistics;
+    private int sign = 1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PetType type = PetType.BALANCED;
+        statistics = new PetStatistics(type.maxHealth, type.maxSleep, type.maxFullness, type.maxHappiness,
+                type.sleepDecayRate, type.fullnessDecayRate, type.happinessDecayRate, null, null, null);
+        statistics.stopStatDecay(); /** only the benchmark changes the stats */
+    }
+
+    @Benchmark
+    public void updateStatistics(Blackhole blackhole) {
+        sign = -sign;
+        statistics.updateStatistics(sign, sign, sign, sign);
+        blackhole.consume(statistics.getHappiness());
+    }
+
+    @Benchmark
+    public void updateCrossingWarnings(Blackhole blackhole) {
+        statistics.updateStatistics(0, 0, -1000, 0); /** hungry, with a low fullness warning */
+        statistics.updateStatistics(0, 0, 1000, 0); /** fed again */
+        blackhole.consume(statistics.getState());
+    }
+
+    @Benchmark
+    public void storeTick(Store pets) {
+        if (++pets.tick % Store.TICKS_PER_LIFE == 0) {
+            pets.refill();
+        }
+        pets.store.tick(pets.tick);
+    }
+}
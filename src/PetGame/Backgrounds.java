@@ -0,0 +1,140 @@
+package PetGame;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.scene.image.Image;
+
+/**
+ * <b>Shared cache of decoded background images.</b>
+ * <p>
+ * Screens such as the inventory and the item shop show the same background, and each used to decode it again when
+ * its controller was initialized. Backgrounds are decoded here once and shared by every controller. An image can
+ * also be loaded with a requested width and height, so a picture larger than the window is decoded straight to the
+ * size it is drawn at instead of being kept at full resolution. The number of decoded bytes is tracked so the
+ * memory used by backgrounds can be reported.
+ * </p>
+ *
+ * @see PetGame.ImageVariants
+ */
+public class Backgrounds {
+    /** Bytes per decoded pixel (32-bit ARGB) */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /** Time taken by each image decode, shared with the sprite cache */
+    private static final LatencyHistogram DECODE_TIMES = Metrics.getInstance().histogram("image.decode");
+    /** The shared cache used by the game */
+    private static Backgrounds instance;
+
+    /** Decoded images, keyed by resource path and requested size */
+    private final Map<String, Image> images = new ConcurrentHashMap<>();
+    /** Loads an image from a resource path and requested size (0 for full size) */
+    private final Loader loader;
+    /** Total size of every decoded image, in bytes */
+    private final AtomicLong decodedBytes = new AtomicLong();
+
+    /**
+     * Loads an image at a requested size.
+     */
+    public interface Loader {
+        /**
+         * Loads an image.
+         *
+         * @param path the resource path of the image
+         * @param width the width to decode to, or 0 for the image's own width
+         * @param height the height to decode to, or 0 for the image's own height
+         * @return the decoded image
+         */
+        Image load(String path, double width, double height);
+    }
+
+    /**
+     * Gets the shared cache used by the game, creating it on first use.
+     *
+     * @return the shared cache
+     */
+    public static synchronized Backgrounds getInstance() {
+        if (instance == null) {
+            instance = new Backgrounds();
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs a cache that loads images from the game's resources.
+     */
+    public Backgrounds() {
+        this((path, width, height) -> new Image(Backgrounds.class.getResource(path).toExternalForm(),
+                width, height, false, true));
+    }
+
+    /**
+     * Constructs a cache with a custom loader, e.g. for tests that cannot load resources.
+     *
+     * @param loader loads an image at a requested size
+     */
+    public Backgrounds(Loader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Gets a background at its own size, decoding it if no screen has used it yet.
+     *
+     * @param path the resource path of the image
+     * @return the shared decoded image
+     */
+    public Image get(String path) {
+        return get(path, 0, 0);
+    }
+
+    /**
+     * Gets a background decoded to the given size, decoding it if no screen has used it at that size yet.
+     *
+     * @param path the resource path of the image
+     * @param width the width it is drawn at
+     * @param height the height it is drawn at
+     * @return the shared decoded image
+     */
+    public Image get(String path, double width, double height) {
+        String key = width > 0 || height > 0 ? path + "@" + (int) width + "x" + (int) height : path;
+        return images.computeIfAbsent(key, unused -> decode(path, width, height));
+    }
+
+    /**
+     * Gets the total size of the decoded backgrounds, which is roughly the heap they take up.
+     *
+     * @return the decoded size in bytes
+     */
+    public long getDecodedBytes() {
+        return decodedBytes.get();
+    }
+
+    /**
+     * Gets the number of backgrounds currently decoded.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        return images.size();
+    }
+
+    /**
+     * Decodes one image and adds its size to the total.
+     *
+     * @param path the resource path of the image
+     * @param width the requested width, or 0
+     * @param height the requested height, or 0
+     * @return the decoded image
+     */
+    private Image decode(String path, double width, double height) {
+        long start = System.nanoTime();
+        FlightEvents.ImageDecode event = new FlightEvents.ImageDecode();
+        event.begin();
+        Image image = loader.load(path, width, height);
+        DECODE_TIMES.recordSince(start);
+        SpriteCache.recordDecode(event, path, image);
+        decodedBytes.addAndGet((long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL);
+        return image;
+    }
+}
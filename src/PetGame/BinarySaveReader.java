@@ -0,0 +1,108 @@
+package PetGame;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>Reads a {@link SaveGame} from the compact binary save format.</b>
+ * <p>
+ * See {@link BinarySaveWriter} for the layout. Files with a different magic number or a newer version than this
+ * class knows about are rejected with an {@link IOException} rather than being read wrongly.
+ * </p>
+ *
+ * @see PetGame.BinarySaveWriter
+ */
+public class BinarySaveReader {
+
+    /**
+     * Decodes a save.
+     *
+     * @param input the encoded save
+     * @return the decoded save
+     * @throws IOException if the data is not a binary save this version can read
+     */
+    public SaveGame read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        int magic = in.readInt();
+        if (magic != BinarySaveWriter.MAGIC) {
+            throw new IOException("Not a binary save file");
+        }
+        short version = in.readShort();
+        if (version < 1 || version > BinarySaveWriter.VERSION) {
+            throw new IOException("Unsupported save version " + version);
+        }
+        in.readShort(); /** flags, none are defined in version 1 */
+
+        SaveGame save = new SaveGame();
+        save.petType = in.readByte();
+        save.petName = in.readBoolean() ? in.readUTF() : null;
+        save.petStats = readMap(in);
+        save.player = readMap(in);
+        save.gameStats = readMap(in);
+        return save;
+    }
+
+    /**
+     * Reads a map of named values.
+     *
+     * @param in the stream to read from
+     * @return the map, or null if it was written as missing
+     * @throws IOException if a value has an unknown tag
+     */
+    private Map<String, Object> readMap(DataInputStream in) throws IOException {
+        int count = in.readShort();
+        if (count < 0) {
+            return null;
+        }
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            map.put(key, readValue(in));
+        }
+        return map;
+    }
+
+    /**
+     * Reads one tagged value.
+     *
+     * @param in the stream to read from
+     * @return the value
+     * @throws IOException if the tag is unknown
+     */
+    private Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case BinarySaveWriter.TAG_INT:
+                return in.readInt();
+            case BinarySaveWriter.TAG_DOUBLE:
+                return in.readDouble();
+            case BinarySaveWriter.TAG_STRING:
+                return in.readUTF();
+            case BinarySaveWriter.TAG_BOOLEAN:
+                return in.readBoolean();
+            case BinarySaveWriter.TAG_NULL:
+                return null;
+            case BinarySaveWriter.TAG_ITEMS: /** version 1 inventories, one entry per copy */
+                int size = in.readInt();
+                List<PurchasableItem> items = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    items.add(new PurchasableItem(in.readUTF(), in.readDouble()));
+                }
+                return items;
+            case BinarySaveWriter.TAG_ITEM_COUNTS:
+                int entries = in.readInt();
+                List<Inventory.ItemCount> counts = new ArrayList<>(entries);
+                for (int i = 0; i < entries; i++) {
+                    counts.add(new Inventory.ItemCount(in.readUTF(), in.readDouble(), in.readInt()));
+                }
+                return counts;
+            default:
+                throw new IOException("Unknown value tag " + (char) tag);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package PetGame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>Writes a {@link SaveGame} in the compact binary save format.</b>
+ * <p>
+ * Layout (all numbers big-endian):
+ * </p>
+ * <pre>
+ * header   int magic ("PETS"), short version, short flags (0)
+ * pet      byte petType, bool hasName, [UTF petName]
+ * sections petStats, player, gameStats, each a typed map:
+ *          short count (-1 for a missing map), then per entry UTF key, byte tag, value
+ * </pre>
+ * <p>
+ * Value tags are {@code I} int, {@code D} double, {@code S} UTF string, {@code Z} boolean, {@code N} null and
+ * {@code C} inventory, which is an int entry count followed by each item's UTF name, double price and int count.
+ * Version 1 files wrote the inventory as {@code L}, one UTF name and double price per copy, which is still read.
+ * Whole numbers are written as ints even if they were read back from JSON as doubles, which keeps converted saves
+ * small.
+ * </p>
+ *
+ * @see PetGame.BinarySaveReader
+ */
+public class BinarySaveWriter {
+    /** First four bytes of every binary save, "PETS" in ASCII. */
+    public static final int MAGIC = 0x50455453;
+    /** Version of the layout written by this class. */
+    public static final short VERSION = 2;
+
+    static final byte TAG_INT = 'I';
+    static final byte TAG_DOUBLE = 'D';
+    static final byte TAG_STRING = 'S';
+    static final byte TAG_BOOLEAN = 'Z';
+    static final byte TAG_NULL = 'N';
+    static final byte TAG_ITEMS = 'L';
+    static final byte TAG_ITEM_COUNTS = 'C';
+
+    /**
+     * Encodes a save.
+     *
+     * @param save the save to encode
+     * @return the encoded bytes
+     * @throws IOException if a value cannot be written in this format
+     */
+    public byte[] write(SaveGame save) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeShort(0);
+
+        out.writeByte(save.petType);
+        out.writeBoolean(save.petName != null);
+        if (save.petName != null) {
+            out.writeUTF(save.petName);
+        }
+        writeMap(out, save.petStats);
+        writeMap(out, save.player);
+        writeMap(out, save.gameStats);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes a map of named values, or a count of -1 if it is missing.
+     *
+     * @param out the stream to write to
+     * @param map the map to write
+     * @throws IOException if a value cannot be written
+     */
+    private void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        if (map == null) {
+            out.writeShort(-1);
+            return;
+        }
+        out.writeShort(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    /**
+     * Writes one tagged value.
+     *
+     * @param out the stream to write to
+     * @param value the value to write
+     * @throws IOException if the value's type is not supported
+     */
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        }
+        else if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            if (number == Math.rint(number) && number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                out.writeByte(TAG_INT);
+                out.writeInt((int) number);
+            }
+            else {
+                out.writeByte(TAG_DOUBLE);
+                out.writeDouble(number);
+            }
+        }
+        else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            out.writeUTF((String) value);
+        }
+        else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        }
+        else if (value instanceof List) {
+            List<?> items = (List<?>) value;
+            out.writeByte(TAG_ITEM_COUNTS);
+            out.writeInt(items.size());
+            for (Object item : items) {
+                writeItem(out, item);
+            }
+        }
+        else {
+            throw new IOException("Cannot write a " + value.getClass().getSimpleName() + " to a binary save");
+        }
+    }
+
+    /**
+     * Writes one inventory entry as its name, price and count. Entries read back from a JSON save are maps rather
+     * than objects, and saves from older versions list single {@link PurchasableItem}s, so all of these are accepted.
+     *
+     * @param out the stream to write to
+     * @param item the entry to write
+     * @throws IOException if the entry is not an inventory entry
+     */
+    private void writeItem(DataOutputStream out, Object item) throws IOException {
+        if (item instanceof Inventory.ItemCount) {
+            Inventory.ItemCount count = (Inventory.ItemCount) item;
+            out.writeUTF(count.itemName);
+            out.writeDouble(count.coinsRequired);
+            out.writeInt(count.count);
+        }
+        else if (item instanceof PurchasableItem) {
+            PurchasableItem purchasable = (PurchasableItem) item;
+            out.writeUTF(purchasable.getName());
+            out.writeDouble(purchasable.getPrice());
+            out.writeInt(1);
+        }
+        else if (item instanceof Map) {
+            Map<?, ?> fields = (Map<?, ?>) item;
+            Object name = fields.get("itemName");
+            Object price = fields.get("coinsRequired");
+            Object count = fields.get("count");
+            out.writeUTF(name == null ? "" : name.toString());
+            out.writeDouble(price instanceof Number ? ((Number) price).doubleValue() : 0);
+            out.writeInt(count instanceof Number ? ((Number) count).intValue() : 1);
+        }
+        else {
+            throw new IOException("Cannot write a " + item.getClass().getSimpleName() + " as an inventory item");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package PetGame;
+
+/**
+ * <b>An item defined in the {@link ItemCatalog}.</b>
+ * <p>
+ * Each catalog item is created once when the catalog is loaded and then shared by the shop, the inventory and the
+ * saves, so buying or using an item does not create a new object. Besides its name and price it carries the change
+ * it makes to each of the pet's stats when used, the command cooldown it starts and the score it awards.
+ * </p>
+ *
+ * @see PetGame.ItemCatalog
+ */
+public class CatalogItem extends PurchasableItem {
+    /** Cooldown category of items that do not start a cooldown */
+    public static final String NO_COOLDOWN = "none";
+
+    private final String id;
+    private final int health;
+    private final int sleep;
+    private final int fullness;
+    private final int happiness;
+    private final String cooldown;
+    private final int score;
+
+    /**
+     * Constructs a catalog item.
+     *
+     * @param id the item's unique id, e.g. {@code energy_drink}
+     * @param name the name shown to the player
+     * @param price the number of coins needed to buy the item
+     * @param effect the change to health, sleep, fullness and happiness, in that order
+     * @param cooldown the {@link PetCommands} cooldown the item starts, or {@value #NO_COOLDOWN}
+     * @param score the score awarded for using the item
+     */
+    public CatalogItem(String id, String name, double price, int[] effect, String cooldown, int score) {
+        super(name, price);
+        this.id = id;
+        this.health = effect[0];
+        this.sleep = effect[1];
+        this.fullness = effect[2];
+        this.happiness = effect[3];
+        this.cooldown = cooldown == null ? NO_COOLDOWN : cooldown;
+        this.score = score;
+    }
+
+    /**
+     * Gets the item's unique id.
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the change to the pet's health when the item is used.
+     *
+     * @return the health change
+     */
+    public int getHealthEffect() {
+        return health;
+    }
+
+    /**
+     * Gets the change to the pet's sleep when the item is used.
+     *
+     * @return the sleep change
+     */
+    public int getSleepEffect() {
+        return sleep;
+    }
+
+    /**
+     * Gets the change to the pet's fullness when the item is used.
+     *
+     * @return the fullness change
+     */
+    public int getFullnessEffect() {
+        return fullness;
+    }
+
+    /**
+     * Gets the change to the pet's happiness when the item is used.
+     *
+     * @return the happiness change
+     */
+    public int getHappinessEffect() {
+        return happiness;
+    }
+
+    /**
+     * Gets the command cooldown the item starts when used.
+     *
+     * @return the cooldown category, e.g. {@code feed} or {@code gift}, or {@value #NO_COOLDOWN}
+     */
+    public String getCooldown() {
+        return cooldown;
+    }
+
+    /**
+     * Gets the score awarded for using the item.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Applies the item's effect to the pet's statistics.
+     *
+     * @param statistics the statistics of the pet the item is used on
+     */
+    public void applyTo(PetStats statistics) {
+        statistics.updateStatistics(health, sleep, fullness, happiness);
+    }
+
+    /**
+     * Gets the name of the stat the item changes the most, for messages to the player.
+     *
+     * @return "Health", "Sleep", "Fullness" or "Happiness"
+     */
+    public String getMainStat() {
+        String stat = "Health";
+        int largest = Math.abs(health);
+        if (Math.abs(sleep) > largest) {
+            stat = "Sleep";
+            largest = Math.abs(sleep);
+        }
+        if (Math.abs(fullness) > largest) {
+            stat = "Fullness";
+            largest = Math.abs(fullness);
+        }
+        if (Math.abs(happiness) > largest) {
+            stat = "Happiness";
+        }
+        return stat;
+    }
+
+    /**
+     * Gets how much the item changes its {@link #getMainStat() main stat}.
+     *
+     * @return the change to the main stat
+     */
+    public int getMainEffect() {
+        switch (getMainStat()) {
+            case "Sleep":
+                return sleep;
+            case "Fullness":
+                return fullness;
+            case "Happiness":
+                return happiness;
+            default:
+                return health;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package PetGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * <b>The player's coin balance and every change made to it.</b>
+ * <p>
+ * Balances are kept in whole minor units ({@value #MINOR_UNITS} per coin) instead of a {@code double}, so adding
+ * and spending coins is exact. The balance and the number of changes made so far form an immutable
+ * {@link Snapshot} held in an {@link AtomicReference}. Every credit and debit is a compare-and-set on that snapshot,
+ * so a purchase and a reward made at the same time from different threads can neither lose an update nor spend the
+ * same coins twice, and reading the balance never blocks.
+ * </p>
+ * <p>
+ * Each successful change is appended to the ledger as an {@link Entry} that is never changed afterwards. Only the
+ * last {@value #KEPT_ENTRIES} entries are kept in memory, in a ring indexed by sequence number; the full history is
+ * in the {@link GameJournal}, which is told about every entry. The last entries are written to save files with
+ * {@link #encodeTail(int)} and read back with {@link #restore(long, String)}.
+ * </p>
+ *
+ * @see PetGame.Player
+ */
+public class CoinLedger {
+    /** Minor units per coin, so half coins can be stored exactly */
+    public static final int MINOR_UNITS = 100;
+    /** Number of entries written to a save file by default */
+    public static final int SAVED_TAIL = 32;
+    /** Number of the most recent entries kept in memory */
+    public static final int KEPT_ENTRIES = 4 * SAVED_TAIL;
+
+    /** The current balance and change count */
+    private final AtomicReference<Snapshot> state;
+    /** The most recent changes, each at its sequence number modulo the length. Entries may arrive slightly out of sequence order. */
+    private final AtomicReferenceArray<Entry> recent = new AtomicReferenceArray<>(KEPT_ENTRIES);
+    /** Told about every new entry, e.g. by a {@link GameJournal} */
+    private volatile Consumer<Entry> onAppend;
+
+    /**
+     * The balance after a given number of changes. Immutable, so it can be shared between threads.
+     */
+    public static final class Snapshot {
+        /** The balance in minor units */
+        public final long balance;
+        /** The number of changes made to reach this balance */
+        public final long sequence;
+
+        Snapshot(long balance, long sequence) {
+            this.balance = balance;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * One change to the balance. Immutable.
+     */
+    public static final class Entry {
+        /** Position of the change, starting at 1 */
+        public final long sequence;
+        /** Amount added in minor units, negative for a debit */
+        public final long amount;
+        /** Balance after the change in minor units */
+        public final long balance;
+        /** Time of the change in milliseconds since the epoch */
+        public final long time;
+        /** Why the balance changed, e.g. the item that was bought */
+        public final String reason;
+
+        Entry(long sequence, long amount, long balance, long time, String reason) {
+            this.sequence = sequence;
+            this.amount = amount;
+            this.balance = balance;
+            this.time = time;
+            this.reason = reason;
+        }
+    }
+
+    /**
+     * Constructs a ledger with an opening balance. The opening balance is not recorded as a change.
+     *
+     * @param openingBalance the starting balance in minor units
+     */
+    public CoinLedger(long openingBalance) {
+        state = new AtomicReference<>(new Snapshot(openingBalance, 0));
+    }
+
+    /**
+     * Converts coins to minor units, rounding to the nearest unit.
+     *
+     * @param coins the amount in coins
+     * @return the amount in minor units
+     */
+    public static long toMinor(double coins) {
+        return Math.round(coins * MINOR_UNITS);
+    }
+
+    /**
+     * Converts minor units to coins.
+     *
+     * @param minor the amount in minor units
+     * @return the amount in coins
+     */
+    public static double toCoins(long minor) {
+        return (double) minor / MINOR_UNITS;
+    }
+
+    /**
+     * Gets the balance.
+     *
+     * @return the balance in minor units
+     */
+    public long getBalance() {
+        return state.get().balance;
+    }
+
+    /**
+     * Gets the balance and the number of changes made so far, read together.
+     *
+     * @return the current snapshot
+     */
+    public Snapshot getSnapshot() {
+        return state.get();
+    }
+
+    /**
+     * Adds coins to the balance.
+     *
+     * @param amount the amount in minor units, must not be negative
+     * @param reason why the coins were added
+     * @return the balance after the credit
+     */
+    public long credit(long amount, String reason) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cannot credit a negative amount: " + amount);
+        }
+        return apply(amount, reason).balance;
+    }
+
+    /**
+     * Takes coins from the balance if there are enough.
+     *
+     * @param amount the amount in minor units, must not be negative
+     * @param reason why the coins were taken
+     * @return true if the coins were taken, false if the balance was too low and nothing changed
+     */
+    public boolean tryDebit(long amount, String reason) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Cannot debit a negative amount: " + amount);
+        }
+        while (true) {
+            Snapshot current = state.get();
+            if (current.balance < amount) {
+                return false;
+            }
+            Snapshot next = new Snapshot(current.balance - amount, current.sequence + 1);
+            if (state.compareAndSet(current, next)) {
+                append(next, -amount, reason);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Takes coins from the balance, failing if there are not enough.
+     *
+     * @param amount the amount in minor units, must not be negative
+     * @param reason why the coins were taken
+     * @return the balance after the debit
+     * @throws NotEnoughCoinsException if the balance is lower than the amount, in which case nothing changes
+     */
+    public long debit(long amount, String reason) throws NotEnoughCoinsException {
+        if (!tryDebit(amount, reason)) {
+            throw new NotEnoughCoinsException("Not enough coins: " + toCoins(amount) + " needed, " + toCoins(getBalance()) + " available.");
+        }
+        return getBalance();
+    }
+
+    /**
+     * Sets the balance to a new value, recording the difference as a change.
+     *
+     * @param balance the new balance in minor units
+     * @param reason why the balance was set
+     */
+    public void set(long balance, String reason) {
+        while (true) {
+            Snapshot current = state.get();
+            if (current.balance == balance) {
+                return;
+            }
+            Snapshot next = new Snapshot(balance, current.sequence + 1);
+            if (state.compareAndSet(current, next)) {
+                append(next, balance - current.balance, reason);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the most recent changes made since the ledger was created or restored, at most {@value #KEPT_ENTRIES},
+     * oldest first.
+     *
+     * @return a copy of the entries
+     */
+    public List<Entry> getEntries() {
+        List<Entry> copy = new ArrayList<>(KEPT_ENTRIES);
+        for (int i = 0; i < KEPT_ENTRIES; i++) {
+            Entry entry = recent.get(i);
+            if (entry != null) {
+                copy.add(entry);
+            }
+        }
+        copy.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Writes the last entries in a compact text form for save files, one line per entry with the sequence, amount,
+     * balance, time and reason separated by {@code |}.
+     *
+     * @param count the number of entries to keep, at most {@value #KEPT_ENTRIES} are available
+     * @return the encoded entries
+     */
+    public String encodeTail(int count) {
+        List<Entry> all = getEntries();
+        StringBuilder text = new StringBuilder();
+        for (Entry entry : all.subList(Math.max(0, all.size() - count), all.size())) {
+            text.append(entry.sequence).append('|').append(entry.amount).append('|').append(entry.balance).append('|')
+                .append(entry.time).append('|').append(entry.reason.replace('|', '/').replace('\n', ' ')).append('\n');
+        }
+        return text.toString();
+    }
+
+    /**
+     * Replaces the balance and entries with those read from a save file.
+     *
+     * @param balance the saved balance in minor units
+     * @param tail the entries written by {@link #encodeTail(int)}, or null if the save has none
+     */
+    public void restore(long balance, String tail) {
+        List<Entry> restored = new ArrayList<>();
+        if (tail != null) {
+            for (String line : tail.split("\n")) {
+                String[] fields = line.split("\\|", 5);
+                if (fields.length < 5) {
+                    continue;
+                }
+                try {
+                    restored.add(new Entry(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]), Long.parseLong(fields[3]), fields[4]));
+                }
+                catch (NumberFormatException e) { /** skip damaged lines, the balance is stored separately */
+                }
+            }
+        }
+        long sequence = restored.isEmpty() ? 0 : restored.get(restored.size() - 1).sequence;
+        for (int i = 0; i < KEPT_ENTRIES; i++) {
+            recent.set(i, null);
+        }
+        for (Entry entry : restored) {
+            keep(entry);
+        }
+        state.set(new Snapshot(balance, sequence));
+    }
+
+    /**
+     * Appends a change that was recorded elsewhere, keeping its time and resulting balance, e.g. when a
+     * {@link JournalReplayer} rebuilds a save. Not reported to the append action.
+     *
+     * @param amount the change in minor units
+     * @param balance the balance after the change in minor units
+     * @param time the time of the change
+     * @param reason why the balance changed
+     */
+    void replay(long amount, long balance, long time, String reason) {
+        Snapshot current = state.get();
+        Snapshot next = new Snapshot(balance, current.sequence + 1);
+        state.set(next);
+        keep(new Entry(next.sequence, amount, balance, time, reason == null ? "" : reason));
+    }
+
+    /**
+     * Moves the balance by an amount with compare-and-set, retrying if another thread changed it first.
+     *
+     * @param amount the change in minor units
+     * @param reason why the balance changed
+     * @return the snapshot after the change
+     */
+    private Snapshot apply(long amount, String reason) {
+        while (true) {
+            Snapshot current = state.get();
+            Snapshot next = new Snapshot(Math.addExact(current.balance, amount), current.sequence + 1);
+            if (state.compareAndSet(current, next)) {
+                append(next, amount, reason);
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Sets the action told about every change after it is made, replacing any earlier one. Restoring a saved ledger
+     * is not reported.
+     *
+     * @param onAppend the action to run, or null for none
+     */
+    public void setOnAppend(Consumer<Entry> onAppend) {
+        this.onAppend = onAppend;
+    }
+
+    /**
+     * Records a change that has been made.
+     *
+     * @param after the snapshot the change produced
+     * @param amount the change in minor units
+     * @param reason why the balance changed
+     */
+    private void append(Snapshot after, long amount, String reason) {
+        Entry entry = new Entry(after.sequence, amount, after.balance, System.currentTimeMillis(), reason == null ? "" : reason);
+        keep(entry);
+        Consumer<Entry> listener = onAppend;
+        if (listener != null) {
+            listener.accept(entry);
+        }
+    }
+
+    /**
+     * Puts an entry in its place in the ring of recent entries, unless a later entry is already there.
+     *
+     * @param entry the entry to keep
+     */
+    private void keep(Entry entry) {
+        recent.accumulateAndGet((int) ((entry.sequence - 1) % KEPT_ENTRIES), entry,
+                (old, added) -> old == null || old.sequence < added.sequence ? added : old);
+    }
+}
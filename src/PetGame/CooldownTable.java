@@ -0,0 +1,139 @@
+package PetGame;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * <b>Keeps the time each pet's actions come off cooldown.</b>
+ * <p>
+ * Rather than scheduling a timer for every cooldown and flipping a flag when it fires, the table stores the time
+ * each {@link PetAction} is next allowed, in nanoseconds, in one {@code long} array with a row per pet. Starting a
+ * cooldown is a single write and checking one is a single comparison with the current time, so nothing is scheduled
+ * or allocated per action and a table for a million pets is one array of a few dozen megabytes. Rows are indexed by
+ * the same slot numbers as the {@link PetStatStore} holding the pets; the game screen uses a table with one row.
+ * </p>
+ * <p>
+ * The table is not thread safe. It should only be used from the thread that changes the pets, i.e. the JavaFX thread
+ * in the game and the simulation thread in the {@link PetServer}.
+ * </p>
+ *
+ * @see PetGame.PetAction
+ */
+public class CooldownTable {
+    /** Number of actions, the length of each row */
+    private static final int ACTIONS = PetAction.values().length;
+
+    /** Gives the current time in nanoseconds */
+    private final LongSupplier clock;
+    /** The time each action is next allowed, at {@code slot * ACTIONS + action.ordinal()} */
+    private long[] readyAt;
+
+    /**
+     * Constructs a table with room for the given number of pets, reading the time from {@link System#nanoTime()}.
+     *
+     * @param capacity the number of pets to allocate room for, the table grows as needed
+     */
+    public CooldownTable(int capacity) {
+        this(capacity, System::nanoTime);
+    }
+
+    /**
+     * Constructs a table with room for the given number of pets and its own clock, e.g. so tests can end cooldowns
+     * without waiting.
+     *
+     * @param capacity the number of pets to allocate room for, the table grows as needed
+     * @param clock gives the current time in nanoseconds
+     */
+    public CooldownTable(int capacity, LongSupplier clock) {
+        this.clock = clock;
+        this.readyAt = new long[Math.max(1, capacity) * ACTIONS];
+        Arrays.fill(readyAt, clock.getAsLong());
+    }
+
+    /**
+     * Makes every action of a pet available straight away, e.g. when a new pet is put in a reused slot.
+     *
+     * @param slot the pet's slot
+     */
+    public void reset(int slot) {
+        ensureCapacity(slot);
+        long now = clock.getAsLong();
+        Arrays.fill(readyAt, slot * ACTIONS, (slot + 1) * ACTIONS, now);
+    }
+
+    /**
+     * Starts an action's cooldown for a pet. A cooldown that is already running is replaced.
+     *
+     * @param slot the pet's slot
+     * @param action the action taken
+     * @param millis the length of the cooldown
+     */
+    public void start(int slot, PetAction action, long millis) {
+        ensureCapacity(slot);
+        readyAt[slot * ACTIONS + action.ordinal()] = clock.getAsLong() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Ends an action's cooldown for a pet straight away.
+     *
+     * @param slot the pet's slot
+     * @param action the action
+     */
+    public void end(int slot, PetAction action) {
+        ensureCapacity(slot);
+        readyAt[slot * ACTIONS + action.ordinal()] = clock.getAsLong();
+    }
+
+    /**
+     * Checks whether a pet's action is off cooldown.
+     *
+     * @param slot the pet's slot
+     * @param action the action
+     * @return true if the action can be taken now
+     */
+    public boolean isReady(int slot, PetAction action) {
+        int index = slot * ACTIONS + action.ordinal();
+        return index >= readyAt.length || clock.getAsLong() - readyAt[index] >= 0;
+    }
+
+    /**
+     * Gets how long is left of a pet's cooldown.
+     *
+     * @param slot the pet's slot
+     * @param action the action
+     * @return the time left in milliseconds, rounded up, 0 if the action can be taken now
+     */
+    public long getRemainingMillis(int slot, PetAction action) {
+        int index = slot * ACTIONS + action.ordinal();
+        if (index >= readyAt.length) {
+            return 0;
+        }
+        long left = readyAt[index] - clock.getAsLong();
+        return left <= 0 ? 0 : (left + 999999) / 1000000;
+    }
+
+    /**
+     * Gets the number of pets the table has room for without growing.
+     *
+     * @return the number of rows
+     */
+    public int getCapacity() {
+        return readyAt.length / ACTIONS;
+    }
+
+    /**
+     * Grows the table so it has a row for a slot. New rows start with every action available.
+     *
+     * @param slot the slot that needs a row
+     */
+    private void ensureCapacity(int slot) {
+        int needed = (slot + 1) * ACTIONS;
+        if (needed <= readyAt.length) {
+            return;
+        }
+        int old = readyAt.length;
+        readyAt = Arrays.copyOf(readyAt, Math.max(needed, old * 2));
+        Arrays.fill(readyAt, old, readyAt.length, clock.getAsLong());
+    }
+}
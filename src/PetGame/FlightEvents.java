@@ -0,0 +1,189 @@
+package PetGame;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <b>The game's own JDK Flight Recorder events.</b>
+ * <p>
+ * Each nested class is one event type, shown under "Pet Game" in JDK Mission Control next to the JVM's own events,
+ * so a recording shows which ticks, commands, saves and screen loads the time and allocation went to. Start the game
+ * with {@code -XX:StartFlightRecording=filename=game.jfr} (or attach with {@code jcmd <pid> JFR.start}) to record
+ * them; no agent or extra library is needed.
+ * </p>
+ * <p>
+ * Events are emitted the usual JFR way: the event object is created and {@code begin()} called before the work,
+ * and the fields are only filled in if {@code shouldCommit()} says the event is being recorded:
+ * <pre>{@code
+ * FlightEvents.SaveWrite event = new FlightEvents.SaveWrite();
+ * event.begin();
+ * ...
+ * if (event.shouldCommit()) {
+ *     event.file = filename;
+ *     event.bytes = contents.length;
+ *     event.commit();
+ * }
+ * }</pre>
+ * When no recording is running this costs one check, and the JIT removes the unused event object.
+ * The frequent events (ticks, state changes and sprite decodes) leave out the stack trace to keep recordings small.
+ * </p>
+ *
+ * @see PetGame.Metrics
+ */
+public final class FlightEvents {
+
+    private FlightEvents() {
+    }
+
+    /**
+     * One simulation step, timing every pet's stat decay and the other per-step work.
+     */
+    @Name("PetGame.StatTick")
+    @Label("Stat Tick")
+    @Category({"Pet Game", "Simulation"})
+    @Description("One simulation step of every registered pet, screen and store")
+    @StackTrace(false)
+    public static final class StatTick extends Event {
+        @Label("Tick")
+        @Description("Number of the simulation step")
+        public long tick;
+
+        @Label("Tickables")
+        @Description("Number of objects advanced by the step")
+        public int tickables;
+    }
+
+    /**
+     * A pet moving from one {@link PetState} to another.
+     */
+    @Name("PetGame.StateChange")
+    @Label("Pet State Change")
+    @Category({"Pet Game", "Simulation"})
+    @Description("A pet moving between Normal, Hungry, Angry, Sleeping and Dead")
+    @StackTrace(false)
+    public static final class StateChange extends Event {
+        @Label("From")
+        public String from;
+
+        @Label("To")
+        public String to;
+
+        @Label("Slot")
+        @Description("Slot of the pet in its PetStatStore, or -1 for a pet with its own stats")
+        public int slot;
+    }
+
+    /**
+     * A command given to the pet from a button or key, timed from the press until the command is done.
+     */
+    @Name("PetGame.Command")
+    @Label("Pet Command")
+    @Category({"Pet Game", "Input"})
+    @Description("A command given to the pet, with whether it ran or was refused")
+    public static final class Command extends Event {
+        /** Outcome of a command that ran */
+        public static final String DONE = "done";
+        /** Outcome of a command whose action is still on cooldown */
+        public static final String COOLDOWN = "cooldown";
+        /** Outcome of a command the pet's state does not allow */
+        public static final String NOT_ALLOWED = "notAllowed";
+        /** Outcome of a key that is not a command */
+        public static final String INVALID = "invalid";
+
+        @Label("Key")
+        public String key;
+
+        @Label("Pet State")
+        @Description("State the pet was in when the command was given")
+        public String state;
+
+        @Label("Outcome")
+        @Description("done, cooldown, notAllowed or invalid")
+        public String outcome;
+    }
+
+    /**
+     * A save encoded and written to disk.
+     */
+    @Name("PetGame.SaveWrite")
+    @Label("Save Write")
+    @Category({"Pet Game", "Saves"})
+    @Description("A save encoded and written to disk")
+    public static final class SaveWrite extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+    }
+
+    /**
+     * A save read from disk along with its journal.
+     */
+    @Name("PetGame.SaveLoad")
+    @Label("Save Load")
+    @Category({"Pet Game", "Saves"})
+    @Description("A save read from disk and its journal replayed")
+    public static final class SaveLoad extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Bytes")
+        @Description("Size of the save file and its journal")
+        @DataAmount
+        public long bytes;
+    }
+
+    /**
+     * A screen loaded from its FXML file or taken from the {@link Navigator}'s cache.
+     */
+    @Name("PetGame.SceneLoad")
+    @Label("Scene Load")
+    @Category({"Pet Game", "UI"})
+    @Description("A screen loaded from FXML or taken from the cache")
+    public static final class SceneLoad extends Event {
+        @Label("FXML")
+        public String fxml;
+
+        @Label("Cached")
+        @Description("Whether the screen came from the cache instead of being loaded")
+        public boolean cached;
+    }
+
+    /**
+     * A window switching to another screen, including loading the screen if it is not cached.
+     */
+    @Name("PetGame.SceneSwitch")
+    @Label("Scene Switch")
+    @Category({"Pet Game", "UI"})
+    @Description("A window switching to another screen")
+    public static final class SceneSwitch extends Event {
+        @Label("FXML")
+        public String fxml;
+    }
+
+    /**
+     * An image decoded from the game's resources.
+     */
+    @Name("PetGame.ImageDecode")
+    @Label("Image Decode")
+    @Category({"Pet Game", "UI"})
+    @Description("A sprite or background image decoded from the game's resources")
+    @StackTrace(false)
+    public static final class ImageDecode extends Event {
+        @Label("Path")
+        public String path;
+
+        @Label("Width")
+        public int width;
+
+        @Label("Height")
+        public int height;
+    }
+}
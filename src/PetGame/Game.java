@@ -2,17 +2,19 @@ package PetGame;
 
 import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Node;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
@@ -22,7 +24,6 @@ import javafx.scene.control.ChoiceDialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextArea;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.stage.Stage;
@@ -43,7 +44,7 @@ import javafx.util.Duration;
  * @author Alessia Pilla
  * @author Julia Kasperek
  */
-public class Game implements Initializable{
+public class Game implements Initializable, Tickable {
     @FXML
     /** ImageView which is being used to display the pet sprite */
     public ImageView petImageView;
@@ -90,6 +91,9 @@ public class Game implements Initializable{
     @FXML
     /** button to save the game */
     private Button saveGameButton;
+    @FXML
+    /** overlay showing the game's metrics, toggled with F3 */
+    public Label metricsOverlay;
 
 
     /** The current game istance */
@@ -120,8 +124,15 @@ public class Game implements Initializable{
     public Inventory inventory;
     /** the itemshop instance, storing the items the user can buy */
     public ItemShop itemShop;
-    /** keeps track of the previous store to ensure when the user can recieve more coins */
-    private int lastScore = 0;
+    /** records every change to the game for the slot it was last saved to or loaded from, null before that */
+    private GameJournal journal;
+    private static final Log LOG = Log.getInstance();
+    /** Time between two frames drawn by JavaFX */
+    private static final LatencyHistogram FRAME_TIMES = Metrics.getInstance().histogram("frame.interval");
+    /** Time between refreshes of the metrics overlay while it is showing */
+    private static final long OVERLAY_REFRESH_NANOS = 500_000_000L;
+    /** runs once per frame, timing the frames and refreshing the metrics overlay */
+    private AnimationTimer frameTimer;
 
     /**
      * Constructor for the Game class.
@@ -134,15 +145,29 @@ public class Game implements Initializable{
         this.inventory = player.getInventory();
         this.itemShop = new ItemShop(new Stage(), inventory, player.getCoins(), player);
         flipping = new Timeline(new KeyFrame(Duration.seconds(5), event -> { /** Creates a new timeline for the flipping animation to occur every 5 seconds */
-            if (petImageView.getImage().getUrl().equals(getClass().getResource(regularImage).toExternalForm())) {
-                petImageView.setImage(new Image(getClass().getResource(flippedImage).toExternalForm()));
+            if (pet != null && regularImage.equals(pet.getPetSprite().getCurrentFrame())) {
+                showSprite(flippedImage);
             } else {
-                petImageView.setImage(new Image(getClass().getResource(regularImage).toExternalForm()));
+                showSprite(regularImage);
             }
         }));
         flipping.setCycleCount(Timeline.INDEFINITE); /** sets the timeline to run the whole time the program is running */
     }
 
+    /**
+     * Shows one of the pet's sprites, through the pet's {@link PetSprite} so frames come from its atlas once ready.
+     *
+     * @param path the resource path of the sprite to show
+     */
+    public void showSprite(String path) {
+        if (pet != null && pet.getPetSprite() != null) {
+            pet.getPetSprite().showFrame(path);
+        }
+        else {
+            petImageView.setImage(SpriteCache.getInstance().get(path));
+        }
+    }
+
     /**
      * Gets the singleton instance of the game class
      * 
@@ -162,7 +187,7 @@ public class Game implements Initializable{
      * @param petName the name of the pet the user choose
      */
     public void startGame(ActionEvent event, int petType, String petName) {
-    	if(Limitations.isBlockedTimeNow()) {
+    	if(PlaytimeLimits.isBlockedTimeNow()) {
             Alert alert = new Alert(Alert.AlertType.WARNING);
             alert.setTitle("Access Denied");
             alert.setHeaderText(null);
@@ -170,14 +195,10 @@ public class Game implements Initializable{
             alert.showAndWait();
         
             try { /** Returns the player to the main menu if the player tried going into a new game during the restricted time */
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/Main.fxml"));
-                Parent root = loader.load();
-                Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-                stage.setScene(new Scene(root));
-                stage.show();
+                Navigator.getInstance().show(event, "FXML_Files/Main.fxml");
             } 
             catch (IOException e) {
-                e.printStackTrace();
+                LOG.error("screen.loadFailed", "fxml", "FXML_Files/Main.fxml", "error", e);
             }
             return;
         }
@@ -186,65 +207,75 @@ public class Game implements Initializable{
         this.petName = petName;
         this.petType = petType;
         petNameLabel.setText(petName);
-        switch (petType) { /** selects the choosen pet type, initalizing different pet stats based on the pet */
+        switch (petType) { /** selects the choosen pet type, each type's stats come from {@link PetType} */
             case 1:
                 pet = new EnergeticPet(petImageView);
-                this.stats = new PetStatistics(90, 75, 80, 100, 6, 3, 4,
-                        this, flipping, pet); 
-                pet.setPetStats(stats);
                 break;
             case 2:
                 pet = new BalancedPet(petImageView);
-                this.stats = new PetStatistics(85, 85, 85, 85, 3, 3, 3, 
-                        this, flipping, pet);
-                pet.setPetStats(stats);
                 break;
             case 3: 
                 pet = new LazyPet(petImageView);
-                this.stats = new PetStatistics(50, 100, 70, 80, 2, 3, 5, 
-                    this, flipping, pet);
-                pet.setPetStats(stats);
                 break;
             default:
                 break;
         }
+        PetType type = PetType.fromNumber(petType);
+        if (type != null) {
+            this.stats = new PetStatistics(type.maxHealth, type.maxSleep, type.maxFullness, type.maxHappiness,
+                    type.sleepDecayRate, type.fullnessDecayRate, type.happinessDecayRate, this, flipping, pet);
+            pet.setPetStats(stats);
+        }
 
         regularImage = pet.getRegularImage();
         flippedImage = pet.getFlippedImage();
+        showSprite(regularImage);
+        PetSprite sprite = pet.getPetSprite();
+        SpriteAtlas.load(pet).thenAccept(atlas -> Platform.runLater(() -> sprite.setAtlas(atlas))); /** packs the pet's sprites in the background, frames switch to the atlas once it is ready */
         flipping.play(); /** plays the flipping animation */
+        startFrameTimer();
         this.petCommand = new PetCommands(this, player, flipping, pet);
         
-        /** timeline used to add to the amount of time the player has been playing */
-        Timeline playTimeTimer = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
-            Statistics.secondsPlayed++;
-        
-            if (Statistics.secondsPlayed % 60 == 0) {
-                Statistics.totalPlaytime++; 
-                System.out.println("Logged 1 minute of playtime. Total minutes: " + Statistics.totalPlaytime);
-            }
-        
-            
-            if(Statistics.secondsPlayed % 1800 == 0) {
-                System.out.println("Play session logged. Total sessions: " + Statistics.playSessions);
-            }
-        }));
-        playTimeTimer.setCycleCount(Timeline.INDEFINITE); /** ensures the timeline is runned during the whole time */
-        playTimeTimer.play();
-
-
         /** bind the progress bars displaying on screen to the pets current stats */
         healthBar.progressProperty().bind(stats.healthProperty().divide((double) stats.getMaxHealth()));
         sleepBar.progressProperty().bind(stats.sleepProperty().divide((double) stats.getMaxSleep()));
         fullnessBar.progressProperty().bind(stats.fullnessProperty().divide((double) stats.getMaxFullness()));
         happinessBar.progressProperty().bind(stats.happinessProperty().divide((double) stats.getMaxHappiness()));
         
-        /** used to updated the bar colors if they drop to a certain threshold */
-        Timeline colorUpdater = new Timeline(new KeyFrame(Duration.seconds(1), e -> updateBarColours(stats)));
-        colorUpdater.setCycleCount(Timeline.INDEFINITE);
-        colorUpdater.play();
+        /** the playtime counter and bar colours are advanced by the simulation engine along with the pet's stats */
+        SimulationEngine.getInstance().register(this);
 
         updateCoins();
-        Statistics.saveStatistics();
+        PlaytimeStats.save();
+    }
+
+    /**
+     * Advances the game screen by one simulation step.
+     * 
+     * Adds a second to the amount of time the player has been playing and updates the bar colours
+     * if a stat has dropped to a certain threshold.
+     * 
+     * @param tick the number of the current simulation step
+     */
+    @Override
+    public void tick(long tick) {
+        PlaytimeStats.secondsPlayed++;
+
+        if (PlaytimeStats.secondsPlayed % 60 == 0) {
+            PlaytimeStats.totalPlaytime++; 
+            LOG.info("playtime.minute", "totalMinutes", PlaytimeStats.totalPlaytime);
+        }
+
+        if(PlaytimeStats.secondsPlayed % 1800 == 0) {
+            LOG.info("playtime.session", "totalSessions", PlaytimeStats.playSessions);
+        }
+
+        if (stats != null) {
+            updateBarColours(stats);
+        }
+        if (petCommand != null) {
+            petCommand.announceReady();
+        }
     }
 
     /**
@@ -294,21 +325,25 @@ public class Game implements Initializable{
     /**
      * Checks if the player's coins needs to be increased.
      * 
-     * Players coin amount increases by 25 every 100 score, lastScore is used to check if over 100 points have been obtained.
+     * Players coin amount increases by 25 for every 100 score reached, paid by {@link Player#payScoreRewards()} so
+     * that no milestone is ever paid twice.
      * 
      */
     public void setCoins() {
-        int currentScore = player.getScore().getScore();
-        int scoreIncrease = currentScore - lastScore;
-        
-        if (scoreIncrease >= 100) {
-            int coinsToAdd = (scoreIncrease / 100) * 25;
-            player.addCoins(coinsToAdd);
-            lastScore += scoreIncrease;
+        if (player.payScoreRewards() > 0) {
             updateCoins();
         }
     }
 
+    /**
+     * Marks the coins for a score as already paid, used when a saved game is loaded with the coins it had earned.
+     * 
+     * @param score the score whose milestones have been paid
+     */
+    public void markScoreRewarded(int score) {
+        player.markScoreRewarded(score);
+    }
+
     /*
      * Updates the amount of coins displayed on the screen
      */
@@ -341,10 +376,10 @@ public class Game implements Initializable{
     public void goToInventory(ActionEvent event) throws IOException {
 
     	
-    	FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/Inventory.fxml"));
-        Scene scene = new Scene(loader.load());
+    	Navigator.Screen screen = Navigator.getInstance().load("FXML_Files/Inventory.fxml");
+        Scene scene = screen.getScene();
 
-        InventoryController controller = loader.getController(); /** Gets the controller from the InventoryController class. */
+        InventoryController controller = screen.getController(); /** Gets the controller from the InventoryController class. */
         controller.setPreScene(inventoryButton.getScene());
         controller.setPlayer(this.player); /** Sets the player and scene of game into the InventoryController so it can reference it back */
 
@@ -360,9 +395,9 @@ public class Game implements Initializable{
      * @throws IOException Exeception thrown if FXML file cant be loaded
      */
     public void goToItemShop(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/ItemShop.fxml"));
-        Scene scene = new Scene(loader.load());
-        ItemShopController controller = loader.getController();
+        Navigator.Screen screen = Navigator.getInstance().load("FXML_Files/ItemShop.fxml");
+        Scene scene = screen.getScene();
+        ItemShopController controller = screen.getController();
         controller.setPreScene(inventoryButton.getScene());
         controller.setPlayer(this.player, this.itemShop);
 
@@ -396,36 +431,24 @@ public class Game implements Initializable{
                 saveAlert.setTitle("Save Game");
                 saveAlert.setHeaderText("Do you want to save the game?");
 
-                SaveGame savegame = new SaveGame();
                 Game game = Game.getInstance();
 
                 if (game != null) { /** asks which file they would like to save to */
-                    List<String> saveOptions = List.of("save1.json", "save2.json", "save3.json", "save4.json", "save5.json");
-                    ChoiceDialog<String> choiceDialog = new ChoiceDialog<>("save1.json", saveOptions);
-                    choiceDialog.setTitle("Select Save File");
-                    choiceDialog.setHeaderText("Choose a save file to save your progress:");
-                    choiceDialog.setContentText("Save File:");
-
-                    choiceDialog.showAndWait().ifPresent(selectedFile -> {
-                        savegame.initializeSaveGame(game);
-                        savegame.saveToFile(selectedFile);
-                        System.out.println("Game saved to: " + selectedFile);
-                    });
+                    game.saveToChosenSlot();
                 }
             }
         }
-        Statistics.saveStatistics();
+        PlaytimeStats.save();
 
             /** Stops all animations and timelines and switches the main screen */
             if (flipping != null) flipping.stop();
+            if (frameTimer != null) frameTimer.stop();
             if (playtimeLimitTimer != null) playtimeLimitTimer.stop();
+            SimulationEngine.getInstance().unregister(this);
+            if (stats != null) stats.stopStatDecay();
+            closeJournal();
 
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/Main.fxml"));
-            Parent root = loader.load();
-
-            Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-            stage.setScene(new Scene(root));
-            stage.show();
+            Navigator.getInstance().show(event, "FXML_Files/Main.fxml");
     }
 
 
@@ -456,10 +479,53 @@ public class Game implements Initializable{
             case L: // Simulate clicking the "Exercise" button
                 exerciseButton.fire();
                 break;
+            case F3: // Show or hide the metrics overlay
+                toggleMetricsOverlay();
+                break;
             default:
-                System.out.println("Unhandled key: " + keyCode);
+                LOG.debug("key.unhandled", "key", keyCode);
         }
-        System.out.println("Key Pressed: " + keyCode);
+        LOG.debug("key.pressed", "key", keyCode, "pet", petName);
+    }
+
+    /**
+     * Shows the metrics overlay if it is hidden, or hides it if it is showing.
+     */
+    public void toggleMetricsOverlay() {
+        if (metricsOverlay == null) {
+            return;
+        }
+        metricsOverlay.setVisible(!metricsOverlay.isVisible());
+        if (metricsOverlay.isVisible()) {
+            metricsOverlay.setText(Metrics.getInstance().format());
+        }
+    }
+
+    /**
+     * Starts timing the frames drawn while the game screen is showing, refreshing the metrics overlay twice a second
+     * while it is visible.
+     */
+    private void startFrameTimer() {
+        if (frameTimer != null) {
+            frameTimer.stop();
+        }
+        frameTimer = new AnimationTimer() {
+            private long lastFrame;
+            private long lastRefresh;
+
+            @Override
+            public void handle(long now) {
+                if (lastFrame != 0) {
+                    FRAME_TIMES.record(now - lastFrame);
+                }
+                lastFrame = now;
+                if (metricsOverlay != null && metricsOverlay.isVisible() && now - lastRefresh >= OVERLAY_REFRESH_NANOS) {
+                    metricsOverlay.setText(Metrics.getInstance().format());
+                    lastRefresh = now;
+                }
+            }
+        };
+        frameTimer.start();
     }
 
     /**
@@ -522,6 +588,88 @@ public class Game implements Initializable{
         petCommand.handleInput(KeyCode.L, event);
     }
 
+    /**
+     * Writes a snapshot of the game with the {@link SaveService} and reports the result once the file is written.
+     * 
+     * @param savegame the snapshot taken with {@link SaveGame#initializeSaveGame(int, String, PetStats, Player)}
+     * @param filename the save file to write
+     */
+    public void saveInBackground(SaveGame savegame, String filename) {
+        GameJournal current = journal;
+        CompletableFuture<Path> written = current != null && current.getSaveFile().equals(Path.of(filename))
+                ? current.snapshot(savegame) /** also trims the journal once the snapshot is written */
+                : SaveService.getInstance().save(filename, savegame);
+        written.whenCompleteAsync((path, error) -> {
+            if (error != null) { /** lets the user know the save failed so they can try another slot */
+                Alert failed = new Alert(AlertType.ERROR);
+                failed.setTitle("Save Game");
+                failed.setHeaderText("The game could not be saved");
+                failed.setContentText(error.getMessage());
+                failed.show();
+                LOG.error("game.saveFailed", "slot", filename, "pet", petName, "error", error);
+                return;
+            }
+            LOG.info("game.saved", "slot", filename, "pet", petName);
+            if (statusTextArea != null) {
+                statusTextArea.appendText("Game saved to " + filename + "\n");
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Asks the player which slot to save to, offering every slot in the {@link SaveRepository} and a new one,
+     * then writes a snapshot of the game to it in the background.
+     */
+    public void saveToChosenSlot() {
+        SaveRepository repository = SaveRepository.getInstance();
+        List<String> saveOptions = repository.getSaveChoices();
+        ChoiceDialog<String> choiceDialog = new ChoiceDialog<>(saveOptions.get(0), saveOptions);
+        choiceDialog.setTitle("Select Save File");
+        choiceDialog.setHeaderText("Choose a save file to save your progress:");
+        choiceDialog.setContentText("Save File:");
+
+        choiceDialog.showAndWait().ifPresent(selectedSlot -> {
+            SaveGame savegame = new SaveGame();
+            savegame.initializeSaveGame(petType, petName, pet.getPetStats(), player); /** the snapshot is taken here, the file is written in the background */
+            String filename = repository.resolve(selectedSlot);
+            journalTo(filename); /** later changes are appended to this slot's journal */
+            saveInBackground(savegame, filename);
+        });
+    }
+
+    /**
+     * Starts recording every change to the game in the {@link GameJournal} of a save slot, replacing the journal of
+     * any other slot. The slot's save file is expected to hold the current state, or to be about to.
+     * 
+     * @param filename the slot's save file
+     */
+    public void journalTo(String filename) {
+        closeJournal();
+        try {
+            journal = new GameJournal(Path.of(filename), SaveService.getInstance(), GameJournal.SNAPSHOT_INTERVAL);
+        }
+        catch (IOException e) {
+            LOG.warn("journal.openFailed", "slot", filename, "error", e.getMessage());
+            return;
+        }
+        journal.setSnapshots(() -> {
+            SaveGame snapshot = new SaveGame();
+            snapshot.initializeSaveGame(petType, petName, pet.getPetStats(), player);
+            return snapshot;
+        });
+        journal.attach(player, pet.getPetStats());
+    }
+
+    /**
+     * Stops recording changes to the game. The events already recorded stay in the journal.
+     */
+    public void closeJournal() {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
     /**
      * Method used to handle the "Save Game" button click event through {@link PetGame.PetCommands}
      * 
@@ -533,23 +681,11 @@ public class Game implements Initializable{
         alert.setTitle("Save Game");
         alert.setContentText("Do you want to save the game?");
 
-        SaveGame savegame = new SaveGame();
         Game game = Game.getInstance();
 
         if (alert.showAndWait().get() == ButtonType.OK) { /** checks if the user wants to save the game */
             if (game != null) {
-                /** Asks the user what save file they would like to save to */
-                List<String> saveOptions = List.of("save1.json", "save2.json", "save3.json", "save4.json", "save5.json");
-                ChoiceDialog<String> choiceDialog = new ChoiceDialog<>("save1.json", saveOptions);
-                choiceDialog.setTitle("Select Save File");
-                choiceDialog.setHeaderText("Choose a save file to save your progress:");
-                choiceDialog.setContentText("Save File:");
-
-                choiceDialog.showAndWait().ifPresent(selectedFile -> {
-                    savegame.initializeSaveGame(game);
-                    savegame.saveToFile(selectedFile);
-                    System.out.println("Game saved to: " + selectedFile);
-                });
+                game.saveToChosenSlot();
             }
         }
     }
@@ -0,0 +1,248 @@
+package PetGame;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * <b>One change to the game state, as recorded in a {@link GameJournal}.</b>
+ * <p>
+ * Each event holds the value the state changed <i>to</i> rather than the difference, e.g. the pet's four stats after
+ * a decay step or the number of copies of an item after a purchase. Replaying an event therefore gives the same
+ * result however often it is applied, and the events need no knowledge of the rules that produced them, so a
+ * {@link JournalReplayer} can rebuild a save without running the game.
+ * </p>
+ * <p>
+ * Events are written as a type byte followed by a few fixed-size fields, usually 20 to 40 bytes each.
+ * </p>
+ *
+ * @see PetGame.GameJournal
+ */
+public final class GameEvent {
+    /**
+     * The kinds of change, each with the byte that marks it in a journal file.
+     */
+    public enum Type {
+        /** The pet's health, sleep, fullness and happiness */
+        STATS('T'),
+        /** The pet's state label */
+        STATE('A'),
+        /** The player's score */
+        SCORE('P'),
+        /** A change to the player's coins and the balance after it */
+        COINS('C'),
+        /** The number of copies of one item in the inventory */
+        ITEMS('I');
+
+        /** The byte written to the journal for this type */
+        final byte code;
+
+        Type(char code) {
+            this.code = (byte) code;
+        }
+
+        /**
+         * Finds the type written as a byte.
+         *
+         * @param code the byte read from a journal
+         * @return the matching type, or null if the byte is not a known type
+         */
+        static Type fromCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Position of the event in its journal, starting at 1 */
+    public final long sequence;
+    /** Time of the event in milliseconds since the epoch */
+    public final long time;
+    public final Type type;
+    /** The four stats for {@link Type#STATS}, the score as the first value for {@link Type#SCORE}, the count as the first value for {@link Type#ITEMS} */
+    private final int[] values;
+    /** The coin change in minor units for {@link Type#COINS} */
+    public final long amount;
+    /** The balance after the change in minor units for {@link Type#COINS} */
+    public final long balance;
+    /** The state label, the coin change reason or the item name */
+    public final String text;
+    /** The item price for {@link Type#ITEMS} */
+    public final double price;
+
+    private GameEvent(long sequence, long time, Type type, int[] values, long amount, long balance, String text, double price) {
+        this.sequence = sequence;
+        this.time = time;
+        this.type = type;
+        this.values = values;
+        this.amount = amount;
+        this.balance = balance;
+        this.text = text;
+        this.price = price;
+    }
+
+    /**
+     * Creates an event for the pet's stats.
+     *
+     * @param sequence the position in the journal
+     * @param time the time of the change
+     * @param health the pet's health after the change
+     * @param sleep the pet's sleep after the change
+     * @param fullness the pet's fullness after the change
+     * @param happiness the pet's happiness after the change
+     * @return the event
+     */
+    public static GameEvent stats(long sequence, long time, int health, int sleep, int fullness, int happiness) {
+        return new GameEvent(sequence, time, Type.STATS, new int[] {health, sleep, fullness, happiness}, 0, 0, null, 0);
+    }
+
+    /**
+     * Creates an event for the pet's state.
+     *
+     * @param sequence the position in the journal
+     * @param time the time of the change
+     * @param state the label of the state the pet entered
+     * @return the event
+     */
+    public static GameEvent state(long sequence, long time, String state) {
+        return new GameEvent(sequence, time, Type.STATE, new int[0], 0, 0, state, 0);
+    }
+
+    /**
+     * Creates an event for the player's score.
+     *
+     * @param sequence the position in the journal
+     * @param time the time of the change
+     * @param score the score after the change
+     * @return the event
+     */
+    public static GameEvent score(long sequence, long time, int score) {
+        return new GameEvent(sequence, time, Type.SCORE, new int[] {score}, 0, 0, null, 0);
+    }
+
+    /**
+     * Creates an event for a change to the player's coins.
+     *
+     * @param sequence the position in the journal
+     * @param time the time of the change
+     * @param amount the change in minor units
+     * @param balance the balance after the change in minor units
+     * @param reason why the coins changed
+     * @return the event
+     */
+    public static GameEvent coins(long sequence, long time, long amount, long balance, String reason) {
+        return new GameEvent(sequence, time, Type.COINS, new int[0], amount, balance, reason, 0);
+    }
+
+    /**
+     * Creates an event for the number of copies of an item.
+     *
+     * @param sequence the position in the journal
+     * @param time the time of the change
+     * @param itemName the item's name
+     * @param price the item's price
+     * @param count the number of copies after the change, 0 if the item is gone
+     * @return the event
+     */
+    public static GameEvent items(long sequence, long time, String itemName, double price, int count) {
+        return new GameEvent(sequence, time, Type.ITEMS, new int[] {count}, 0, 0, itemName, price);
+    }
+
+    /**
+     * Gets one of the event's whole-number values, e.g. {@code getValue(0)} is the health of a stats event.
+     *
+     * @param index the position of the value
+     * @return the value
+     */
+    public int getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * Writes the event to a journal.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the event cannot be written
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(type.code);
+        out.writeLong(sequence);
+        out.writeLong(time);
+        switch (type) {
+            case STATS:
+                for (int value : values) {
+                    out.writeInt(value);
+                }
+                break;
+            case SCORE:
+                out.writeInt(values[0]);
+                break;
+            case STATE:
+                out.writeUTF(text);
+                break;
+            case COINS:
+                out.writeLong(amount);
+                out.writeLong(balance);
+                out.writeUTF(text == null ? "" : text);
+                break;
+            case ITEMS:
+                out.writeUTF(text);
+                out.writeDouble(price);
+                out.writeInt(values[0]);
+                break;
+        }
+    }
+
+    /**
+     * Reads an event written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in the stream to read from
+     * @return the event
+     * @throws IOException if the stream ends early or holds an unknown event type
+     */
+    public static GameEvent readFrom(DataInputStream in) throws IOException {
+        byte code = in.readByte();
+        Type type = Type.fromCode(code);
+        if (type == null) {
+            throw new IOException("Unknown journal event type: " + code);
+        }
+        long sequence = in.readLong();
+        long time = in.readLong();
+        switch (type) {
+            case STATS:
+                return stats(sequence, time, in.readInt(), in.readInt(), in.readInt(), in.readInt());
+            case SCORE:
+                return score(sequence, time, in.readInt());
+            case STATE:
+                return state(sequence, time, in.readUTF());
+            case COINS:
+                return coins(sequence, time, in.readLong(), in.readLong(), in.readUTF());
+            default:
+                return items(sequence, time, in.readUTF(), in.readDouble(), in.readInt());
+        }
+    }
+
+    /**
+     * Describes the event, e.g. {@code #12 SCORE 140}.
+     *
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        switch (type) {
+            case STATS:
+                return "#" + sequence + " STATS " + values[0] + "/" + values[1] + "/" + values[2] + "/" + values[3];
+            case SCORE:
+                return "#" + sequence + " SCORE " + values[0];
+            case STATE:
+                return "#" + sequence + " STATE " + text;
+            case COINS:
+                return "#" + sequence + " COINS " + amount + " -> " + balance + " (" + text + ")";
+            default:
+                return "#" + sequence + " ITEMS " + text + " x " + values[0];
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package PetGame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+
+/**
+ * <b>Records every change to a game as it happens, next to the game's save slot.</b>
+ * <p>
+ * Once {@link #attach(Player, PetStats)} has been called, each change to the pet's stats and state, the player's
+ * score and coins, and the inventory is appended to the slot's journal file ({@code save3.json} is journaled in
+ * {@code save3}{@value #EXTENSION}) as a {@link GameEvent} of a few dozen bytes. Every
+ * {@link #getSnapshotInterval()} events a full snapshot of the game is written to the save file through the
+ * {@link SaveService}, and once it is on disk the events it includes are dropped from the journal.
+ * </p>
+ * <p>
+ * Each event is given the next sequence number, and each snapshot records the last sequence number it includes
+ * under {@value #SEQUENCE_KEY} in its {@code gameStats}. {@link JournalReplayer} applies only the later events on
+ * top of the snapshot, so the state is rebuilt correctly even if the game stopped between writing a snapshot and
+ * trimming the journal. If the game stops in the middle of an append, the incomplete event at the end is ignored.
+ * </p>
+ *
+ * @see PetGame.GameEvent
+ * @see PetGame.JournalReplayer
+ */
+public class GameJournal implements Closeable {
+    private static final Log LOG = Log.getInstance();
+    /** File extension of journal files */
+    public static final String EXTENSION = ".journal";
+    /** Key in a save's {@code gameStats} holding the sequence number of the last event the save includes */
+    public static final String SEQUENCE_KEY = "journalSequence";
+    /** Number of events between snapshots used by the game */
+    public static final int SNAPSHOT_INTERVAL = 500;
+
+    /** The save file the snapshots are written to */
+    private final Path saveFile;
+    /** The file the events are appended to */
+    private final Path journalFile;
+    /** Writes the snapshots */
+    private final SaveService service;
+    /** Number of events between snapshots, 0 for no automatic snapshots */
+    private final int snapshotInterval;
+    /** Takes a snapshot of the game when one is due, or null for no automatic snapshots */
+    private volatile Supplier<SaveGame> snapshots;
+    /** Open stream to the end of the journal file, null once closed. Guarded by this. */
+    private DataOutputStream out;
+    /** Sequence number of the last event appended. Guarded by this. */
+    private long sequence;
+    /** Number of events appended since the last snapshot. Guarded by this. */
+    private int sinceSnapshot;
+    /** Number of events appended by this journal. Guarded by this. */
+    private long appended;
+
+    /** The game objects being recorded, and the listeners added to them */
+    private Player player;
+    private PetStats statistics;
+
+    /**
+     * Opens the journal of a save slot for appending. Sequence numbers continue after the last event in the
+     * existing journal and the last event included in the existing save.
+     *
+     * @param saveFile the slot's save file, which does not have to exist yet
+     * @param service the service that writes the snapshots
+     * @param snapshotInterval the number of events between snapshots, 0 for none
+     * @throws IOException if the journal file cannot be opened
+     */
+    public GameJournal(Path saveFile, SaveService service, int snapshotInterval) throws IOException {
+        this.saveFile = saveFile;
+        this.journalFile = journalFor(saveFile);
+        this.service = service;
+        this.snapshotInterval = snapshotInterval;
+        List<GameEvent> existing = read(journalFile);
+        if (!existing.isEmpty()) {
+            sequence = existing.get(existing.size() - 1).sequence;
+        }
+        if (Files.exists(saveFile)) {
+            sequence = Math.max(sequence, sequenceOf(SaveFormat.read(saveFile)));
+        }
+        Path parent = journalFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        open();
+    }
+
+    /**
+     * Gets the journal file that belongs to a save file, e.g. {@code saves/save3.journal} for
+     * {@code saves/save3.json}.
+     *
+     * @param saveFile the save file
+     * @return the journal file in the same folder
+     */
+    public static Path journalFor(Path saveFile) {
+        String name = saveFile.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return saveFile.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + EXTENSION);
+    }
+
+    /**
+     * Gets the sequence number of the last journal event a save includes.
+     *
+     * @param save the save
+     * @return the sequence number, 0 if the save was not written by a journal
+     */
+    public static long sequenceOf(SaveGame save) {
+        Object sequence = save.gameStats == null ? null : save.gameStats.get(SEQUENCE_KEY);
+        return sequence instanceof Number ? ((Number) sequence).longValue() : 0;
+    }
+
+    /**
+     * Reads every complete event in a journal file. Reading stops at an incomplete or damaged event, which can only
+     * be at the end of a journal that was being appended to when the game stopped.
+     *
+     * @param journalFile the journal file
+     * @return the events in the order they were appended, empty if the file does not exist
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static List<GameEvent> read(Path journalFile) throws IOException {
+        List<GameEvent> events = new ArrayList<>();
+        if (!Files.exists(journalFile)) {
+            return events;
+        }
+        try (InputStream file = Files.newInputStream(journalFile);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            while (true) {
+                try {
+                    events.add(GameEvent.readFrom(in));
+                }
+                catch (EOFException e) { /** the end of the file, or an event cut short by a crash */
+                    break;
+                }
+                catch (IOException e) { /** an unknown event type, nothing after it can be trusted */
+                    break;
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Sets how a snapshot of the game is taken when one is due.
+     *
+     * @param snapshots takes a snapshot of the game, or null for no automatic snapshots
+     */
+    public void setSnapshots(Supplier<SaveGame> snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Starts recording the changes made to a player and a pet. The current state is not recorded, it is expected to
+     * be in the save file already.
+     *
+     * @param player the player whose score, coins and inventory are recorded
+     * @param statistics the pet whose stats and state are recorded
+     */
+    public void attach(Player player, PetStats statistics) {
+        detach();
+        this.player = player;
+        this.statistics = statistics;
+        player.getScore().setOnChange(score -> append(sequence -> GameEvent.score(sequence, System.currentTimeMillis(), score)));
+        player.getLedger().setOnAppend(entry -> append(sequence -> GameEvent.coins(sequence, entry.time, entry.amount, entry.balance, entry.reason)));
+        player.getInventory().setListener((item, count) -> append(sequence -> GameEvent.items(sequence, System.currentTimeMillis(), item.getName(), item.getPrice(), count)));
+        statistics.setListener(new PetStats.Listener() {
+            @Override
+            public void statsChanged() {
+                append(sequence -> GameEvent.stats(sequence, System.currentTimeMillis(),
+                        statistics.getHealth(), statistics.getSleep(), statistics.getFullness(), statistics.getHappiness()));
+            }
+
+            @Override
+            public void stateChanged(String state) {
+                append(sequence -> GameEvent.state(sequence, System.currentTimeMillis(), state));
+            }
+        });
+    }
+
+    /**
+     * Stops recording the player and pet given to {@link #attach(Player, PetStats)}.
+     */
+    public void detach() {
+        if (player != null) {
+            player.getScore().setOnChange(null);
+            player.getLedger().setOnAppend(null);
+            player.getInventory().setListener(null);
+            player = null;
+        }
+        if (statistics != null) {
+            statistics.setListener(null);
+            statistics = null;
+        }
+    }
+
+    /**
+     * Appends an event and takes a snapshot if one is due. Does nothing once the journal is closed.
+     *
+     * @param event creates the event from the sequence number it is given
+     */
+    public void append(LongFunction<GameEvent> event) {
+        boolean snapshotDue;
+        synchronized (this) {
+            if (out == null) {
+                return;
+            }
+            try {
+                event.apply(++sequence).writeTo(out);
+                out.flush(); /** hands the event to the OS, so it survives the game crashing */
+            }
+            catch (IOException e) {
+                LOG.warn("journal.appendFailed", "file", journalFile, "error", e.getMessage());
+                return;
+            }
+            appended++;
+            sinceSnapshot++;
+            snapshotDue = snapshotInterval > 0 && sinceSnapshot >= snapshotInterval && snapshots != null;
+        }
+        if (snapshotDue) {
+            snapshot(snapshots.get());
+        }
+    }
+
+    /**
+     * Writes a snapshot of the game to the save file in the background. The snapshot is marked as including every
+     * event appended so far, and once it is written those events are removed from the journal.
+     *
+     * @param save a snapshot of the current game state, not changed after it is handed over
+     * @return a future completed with the save file once it is written
+     */
+    public CompletableFuture<Path> snapshot(SaveGame save) {
+        long included;
+        synchronized (this) {
+            included = sequence;
+            sinceSnapshot = 0;
+        }
+        save.gameStats = save.gameStats == null ? new HashMap<>() : new HashMap<>(save.gameStats);
+        save.gameStats.put(SEQUENCE_KEY, included);
+        return service.save(saveFile.toString(), save).thenApply(path -> {
+            compact(included);
+            return path;
+        });
+    }
+
+    /**
+     * Removes the events a written snapshot includes from the journal file.
+     *
+     * @param included the sequence number of the last event in the snapshot
+     */
+    private synchronized void compact(long included) {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream kept = new DataOutputStream(bytes);
+            for (GameEvent event : read(journalFile)) {
+                if (event.sequence > included) {
+                    event.writeTo(kept);
+                }
+            }
+            kept.flush();
+            SaveService.writeAtomically(journalFile, bytes.toByteArray());
+        }
+        catch (IOException e) { /** the old events are skipped on replay anyway, so keeping them is harmless */
+            LOG.warn("journal.trimFailed", "file", journalFile, "error", e.getMessage());
+        }
+        try {
+            open();
+        }
+        catch (IOException e) {
+            LOG.warn("journal.reopenFailed", "file", journalFile, "error", e.getMessage());
+            out = null;
+        }
+    }
+
+    /**
+     * Opens the journal file for appending.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    private void open() throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(journalFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)));
+    }
+
+    /**
+     * Gets the save file the snapshots are written to.
+     *
+     * @return the save file
+     */
+    public Path getSaveFile() {
+        return saveFile;
+    }
+
+    /**
+     * Gets the file the events are appended to.
+     *
+     * @return the journal file
+     */
+    public Path getJournalFile() {
+        return journalFile;
+    }
+
+    /**
+     * Gets the number of events between automatic snapshots.
+     *
+     * @return the snapshot interval, 0 if snapshots are only taken when asked for
+     */
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Gets the sequence number of the last event appended.
+     *
+     * @return the sequence number
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the number of events appended since the journal was opened.
+     *
+     * @return the event count
+     */
+    public synchronized long getAppendedCount() {
+        return appended;
+    }
+
+    /**
+     * Stops recording and closes the journal file. Events already appended stay in the file to be replayed.
+     */
+    @Override
+    public void close() {
+        detach();
+        synchronized (this) {
+            if (out == null) {
+                return;
+            }
+            try {
+                out.close();
+            }
+            catch (IOException e) {
+                LOG.warn("journal.closeFailed", "file", journalFile, "error", e.getMessage());
+            }
+            out = null;
+        }
+    }
+}
@@ -3,12 +3,7 @@ package PetGame;
 import java.io.IOException;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.TextArea;
-import javafx.stage.Stage;
 
 /**
  * The Help class manages the help screen of the game.
@@ -76,10 +71,6 @@ public class Help extends MainController {
      * @throws IOException If the FXML file for the tutorial screen cannot be loaded.
      */
     public void goBack(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/Tutorial.fxml"));
-        Parent root = loader.load();
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
-        stage.show();
+        Navigator.getInstance().show(event, "FXML_Files/Tutorial.fxml");
     }
 }
@@ -25,6 +25,7 @@ import javafx.stage.Stage;
  * @author Ishaan Misra
  */
 public class HelpController {
+    private static final Log LOG = Log.getInstance();
 
     @FXML private Button goBack; // Button to navigate back to the previous screen
     @FXML private TextArea textArea; // Text area to display help information
@@ -110,7 +111,6 @@ public class HelpController {
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
         stage.setScene(preScene);
         stage.show();
-        System.out.println("Done");
-        System.out.println(preScene);
+        LOG.debug("screen.back", "scene", preScene);
     }
 }
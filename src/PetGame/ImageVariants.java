@@ -0,0 +1,80 @@
+package PetGame;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+/**
+ * <b>Build tool that writes window-sized copies of the large background images.</b>
+ * <p>
+ * Several backgrounds ship at a much higher resolution than the 700x500 window they are shown in, so every screen
+ * that used them decoded megabytes of pixels only to scale them down again. Running this class writes a copy of
+ * each one, scaled to the size it is displayed at, into {@code images/scaled}. The FXML files load these copies
+ * with a matching requested size, so the decoded image is no bigger than what is drawn.
+ * </p>
+ * <p>
+ * Run from the project root after changing one of the source images:
+ * {@code java -cp <classes> PetGame.ImageVariants src/images}
+ * </p>
+ *
+ * @see PetGame.Backgrounds
+ */
+public class ImageVariants {
+
+    /** Source image name, target width and target height of every variant that is produced */
+    private static final Object[][] VARIANTS = {
+        { "parentalcontrols.png", Main.WINDOW_WIDTH, Main.WINDOW_HEIGHT },
+        { "roombackgroundimage.png", 717, Main.WINDOW_HEIGHT },
+    };
+
+    /**
+     * Writes every variant.
+     *
+     * @param args the images directory, defaults to {@code src/images}
+     * @throws IOException if an image cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        File images = new File(args.length > 0 ? args[0] : "src/images");
+        File scaled = new File(images, "scaled");
+        scaled.mkdirs();
+        for (Object[] variant : VARIANTS) {
+            String name = (String) variant[0];
+            BufferedImage source = ImageIO.read(new File(images, name));
+            BufferedImage result = scale(source, (Integer) variant[1], (Integer) variant[2]);
+            ImageIO.write(result, "png", new File(scaled, name));
+            System.out.println(name + ": " + source.getWidth() + "x" + source.getHeight()
+                    + " -> " + result.getWidth() + "x" + result.getHeight());
+        }
+    }
+
+    /**
+     * Scales an image to an exact size. Large reductions are done in halving steps so the result is not aliased.
+     *
+     * @param source the image to scale
+     * @param width the target width
+     * @param height the target height
+     * @return the scaled image
+     */
+    static BufferedImage scale(BufferedImage source, int width, int height) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage next = new BufferedImage(w, h, type);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = next;
+        } while (w != width || h != height);
+        return current;
+    }
+}
@@ -1,97 +1,338 @@
 package PetGame;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
 /**
  * <b>Represents the player's inventory.</b>
  * <p>
- * The inventory stores {@link PurchasableItem} objects that the player has purchased, 
+ * The inventory stores {@link PurchasableItem} objects that the player has purchased,
  * and allows for adding and removing them, as well as checking their quantity.
  * </p>
- * 
+ * <p>
+ * Items are kept as a count per item name rather than one list entry per copy, so adding, removing and counting an
+ * item take the same time however full the inventory is. The first copy added of each item is kept as its
+ * representative. {@link #items} is a read-only list view that repeats each representative once per copy, in the
+ * order the items were first added.
+ * </p>
+ *
  * @author Julia Kasperek
  */
 public class Inventory {
-    // Initializes an empty ArrayList to store PurchasableItem objects.
-    public ArrayList<PurchasableItem> items;
+    /** Count of each item, keyed by item name, in the order the items were first added */
+    private final Map<String, Stack> stacks = new LinkedHashMap<>();
+    /** Number of copies of all items */
+    private int total;
+    /** Told about every change to an item's count, or null */
+    private Listener listener;
+
+    /** Read-only view of every copy of every item in the inventory. */
+    public final List<PurchasableItem> items = new ItemsView();
+
+    /**
+     * The copies of one item held by the inventory.
+     */
+    private static final class Stack {
+        /** The first copy that was added */
+        final PurchasableItem item;
+        /** Number of copies held, always at least 1 */
+        int count;
 
-    /** 
-     * Inventory constructor that initializes the items list.
+        Stack(PurchasableItem item) {
+            this.item = item;
+        }
+    }
+
+    /**
+     * Told the new number of copies of an item whenever it changes, e.g. by a {@link GameJournal}.
+     */
+    public interface Listener {
+        /**
+         * Called after the number of copies of an item changed.
+         *
+         * @param item the item
+         * @param count the number of copies now held, 0 if the item is gone
+         */
+        void countChanged(PurchasableItem item, int count);
+    }
+
+    /**
+     * The saved form of one item: its name, its price and how many copies the player has. The field names match
+     * {@link PurchasableItem}, so a list of these reads as a list of items in saves from older versions.
+     */
+    public static class ItemCount {
+        public String itemName;
+        public double coinsRequired;
+        public int count;
+
+        /**
+         * Constructs the saved form of an item.
+         *
+         * @param itemName the item's name
+         * @param coinsRequired the item's price
+         * @param count the number of copies
+         */
+        public ItemCount(String itemName, double coinsRequired, int count) {
+            this.itemName = itemName;
+            this.coinsRequired = coinsRequired;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Inventory constructor that initializes an empty inventory.
     */
     public Inventory() {
-        this.items = new ArrayList<>();
     }
 
     /**
-     * Inventory constructor that constructs a list with the specified initial items.
-     * 
+     * Inventory constructor that constructs an inventory with the specified initial items.
+     *
      * @param initialItems A list of items to initialize the inventory with.
      */
-    public Inventory(ArrayList<PurchasableItem> initialItems) {
-        this.items = new ArrayList<>(initialItems); // Creates a copy to prevent external modifications.
+    public Inventory(List<? extends PurchasableItem> initialItems) {
+        setInventoryItems(initialItems);
     }
 
     /**
      * Gets the list of items in the inventory.
-     * 
-     * @return An ArrayList containing all the items in the inventory.
+     *
+     * @return A read-only list containing every copy of every item in the inventory.
      */
-    public ArrayList<PurchasableItem> getInventoryItems() {
+    public List<PurchasableItem> getInventoryItems() {
         return items;
     }
 
     /**
-     * Sets the inventory with the given list of items.
-     * 
-     * @param items The list of items to be stored in the inventory list.
+     * Replaces the contents of the inventory with the given list of items.
+     *
+     * @param items The list of items to be stored in the inventory.
      */
-    public void setInventoryItems(ArrayList<PurchasableItem> items) {
-        this.items = items;
+    public void setInventoryItems(List<? extends PurchasableItem> items) {
+        clear();
+        for (PurchasableItem item : items) {
+            addItem(item);
+        }
     }
+
     /**
      * Adds a new item to the inventory.
-     * 
+     *
      * @param item The purchasable item to add to the inventory.
      */
     public void addItem(PurchasableItem item) {
-        items.add(item);
+        addItems(item, 1);
+    }
+
+    /**
+     * Adds several copies of an item to the inventory.
+     *
+     * @param item The purchasable item to add to the inventory.
+     * @param count The number of copies to add.
+     * @throws ArithmeticException if the inventory would hold more items than an int can count; nothing is added.
+     */
+    public void addItems(PurchasableItem item, int count) {
+        if (count <= 0) {
+            return;
+        }
+        int newTotal = Math.addExact(total, count); // Checked first so an overflow leaves the inventory as it was
+        Stack stack = stacks.get(item.getName());
+        if (stack == null) {
+            stack = new Stack(item);
+            stacks.put(item.getName(), stack);
+        }
+        stack.count = Math.addExact(stack.count, count);
+        total = newTotal;
+        if (listener != null) {
+            listener.countChanged(stack.item, stack.count);
+        }
     }
 
     /**
      * Removes an item from the inventory.
-     * 
+     *
      * @param itemName The name of the item to remove from the inventory.
      * @return True if the item was successfully removed; false if the item was not found.
      */
     public boolean removeItem(String itemName) {
-        // Iterate through all the items in the inventory.
-        for (PurchasableItem item : items) {
-            // Check if the item's name matches the provided name.
-            if (item.getName().equals(itemName)) {
-                // If found remove the item.
-                items.remove(item);
-                return true; 
-            }
+        return removeItems(itemName, 1) == 1;
+    }
+
+    /**
+     * Removes up to the given number of copies of an item from the inventory.
+     *
+     * @param itemName The name of the item to remove from the inventory.
+     * @param count The number of copies to remove.
+     * @return The number of copies removed, less than count if the inventory held fewer.
+     */
+    public int removeItems(String itemName, int count) {
+        Stack stack = stacks.get(itemName);
+        if (stack == null || count <= 0) {
+            return 0;
+        }
+        int removed = Math.min(count, stack.count);
+        stack.count -= removed;
+        total -= removed;
+        if (stack.count == 0) {
+            stacks.remove(itemName);
         }
-        return false; 
+        if (listener != null && removed > 0) {
+            listener.countChanged(stack.item, stack.count);
+        }
+        return removed;
     }
 
     /**
      * Gets the quantity of a specific item in the inventory based on its name.
-     * 
+     *
      * @param itemName The name of the item to check the quantity for.
      * @return The quantity of the specified item in the inventory.
      */
     public int getItemQuantity(String itemName) {
-        int quantity = 0;
-        // Iterate through all the items in the inventory.
-        for (PurchasableItem item : items) {
-            // Check if the item's name matches the provided name.
-            if (item.getName().equals(itemName)) {
-                // Increment the quantity.
-                quantity++;
+        Stack stack = stacks.get(itemName);
+        return stack == null ? 0 : stack.count;
+    }
+
+    /**
+     * Gets the number of copies of all items in the inventory.
+     *
+     * @return The total item count.
+     */
+    public int size() {
+        return total;
+    }
+
+    /**
+     * Removes every item from the inventory.
+     */
+    public void clear() {
+        List<Stack> removed = listener == null ? List.of() : new ArrayList<>(stacks.values());
+        stacks.clear();
+        total = 0;
+        for (Stack stack : removed) {
+            listener.countChanged(stack.item, 0);
+        }
+    }
+
+    /**
+     * Sets the listener told about every change to an item's count, replacing any earlier one.
+     *
+     * @param listener the listener, or null for none
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the compact form of the inventory that is written to save files, one entry per item.
+     *
+     * @return A new list that does not change when the inventory does.
+     */
+    public List<ItemCount> getItemCounts() {
+        List<ItemCount> counts = new ArrayList<>(stacks.size());
+        for (Stack stack : stacks.values()) {
+            counts.add(new ItemCount(stack.item.getName(), stack.item.getPrice(), stack.count));
+        }
+        return counts;
+    }
+
+    /**
+     * Replaces the contents of the inventory with the inventory read from a save file. Both the compact form
+     * written by {@link #getItemCounts()} and the one-entry-per-copy list written by older versions are accepted,
+     * whether they were read back as objects or as JSON maps. Items in the {@link ItemCatalog} are stored as the
+     * catalog's shared object.
+     *
+     * @param saved The inventory value from the save's player map, or null for an empty inventory.
+     */
+    public void loadSaved(Object saved) {
+        clear();
+        if (!(saved instanceof List)) {
+            return;
+        }
+        ItemCatalog catalog = ItemCatalog.getInstance(); // Known items share the catalog's object instead of a new one each
+        for (Object entry : (List<?>) saved) {
+            if (entry instanceof ItemCount) {
+                ItemCount count = (ItemCount) entry;
+                addItems(catalog.intern(count.itemName, count.coinsRequired), count.count);
+            }
+            else if (entry instanceof PurchasableItem) {
+                addItem((PurchasableItem) entry);
+            }
+            else if (entry instanceof Map) {
+                Map<?, ?> fields = (Map<?, ?>) entry;
+                Object name = fields.get("itemName");
+                Object price = fields.get("coinsRequired");
+                Object count = fields.get("count"); // Missing in saves from older versions, which list every copy
+                if (name != null) {
+                    addItems(catalog.intern(name.toString(), price instanceof Number ? ((Number) price).doubleValue() : 0),
+                            count instanceof Number ? ((Number) count).intValue() : 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read-only list view over the item counts. Iterating it visits each copy once, in {@code O(size)} time.
+     */
+    private final class ItemsView extends AbstractList<PurchasableItem> {
+        @Override
+        public int size() {
+            return total;
+        }
+
+        @Override
+        public PurchasableItem get(int index) {
+            if (index < 0 || index >= total) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + total);
+            }
+            for (Stack stack : stacks.values()) {
+                if (index < stack.count) {
+                    return stack.item;
+                }
+                index -= stack.count;
+            }
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+
+        @Override
+        public boolean contains(Object item) {
+            if (!(item instanceof PurchasableItem)) {
+                return false;
             }
+            Stack stack = stacks.get(((PurchasableItem) item).getName());
+            return stack != null && stack.item.equals(item);
+        }
+
+        @Override
+        public Iterator<PurchasableItem> iterator() {
+            return new Iterator<PurchasableItem>() {
+                private final Iterator<Stack> remaining = stacks.values().iterator();
+                private Stack stack;
+                private int left;
+
+                @Override
+                public boolean hasNext() {
+                    return left > 0 || remaining.hasNext();
+                }
+
+                @Override
+                public PurchasableItem next() {
+                    if (left == 0) {
+                        if (!remaining.hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        stack = remaining.next();
+                        left = stack.count;
+                    }
+                    left--;
+                    return stack.item;
+                }
+            };
         }
-        return quantity;
     }
 }
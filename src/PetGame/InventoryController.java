@@ -1,6 +1,7 @@
 package PetGame;
 
 import java.io.IOException;
+import java.util.Map;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -12,6 +13,7 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Spinner;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
@@ -39,6 +41,10 @@ public class InventoryController extends MainController {
     @FXML
     private Label popupLabel;
 
+    /** Number of copies to use when an item's button is clicked */
+    @FXML
+    private Spinner<Integer> quantitySpinner;
+
     public Player player;
     public Game game = Game.getInstance();
     public PetCommands commands = game.petCommand;
@@ -71,102 +77,64 @@ public class InventoryController extends MainController {
 
     /**
      * Handles an even of using an item, updating the player's status and inventory accordingly.
+     * The item is the {@link ItemCatalog} entry whose id is stored in the clicked button's {@code userData}, and as
+     * many copies are used as the quantity spinner shows.
      * 
      * @param e The action event triggered by clicking an item button.
      */
     public void useItem(ActionEvent e) {
-        // Identify which button was clicked.
-        String button = ((Button) e.getSource()).getId();
-        String itemName = "";
-        int statIncrease = 0;
-        String statType = "";
-
-        // Map button IDs to item attributes.
-        switch (button) {
-            case "useBallButton":
-                itemName = "Ball";
-                statType = "Happiness";
-                statIncrease = 10;
-                break;
-            case "useBowButton":
-                itemName = "Bow";
-                statType = "Happiness";
-                statIncrease = 8;
-                break;
-            case "useBurgerButton":
-                itemName = "Burger";
-                statType = "Fullness";
-                statIncrease = 15;
-                break;
-            case "useCakeButton":
-                itemName = "Cake";
-                statType = "Fullness";
-                statIncrease = 10;
-                break;
-            case "useCrownButton":
-                itemName = "Crown";
-                statType = "Happiness";
-                statIncrease = 15;
-                break;
-            case "useEnergyDrinkButton":
-                itemName = "Energy Drink";
-                statType = "Fullness";
-                statIncrease = 45;
-                break;
-            case "useHealingPotionButton":
-                itemName = "Healing Potion";
-                statType = "Health";
-                statIncrease = 200;
-                break;
-            case "useOrangeButton":
-                itemName = "Orange";
-                statType = "Fullness";
-                statIncrease = 3;
-                break;
-            case "useTrampolineButton":
-                itemName = "Trampoline";
-                statType = "Happiness";
-                statIncrease = 40;
-                break;
-            case "useHatButton":
-                itemName = "Witch Hat";
-                statType = "Happiness";
-                statIncrease = 15;
-                break;
-            default:
-                return;
+        // Identify which item the clicked button uses
+        Object itemId = ((Button) e.getSource()).getUserData();
+        CatalogItem item = itemId == null ? null : ItemCatalog.getInstance().get(itemId.toString());
+        if (item == null) {
+            return;
         }
+        int quantity = quantitySpinner != null ? quantitySpinner.getValue() : 1;
+        useItems(Map.of(item, quantity));
+    }
 
+    /**
+     * Uses several items at once. The stat changes of all the items are added up and applied with one
+     * {@link PetStatistics#updateStatistics(int, int, int, int)} call, the score is awarded once and each cooldown is
+     * started once.
+     * 
+     * @param requested The items to use and how many of each. Only the copies in the inventory are used.
+     */
+    public void useItems(Map<CatalogItem, Integer> requested) {
+        ItemUse use = ItemUse.take(player.getInventory(), requested);
+        if (use.isEmpty()) {
+            return;
+        }
 
-        if (player.getInventory().removeItem(itemName)) {
-            // Update pet stats
-            switch (statType) {
-                case "Happiness":
-                    player.getScore().increaseScore(15);
+        // Update pet stats
+        player.getScore().increaseScore(use.score);
+        for (String cooldown : use.cooldowns) {
+            switch (cooldown) {
+                case "gift":
                     commands.changeToHappy();
                     game.statusTextArea.appendText("Pet received a gift!" + "\n");
-                    commands.startCooldown("gift");
-                    game.pet.getPetStats().updateStatistics(0, 0, 0, statIncrease);
                     break;
-                case "Fullness":
-                    player.getScore().increaseScore(20);
+                case "feed":
                     commands.changeToHappy();
                     game.statusTextArea.appendText("Pet has been fed!" + "\n");
-                    commands.startCooldown("feed");
-                    game.pet.getPetStats().updateStatistics(0, 0, statIncrease, 0);
-                    break;
-                case "Health":
-                    game.pet.getPetStats().updateStatistics(statIncrease, 0, 0, 0);
                     break;
             }
+            commands.startCooldown(cooldown);
+        }
+        use.applyTo(game.pet.getPetStats());
 
-            // Update inventory labels
-            updateInventoryLabels();
+        // Update inventory labels
+        updateInventoryLabels();
 
-            // Show the pop-up
-            showPopup(itemName, statType, statIncrease);
+        // Show the pop-up
+        if (use.used.size() == 1) {
+            CatalogItem item = use.used.keySet().iterator().next();
+            int count = use.used.get(item);
+            showPopup((count > 1 ? count + " x " : "") + item.getName(), item.getMainStat(), item.getMainEffect() * count);
+        } else {
+            popupLabel.setText(use.getItemCount() + " items used!");
+            showPopup();
         }
-        
     }
 
     /**
@@ -178,6 +146,13 @@ public class InventoryController extends MainController {
      */
     private void showPopup(String itemName, String statType, int statIncrease) {
         popupLabel.setText(itemName + " used! " + statType + " increased by " + statIncrease);
+        showPopup();
+    }
+
+    /**
+     * Shows the pop-up label with its current text for 2 seconds.
+     */
+    private void showPopup() {
         popupLabel.setVisible(true);
 
         // Hide the pop-up after 2 seconds
@@ -221,7 +196,7 @@ public class InventoryController extends MainController {
      */
     public void initialize() {
         // Set the background image
-        Image backgroundImage = new Image(getClass().getResource("/images/inventory.png").toExternalForm());
+        Image backgroundImage = Backgrounds.getInstance().get("/images/inventory.png"); /** decoded once and shared with the other inventory screens */
         backgroundImageView.setImage(backgroundImage);  // Set the image to ImageView
         
         // Set the transparency of the background image
@@ -0,0 +1,174 @@
+package PetGame;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>The items the game knows about, loaded once from {@value #RESOURCE}.</b>
+ * <p>
+ * Item names, prices and effects used to be spread over switch statements in {@link ItemShopController} and
+ * {@link InventoryController}. They now come from one resource file, so an item is added or rebalanced by editing
+ * the file. Each entry becomes one {@link CatalogItem} that is shared by everything that refers to the item, and
+ * items can be found by id or by name in constant time. The catalog cannot be changed after it is loaded.
+ * </p>
+ * <p>
+ * Each entry in the file has an {@code id}, a {@code name}, a {@code price}, an {@code effect} object with any of
+ * {@code health}, {@code sleep}, {@code fullness} and {@code happiness}, a {@code cooldown} category and a
+ * {@code score}.
+ * </p>
+ *
+ * @see PetGame.CatalogItem
+ */
+public class ItemCatalog {
+    /** Resource the game's catalog is loaded from, next to this class */
+    public static final String RESOURCE = "items.json";
+
+    /** The shared catalog used by the game */
+    private static ItemCatalog instance;
+
+    /** Items in the order they appear in the file */
+    private final List<CatalogItem> items;
+    private final Map<String, CatalogItem> byId;
+    private final Map<String, CatalogItem> byName;
+
+    /**
+     * One entry of the resource file, as read by Gson.
+     */
+    private static final class Definition {
+        String id;
+        String name;
+        double price;
+        Map<String, Integer> effect;
+        String cooldown;
+        int score;
+    }
+
+    /**
+     * Gets the shared catalog used by the game, loading it on first use.
+     *
+     * @return the shared item catalog
+     */
+    public static synchronized ItemCatalog getInstance() {
+        if (instance == null) {
+            try (InputStream in = ItemCatalog.class.getResourceAsStream(RESOURCE)) {
+                if (in == null) {
+                    throw new IOException("Missing resource " + RESOURCE);
+                }
+                instance = load(in);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException("Could not load the item catalog", e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Reads a catalog file.
+     *
+     * @param in the catalog file contents
+     * @return the catalog
+     * @throws IOException if the file is not a valid catalog
+     */
+    public static ItemCatalog load(InputStream in) throws IOException {
+        Definition[] definitions;
+        try {
+            definitions = new Gson().fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), Definition[].class);
+        }
+        catch (JsonParseException e) {
+            throw new IOException("Invalid item catalog", e);
+        }
+        if (definitions == null) {
+            throw new IOException("Empty item catalog");
+        }
+        List<CatalogItem> items = new ArrayList<>(definitions.length);
+        for (Definition definition : definitions) {
+            if (definition.id == null || definition.name == null) {
+                throw new IOException("Every catalog item needs an id and a name");
+            }
+            Map<String, Integer> effect = definition.effect == null ? Map.of() : definition.effect;
+            int[] changes = {
+                effect.getOrDefault("health", 0),
+                effect.getOrDefault("sleep", 0),
+                effect.getOrDefault("fullness", 0),
+                effect.getOrDefault("happiness", 0)
+            };
+            items.add(new CatalogItem(definition.id, definition.name, definition.price, changes, definition.cooldown, definition.score));
+        }
+        return new ItemCatalog(items);
+    }
+
+    /**
+     * Constructs a catalog from a list of items.
+     *
+     * @param items the items, whose ids and names must be unique
+     * @throws IllegalArgumentException if two items share an id or a name
+     */
+    public ItemCatalog(List<CatalogItem> items) {
+        this.items = List.copyOf(items);
+        Map<String, CatalogItem> ids = new HashMap<>();
+        Map<String, CatalogItem> names = new HashMap<>();
+        for (CatalogItem item : items) {
+            if (ids.put(item.getId(), item) != null) {
+                throw new IllegalArgumentException("Duplicate item id " + item.getId());
+            }
+            if (names.put(item.getName(), item) != null) {
+                throw new IllegalArgumentException("Duplicate item name " + item.getName());
+            }
+        }
+        this.byId = Map.copyOf(ids);
+        this.byName = Map.copyOf(names);
+    }
+
+    /**
+     * Finds an item by its id.
+     *
+     * @param id the item id
+     * @return the item, or null if there is none with that id
+     */
+    public CatalogItem get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Finds an item by its name.
+     *
+     * @param name the item name shown to the player
+     * @return the item, or null if there is none with that name
+     */
+    public CatalogItem getByName(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Gets every item in the catalog.
+     *
+     * @return the items in the order they are defined
+     */
+    public List<CatalogItem> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the shared instance of an item read from a save. Items the catalog knows are returned as the catalog's
+     * own object, anything else, e.g. an item that has since been removed, gets a new {@link PurchasableItem}.
+     *
+     * @param name the saved item name
+     * @param price the saved item price
+     * @return the item to put in the inventory
+     */
+    public PurchasableItem intern(String name, double price) {
+        CatalogItem item = byName.get(name);
+        return item != null ? item : new PurchasableItem(name, price);
+    }
+}
@@ -12,13 +12,21 @@ import javafx.scene.control.ButtonType;
  * The shop allows players to buy items if they have enough coins and adds
  * the items to their inventory. These items can be used to improve their pet's stats.
  * </p>
+ * <p>
+ * Several items can be bought at once by putting them in a {@link ShoppingCart} and calling
+ * {@link #checkout(ShoppingCart)}, which checks the coins and updates the inventory once for the whole cart.
+ * </p>
+ * <p>
+ * Coins are always read from the player's {@link CoinLedger} at the moment of purchase, and checking and deducting
+ * them is a single step, so a balance that changed after the shop was opened is never used.
+ * </p>
  *
  * @author Alessia Pilla
  */
 public class ItemShop {
+private static final Log LOG = Log.getInstance();
 private Stage stage;
 private Inventory inventory;
-private double userCoins; 
 private Player player;
 
     /**
@@ -26,21 +34,21 @@ private Player player;
      *
      * @param stage      The primary stage of the game
      * @param inventory  The player's inventory
-     * @param userCoins  The amount of coins the player has
+     * @param userCoins  The amount of coins the player had when the shop was opened. Not used, as the balance is
+     *                   read from the player's ledger at each purchase.
      * @param player     The player making purchases
      */
     public ItemShop(Stage stage, Inventory inventory, double userCoins, Player player) {
         this.stage = stage;
         this.inventory = inventory;
-        this.userCoins = userCoins;
         this.player = player;
     }
 
     /**
-     * Opens the shop and displays a welcome message to the terminal
+     * Opens the shop, noting it in the game log
      */
     public void openShop() {
-        System.out.println("Welcome to the Item Shop!");
+        LOG.debug("shop.opened");
     }
 
     /**
@@ -62,10 +70,9 @@ private Player player;
         if (purchasableItem.getPrice() == 0) {
             handleItemChoice(purchasableItem);  // Add item to inventory without deducting coins
         } 
-        // If the player has enough coins to purchase the item
-        else if (player.getCoins() >= purchasableItem.getPrice()) {
-            player.subtractCoins(purchasableItem.getPrice());  // Deduct the item price from the player's coins
-            System.out.println(purchasableItem.getName() + " purchased for " + purchasableItem.getPrice() + " coins.");
+        // If the player has enough coins to purchase the item, deduct the price in the same step
+        else if (player.getLedger().tryDebit(CoinLedger.toMinor(purchasableItem.getPrice()), "Bought " + purchasableItem.getName())) {
+            LOG.info("item.bought", "item", purchasableItem.getName(), "price", purchasableItem.getPrice());
             handleItemChoice(purchasableItem);  // Add the purchased item to the player's inventory
         } 
         // If the player doesn't have enough coins
@@ -107,5 +114,76 @@ private Player player;
         alert.getButtonTypes().setAll(okButton);
         alert.showAndWait();
     }
-}
 
+    /**
+     * Buys everything in a cart at once.
+     * <p>
+     * The whole cart is priced first, in exact minor units, and debited from the player's ledger in one step that
+     * fails if the player cannot afford it. Every item is then added to the inventory; if the debit fails nothing
+     * changes. Whether the inventory has room for the whole cart is checked before any coins are spent. The cart is
+     * emptied after a successful purchase.
+     * </p>
+     *
+     * @param cart The items and quantities to buy
+     * @return The number of coins spent
+     * @throws NotEnoughCoinsException If the player cannot afford the whole cart
+     * @throws ArithmeticException If the inventory would hold more items than an int can count; nothing is bought.
+     */
+    public double checkout(ShoppingCart cart) throws NotEnoughCoinsException {
+        long total = 0;
+        long count = inventory.size();
+        for (ShoppingCart.Line line : cart.getLines()) {
+            total += CoinLedger.toMinor(line.getItem().getPrice()) * line.getQuantity();
+            count += line.getQuantity();
+        }
+        if (count > Integer.MAX_VALUE) {
+            throw new ArithmeticException("The inventory cannot hold " + cart + ".");
+        }
+        if (total > 0 && !player.getLedger().tryDebit(total, "Bought " + cart)) {
+            throw new NotEnoughCoinsException("The cart costs " + CoinLedger.toCoins(total) + " coins but only " + player.getCoins() + " are available.");
+        }
+        for (ShoppingCart.Line line : cart.getLines()) {
+            inventory.addItems(line.getItem(), line.getQuantity());
+        }
+        cart.clear();
+        return CoinLedger.toCoins(total);
+    }
+
+    /**
+     * Buys everything in a cart with {@link #checkout(ShoppingCart)} and shows one summary alert, whether the
+     * purchase went through or not.
+     *
+     * @param cart The items and quantities to buy
+     */
+    public void purchaseCart(ShoppingCart cart) {
+        if (cart.isEmpty()) {
+            return;
+        }
+        String contents = cart.toString();
+        Alert alert;
+        try {
+            double spent = checkout(cart);
+            LOG.info("cart.bought", "items", contents, "price", spent);
+            alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Items Added");
+            alert.setHeaderText(null);
+            alert.setContentText(contents + (spent > 0 ? " added to your inventory for " + spent + " coins." : " added to your inventory."));
+        }
+        catch (NotEnoughCoinsException e) {
+            alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Purchase Failed");
+            alert.setHeaderText("Not Enough Coins");
+            alert.setContentText("You don't have enough coins to purchase " + contents + ".");
+        }
+        catch (ArithmeticException e) {
+            alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Purchase Failed");
+            alert.setHeaderText("Inventory Full");
+            alert.setContentText("Your inventory has no room for " + contents + ".");
+        }
+
+        ButtonType okButton = new ButtonType("OK");
+        alert.getButtonTypes().setAll(okButton);
+        alert.showAndWait();
+    }
+}
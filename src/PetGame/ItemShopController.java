@@ -13,6 +13,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Spinner;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.Stage;
@@ -36,6 +37,7 @@ public class ItemShopController {
     @FXML private Button backButton;
     @FXML public Label coinBalanceLabel;
     @FXML private ImageView backgroundImageView;
+    @FXML private Spinner<Integer> quantitySpinner; // Number of copies bought per click
 
     public ItemShop itemShop; 
     public Inventory inventory; 
@@ -64,6 +66,7 @@ public class ItemShopController {
 
     /**
      * Handles the purchase of an item based on the button that the player clicks.
+     * Buys as many copies as the quantity spinner shows through {@link ItemShop#purchaseCart(ShoppingCart)}.
      * Updates the coin balance and inventory if the purchase was successful.
      *
      * @param event The ActionEvent triggered by the button click.
@@ -76,7 +79,10 @@ public class ItemShopController {
         PurchasableItem itemToPurchase = getItemFromButtonName(itemName);
 
         if (itemToPurchase != null && player != null) {
-            itemShop.addItemToInventory(itemToPurchase);
+            // Buy every copy in one purchase, so the coins are checked once and one summary is shown
+            ShoppingCart cart = new ShoppingCart();
+            cart.add(itemToPurchase, quantitySpinner != null ? quantitySpinner.getValue() : 1);
+            itemShop.purchaseCart(cart);
             updateCoins();
         }
     }
@@ -92,35 +98,11 @@ public class ItemShopController {
      * Returns the corresponding {@code PurchasableItem} based on the item name.
      *
      * @param itemName The name of the item as displayed on the button
-     * @return The corresponding {@code PurchasableItem}, or {@code null} if not found
+     * @return The shared {@link CatalogItem} with that name, or {@code null} if the catalog has none
      */
     private PurchasableItem getItemFromButtonName(String itemName) {
-
-        // Items available to purchase in the item shop
-        switch (itemName) {
-            case "Witch Hat":
-                return new PurchasableItem("Witch Hat", 50);
-            case "Bow":
-                return new PurchasableItem("Bow", 0);  // Free item
-            case "Crown":
-                return new PurchasableItem("Crown", 100);
-            case "Burger":
-                return new PurchasableItem("Burger", 25);
-            case "Orange":
-                return new PurchasableItem("Orange", 0);  // Free item
-            case "Cake":
-                return new PurchasableItem("Cake", 15);
-            case "Energy Drink":
-                return new PurchasableItem("Energy Drink", 60);
-            case "Ball":
-                return new PurchasableItem("Ball", 20);
-            case "Trampoline":
-                return new PurchasableItem("Trampoline", 150);
-            case "Healing Potion":
-                return new PurchasableItem("Healing Potion", 120);
-            default:
-                return null;
-        }
+        // Items available to purchase are defined in the item catalog
+        return ItemCatalog.getInstance().getByName(itemName);
     }
 
     /**
@@ -164,7 +146,7 @@ public class ItemShopController {
      */
     public void initialize() {
         // Set the background image
-        Image backgroundImage = new Image(getClass().getResource("/images/inventory.png").toExternalForm());
+        Image backgroundImage = Backgrounds.getInstance().get("/images/inventory.png"); /** decoded once and shared with the other inventory screens */
         backgroundImageView.setImage(backgroundImage);  // Set the image to ImageView
         
         // Set the transparency (opacity) of the background image
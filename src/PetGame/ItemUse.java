@@ -0,0 +1,103 @@
+package PetGame;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <b>The combined effect of using several items at once.</b>
+ * <p>
+ * {@link #take(Inventory, Map)} removes the items from the inventory and adds up their effects, so the caller can
+ * change the pet's statistics with a single {@link PetStats#updateStatistics(int, int, int, int)} call, award the
+ * score once and start each cooldown once, however many items were used. As the stats are clamped once rather than
+ * after every item, items that lower a stat are counted against items that raise it before the limits apply.
+ * </p>
+ *
+ * @see PetGame.CatalogItem
+ * @see PetGame.InventoryController
+ */
+public class ItemUse {
+    public int health;
+    public int sleep;
+    public int fullness;
+    public int happiness;
+    public int score;
+    /** Cooldown categories started by the used items, without {@value CatalogItem#NO_COOLDOWN} */
+    public final Set<String> cooldowns = new LinkedHashSet<>();
+    /** Number of copies of each item that were actually used */
+    public final Map<CatalogItem, Integer> used = new LinkedHashMap<>();
+
+    /**
+     * Removes items from an inventory and adds up their effects. An item the inventory holds fewer copies of than
+     * requested is used as many times as there are copies.
+     *
+     * @param inventory the inventory to take the items from
+     * @param requested the items to use and how many of each
+     * @return the combined effect of the items that were used
+     */
+    public static ItemUse take(Inventory inventory, Map<CatalogItem, Integer> requested) {
+        ItemUse use = new ItemUse();
+        for (Map.Entry<CatalogItem, Integer> entry : requested.entrySet()) {
+            CatalogItem item = entry.getKey();
+            int count = inventory.removeItems(item.getName(), entry.getValue());
+            if (count == 0) {
+                continue;
+            }
+            use.used.merge(item, count, Integer::sum);
+            use.health += item.getHealthEffect() * count;
+            use.sleep += item.getSleepEffect() * count;
+            use.fullness += item.getFullnessEffect() * count;
+            use.happiness += item.getHappinessEffect() * count;
+            use.score += item.getScore() * count;
+            if (!CatalogItem.NO_COOLDOWN.equals(item.getCooldown())) {
+                use.cooldowns.add(item.getCooldown());
+            }
+        }
+        return use;
+    }
+
+    /**
+     * Removes copies of one item from an inventory and adds up their effects.
+     *
+     * @param inventory the inventory to take the items from
+     * @param item the item to use
+     * @param count the number of copies to use
+     * @return the combined effect of the copies that were used
+     */
+    public static ItemUse take(Inventory inventory, CatalogItem item, int count) {
+        return take(inventory, Collections.singletonMap(item, count));
+    }
+
+    /**
+     * Checks whether any item was used.
+     *
+     * @return true if nothing was used
+     */
+    public boolean isEmpty() {
+        return used.isEmpty();
+    }
+
+    /**
+     * Gets the number of copies used of all items.
+     *
+     * @return the total count
+     */
+    public int getItemCount() {
+        int count = 0;
+        for (int each : used.values()) {
+            count += each;
+        }
+        return count;
+    }
+
+    /**
+     * Applies the combined stat changes to a pet with one update.
+     *
+     * @param statistics the statistics of the pet the items were used on
+     */
+    public void applyTo(PetStats statistics) {
+        statistics.updateStatistics(health, sleep, fullness, happiness);
+    }
+}
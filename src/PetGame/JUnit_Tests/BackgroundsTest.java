@@ -0,0 +1,50 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+import PetGame.Backgrounds;
+
+public class BackgroundsTest {
+
+    private Backgrounds backgrounds;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        // Pretends every source image is 1920x864 and honours the requested size like Image does
+        loads = new AtomicInteger();
+        backgrounds = new Backgrounds((path, width, height) -> {
+            loads.incrementAndGet();
+            return new WritableImage(width > 0 ? (int) width : 1920, height > 0 ? (int) height : 864);
+        });
+    }
+
+    @Test
+    public void testBackgroundSharedBetweenScreens() {
+        Image inventory = backgrounds.get("/images/inventory.png");
+        Image shop = backgrounds.get("/images/inventory.png");
+
+        assertSame(inventory, shop, "Both screens should get the same decoded background.");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testRequestedSizeIsDecoded() {
+        Image full = backgrounds.get("/images/parentalcontrols.png");
+        Image scaled = backgrounds.get("/images/parentalcontrols.png", 700, 500);
+
+        assertNotSame(full, scaled, "Each size should be cached separately.");
+        assertEquals(700, scaled.getWidth());
+        assertEquals(500, scaled.getHeight());
+        assertEquals((1920L * 864 + 700L * 500) * 4, backgrounds.getDecodedBytes());
+        assertEquals(2, backgrounds.size());
+    }
+}
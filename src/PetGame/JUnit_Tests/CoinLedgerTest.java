@@ -0,0 +1,121 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import PetGame.CoinLedger;
+import PetGame.NotEnoughCoinsException;
+import PetGame.Player;
+
+public class CoinLedgerTest {
+
+    @Test
+    public void testExactArithmetic() {
+        Player player = new Player(0);
+        for (int i = 0; i < 10; i++) {
+            player.addCoins(0.1);
+        }
+        assertEquals(1.0, player.getCoins(), "Ten tenths of a coin should be exactly one coin.");
+        assertEquals(CoinLedger.MINOR_UNITS, player.getLedger().getBalance());
+    }
+
+    @Test
+    public void testDebitDoesNotOverdraw() throws NotEnoughCoinsException {
+        CoinLedger ledger = new CoinLedger(500);
+        assertFalse(ledger.tryDebit(600, "Too much"));
+        assertEquals(500, ledger.getBalance());
+        assertEquals(0, ledger.getEntries().size(), "A failed debit should not be recorded.");
+
+        assertEquals(200, ledger.debit(300, "Cake"));
+        assertThrows(NotEnoughCoinsException.class, () -> ledger.debit(201, "Crown"));
+        assertEquals(200, ledger.getBalance());
+    }
+
+    @Test
+    public void testConcurrentDebitsNeverSpendTwice() throws InterruptedException {
+        CoinLedger ledger = new CoinLedger(1000);
+        AtomicInteger succeeded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 400; i++) {
+            threads.execute(() -> {
+                try {
+                    start.await();
+                }
+                catch (InterruptedException e) {
+                    return;
+                }
+                if (ledger.tryDebit(7, "Orange")) {
+                    succeeded.incrementAndGet();
+                }
+                ledger.credit(1, "Reward");
+            });
+        }
+        start.countDown();
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000 - succeeded.get() * 7 + 400, ledger.getBalance(), "Every change should be counted exactly once.");
+        assertTrue(ledger.getBalance() >= 0);
+        List<CoinLedger.Entry> entries = ledger.getEntries();
+        assertEquals(succeeded.get() + 400, ledger.getSnapshot().sequence);
+        assertEquals(CoinLedger.KEPT_ENTRIES, entries.size(), "Only the most recent entries should be kept.");
+        CoinLedger.Entry last = entries.get(entries.size() - 1);
+        assertEquals(ledger.getSnapshot().sequence, last.sequence);
+        assertEquals(ledger.getBalance(), last.balance, "The last entry should hold the current balance.");
+    }
+
+    @Test
+    public void testTailRoundTrip() {
+        CoinLedger ledger = new CoinLedger(0);
+        for (int i = 1; i <= 40; i++) {
+            ledger.credit(i, "Reward " + i);
+        }
+        ledger.set(5, "Balance|set");
+
+        CoinLedger restored = new CoinLedger(0);
+        restored.restore(ledger.getBalance(), ledger.encodeTail(CoinLedger.SAVED_TAIL));
+
+        assertEquals(5, restored.getBalance());
+        assertEquals(41, restored.getSnapshot().sequence, "Sequence numbers should continue after a restore.");
+        List<CoinLedger.Entry> entries = restored.getEntries();
+        assertEquals(CoinLedger.SAVED_TAIL, entries.size());
+        assertEquals(10, entries.get(0).sequence);
+        assertEquals("Balance/set", entries.get(entries.size() - 1).reason);
+
+        restored.credit(10, "After load");
+        assertEquals(42, restored.getEntries().get(CoinLedger.SAVED_TAIL).sequence);
+    }
+
+    @Test
+    public void testOnlyRecentEntriesAreKept() {
+        CoinLedger ledger = new CoinLedger(0);
+        for (int i = 1; i <= 3 * CoinLedger.KEPT_ENTRIES + 5; i++) {
+            ledger.credit(1, "Reward " + i);
+        }
+
+        List<CoinLedger.Entry> entries = ledger.getEntries();
+        assertEquals(CoinLedger.KEPT_ENTRIES, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(2 * CoinLedger.KEPT_ENTRIES + 6 + i, entries.get(i).sequence, "Entries should be the latest, oldest first.");
+        }
+        assertEquals(CoinLedger.SAVED_TAIL, ledger.encodeTail(CoinLedger.SAVED_TAIL).split("\n").length);
+    }
+
+    @Test
+    public void testRestoreWithoutTail() {
+        CoinLedger ledger = new CoinLedger(100);
+        ledger.credit(50, "Reward");
+        ledger.restore(1234, null);
+        assertEquals(1234, ledger.getBalance());
+        assertTrue(ledger.getEntries().isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import PetGame.CooldownTable;
+import PetGame.PetAction;
+
+public class CooldownTableTest {
+
+    /** The time in nanoseconds seen by the table, moved on by the tests */
+    private final AtomicLong now = new AtomicLong(-5000);
+    private CooldownTable table;
+
+    @BeforeEach
+    public void setUp() {
+        table = new CooldownTable(1, now::get);
+    }
+
+    private void passTime(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    public void testCooldownRunsForItsTime() {
+        assertTrue(table.isReady(0, PetAction.PLAY));
+        table.start(0, PetAction.PLAY, 5000);
+        assertFalse(table.isReady(0, PetAction.PLAY));
+        assertTrue(table.isReady(0, PetAction.VET), "Each action has its own cooldown.");
+
+        passTime(4999);
+        assertFalse(table.isReady(0, PetAction.PLAY));
+        assertEquals(1, table.getRemainingMillis(0, PetAction.PLAY));
+        passTime(1);
+        assertTrue(table.isReady(0, PetAction.PLAY));
+        assertEquals(0, table.getRemainingMillis(0, PetAction.PLAY));
+    }
+
+    @Test
+    public void testPetsHaveSeparateRows() {
+        table.start(0, PetAction.FEED, 5000);
+        assertTrue(table.isReady(3, PetAction.FEED), "A pet the table has not seen yet has no cooldowns.");
+        table.start(3, PetAction.GIFT, 5000);
+        assertTrue(table.getCapacity() >= 4);
+        assertFalse(table.isReady(0, PetAction.FEED));
+        assertTrue(table.isReady(0, PetAction.GIFT));
+        assertFalse(table.isReady(3, PetAction.GIFT));
+    }
+
+    @Test
+    public void testEndAndReset() {
+        table.start(0, PetAction.SLEEP, 60000);
+        table.start(0, PetAction.EXERCISE, 5000);
+        table.end(0, PetAction.SLEEP);
+        assertTrue(table.isReady(0, PetAction.SLEEP));
+        assertFalse(table.isReady(0, PetAction.EXERCISE));
+        table.reset(0);
+        assertTrue(table.isReady(0, PetAction.EXERCISE));
+    }
+
+    @Test
+    public void testMillionsOfCooldowns() {
+        int pets = 1000000;
+        CooldownTable large = new CooldownTable(pets, now::get);
+        for (int slot = 0; slot < pets; slot++) {
+            large.start(slot, PetAction.values()[slot % PetAction.values().length], 5000);
+        }
+        int ready = 0;
+        for (int slot = 0; slot < pets; slot++) {
+            if (large.isReady(slot, PetAction.PLAY)) {
+                ready++;
+            }
+        }
+        assertEquals(pets - pets / PetAction.values().length, ready, "Only the pets that played should be waiting.");
+        assertEquals(pets, large.getCapacity());
+    }
+}
@@ -0,0 +1,81 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import PetGame.PetState;
+import PetGame.PetStateMachine;
+import PetGame.PetStatStore;
+import PetGame.SimulationEngine;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightEventsTest {
+
+    @TempDir
+    Path folder;
+
+    /**
+     * Runs some work with one of the game's events being recorded and reads back what was recorded.
+     */
+    private List<RecordedEvent> record(String name, Runnable work) throws IOException {
+        Path file = folder.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(name);
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testEachStepIsRecorded() throws IOException {
+        SimulationEngine engine = new SimulationEngine();
+        engine.register(tick -> { });
+        List<RecordedEvent> events = record("PetGame.StatTick", () -> engine.advance(SimulationEngine.STEP_MILLIS * 3));
+
+        assertEquals(3, events.size());
+        assertEquals(3, events.get(2).getLong("tick"));
+        assertEquals(1, events.get(2).getInt("tickables"));
+    }
+
+    @Test
+    public void testStateChangesAreRecorded() throws IOException {
+        PetStateMachine machine = new PetStateMachine(PetState.NORMAL);
+        List<RecordedEvent> events = record("PetGame.StateChange", () -> {
+            machine.fire(PetStateMachine.Trigger.FULLNESS_DEPLETED);
+            machine.fire(PetStateMachine.Trigger.FED);
+            machine.fire(PetStateMachine.Trigger.FED); // not a transition from Normal
+        });
+
+        assertEquals(2, events.size());
+        assertEquals("Normal", events.get(0).getString("from"));
+        assertEquals("Hungry", events.get(0).getString("to"));
+        assertEquals(-1, events.get(0).getInt("slot"));
+        assertEquals("Normal", events.get(1).getString("to"));
+    }
+
+    @Test
+    public void testStoreStateChangesNameTheSlot() throws IOException {
+        PetStatStore store = new PetStatStore();
+        store.add(100, 100, 100, 100, 10, 10, 10);
+        int slot = store.add(100, 100, 100, 100, 10, 10, 10);
+        List<RecordedEvent> events = record("PetGame.StateChange", () -> store.putToSleep(slot));
+
+        assertEquals(1, events.size());
+        assertEquals("Sleeping", events.get(0).getString("to"));
+        assertEquals(slot, events.get(0).getInt("slot"));
+    }
+}
@@ -0,0 +1,151 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import PetGame.GameEvent;
+import PetGame.GameJournal;
+import PetGame.Inventory;
+import PetGame.ItemCatalog;
+import PetGame.JournalReplayer;
+import PetGame.PetStatistics;
+import PetGame.Player;
+import PetGame.SaveFormat;
+import PetGame.SaveGame;
+import PetGame.SaveService;
+
+public class GameJournalTest {
+
+    @TempDir
+    Path folder;
+
+    private Path saveFile;
+    private SaveService service;
+    private Player player;
+    private PetStatistics stats;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        saveFile = folder.resolve("save1.json");
+        service = new SaveService(Executors.newSingleThreadExecutor());
+        player = new Player(10);
+        stats = new PetStatistics(100, 100, 100, 100, 6, 3, 4, null, null, null);
+        stats.stopStatDecay(); /** only the changes made by the test should be recorded */
+        Files.write(saveFile, SaveFormat.JSON.encode(snapshot()));
+    }
+
+    /** Takes a snapshot of the test's player and pet, as the game does */
+    private SaveGame snapshot() {
+        SaveGame save = new SaveGame();
+        save.petType = 1;
+        save.petName = "Journal";
+        save.petStats = save.getPetStats(stats);
+        save.player = save.getPlayerStats(player);
+        return save;
+    }
+
+    /** Makes one change of every kind */
+    private void play() {
+        player.getScore().increaseScore(40);
+        player.addCoins(2.5);
+        player.getInventory().addItems(ItemCatalog.getInstance().getByName("Burger"), 3);
+        player.getInventory().removeItems("Burger", 1);
+        stats.updateStatistics(-10, -20, 0, 5);
+    }
+
+    @Test
+    public void testReplayRebuildsState() throws Exception {
+        GameJournal journal = new GameJournal(saveFile, service, 0);
+        journal.attach(player, stats);
+        play();
+        journal.close();
+        player.getScore().increaseScore(1000); /** not recorded once the journal is closed */
+
+        SaveGame loaded = JournalReplayer.load(saveFile);
+        assertEquals(40, ((Number) loaded.player.get("score")).intValue());
+        assertEquals(12.5, ((Number) loaded.player.get("money")).doubleValue());
+        assertEquals(1250L, ((Number) loaded.player.get("coins")).longValue());
+        assertEquals(90, ((Number) loaded.petStats.get("health")).intValue());
+        assertEquals(80, ((Number) loaded.petStats.get("sleep")).intValue());
+
+        Inventory inventory = new Inventory();
+        inventory.loadSaved(loaded.player.get("inventory"));
+        assertEquals(2, inventory.getItemQuantity("Burger"));
+        assertEquals(journal.getSequence(), GameJournal.sequenceOf(loaded));
+    }
+
+    @Test
+    public void testReplayIsDeterministic() throws Exception {
+        GameJournal journal = new GameJournal(saveFile, service, 0);
+        journal.attach(player, stats);
+        play();
+        journal.close();
+
+        SaveGame first = JournalReplayer.load(saveFile);
+        SaveGame second = JournalReplayer.load(saveFile);
+        assertEquals(first.petStats, second.petStats);
+        assertEquals(first.player.get("score"), second.player.get("score"));
+        assertEquals(first.player.get("ledger"), second.player.get("ledger"));
+    }
+
+    @Test
+    public void testSnapshotTrimsJournal() throws Exception {
+        GameJournal journal = new GameJournal(saveFile, service, 4);
+        journal.setSnapshots(this::snapshot);
+        journal.attach(player, stats);
+        for (int i = 0; i < 10; i++) {
+            player.getScore().increaseScore(1);
+        }
+        assertTrue(service.flush(5000));
+
+        List<GameEvent> left = GameJournal.read(journal.getJournalFile());
+        assertEquals(2, left.size(), "Events included in the last snapshot should be removed.");
+        assertEquals(8, GameJournal.sequenceOf(SaveFormat.read(saveFile)));
+        assertEquals(10, ((Number) JournalReplayer.load(saveFile).player.get("score")).intValue());
+        journal.close();
+
+        GameJournal reopened = new GameJournal(saveFile, service, 4);
+        assertEquals(10, reopened.getSequence(), "Sequence numbers should continue after reopening.");
+        reopened.close();
+    }
+
+    @Test
+    public void testOlderEventsAreSkipped() throws Exception {
+        GameJournal journal = new GameJournal(saveFile, service, 0);
+        journal.attach(player, stats);
+        player.getScore().increaseScore(30);
+        journal.close();
+
+        SaveGame save = snapshot();
+        save.player.put("score", 5);
+        save.gameStats = Map.of(GameJournal.SEQUENCE_KEY, 1L);
+        SaveGame replayed = JournalReplayer.replay(save, GameJournal.read(journal.getJournalFile()));
+        assertEquals(5, ((Number) replayed.player.get("score")).intValue(), "The snapshot already includes event 1.");
+    }
+
+    @Test
+    public void testIncompleteLastEventIsIgnored() throws Exception {
+        GameJournal journal = new GameJournal(saveFile, service, 0);
+        journal.attach(player, stats);
+        player.getScore().increaseScore(10);
+        player.getScore().increaseScore(10);
+        journal.close();
+
+        Path file = journal.getJournalFile();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+        List<GameEvent> events = GameJournal.read(file);
+        assertEquals(1, events.size());
+        assertEquals(10, events.get(0).getValue(0));
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import PetGame.Inventory;
 import PetGame.PurchasableItem;
@@ -91,4 +93,60 @@ public class InventoryTest {
         assertEquals("Toy", newInventory.getInventoryItems().get(0).getName(), "The first item should be 'Toy'.");
         assertEquals("Food", newInventory.getInventoryItems().get(1).getName(), "The second item should be 'Food'.");
     }
+
+    @Test
+    public void testCountsManyCopies() {
+        // Add and remove many copies of the same item
+        inventory.addItems(new PurchasableItem("Cake", 10), 100000);
+        inventory.addItem(new PurchasableItem("Ball", 5));
+
+        assertEquals(1, inventory.removeItems("Ball", 3), "Only the copies held should be removed.");
+        assertTrue(inventory.removeItem("Cake"));
+
+        // Verify the counts without walking the copies
+        assertEquals(99999, inventory.getItemQuantity("Cake"), "The quantity of 'Cake' should be 99999.");
+        assertEquals(0, inventory.getItemQuantity("Ball"), "All the balls should be gone.");
+        assertEquals(99999, inventory.getInventoryItems().size(), "The list view should repeat each copy.");
+    }
+
+    @Test
+    public void testItemCountsAreCompact() {
+        // Add several copies of two items
+        inventory.addItem(new PurchasableItem("Toy", 5));
+        inventory.addItem(new PurchasableItem("Food", 3));
+        inventory.addItem(new PurchasableItem("Toy", 5));
+
+        // Verify there is one saved entry per item
+        List<Inventory.ItemCount> counts = inventory.getItemCounts();
+        assertEquals(2, counts.size(), "There should be one entry per item.");
+        assertEquals("Toy", counts.get(0).itemName);
+        assertEquals(2, counts.get(0).count);
+
+        // Verify a later purchase does not change the saved entries
+        inventory.addItem(new PurchasableItem("Toy", 5));
+        assertEquals(2, counts.get(0).count, "The saved entries should be a copy.");
+    }
+
+    @Test
+    public void testLoadSavedAcceptsOldListForm() {
+        // Older saves list every copy as a JSON object without a count
+        Map<String, Object> toy = Map.of("itemName", "Toy", "coinsRequired", 5.0);
+        Map<String, Object> food = Map.of("itemName", "Food", "coinsRequired", 3.0, "count", 4.0);
+        inventory.loadSaved(List.of(toy, toy, food));
+
+        // Verify the copies were counted
+        assertEquals(2, inventory.getItemQuantity("Toy"), "Each listed copy should count once.");
+        assertEquals(4, inventory.getItemQuantity("Food"), "A saved count should be used as is.");
+        assertEquals(6, inventory.size(), "The inventory should contain 6 items.");
+    }
+
+    @Test
+    public void testAddItemsDoesNotOverflow() {
+        inventory.addItems(new PurchasableItem("Toy", 5), Integer.MAX_VALUE - 1);
+
+        // Verify a count past the largest int is refused without changing the inventory
+        assertThrows(ArithmeticException.class, () -> inventory.addItems(new PurchasableItem("Food", 3), 2));
+        assertEquals(Integer.MAX_VALUE - 1, inventory.size());
+        assertEquals(0, inventory.getItemQuantity("Food"), "No Food should have been added.");
+    }
 }
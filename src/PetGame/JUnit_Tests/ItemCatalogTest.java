@@ -0,0 +1,76 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import PetGame.CatalogItem;
+import PetGame.Inventory;
+import PetGame.ItemCatalog;
+import PetGame.PurchasableItem;
+
+public class ItemCatalogTest {
+
+    private static ItemCatalog read(String json) throws IOException {
+        return ItemCatalog.load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testGameCatalogHasShopItems() {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+
+        CatalogItem drink = catalog.get("energy_drink");
+        assertEquals("Energy Drink", drink.getName());
+        assertEquals(60, drink.getPrice());
+        assertEquals(45, drink.getFullnessEffect());
+        assertEquals("feed", drink.getCooldown());
+        assertSame(drink, catalog.getByName("Energy Drink"), "Lookups by id and name should share one object.");
+        assertEquals(10, catalog.getItems().size());
+    }
+
+    @Test
+    public void testEffectsAndDefaults() throws IOException {
+        ItemCatalog catalog = read("[{\"id\":\"potion\",\"name\":\"Potion\",\"price\":5,\"effect\":{\"health\":30,\"sleep\":-5}}]");
+
+        CatalogItem potion = catalog.get("potion");
+        assertEquals(30, potion.getHealthEffect());
+        assertEquals(-5, potion.getSleepEffect());
+        assertEquals(0, potion.getHappinessEffect());
+        assertEquals(CatalogItem.NO_COOLDOWN, potion.getCooldown());
+        assertEquals("Health", potion.getMainStat());
+        assertEquals(30, potion.getMainEffect());
+        assertNull(catalog.get("missing"));
+    }
+
+    @Test
+    public void testInvalidCatalogsAreRejected() {
+        assertThrows(IOException.class, () -> read("[{\"name\":\"No id\"}]"));
+        assertThrows(IOException.class, () -> read("not json"));
+        assertThrows(IllegalArgumentException.class,
+                () -> read("[{\"id\":\"a\",\"name\":\"Same\"},{\"id\":\"b\",\"name\":\"Same\"}]"));
+    }
+
+    @Test
+    public void testCatalogCannotBeChanged() {
+        List<CatalogItem> items = ItemCatalog.getInstance().getItems();
+        assertThrows(UnsupportedOperationException.class, () -> items.remove(0));
+    }
+
+    @Test
+    public void testSavedItemsAreInterned() {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        Inventory inventory = new Inventory();
+
+        inventory.loadSaved(List.of(new Inventory.ItemCount("Cake", 15, 2), new Inventory.ItemCount("Retired Item", 7, 1)));
+
+        assertSame(catalog.getByName("Cake"), inventory.getInventoryItems().get(0), "Known items should reuse the catalog object.");
+        PurchasableItem retired = inventory.getInventoryItems().get(2);
+        assertEquals("Retired Item", retired.getName());
+        assertEquals(7, retired.getPrice());
+    }
+}
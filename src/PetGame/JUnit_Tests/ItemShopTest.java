@@ -52,7 +52,7 @@ public class ItemShopTest {
 
             String output = outputStream.toString().trim();
 
-            assertEquals("Welcome to the Item Shop!", output);
+            assertEquals("", output, "Opening the shop should go to the game log, not the terminal.");
         } finally {
             System.setOut(originalOut);
         }
@@ -0,0 +1,53 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import PetGame.CatalogItem;
+import PetGame.Inventory;
+import PetGame.ItemCatalog;
+import PetGame.ItemUse;
+
+public class ItemUseTest {
+
+    @Test
+    public void testEffectsAreAddedUp() {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        CatalogItem burger = catalog.getByName("Burger");
+        CatalogItem ball = catalog.getByName("Ball");
+        CatalogItem potion = catalog.getByName("Healing Potion");
+        Inventory inventory = new Inventory();
+        inventory.addItems(burger, 5);
+        inventory.addItems(ball, 2);
+        inventory.addItem(potion);
+
+        Map<CatalogItem, Integer> requested = new LinkedHashMap<>();
+        requested.put(burger, 3);
+        requested.put(ball, 4);
+        requested.put(potion, 1);
+        ItemUse use = ItemUse.take(inventory, requested);
+
+        assertEquals(45, use.fullness);
+        assertEquals(20, use.happiness, "Only the two balls held should be used.");
+        assertEquals(200, use.health);
+        assertEquals(3 * 20 + 2 * 15, use.score);
+        assertEquals(List.of("feed", "gift"), List.copyOf(use.cooldowns), "The potion starts no cooldown.");
+        assertEquals(6, use.getItemCount());
+        assertEquals(2, inventory.getItemQuantity("Burger"));
+        assertEquals(0, inventory.getItemQuantity("Ball"));
+    }
+
+    @Test
+    public void testNothingHeldUsesNothing() {
+        ItemUse use = ItemUse.take(new Inventory(), ItemCatalog.getInstance().getByName("Cake"), 3);
+
+        assertTrue(use.isEmpty());
+        assertEquals(0, use.fullness);
+        assertTrue(use.cooldowns.isEmpty());
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import PetGame.Limitations;
+import PetGame.PlaytimeLimits;
 
 public class LimitationsTest {
 	private Limitations limitations;
@@ -29,9 +30,9 @@ public class LimitationsTest {
         	}
         }
         
-        Limitations.enabled = false;
-        Limitations.startHour = 10;
-        Limitations.endHour = 16;
+        PlaytimeLimits.enabled = false;
+        PlaytimeLimits.startHour = 10;
+        PlaytimeLimits.endHour = 16;
     }
 
 	@Test
@@ -41,22 +42,22 @@ public class LimitationsTest {
         
         // Simulate the system time during the test (if currentTime is between 10 AM to 4 PM)
         if (currentTime.isAfter(LocalTime.of(10, 0)) && currentTime.isBefore(LocalTime.of(16, 0))) {
-            assertTrue(Limitations.isBlockedTimeNow());
+            assertTrue(PlaytimeLimits.isBlockedTimeNow());
         }
     }
 	
 	@Test
 	public void testSaveAndLoad() {
-		Limitations.enabled = true;
-		Limitations.startHour = 5;
-		Limitations.endHour = 6;
-		Limitations.save();
+		PlaytimeLimits.enabled = true;
+		PlaytimeLimits.startHour = 5;
+		PlaytimeLimits.endHour = 6;
+		PlaytimeLimits.save();
 		
-		Limitations.load();
+		PlaytimeLimits.load();
 		
-		assertEquals(true, Limitations.enabled);
-		assertEquals(5, Limitations.startHour);
-		assertEquals(6, Limitations.endHour);
+		assertEquals(true, PlaytimeLimits.enabled);
+		assertEquals(5, PlaytimeLimits.startHour);
+		assertEquals(6, PlaytimeLimits.endHour);
 
 	}
 }
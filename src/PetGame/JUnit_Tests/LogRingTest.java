@@ -0,0 +1,67 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import PetGame.LogRing;
+
+public class LogRingTest {
+
+    @Test
+    public void testEntriesComeOutInOrder() {
+        LogRing<Integer> ring = new LogRing<>(4);
+        assertNull(ring.poll());
+        assertTrue(ring.offer(1));
+        assertTrue(ring.offer(2));
+        assertEquals(1, ring.poll());
+        assertTrue(ring.offer(3));
+        assertEquals(2, ring.poll());
+        assertEquals(3, ring.poll());
+        assertNull(ring.poll());
+    }
+
+    @Test
+    public void testFullRingDropsEntries() {
+        LogRing<Integer> ring = new LogRing<>(3);
+        assertEquals(4, ring.getCapacity(), "The capacity is rounded up to a power of two.");
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4), "A full ring never waits for the reader.");
+        assertEquals(1, ring.getDropped());
+
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(5), "Taking an entry makes room for another.");
+        assertEquals(4, ring.getTail() - ring.getHead());
+    }
+
+    @Test
+    public void testManyProducersLoseNothingThatFits() throws InterruptedException {
+        LogRing<Integer> ring = new LogRing<>(1 << 16);
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            int base = t * 10000;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    ring.offer(base + i);
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        List<Integer> taken = new ArrayList<>();
+        for (Integer entry = ring.poll(); entry != null; entry = ring.poll()) {
+            taken.add(entry);
+        }
+        assertEquals(40000, taken.size());
+        assertEquals(0, ring.getDropped());
+        assertEquals(40000, taken.stream().distinct().count());
+    }
+}
@@ -0,0 +1,96 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import PetGame.Log;
+import PetGame.RollingLogFile;
+
+public class LogTest {
+
+    @TempDir
+    Path folder;
+
+    private final Log log = new Log(1024);
+
+    @AfterEach
+    public void tearDown() {
+        log.close();
+    }
+
+    @Test
+    public void testNothingIsLoggedUntilOpened() {
+        assertFalse(log.isEnabled(Log.Level.ERROR));
+        log.error("ignored", "key", "value");
+        assertEquals(0, log.getDropped());
+        assertTrue(log.flush(100));
+    }
+
+    @Test
+    public void testEntriesAreWrittenWithTheirFields() throws IOException {
+        Path file = folder.resolve("logs/game.log");
+        log.open(file, Log.DEFAULT_MAX_BYTES, 1, Log.Level.INFO);
+        log.info("item.bought", "item", "Apple", "price", 5);
+        log.info("game.loaded", "slot", "saves/save 1.json", "pet", "Say \"hi\"");
+        assertTrue(log.flush(5000));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).endsWith(" INFO [" + Thread.currentThread().getName() + "] item.bought item=Apple price=5"), lines.get(0));
+        assertTrue(lines.get(1).endsWith("game.loaded slot=\"saves/save 1.json\" pet=\"Say \\\"hi\\\"\""), lines.get(1));
+    }
+
+    @Test
+    public void testLevelsBelowTheLogsLevelAreSkipped() throws IOException {
+        Path file = folder.resolve("game.log");
+        log.open(file, Log.DEFAULT_MAX_BYTES, 1, Log.Level.WARN);
+        assertFalse(log.isEnabled(Log.Level.INFO));
+        assertTrue(log.isEnabled(Log.Level.ERROR));
+        log.debug("skipped");
+        log.info("skipped");
+        log.warn("kept");
+        log.setLevel(Log.Level.DEBUG);
+        log.debug("kept.too");
+        assertTrue(log.flush(5000));
+
+        String text = Files.readString(file);
+        assertFalse(text.contains("skipped"));
+        assertTrue(text.contains(" WARN ") && text.contains("kept.too"), text);
+    }
+
+    @Test
+    public void testErrorsAreWrittenWithTheirStackTrace() throws IOException {
+        Path file = folder.resolve("game.log");
+        log.open(file, Log.DEFAULT_MAX_BYTES, 1, Log.Level.INFO);
+        log.error("save.writeFailed", "file", "save1.json", "error", new IOException("disk full"));
+        log.close();
+
+        String text = Files.readString(file);
+        assertTrue(text.contains("error=\"java.io.IOException: disk full\""), text);
+        assertTrue(text.contains("\tat PetGame.JUnit_Tests.LogTest"), "Closing the log writes what was waiting.");
+    }
+
+    @Test
+    public void testFileIsRolledWhenFull() throws IOException {
+        Path file = folder.resolve("roll.log");
+        try (RollingLogFile rolling = new RollingLogFile(file, 10, 2)) {
+            rolling.write("aaaaaaaa\n");
+            rolling.write("bbbbbbbb\n");
+            rolling.write("cccccccc\n");
+            rolling.write("dddddddd\n");
+            rolling.flush();
+            assertEquals("dddddddd\n", Files.readString(file));
+            assertEquals("cccccccc\n", Files.readString(rolling.getOlderFile(1)));
+            assertEquals("bbbbbbbb\n", Files.readString(rolling.getOlderFile(2)));
+            assertFalse(Files.exists(rolling.getOlderFile(3)), "Only the given number of older files are kept.");
+        }
+    }
+}
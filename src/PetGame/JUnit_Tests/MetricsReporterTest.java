@@ -0,0 +1,55 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import PetGame.Metrics;
+import PetGame.MetricsReporter;
+
+public class MetricsReporterTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void testDumpWritesEveryMetric() throws Exception {
+        Metrics metrics = new Metrics();
+        metrics.counter("save.bytesWritten").add(42);
+        Path file = folder.resolve("metrics.txt");
+
+        try (MetricsReporter reporter = new MetricsReporter(metrics, file, 60000)) {
+            reporter.dump();
+            String report = Files.readString(file);
+            assertTrue(report.startsWith("# "), report);
+            assertTrue(report.contains("save.bytesWritten 42\n"), report);
+        }
+    }
+
+    @Test
+    public void testCloseWritesLastReport() throws Exception {
+        Metrics metrics = new Metrics();
+        Path file = folder.resolve("metrics.txt");
+        MetricsReporter reporter = new MetricsReporter(metrics, file, 60000);
+        metrics.counter("fxml.cacheHits").add(3);
+        reporter.close();
+        assertTrue(Files.readString(file).contains("fxml.cacheHits 3\n"));
+    }
+
+    @Test
+    public void testReportsAreWrittenPeriodically() throws Exception {
+        Metrics metrics = new Metrics();
+        Path file = folder.resolve("metrics.txt");
+        try (MetricsReporter reporter = new MetricsReporter(metrics, file, 20)) {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!Files.exists(file) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(Files.exists(file), "The timer should have written a report.");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import PetGame.Metrics;
+
+public class MetricsTest {
+
+    @Test
+    public void testSameNameGivesSameMetric() {
+        Metrics metrics = new Metrics();
+        assertSame(metrics.counter("a"), metrics.counter("a"));
+        assertSame(metrics.histogram("b"), metrics.histogram("b"));
+        assertNotSame(metrics.counter("a"), metrics.counter("c"));
+    }
+
+    @Test
+    public void testCountersAndGaugesAreReported() {
+        Metrics metrics = new Metrics();
+        AtomicLong heap = new AtomicLong(10);
+        metrics.counter("save.bytesWritten").add(100);
+        metrics.counter("save.bytesWritten").increment();
+        metrics.gauge("memory.heapUsed", heap::get);
+
+        assertEquals(101, metrics.getValues().get("save.bytesWritten"));
+        assertEquals(10, metrics.getValues().get("memory.heapUsed"));
+        heap.set(20);
+        assertEquals(20, metrics.getValues().get("memory.heapUsed"), "Gauges are read each time.");
+    }
+
+    @Test
+    public void testFormatListsEveryMetricSorted() {
+        Metrics metrics = new Metrics();
+        metrics.histogram("simulation.step").record(1_000_000L);
+        metrics.counter("fxml.cacheHits").increment();
+        metrics.gauge("memory.heapUsed", () -> 5);
+
+        String[] lines = metrics.format().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("fxml.cacheHits 1", lines[0]);
+        assertEquals("memory.heapUsed 5", lines[1]);
+        assertTrue(lines[2].startsWith("simulation.step count=1"), lines[2]);
+    }
+}
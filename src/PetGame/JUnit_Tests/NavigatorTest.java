@@ -0,0 +1,72 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import PetGame.Navigator;
+
+public class NavigatorTest {
+
+    /**
+     * Builds empty screens instead of loading their FXML, so the cache can be tested without the FX toolkit.
+     */
+    private static final class EmptyScreens extends Navigator {
+        @Override
+        protected Navigator.Screen loadScreen(String fxml) {
+            return new Navigator.Screen(null, null);
+        }
+    }
+
+    @Test
+    public void testOnlyStaticScreensAreCached() {
+        assertTrue(Navigator.isCacheable("FXML_Files/Main.fxml"));
+        assertTrue(Navigator.isCacheable("FXML_Files/Help.fxml"));
+        assertFalse(Navigator.isCacheable("FXML_Files/Game.fxml"), "The game screen holds a running game.");
+        assertFalse(Navigator.isCacheable("FXML_Files/Inventory.fxml"), "The inventory shows the current player's items.");
+        assertFalse(Navigator.isCacheable("FXML_Files/LoadGame.fxml"), "The load screen reads the save files when created.");
+    }
+
+    @Test
+    public void testNewNavigatorIsEmpty() {
+        Navigator navigator = new Navigator();
+
+        assertTrue(navigator.getCachedScreens().isEmpty());
+        assertTrue(navigator.getLoadTimes().isEmpty());
+    }
+
+    @Test
+    public void testLeastRecentlyShownScreenIsEvicted() throws Exception {
+        List<String> screens = List.of("FXML_Files/Main.fxml", "FXML_Files/Settings.fxml", "FXML_Files/Help.fxml",
+                "FXML_Files/ParentalControls.fxml", "FXML_Files/Tutorial.fxml", "FXML_Files/TutorialScreen.fxml");
+        assertTrue(Navigator.MAX_CACHED_SCREENS < screens.size(), "The cache should not hold every static screen.");
+        Navigator navigator = new EmptyScreens();
+
+        Navigator.Screen main = navigator.load(screens.get(0));
+        for (String screen : screens.subList(1, Navigator.MAX_CACHED_SCREENS)) {
+            navigator.load(screen);
+        }
+        assertSame(main, navigator.load(screens.get(0)), "The main menu should be shown from the cache.");
+        navigator.load(screens.get(Navigator.MAX_CACHED_SCREENS));
+
+        List<String> cached = navigator.getCachedScreens();
+        assertEquals(Navigator.MAX_CACHED_SCREENS, cached.size());
+        assertFalse(cached.contains(screens.get(1)), "The least recently shown screen should be evicted.");
+        assertTrue(cached.contains(screens.get(0)), "A screen shown again should be kept.");
+        assertEquals(screens.get(Navigator.MAX_CACHED_SCREENS), cached.get(cached.size() - 1));
+
+        navigator.load(screens.get(1));
+        assertEquals(2, navigator.getLoadTimes().get(screens.get(1)).getLoads(), "An evicted screen is loaded again.");
+    }
+
+    @Test
+    public void testMissingScreenIsNotCached() {
+        Navigator navigator = new Navigator();
+
+        assertThrows(RuntimeException.class, () -> navigator.load("FXML_Files/Missing.fxml"));
+        assertTrue(navigator.getCachedScreens().isEmpty(), "A screen that failed to load should not be cached.");
+        assertEquals(0, navigator.getLoadTimes().get("FXML_Files/Missing.fxml").getLoads());
+    }
+}
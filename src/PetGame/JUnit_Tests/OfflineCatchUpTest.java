@@ -0,0 +1,89 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import PetGame.OfflineCatchUp;
+import PetGame.PetState;
+import PetGame.PetStatStore;
+import PetGame.PetStatistics;
+
+public class OfflineCatchUpTest {
+
+    /** Puts one pet in its own store */
+    private static PetStatStore store(int[] max, int[] rates, int[] stats, PetState state) {
+        PetStatStore store = new PetStatStore(1);
+        store.add(max[0], max[1], max[2], max[3], rates[0], rates[1], rates[2]);
+        store.set(0, stats[0], stats[1], stats[2], stats[3], state.getCode());
+        return store;
+    }
+
+    @Test
+    public void testMatchesStepByStep() {
+        Random random = new Random(17);
+        PetState[] states = {PetState.NORMAL, PetState.HUNGRY, PetState.ANGRY};
+        for (int run = 0; run < 300; run++) {
+            int[] max = {50 + random.nextInt(60), 50 + random.nextInt(60), 50 + random.nextInt(60), 50 + random.nextInt(60)};
+            int[] rates = {random.nextInt(6), random.nextInt(6), random.nextInt(6)};
+            int[] stats = {1 + random.nextInt(max[0]), random.nextInt(max[1] + 1), random.nextInt(max[2] + 1), random.nextInt(max[3] + 1)};
+            PetState state = states[random.nextInt(states.length)];
+            long ticks = random.nextInt(4000);
+
+            PetStatStore expected = store(max, rates, stats, state);
+            for (long tick = 1; tick <= ticks; tick++) {
+                expected.tick(tick);
+            }
+            PetStatStore actual = store(max, rates, stats, state);
+            OfflineCatchUp.Result result = OfflineCatchUp.advance(actual, 0, ticks);
+
+            String label = "run " + run;
+            assertEquals(expected.getHealth(0), result.health, label);
+            assertEquals(expected.getSleep(0), result.sleep, label);
+            assertEquals(expected.getFullness(0), result.fullness, label);
+            assertEquals(expected.getHappiness(0), result.happiness, label);
+            assertEquals(expected.getState(0), result.state.getCode(), label);
+        }
+    }
+
+    @Test
+    public void testLongAbsenceUsesStrides() {
+        /** No fullness or sleep loss, so the pet only gets angry once and then stays as it is */
+        PetStatStore store = store(new int[] {100, 100, 100, 100}, new int[] {0, 0, 1}, new int[] {100, 100, 100, 100}, PetState.NORMAL);
+        long year = 365L * 24 * 60 * 60;
+        OfflineCatchUp.Result result = OfflineCatchUp.advance(store, 0, year);
+
+        assertEquals(PetState.ANGRY, result.state);
+        assertEquals(0, result.happiness);
+        assertEquals(100, result.fullness);
+        assertTrue(result.entered.contains(PetState.ANGRY));
+        assertTrue(result.exactTicks < 1000, "Only the steps around state changes should be run one at a time, ran " + result.exactTicks);
+    }
+
+    @Test
+    public void testNeglectedPetDies() {
+        PetStatistics stats = new PetStatistics(90, 75, 80, 100, 6, 3, 4, null, null, null);
+        stats.stopStatDecay();
+        OfflineCatchUp.Result result = OfflineCatchUp.advance(stats, 7L * 24 * 60 * 60 * 1000);
+
+        assertEquals(PetState.DEAD, result.state);
+        assertEquals(0, result.health);
+        assertTrue(result.entered.contains(PetState.HUNGRY));
+        assertEquals(90, stats.getHealth(), "The pet itself should only change when the result is applied.");
+
+        result.applyTo(stats);
+        assertEquals(PetState.DEAD, stats.getPetState());
+        assertTrue(result.getSummary().endsWith("died."), result.getSummary());
+    }
+
+    @Test
+    public void testNoTimeAway() {
+        PetStatStore store = store(new int[] {100, 100, 100, 100}, new int[] {3, 3, 3}, new int[] {80, 70, 60, 50}, PetState.NORMAL);
+        OfflineCatchUp.Result result = OfflineCatchUp.advance(store, 0, 0);
+        assertEquals(80, result.health);
+        assertEquals(50, result.happiness);
+        assertTrue(result.entered.isEmpty());
+    }
+}
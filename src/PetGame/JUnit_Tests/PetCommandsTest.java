@@ -13,6 +13,7 @@ import javafx.scene.*;
 import PetGame.EnergeticPet;
 import PetGame.Game;
 import PetGame.Pet;
+import PetGame.PetAction;
 import PetGame.PetCommands;
 import PetGame.PetStatistics;
 import PetGame.Player;
@@ -110,7 +111,7 @@ public class PetCommandsTest {
     public void testCoolDown() throws IOException {
     	PetStatistics petStats = pet.getPetStats();
         petStats.changeState("Normal");
-        petCommands.canFeed = false;
+        petCommands.startCooldown("feed");
         petCommands.handleInput(KeyCode.I, null);
         assertTrue(statusTextArea.getText().contains("Feed is on cooldown!"));  
     }
@@ -147,7 +148,7 @@ public class PetCommandsTest {
     public void testCoolDownMethod() {
     	petCommands.startCooldown("sleep");
     	boolean expected = false;
-    	boolean result = petCommands.canSleep;
+    	boolean result = petCommands.isReady(PetAction.SLEEP);
     	assertEquals(expected, result);
     }
     
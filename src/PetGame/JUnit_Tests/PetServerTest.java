@@ -0,0 +1,213 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import PetGame.ItemCatalog;
+import PetGame.PetAction;
+import PetGame.PetServer;
+import PetGame.PetType;
+import PetGame.SaveFormat;
+import PetGame.SaveRepository;
+import PetGame.SaveService;
+import PetGame.SimulationEngine;
+import PetGame.SlotIndex;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class PetServerTest {
+
+    @TempDir
+    Path folder;
+
+    private PetServer server;
+
+    @BeforeEach
+    public void setUp() {
+        server = new PetServer(ItemCatalog.getInstance(), new SimulationEngine());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+    }
+
+    /** Gets the id of a pet from its state */
+    private static long id(Map<String, Object> pet) {
+        return ((Number) pet.get("id")).longValue();
+    }
+
+    private static int stat(Map<String, Object> pet, String name) {
+        return ((Number) pet.get(name)).intValue();
+    }
+
+    @Test
+    public void testCommandsFollowGameRules() {
+        long id = id(server.createPet("Rex", PetType.BALANCED, 100));
+
+        PetServer.Reply exercise = server.command(id, PetAction.EXERCISE, null);
+        assertTrue(exercise.ok);
+        assertEquals(75, stat(exercise.pet, "sleep"));
+        assertEquals(75, stat(exercise.pet, "fullness"));
+        assertEquals(10, stat(exercise.pet, "score"));
+
+        PetServer.Reply vet = server.command(id, PetAction.VET, null);
+        assertTrue(vet.ok);
+        assertEquals(0, stat(vet.pet, "score"), "The vet costs score.");
+
+        PetServer.Reply sleep = server.command(id, PetAction.SLEEP, null);
+        assertTrue(sleep.ok);
+        assertEquals("Sleeping", sleep.pet.get("state"));
+        assertFalse(server.command(id, PetAction.PLAY, null).ok, "A sleeping pet cannot play.");
+    }
+
+    @Test
+    public void testCommandsAreRecorded() throws Exception {
+        long id = id(server.createPet("Rex", PetType.BALANCED, 100));
+        Path file = folder.resolve("commands.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("PetGame.Command");
+            recording.start();
+            server.command(id, PetAction.EXERCISE, null);
+            server.command(id, PetAction.EXERCISE, null);
+            server.command(id, PetAction.SLEEP, null);
+            server.command(id, PetAction.PLAY, null);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("PetGame.Command"))
+                .collect(Collectors.toList());
+
+        assertEquals(4, events.size());
+        assertEquals(PetAction.EXERCISE.name, events.get(0).getString("key"));
+        assertEquals("done", events.get(0).getString("outcome"));
+        assertEquals("cooldown", events.get(1).getString("outcome"));
+        assertEquals("notAllowed", events.get(3).getString("outcome"));
+        assertEquals("Sleeping", events.get(3).getString("state"));
+    }
+
+    @Test
+    public void testFeedUsesBoughtItem() {
+        long id = id(server.createPet("Rex", PetType.BALANCED, 30));
+        server.command(id, PetAction.EXERCISE, null);
+
+        assertFalse(server.command(id, PetAction.FEED, "burger").ok, "Nothing to feed yet.");
+        assertFalse(server.buy(id, "burger", 2).ok, "Two burgers cost more than 30 coins.");
+        PetServer.Reply bought = server.buy(id, "burger", 1);
+        assertTrue(bought.ok);
+        assertEquals(5.0, ((Number) bought.pet.get("coins")).doubleValue());
+
+        PetServer.Reply fed = server.command(id, PetAction.FEED, "burger");
+        assertTrue(fed.ok, fed.message);
+        assertEquals(85, stat(fed.pet, "fullness"));
+        assertEquals(30, stat(fed.pet, "score"));
+        assertFalse(server.command(id, PetAction.GIFT, "burger").ok, "A burger is not a gift.");
+    }
+
+    @Test
+    public void testPetsDecayOverTime() {
+        long id = id(server.createPet("Rex", PetType.ENERGETIC, 0));
+        server.advance(SimulationEngine.STEP_MILLIS * 5);
+        Map<String, Object> pet = server.getPet(id);
+        assertEquals(69, stat(pet, "sleep"));
+        assertEquals(96, stat(pet, "happiness"));
+
+        assertTrue(server.removePet(id));
+        assertNull(server.getPet(id));
+        assertFalse(server.command(id, PetAction.PLAY, null).ok);
+    }
+
+    @Test
+    public void testThousandsOfPets() {
+        for (int i = 0; i < 5000; i++) {
+            server.createPet("Pet " + i, PetType.values()[i % 3], 0);
+        }
+        assertEquals(5000, server.getPetCount());
+        server.advance(SimulationEngine.STEP_MILLIS * 60);
+        assertEquals("Normal", server.getPet(5000).get("state"));
+    }
+
+    @Test
+    public void testBuyCountIsBounded() {
+        long id = id(server.createPet("Rex", PetType.BALANCED, 100));
+
+        assertFalse(server.buy(id, "burger", 0).ok);
+        assertFalse(server.buy(id, "burger", -1).ok, "A negative count should not give coins back.");
+        assertFalse(server.buy(id, "burger", PetServer.MAX_BUY_COUNT + 1).ok);
+        PetServer.Reply refused = server.buy(id, "burger", Integer.MAX_VALUE);
+        assertFalse(refused.ok);
+        assertEquals(100.0, ((Number) refused.pet.get("coins")).doubleValue(), "No coins should have been spent.");
+    }
+
+    @Test
+    public void testHttpApi() throws Exception {
+        InetSocketAddress address = server.listen(0);
+        String base = "http://127.0.0.1:" + address.getPort() + "/pets";
+        HttpClient client = HttpClient.newHttpClient();
+
+        HttpResponse<String> created = client.send(HttpRequest.newBuilder(URI.create(base + "?name=Rex&type=lazy"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, created.statusCode());
+        assertTrue(created.body().contains("\"type\":\"Lazy\""), created.body());
+
+        HttpResponse<String> played = client.send(HttpRequest.newBuilder(URI.create(base + "/1/play"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, played.statusCode());
+        assertTrue(played.body().contains("\"score\":10"), played.body());
+
+        HttpResponse<String> missing = client.send(HttpRequest.newBuilder(URI.create(base + "/7")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(404, missing.statusCode());
+    }
+
+    @Test
+    public void testHttpSavesOnlyToSlots() throws Exception {
+        Path saves = folder.resolve("saves");
+        SlotIndex index = new SlotIndex(saves.resolve("slots.json"));
+        server.setSaveRepository(new SaveRepository(saves, index));
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        server.setSaveService(new SaveService(writer, index));
+        long id = id(server.createPet("Rex", PetType.BALANCED, 100));
+        InetSocketAddress address = server.listen(0);
+        String base = "http://127.0.0.1:" + address.getPort() + "/pets/" + id + "/save?file=";
+        HttpClient client = HttpClient.newHttpClient();
+
+        for (String file : new String[] {"..%2Frex.json", "%2Ftmp%2Frex.json", "rex.json", "save1.txt"}) {
+            HttpResponse<String> refused = client.send(HttpRequest.newBuilder(URI.create(base + file))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, refused.statusCode(), file);
+        }
+        assertFalse(Files.exists(folder.resolve("rex.json")));
+
+        HttpResponse<String> crossSite = client.send(HttpRequest.newBuilder(URI.create(base + "save1.json"))
+                .header("Origin", "https://example.com").POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(403, crossSite.statusCode());
+        assertFalse(Files.exists(saves.resolve("save1.json")), "A request from a web page should not save.");
+
+        HttpResponse<String> saved = client.send(HttpRequest.newBuilder(URI.create(base + "save1.json"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, saved.statusCode(), saved.body());
+        assertEquals("Rex", SaveFormat.read(saves.resolve("save1.json")).petName);
+        writer.shutdown();
+    }
+}
@@ -0,0 +1,175 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import PetGame.ItemCatalog;
+import PetGame.PetAction;
+import PetGame.PetServer;
+import PetGame.PetSession;
+import PetGame.PetType;
+import PetGame.SaveFormat;
+import PetGame.SaveGame;
+import PetGame.SaveService;
+import PetGame.SimulationEngine;
+
+public class PetSessionTest {
+
+    @TempDir
+    Path folder;
+
+    /** The time in nanoseconds seen by the sessions, moved on by the tests */
+    private final AtomicLong now = new AtomicLong();
+    private PetServer server;
+    /** Writes the sessions' saves, without touching the game's slot index */
+    private ExecutorService writer;
+
+    @BeforeEach
+    public void setUp() {
+        server = new PetServer(ItemCatalog.getInstance(), new SimulationEngine(), now::get);
+        writer = Executors.newSingleThreadExecutor();
+        server.setSaveService(new SaveService(writer));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+        writer.shutdown();
+    }
+
+    private PetSession open(String name) {
+        long id = ((Number) server.createPet(name, PetType.BALANCED, 100).get("id")).longValue();
+        return server.getSession(id);
+    }
+
+    @Test
+    public void testCooldownEndsAfterItsTime() throws Exception {
+        PetSession session = open("Rex");
+        assertTrue(session.submit(PetAction.PLAY, null).get().ok);
+        assertFalse(session.submit(PetAction.PLAY, null).get().ok, "Play should be on cooldown.");
+        assertTrue(session.submit(PetAction.VET, null).get().ok, "Each action has its own cooldown.");
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(PetAction.COOLDOWN_MILLIS));
+        assertTrue(session.isReady(PetAction.PLAY).get());
+        assertTrue(session.submit(PetAction.PLAY, null).get().ok);
+    }
+
+    @Test
+    public void testSessionsDoNotShareCooldowns() throws Exception {
+        PetSession first = open("Rex");
+        PetSession second = open("Tom");
+        assertTrue(first.submit(PetAction.EXERCISE, null).get().ok);
+        assertTrue(second.submit(PetAction.EXERCISE, null).get().ok, "Another player's cooldown should not apply.");
+        assertEquals(10, ((Number) second.submit(PetAction.EXERCISE, null).get().pet.get("score")).intValue());
+    }
+
+    @Test
+    public void testBuyRunsInOrderWithCommands() throws Exception {
+        PetSession session = open("Rex");
+        CompletableFuture<PetServer.Reply> bought = session.buy("burger", 1);
+        PetServer.Reply fed = session.submit(PetAction.FEED, "burger").get();
+
+        assertTrue(bought.get().ok);
+        assertTrue(fed.ok, "The burger bought just before should be there to feed: " + fed.message);
+        assertEquals(0, ((Map<?, ?>) fed.pet.get("items")).size());
+    }
+
+    @Test
+    public void testSaveWritesPetAndPlayer() throws Exception {
+        PetSession session = open("Rex");
+        session.submit(PetAction.PLAY, null);
+        Path file = session.saveAsync(folder.resolve("rex.json")).get();
+
+        SaveGame saved = SaveFormat.read(file);
+        assertEquals("Rex", saved.petName);
+        assertEquals(PetType.BALANCED.number, saved.petType);
+        assertEquals(10, ((Number) saved.player.get("score")).intValue(), "The save should run after the command before it.");
+    }
+
+    @Test
+    public void testSessionsSavingToOneFile() throws Exception {
+        PetSession first = open("Rex");
+        PetSession second = open("Tom");
+        Path file = folder.resolve("save1.sav");
+        List<CompletableFuture<Path>> saves = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            saves.add(first.saveAsync(file));
+            saves.add(second.saveAsync(file));
+        }
+        CompletableFuture.allOf(saves.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        String name = SaveFormat.read(file).petName;
+        assertTrue(name.equals("Rex") || name.equals("Tom"), name);
+        assertFalse(Files.exists(folder.resolve("save1.sav.tmp")));
+    }
+
+    @Test
+    public void testClosedSessionRefusesCommands() throws Exception {
+        PetSession session = open("Rex");
+        assertTrue(server.removePet(session.getPetId()));
+        assertTrue(session.awaitClosed(5000));
+        assertTrue(session.submit(PetAction.PLAY, null).isCompletedExceptionally());
+    }
+
+    @Test
+    public void testCommandsSubmittedWhileClosingAllFinish() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            PetSession session = open("Pet " + round);
+            List<CompletableFuture<Boolean>> answers = new ArrayList<>();
+            Thread submitter = Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < 20; i++) {
+                    answers.add(session.isReady(PetAction.PLAY));
+                }
+            });
+            session.close();
+            submitter.join();
+            for (CompletableFuture<Boolean> answer : answers) {
+                try {
+                    answer.get(5, TimeUnit.SECONDS); /** a timeout here means the command was queued after the last one ran */
+                }
+                catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException, "Only refused as the session is closed.");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testManySessions() throws Exception {
+        int count = 20000;
+        List<PetSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            sessions.add(open("Pet " + i));
+        }
+        List<CompletableFuture<PetServer.Reply>> replies = new ArrayList<>(count * 2);
+        for (PetSession session : sessions) {
+            replies.add(session.submit(PetAction.PLAY, null));
+            replies.add(session.submit(PetAction.EXERCISE, null));
+        }
+        CompletableFuture.allOf(replies.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+        for (CompletableFuture<PetServer.Reply> reply : replies) {
+            assertTrue(reply.get().ok);
+        }
+        assertEquals(count, server.getPetCount());
+        int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        assertTrue(platformThreads < 200, "Sessions should not each need a platform thread, found " + platformThreads);
+    }
+}
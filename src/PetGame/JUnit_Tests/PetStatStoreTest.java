@@ -0,0 +1,124 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import PetGame.PetStatStore;
+import PetGame.PetStatistics;
+import PetGame.SimulationEngine;
+
+public class PetStatStoreTest {
+
+    private PetStatStore store;
+
+    @BeforeEach
+    public void setUp() {
+        // Start with a tiny capacity so the tests also cover growing the columns
+        store = new PetStatStore(1);
+    }
+
+    @Test
+    public void testAddStartsWithFullStats() {
+        int slot = store.add(90, 75, 80, 100, 6, 3, 4);
+
+        assertEquals(90, store.getHealth(slot));
+        assertEquals(75, store.getSleep(slot));
+        assertEquals(80, store.getFullness(slot));
+        assertEquals(100, store.getHappiness(slot));
+        assertEquals("Normal", store.getStateLabel(slot));
+    }
+
+    @Test
+    public void testDecayMatchesPetStatistics() {
+        int slot = store.add(90, 75, 80, 100, 6, 3, 4);
+        store.add(85, 85, 85, 85, 3, 3, 3);
+        store.add(50, 100, 70, 80, 2, 3, 5);
+        assertEquals(3, store.getPetCount(), "The store should grow to hold every pet.");
+
+        SimulationEngine engine = new SimulationEngine();
+        engine.register(store);
+        engine.advance(SimulationEngine.STEP_MILLIS * PetStatistics.DECAY_PERIOD_TICKS);
+
+        assertEquals(69, store.getSleep(slot));
+        assertEquals(77, store.getFullness(slot));
+        assertEquals(96, store.getHappiness(slot));
+        assertEquals(90, store.getHealth(slot));
+    }
+
+    @Test
+    public void testStatsAreClamped() {
+        int slot = store.add(10, 10, 10, 10, 1, 1, 1);
+        store.updateStatistics(slot, 50, 0, -3, 0);
+
+        assertEquals(10, store.getHealth(slot), "Stats should not go above their max.");
+        assertEquals(7, store.getFullness(slot));
+        assertEquals(0, PetStatStore.clamp(-5, 10), "Stats should not go below 0.");
+    }
+
+    @Test
+    public void testHungryPetDrainsAndRecovers() {
+        int slot = store.add(100, 100, 10, 100, 1, 10, 2);
+        store.decay();
+        assertEquals(PetStatStore.STATE_HUNGRY, store.getState(slot));
+
+        store.drainHunger();
+        assertEquals(100 - PetStatistics.HUNGER_HEALTH_LOSS, store.getHealth(slot));
+
+        store.updateStatistics(slot, 0, 0, 15, 0);
+        assertEquals(PetStatStore.STATE_NORMAL, store.getState(slot), "Feeding should end the hunger.");
+    }
+
+    @Test
+    public void testExhaustedPetSleepsAndWakes() {
+        int slot = store.add(100, 12, 100, 100, 12, 1, 1);
+        store.decay();
+        assertEquals(PetStatStore.STATE_SLEEPING, store.getState(slot));
+        assertEquals(90, store.getHealth(slot), "Falling asleep from exhaustion costs health.");
+
+        store.recoverSleep();
+        assertEquals(PetStatStore.STATE_NORMAL, store.getState(slot), "The pet wakes once sleep is full.");
+    }
+
+    @Test
+    public void testPetSentToSleepWakesInItsOldState() {
+        int slot = store.add(100, 50, 100, 100, 1, 1, 1);
+        store.setState(slot, PetStatStore.STATE_HUNGRY);
+        store.setState(slot, PetStatStore.STATE_SLEEPING);
+        assertEquals(100, store.getHealth(slot), "Going to bed when told to costs no health.");
+
+        for (int i = 0; i < 5; i++) {
+            store.recoverSleep();
+        }
+        assertEquals(50, store.getSleep(slot), "Sleep should be full.");
+        assertEquals(PetStatStore.STATE_HUNGRY, store.getState(slot), "The pet should wake up hungry again.");
+    }
+
+    @Test
+    public void testRemovedSlotIsReused() {
+        int first = store.add(10, 10, 10, 10, 1, 1, 1);
+        store.add(10, 10, 10, 10, 1, 1, 1);
+        store.remove(first);
+
+        assertEquals(1, store.getPetCount());
+        assertEquals(first, store.add(20, 20, 20, 20, 1, 1, 1), "A freed slot should be handed out again.");
+        assertEquals(20, store.getHealth(first));
+    }
+
+    @Test
+    public void testPublishToView() {
+        int slot = store.add(100, 100, 100, 100, 1, 1, 1);
+        store.set(slot, 40, 30, 20, 10, PetStatStore.STATE_ANGRY);
+
+        PetStatistics view = new PetStatistics(100, 100, 100, 100, 1, 1, 1, null, null, null);
+        view.stopStatDecay();
+        store.publish(slot, view);
+
+        assertEquals(40, view.getHealth());
+        assertEquals(30, view.getSleep());
+        assertEquals(20, view.getFullness());
+        assertEquals(10, view.getHappiness());
+        assertEquals("Angry", view.getState());
+    }
+}
@@ -0,0 +1,68 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import PetGame.PetState;
+import PetGame.PetStateMachine;
+import PetGame.PetStateMachine.Trigger;
+import PetGame.PetStatistics;
+
+public class PetStateMachineTest {
+
+    @Test
+    public void testTransitionTable() {
+        assertEquals(PetState.HUNGRY, PetStateMachine.next(PetState.NORMAL, Trigger.FULLNESS_DEPLETED));
+        assertEquals(PetState.ANGRY, PetStateMachine.next(PetState.HUNGRY, Trigger.HAPPINESS_DEPLETED));
+        assertEquals(PetState.NORMAL, PetStateMachine.next(PetState.ANGRY, Trigger.CHEERED));
+        assertEquals(PetState.SLEEPING, PetStateMachine.next(PetState.ANGRY, Trigger.SLEEP_DEPLETED));
+        assertEquals(PetState.DEAD, PetStateMachine.next(PetState.SLEEPING, Trigger.HEALTH_DEPLETED));
+        assertNull(PetStateMachine.next(PetState.ANGRY, Trigger.GO_TO_BED), "An angry pet will not go to bed.");
+        assertNull(PetStateMachine.next(PetState.DEAD, Trigger.FED), "A dead pet never changes state.");
+    }
+
+    @Test
+    public void testEntryAndExitActions() {
+        PetStateMachine machine = new PetStateMachine(PetState.NORMAL);
+        List<String> calls = new ArrayList<>();
+        machine.onExit(PetState.NORMAL, () -> calls.add("exit Normal"));
+        machine.onEnter(PetState.SLEEPING, () -> calls.add("enter Sleeping"));
+        machine.setOnChange(state -> calls.add("change " + state.getLabel()));
+
+        assertTrue(machine.fire(Trigger.GO_TO_BED));
+        assertEquals(PetState.SLEEPING, machine.getState());
+        assertEquals(List.of("exit Normal", "change Sleeping", "enter Sleeping"), calls);
+
+        calls.clear();
+        assertFalse(machine.fire(Trigger.FULLNESS_DEPLETED), "A sleeping pet does not get hungry until it wakes.");
+        assertTrue(calls.isEmpty(), "No actions should run when a trigger does not apply.");
+    }
+
+    @Test
+    public void testLabelsMatchSavedNames() {
+        assertEquals(PetState.HUNGRY, PetState.fromLabel("Hungry"));
+        assertEquals("Sleeping", PetState.SLEEPING.getLabel());
+        assertEquals(PetState.DEAD, PetState.fromCode(PetState.DEAD.getCode()));
+        assertNull(PetState.fromLabel("Awake"), "Unknown names should not map to a state.");
+    }
+
+    @Test
+    public void testPetStatisticsFollowsMachine() {
+        PetStatistics stats = new PetStatistics(100, 100, 100, 100, 6, 3, 4, null, null, null);
+        stats.stopStatDecay();
+
+        stats.updateStatistics(0, 0, -100, 0);
+        assertEquals(PetState.HUNGRY, stats.getPetState());
+        assertEquals("Hungry", stats.getState(), "The displayed state should follow the machine.");
+
+        stats.updateStatistics(0, 0, 50, 0);
+        assertEquals(PetState.NORMAL, stats.getPetState(), "Feeding a hungry pet should return it to normal.");
+
+        stats.stateProperty().set("Angry");
+        assertEquals(PetState.ANGRY, stats.getPetState(), "Setting the state name should move the machine too.");
+    }
+}
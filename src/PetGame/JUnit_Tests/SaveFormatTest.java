@@ -0,0 +1,131 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import PetGame.BinarySaveReader;
+import PetGame.BinarySaveWriter;
+import PetGame.Inventory;
+import PetGame.PurchasableItem;
+import PetGame.SaveConverter;
+import PetGame.SaveFormat;
+import PetGame.SaveGame;
+
+public class SaveFormatTest {
+
+    @TempDir
+    Path folder;
+
+    /** Builds a save the way SaveGame.initializeSaveGame does, without needing a running game */
+    private static SaveGame sampleSave() {
+        SaveGame save = new SaveGame();
+        save.petType = 3;
+        save.petName = "Biscuit";
+        save.petStats = new HashMap<>(Map.of("health", 42, "sleep", 90, "fullness", 0, "happiness", 77, "state", "Hungry"));
+        Inventory inventory = new Inventory();
+        inventory.addItem(new PurchasableItem("Apple", 5));
+        inventory.addItems(new PurchasableItem("Kite", 12.5), 3);
+        save.player = new HashMap<>(Map.of("money", 35.5, "score", 150, "inventory", inventory.getItemCounts()));
+        return save;
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        byte[] encoded = new BinarySaveWriter().write(sampleSave());
+        SaveGame read = new BinarySaveReader().read(new ByteArrayInputStream(encoded));
+
+        assertEquals(3, read.petType);
+        assertEquals("Biscuit", read.petName);
+        assertEquals(42, ((Number) read.petStats.get("health")).intValue());
+        assertEquals("Hungry", read.petStats.get("state"));
+        assertEquals(35.5, ((Number) read.player.get("money")).doubleValue());
+        Inventory inventory = new Inventory();
+        inventory.loadSaved(read.player.get("inventory"));
+        assertEquals(4, inventory.size());
+        assertEquals(3, inventory.getItemQuantity("Kite"));
+        assertEquals(12.5, inventory.getInventoryItems().get(3).getPrice());
+        assertNull(read.gameStats);
+    }
+
+    @Test
+    public void testFormatIsDetected() throws IOException {
+        SaveGame save = sampleSave();
+        assertEquals(SaveFormat.BINARY, SaveFormat.detect(SaveFormat.BINARY.encode(save)));
+        assertEquals(SaveFormat.JSON, SaveFormat.detect(SaveFormat.JSON.encode(save)));
+        assertEquals(SaveFormat.BINARY, SaveFormat.forFile("save1.sav"));
+        assertEquals(SaveFormat.JSON, SaveFormat.forFile("save1.json"));
+    }
+
+    @Test
+    public void testExistingJsonSaveStillLoads() throws IOException {
+        Path file = folder.resolve("save1.json");
+        Files.writeString(file, "{\"petType\":2.0,\"petName\":\"min\",\"petStats\":{\"sleep\":100,\"happiness\":100,"
+                + "\"fullness\":100,\"health\":100,\"state\":\"Normal\"},\"player\":{\"score\":150.0,\"money\":35.0,\"inventory\":[]}}");
+
+        SaveGame save = SaveGame.load(file.toString());
+
+        assertEquals(2, save.petType);
+        assertEquals(100, ((Number) save.petStats.get("health")).intValue());
+        assertEquals(150, ((Number) save.player.get("score")).intValue());
+    }
+
+    @Test
+    public void testConverterShrinksSave() throws IOException {
+        Path json = folder.resolve("save2.json");
+        Path binary = folder.resolve("save2.sav");
+        Files.write(json, SaveFormat.JSON.encode(sampleSave()));
+
+        SaveConverter.convert(json, binary);
+        SaveConverter.convert(binary, folder.resolve("back.json"));
+
+        assertTrue(Files.size(binary) < Files.size(json), "The binary save should be smaller than the JSON one.");
+        assertEquals("Biscuit", SaveGame.load(binary.toString()).petName);
+        assertEquals(SaveFormat.JSON, SaveFormat.detect(Files.readAllBytes(folder.resolve("back.json"))));
+    }
+
+    @Test
+    public void testVersionOneInventoryStillLoads() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(BinarySaveWriter.MAGIC);
+        out.writeShort(1);
+        out.writeShort(0);
+        out.writeByte(1);
+        out.writeBoolean(false);
+        out.writeShort(-1);
+        out.writeShort(1);
+        out.writeUTF("inventory");
+        out.writeByte('L'); /** one entry per copy, as version 1 wrote it */
+        out.writeInt(2);
+        out.writeUTF("Cake");
+        out.writeDouble(10);
+        out.writeUTF("Cake");
+        out.writeDouble(10);
+        out.writeShort(-1);
+
+        SaveGame read = SaveFormat.BINARY.decode(new ByteArrayInputStream(bytes.toByteArray()));
+        Inventory inventory = new Inventory();
+        inventory.loadSaved(read.player.get("inventory"));
+
+        assertEquals(2, inventory.getItemQuantity("Cake"));
+    }
+
+    @Test
+    public void testCorruptSaveIsRejected() throws IOException {
+        Path file = folder.resolve("broken.sav");
+        Files.write(file, new byte[] { 0x50, 0x45, 0x54, 0x53, 0x00, 0x09 });
+
+        assertThrows(IOException.class, () -> SaveGame.load(file.toString()), "An unknown version should not load.");
+    }
+}
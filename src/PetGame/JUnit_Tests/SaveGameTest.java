@@ -83,7 +83,7 @@ public class SaveGameTest {
         
         Platform.runLater(() -> {
             // Initialize the SaveGame object with the current game state
-            saveGame.initializeSaveGame(game);
+            saveGame.initializeSaveGame(game.petType, game.petName, game.pet.getPetStats(), game.player);
 
             // Save the game to a file
             saveGame.saveToFile(saveFile);
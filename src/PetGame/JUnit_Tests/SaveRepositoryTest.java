@@ -0,0 +1,161 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import PetGame.GameEvent;
+import PetGame.GameJournal;
+import PetGame.SaveFormat;
+import PetGame.SaveGame;
+import PetGame.SaveRepository;
+import PetGame.SaveService;
+import PetGame.SlotIndex;
+
+public class SaveRepositoryTest {
+
+    @TempDir
+    Path folder;
+
+    private Path saves;
+    private SaveRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        saves = folder.resolve("saves");
+        repository = new SaveRepository(saves, new SlotIndex(saves.resolve("slots.json")));
+    }
+
+    /** Writes a small save straight into a slot file */
+    private static void writeSlot(Path file, String petName) throws Exception {
+        SaveGame save = new SaveGame();
+        save.petType = 2;
+        save.petName = petName;
+        save.petStats = new HashMap<>(Map.of("health", 100, "sleep", 100, "fullness", 100, "happiness", 100, "state", "Normal"));
+        Files.write(file, SaveFormat.JSON.encode(save));
+    }
+
+    @Test
+    public void testSlotsAreSortedByNumber() throws Exception {
+        Files.createDirectories(saves);
+        writeSlot(saves.resolve("save10.json"), "Ten");
+        writeSlot(saves.resolve("save2.json"), "Two");
+        writeSlot(saves.resolve("save1.sav"), "One");
+        Files.writeString(saves.resolve("notes.txt"), "not a slot");
+
+        assertEquals(List.of("save1.sav", "save2.json", "save10.json"), repository.getSlots());
+        assertEquals("save11.json", repository.getNewSlot());
+        assertEquals(List.of("save1.sav", "save2.json", "save10.json", "save11.json"), repository.getSaveChoices());
+    }
+
+    @Test
+    public void testEmptyFolderOffersFirstSlot() {
+        assertTrue(repository.getSlots().isEmpty());
+        assertEquals("save1.json", repository.getNewSlot());
+        assertTrue(Files.isDirectory(saves), "The save folder should be created on first use.");
+    }
+
+    @Test
+    public void testPagesAndSummaries() throws Exception {
+        Files.createDirectories(saves);
+        for (int i = 1; i <= 12; i++) {
+            writeSlot(saves.resolve("save" + i + ".json"), "Pet" + i);
+        }
+
+        assertEquals(List.of("save6.json", "save7.json", "save8.json", "save9.json", "save10.json"), repository.getPage(1, 5));
+        assertEquals(List.of("save11.json", "save12.json"), repository.getPage(2, 5));
+        assertTrue(repository.getPage(3, 5).isEmpty());
+
+        List<SlotIndex.Entry> summaries = repository.getSummaries(repository.getPage(2, 5));
+        assertEquals("Pet11", summaries.get(0).petName);
+        assertEquals("Pet12", summaries.get(1).petName);
+    }
+
+    @Test
+    public void testListingIsCachedUntilFolderChanges() throws Exception {
+        Files.createDirectories(saves);
+        for (int i = 1; i <= 2000; i++) {
+            Files.writeString(saves.resolve("save" + i + ".json"), "{}");
+        }
+
+        assertEquals(2000, repository.getSlotCount());
+        for (int i = 0; i < 50; i++) {
+            repository.getPage(i, 5);
+        }
+        assertEquals(1, repository.getScanCount(), "Paging through an unchanged folder should not scan it again.");
+
+        repository.delete("save2000.json");
+        assertEquals(1999, repository.getSlotCount());
+        assertEquals(2, repository.getScanCount());
+    }
+
+    @Test
+    public void testLegacySavesAreMovedIn() throws Exception {
+        writeSlot(folder.resolve("save1.json"), "Old");
+        writeSlot(folder.resolve("save3.json"), "Older");
+        Files.createDirectories(saves);
+        writeSlot(saves.resolve("save3.json"), "Newer");
+
+        assertEquals(1, repository.importLegacySaves(folder));
+
+        assertFalse(Files.exists(folder.resolve("save1.json")));
+        assertTrue(Files.exists(folder.resolve("save3.json")), "A slot that already exists should not be overwritten.");
+        assertEquals(List.of("save1.json", "save3.json"), repository.getSlots());
+        assertEquals("Newer", SaveGame.load(repository.resolve("save3.json")).petName);
+    }
+
+    @Test
+    public void testReviveReplacesTheJournal() throws Exception {
+        Files.createDirectories(saves);
+        Path file = saves.resolve("save1.json");
+        writeSlot(file, "Rex");
+        GameJournal journal = new GameJournal(file, new SaveService(), 0);
+        journal.append(seq -> GameEvent.stats(seq, 1000, 0, 0, 0, 0));
+        journal.append(seq -> GameEvent.state(seq, 2000, "Dead"));
+        journal.close();
+
+        assertEquals("Dead", repository.getSummaries(List.of("save1.json")).get(0).state,
+                "The summary should show the game with its journal replayed.");
+
+        repository.revive("save1.json");
+
+        assertFalse(Files.exists(GameJournal.journalFor(file)), "The journal should be gone after reviving.");
+        SaveGame loaded = SaveGame.load(file.toString());
+        assertEquals("Normal", loaded.petStats.get("state"));
+        assertEquals(100, ((Number) loaded.petStats.get("health")).intValue());
+        assertEquals(2, GameJournal.sequenceOf(loaded), "The revived save should include the journal's events.");
+        assertEquals("Normal", repository.getSummaries(List.of("save1.json")).get(0).state);
+
+        GameJournal reopened = new GameJournal(file, new SaveService(), 0);
+        assertEquals(2, reopened.getSequence(), "New events should be numbered after the replaced journal.");
+        reopened.close();
+    }
+
+    @Test
+    public void testRevivedPetIsNotCaughtUpOnLoad() throws Exception {
+        Files.createDirectories(saves);
+        Path file = saves.resolve("save1.json");
+        SaveGame save = new SaveGame();
+        save.petType = 2;
+        save.petName = "Rex";
+        save.petStats = new HashMap<>(Map.of("health", 0, "sleep", 0, "fullness", 0, "happiness", 0, "state", "Dead"));
+        save.gameStats = new HashMap<>(Map.of(SaveGame.SAVED_AT, System.currentTimeMillis() - 7L * 24 * 60 * 60 * 1000));
+        Files.write(file, SaveFormat.JSON.encode(save));
+
+        long before = System.currentTimeMillis();
+        repository.revive("save1.json");
+
+        SaveGame loaded = SaveGame.load(file.toString());
+        assertTrue(loaded.getSavedAt() >= before, "A revived pet should count as saved when it was revived.");
+        assertEquals("Normal", loaded.petStats.get("state"));
+        assertEquals(100, ((Number) loaded.petStats.get("health")).intValue());
+    }
+}
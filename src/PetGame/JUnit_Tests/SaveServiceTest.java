@@ -0,0 +1,99 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import PetGame.SaveGame;
+import PetGame.SaveService;
+
+public class SaveServiceTest {
+
+    @TempDir
+    Path folder;
+
+    private ExecutorService writer;
+    private SaveService service;
+
+    @BeforeEach
+    public void setUp() {
+        writer = Executors.newSingleThreadExecutor();
+        service = new SaveService(writer);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writer.shutdownNow();
+    }
+
+    /** Builds a snapshot without needing a running game */
+    private static SaveGame snapshot(String petName) {
+        SaveGame save = new SaveGame();
+        save.petType = 2;
+        save.petName = petName;
+        save.petStats = Map.of("health", 80, "state", "Normal");
+        return save;
+    }
+
+    @Test
+    public void testSaveWritesFile() throws Exception {
+        Path file = folder.resolve("save1.json");
+
+        Path written = service.save(file.toString(), snapshot("Buddy")).get(5, TimeUnit.SECONDS);
+
+        assertEquals(file.toAbsolutePath(), written.toAbsolutePath());
+        Map<?, ?> saved = new Gson().fromJson(Files.readString(file), Map.class);
+        assertEquals("Buddy", saved.get("petName"));
+        assertFalse(Files.exists(folder.resolve("save1.json.tmp")), "The temporary file should be renamed away.");
+        assertEquals(1, service.getWriteCount());
+    }
+
+    @Test
+    public void testRepeatedSavesAreCoalesced() throws Exception {
+        Path file = folder.resolve("save2.json");
+        CountDownLatch blocked = new CountDownLatch(1);
+        writer.execute(() -> { /** holds the writer so the saves queue up behind it */
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        CompletableFuture<Path> first = service.save(file.toString(), snapshot("First"));
+        CompletableFuture<Path> second = service.save(file.toString(), snapshot("Second"));
+        CompletableFuture<Path> third = service.save(file.toString(), snapshot("Third"));
+        blocked.countDown();
+        third.get(5, TimeUnit.SECONDS);
+
+        assertSame(first, second, "Saves to the same slot should share one write.");
+        assertSame(first, third);
+        assertEquals(1, service.getWriteCount(), "Only the newest snapshot should be written.");
+        assertEquals(2, service.getCoalescedCount());
+        assertEquals("Third", new Gson().fromJson(Files.readString(file), Map.class).get("petName"));
+    }
+
+    @Test
+    public void testFailureIsReported() {
+        Path file = folder.resolve("missing").resolve("save3.json");
+
+        CompletableFuture<Path> result = service.save(file.toString(), snapshot("Buddy"));
+
+        assertTrue(service.flush(5000));
+        assertTrue(result.isCompletedExceptionally(), "A save into a missing folder should fail.");
+    }
+}
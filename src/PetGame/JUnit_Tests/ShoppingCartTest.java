@@ -0,0 +1,85 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import PetGame.Inventory;
+import PetGame.ItemCatalog;
+import PetGame.ItemShop;
+import PetGame.NotEnoughCoinsException;
+import PetGame.Player;
+import PetGame.ShoppingCart;
+
+public class ShoppingCartTest {
+
+    private Player player;
+    private ItemShop shop;
+    private ShoppingCart cart;
+
+    @BeforeEach
+    public void setUp() {
+        player = new Player(600);
+        shop = new ItemShop(null, player.getInventory(), player.getCoins(), player); /** checkout does not need a stage */
+        cart = new ShoppingCart();
+    }
+
+    @Test
+    public void testCartTotals() {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        cart.add(catalog.getByName("Burger"), 20);
+        cart.add(catalog.getByName("Cake"), 1);
+        cart.add(catalog.getByName("Cake"), 1);
+        cart.add(catalog.getByName("Orange"), 0);
+
+        assertEquals(530, cart.getTotalPrice());
+        assertEquals(22, cart.getItemCount());
+        assertEquals(2, cart.getQuantity("Cake"));
+        assertEquals(2, cart.getLines().size(), "Items with no copies should not get a line.");
+        assertEquals("20 x Burger, 2 x Cake", cart.toString());
+    }
+
+    @Test
+    public void testCheckoutBuysEverything() throws NotEnoughCoinsException {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        cart.add(catalog.getByName("Burger"), 20);
+        cart.add(catalog.getByName("Bow"), 3);
+
+        double spent = shop.checkout(cart);
+
+        Inventory inventory = player.getInventory();
+        assertEquals(500, spent);
+        assertEquals(100, player.getCoins());
+        assertEquals(20, inventory.getItemQuantity("Burger"));
+        assertEquals(3, inventory.getItemQuantity("Bow"));
+        assertTrue(cart.isEmpty(), "The cart should be emptied after checkout.");
+    }
+
+    @Test
+    public void testCheckoutIsAllOrNothing() {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        cart.add(catalog.getByName("Orange"), 5);
+        cart.add(catalog.getByName("Trampoline"), 5);
+
+        assertThrows(NotEnoughCoinsException.class, () -> shop.checkout(cart));
+
+        assertEquals(600, player.getCoins(), "No coins should be spent when the cart is too expensive.");
+        assertEquals(0, player.getInventory().size(), "No items should be added when the cart is too expensive.");
+        assertEquals(10, cart.getItemCount(), "The cart should be kept so the player can change it.");
+    }
+
+    @Test
+    public void testFullInventoryIsCheckedBeforePaying() {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        player.getInventory().addItems(catalog.getByName("Orange"), Integer.MAX_VALUE - 1);
+        cart.add(catalog.getByName("Burger"), 1);
+        cart.add(catalog.getByName("Cake"), 1);
+
+        assertThrows(ArithmeticException.class, () -> shop.checkout(cart));
+
+        assertEquals(600, player.getCoins(), "No coins should be spent when the items do not fit.");
+        assertEquals(Integer.MAX_VALUE - 1, player.getInventory().size());
+        assertEquals(0, player.getInventory().getItemQuantity("Burger"), "No line of the cart should be added.");
+    }
+}
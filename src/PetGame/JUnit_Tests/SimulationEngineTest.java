@@ -0,0 +1,90 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import PetGame.PetStatistics;
+import PetGame.SimulationEngine;
+
+public class SimulationEngineTest {
+
+    private SimulationEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        // A fresh engine that is stepped by hand, no clock thread or JavaFX toolkit needed
+        engine = new SimulationEngine();
+    }
+
+    @Test
+    public void testAdvanceRunsWholeSteps() {
+        List<Long> ticks = new ArrayList<>();
+        engine.register(ticks::add);
+
+        int steps = engine.advance(SimulationEngine.STEP_MILLIS * 3 + SimulationEngine.STEP_MILLIS / 2);
+
+        assertEquals(3, steps, "Only whole steps should be run.");
+        assertEquals(List.of(1L, 2L, 3L), ticks, "Each step should be numbered in order.");
+    }
+
+    @Test
+    public void testLeftoverTimeCarriesOver() {
+        List<Long> ticks = new ArrayList<>();
+        engine.register(ticks::add);
+
+        engine.advance(SimulationEngine.STEP_MILLIS / 2);
+        assertTrue(ticks.isEmpty(), "Half a step should not run anything.");
+
+        engine.advance(SimulationEngine.STEP_MILLIS / 2);
+        assertEquals(1, ticks.size(), "The two halves should add up to one step.");
+    }
+
+    @Test
+    public void testUnregister() {
+        List<Long> ticks = new ArrayList<>();
+        PetGame.Tickable counter = ticks::add;
+        engine.register(counter);
+        engine.register(counter);
+        assertEquals(1, engine.getTickableCount(), "Registering twice should not step twice.");
+
+        engine.unregister(counter);
+        engine.step();
+        assertTrue(ticks.isEmpty(), "An unregistered tickable should not be stepped.");
+    }
+
+    @Test
+    public void testPetStatsDecayWithoutToolkit() {
+        // No game, flipping timeline or pet, so only the stat model is exercised
+        PetStatistics stats = new PetStatistics(100, 100, 100, 100, 6, 3, 4, null, null, null);
+        stats.stopStatDecay();
+        engine.register(stats);
+
+        engine.advance(SimulationEngine.STEP_MILLIS * (PetStatistics.DECAY_PERIOD_TICKS - 1));
+        assertEquals(100, stats.getSleep(), "Stats should not decay before the decay period.");
+
+        engine.step();
+        assertEquals(94, stats.getSleep());
+        assertEquals(97, stats.getFullness());
+        assertEquals(96, stats.getHappiness());
+        assertEquals(100, stats.getHealth(), "Health does not decay on its own.");
+    }
+
+    @Test
+    public void testHungryPetLosesHealth() {
+        PetStatistics stats = new PetStatistics(100, 100, 10, 100, 1, 10, 2, null, null, null);
+        stats.stopStatDecay();
+        engine.register(stats);
+
+        engine.advance(SimulationEngine.STEP_MILLIS * PetStatistics.DECAY_PERIOD_TICKS);
+        assertEquals("Hungry", stats.getState(), "The pet should become hungry once fullness is gone.");
+        assertEquals(100, stats.getHealth());
+
+        engine.advance(SimulationEngine.STEP_MILLIS * PetStatistics.DECAY_PERIOD_TICKS);
+        assertEquals(100 - PetStatistics.HUNGER_HEALTH_LOSS, stats.getHealth(), "A hungry pet should lose health.");
+    }
+}
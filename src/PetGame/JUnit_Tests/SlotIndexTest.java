@@ -0,0 +1,116 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import PetGame.SaveFormat;
+import PetGame.SaveGame;
+import PetGame.SaveService;
+import PetGame.SlotIndex;
+
+public class SlotIndexTest {
+
+    @TempDir
+    Path folder;
+
+    /** Builds a save without needing a running game */
+    private static SaveGame save(String petName, int health) {
+        SaveGame save = new SaveGame();
+        save.petType = 1;
+        save.petName = petName;
+        save.petStats = new HashMap<>(Map.of("health", health, "sleep", 50, "fullness", 60, "happiness", 70, "state", "Normal"));
+        return save;
+    }
+
+    @Test
+    public void testSaveServiceRecordsEachWrite() throws Exception {
+        Path indexFile = folder.resolve("slots.json");
+        Path slot = folder.resolve("save1.json");
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            SaveService service = new SaveService(writer, new SlotIndex(indexFile));
+            service.save(slot.toString(), save("Rex", 40)).get(5, TimeUnit.SECONDS);
+        }
+        finally {
+            writer.shutdownNow();
+        }
+
+        SlotIndex.Entry entry = new SlotIndex(indexFile).get(slot.toString()); /** a fresh index reads the file */
+
+        assertNotNull(entry);
+        assertEquals("Rex", entry.petName);
+        assertEquals(40, entry.health);
+        assertEquals(70, entry.happiness);
+        assertEquals(Files.size(slot), entry.size);
+    }
+
+    @Test
+    public void testStaleEntryIsRefreshed() throws Exception {
+        Path indexFile = folder.resolve("slots.json");
+        Path slot = folder.resolve("save2.json");
+        Files.write(slot, SaveFormat.JSON.encode(save("Old", 10)));
+        SlotIndex index = new SlotIndex(indexFile);
+        assertEquals("Old", index.get(slot.toString()).petName);
+
+        /** Replace the save behind the index's back, as copying a file in by hand would */
+        Files.write(slot, SaveFormat.JSON.encode(save("Replaced", 99)));
+        Files.setLastModifiedTime(slot, FileTime.fromMillis(Files.getLastModifiedTime(slot).toMillis() + 5000));
+
+        SlotIndex.Entry entry = index.get(slot.toString());
+        assertEquals("Replaced", entry.petName);
+        assertEquals(99, entry.health);
+    }
+
+    @Test
+    public void testMissingAndInvalidSlotsAreNull() throws Exception {
+        Path broken = folder.resolve("save3.json");
+        Files.writeString(broken, "not a save");
+        SlotIndex index = new SlotIndex(folder.resolve("slots.json"));
+
+        List<SlotIndex.Entry> summaries = index.summaries(List.of(folder.resolve("save4.json").toString(), broken.toString()));
+
+        assertNull(summaries.get(0));
+        assertNull(summaries.get(1));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testManySlotsAreServedFromTheIndex() throws Exception {
+        Path indexFile = folder.resolve("slots.json");
+        SlotIndex index = new SlotIndex(indexFile);
+        List<String> slots = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Path slot = folder.resolve("save" + i + ".json");
+            Files.write(slot, SaveFormat.JSON.encode(save("Pet" + i, i % 100)));
+            index.record(slot, save("Pet" + i, i % 100));
+            slots.add(slot.toString());
+        }
+        /** Corrupt the saves, so only the index can produce the summaries */
+        for (String slot : slots) {
+            Path file = Path.of(slot);
+            FileTime modified = Files.getLastModifiedTime(file);
+            byte[] garbage = new byte[(int) Files.size(file)];
+            Files.write(file, garbage);
+            Files.setLastModifiedTime(file, modified);
+        }
+
+        List<SlotIndex.Entry> summaries = new SlotIndex(indexFile).summaries(slots);
+
+        assertEquals(200, summaries.size());
+        assertEquals("Pet150", summaries.get(150).petName);
+        assertEquals(50, summaries.get(150).health);
+    }
+}
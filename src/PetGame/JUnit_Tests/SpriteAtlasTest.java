@@ -0,0 +1,71 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import PetGame.SpriteAtlas;
+import PetGame.SpriteCache;
+
+public class SpriteAtlasTest {
+
+    /** Builds a solid colour image, since writable images do not need the JavaFX toolkit */
+    private static Image solid(int width, int height, Color colour) {
+        WritableImage image = new WritableImage(width, height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.getPixelWriter().setColor(x, y, colour);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    public void testFramesArePacked() {
+        Map<String, Image> sources = Map.of(
+                "normal", solid(4, 6, Color.RED),
+                "hungry", solid(3, 5, Color.BLUE));
+        SpriteAtlas atlas = SpriteAtlas.pack(List.of("normal", "hungry"), Map.of(), sources::get);
+
+        Rectangle2D normal = atlas.getFrame("normal").getViewport();
+        Rectangle2D hungry = atlas.getFrame("hungry").getViewport();
+        assertEquals(4, normal.getWidth());
+        assertEquals(5, hungry.getHeight());
+        assertFalse(normal.intersects(hungry), "Frames should not overlap.");
+
+        Color packed = atlas.getImage().getPixelReader().getColor((int) hungry.getMinX(), (int) hungry.getMinY());
+        assertEquals(Color.BLUE, packed, "Each frame's pixels should be copied into its region.");
+    }
+
+    @Test
+    public void testFlippedFramesMirrorTheOriginal() {
+        Map<String, Image> sources = Map.of("normal", solid(2, 2, Color.GREEN));
+        SpriteAtlas atlas = SpriteAtlas.pack(List.of("normal"), Map.of("normalF", "normal"), sources::get);
+
+        SpriteAtlas.Frame flipped = atlas.getFrame("normalF");
+        assertNotNull(flipped);
+        assertTrue(flipped.isMirrored());
+        assertEquals(atlas.getFrame("normal").getViewport(), flipped.getViewport(),
+                "A flipped frame should reuse the original's pixels.");
+        assertEquals(2, atlas.getFrameCount());
+        assertNull(atlas.getFrame("missing"));
+    }
+
+    @Test
+    public void testFramesPackedFromCacheAreNotDecodedAgain() {
+        SpriteCache cache = new SpriteCache(path -> solid(2, 2, Color.GREEN));
+        SpriteAtlas.pack(List.of("normal", "hungry"), Map.of(), cache::get);
+
+        cache.get("normal");
+        assertEquals(2, cache.getMisses(), "Each frame should be decoded once, when the atlas is packed.");
+        assertEquals(1, cache.getHits(), "A sprite shown before the atlas is ready should come from the cache.");
+    }
+}
@@ -0,0 +1,52 @@
+package PetGame.JUnit_Tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+import PetGame.SpriteCache;
+
+public class SpriteCacheTest {
+
+    private SpriteCache cache;
+    private AtomicInteger decodes;
+
+    @BeforeEach
+    public void setUp() {
+        // Writable images can be created without the JavaFX toolkit, so no resources are decoded
+        decodes = new AtomicInteger();
+        cache = new SpriteCache(path -> {
+            decodes.incrementAndGet();
+            return new WritableImage(1, 1);
+        });
+    }
+
+    @Test
+    public void testImageDecodedOnce() {
+        Image first = cache.get("/images/blueSprite/BNormal.png");
+        Image second = cache.get("/images/blueSprite/BNormal.png");
+
+        assertSame(first, second, "The same image should be handed back for the same path.");
+        assertEquals(1, decodes.get(), "The image should only be decoded once.");
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertTrue(cache.getDecodeNanos() >= 0);
+    }
+
+    @Test
+    public void testClear() {
+        cache.get("/images/heart.png");
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMisses());
+        cache.get("/images/heart.png");
+        assertEquals(2, decodes.get(), "A cleared image should be decoded again.");
+    }
+}
@@ -3,7 +3,7 @@ package PetGame.JUnit_Tests;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import PetGame.Statistics;
+import PetGame.PlaytimeStats;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -11,29 +11,29 @@ public class TestStatistics {
 
     @BeforeEach
     public void setUp() {
-        Statistics.totalPlaytime = 0;
-        Statistics.playSessions = 0;
-        Statistics.secondsPlayed = 0;
+        PlaytimeStats.totalPlaytime = 0;
+        PlaytimeStats.playSessions = 0;
+        PlaytimeStats.secondsPlayed = 0;
     }
 
     @Test
     public void testInitialStats() {
-        assertEquals(0, Statistics.totalPlaytime);
-        assertEquals(0, Statistics.playSessions);
-        assertEquals(0, Statistics.secondsPlayed);
+        assertEquals(0, PlaytimeStats.totalPlaytime);
+        assertEquals(0, PlaytimeStats.playSessions);
+        assertEquals(0, PlaytimeStats.secondsPlayed);
     }
 
     @Test
     public void testSaveAndLoadStatsWithoutTouchingDisk() {
         /**Simulate save */
-        Statistics.totalPlaytime = 150;
-        Statistics.playSessions = 3;
-        Statistics.secondsPlayed = 900;
+        PlaytimeStats.totalPlaytime = 150;
+        PlaytimeStats.playSessions = 3;
+        PlaytimeStats.secondsPlayed = 900;
 
         /** Simulate reloading (in-memory) */
-        int total = Statistics.totalPlaytime;
-        int sessions = Statistics.playSessions;
-        int seconds = Statistics.secondsPlayed;
+        int total = PlaytimeStats.totalPlaytime;
+        int sessions = PlaytimeStats.playSessions;
+        int seconds = PlaytimeStats.secondsPlayed;
 
         assertEquals(150, total);
         assertEquals(3, sessions);
@@ -43,18 +43,18 @@ public class TestStatistics {
     @Test
     public void testResetStatsClearsStaticFields() {
         /** Setting values first */
-        Statistics.totalPlaytime = 123;
-        Statistics.playSessions = 5;
-        Statistics.secondsPlayed = 999;
+        PlaytimeStats.totalPlaytime = 123;
+        PlaytimeStats.playSessions = 5;
+        PlaytimeStats.secondsPlayed = 999;
 
         /**  Simulating reset behavior */
-        Statistics.totalPlaytime = 0;
-        Statistics.playSessions = 0;
-        Statistics.secondsPlayed = 0;
+        PlaytimeStats.totalPlaytime = 0;
+        PlaytimeStats.playSessions = 0;
+        PlaytimeStats.secondsPlayed = 0;
 
         /** Verifying all were reset */
-        assertEquals(0, Statistics.totalPlaytime);
-        assertEquals(0, Statistics.playSessions);
-        assertEquals(0, Statistics.secondsPlayed);
+        assertEquals(0, PlaytimeStats.totalPlaytime);
+        assertEquals(0, PlaytimeStats.playSessions);
+        assertEquals(0, PlaytimeStats.secondsPlayed);
     }
 }
@@ -0,0 +1,154 @@
+package PetGame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>Rebuilds a game's state from its last snapshot and its {@link GameJournal}.</b>
+ * <p>
+ * {@link #replay(SaveGame, List)} applies the events recorded after a snapshot to a copy of it. As each event holds
+ * the value the state changed to, the result depends only on the snapshot and the events, never on timers or on the
+ * JavaFX toolkit, so the same journal always gives the same save. This is how {@link SaveGame#load(String)} reads a
+ * slot, and it can also be run on a copied slot to reproduce or time a real session offline.
+ * </p>
+ * <p>
+ * Usage: {@code java PetGame.JournalReplayer saves/save1.json}
+ * </p>
+ *
+ * @see PetGame.GameJournal
+ */
+public class JournalReplayer {
+
+    /**
+     * Reads a save file and replays its journal, if it has one.
+     *
+     * @param saveFile the save file, in either {@link SaveFormat}
+     * @return the game state including every journaled change
+     * @throws IOException if the save is missing or invalid, or the journal cannot be read
+     */
+    public static SaveGame load(Path saveFile) throws IOException {
+        return replay(SaveFormat.read(saveFile), GameJournal.read(GameJournal.journalFor(saveFile)));
+    }
+
+    /**
+     * Applies journal events to a copy of a snapshot. Events the snapshot already includes are skipped.
+     *
+     * @param snapshot the saved state, not changed
+     * @param events the events in the order they were appended
+     * @return a new save with the events applied
+     */
+    public static SaveGame replay(SaveGame snapshot, List<GameEvent> events) {
+        long included = GameJournal.sequenceOf(snapshot);
+        SaveGame save = new SaveGame();
+        save.petType = snapshot.petType;
+        save.petName = snapshot.petName;
+        save.petStats = snapshot.petStats == null ? new HashMap<>() : new HashMap<>(snapshot.petStats);
+        save.player = snapshot.player == null ? new HashMap<>() : new HashMap<>(snapshot.player);
+        save.gameStats = snapshot.gameStats == null ? null : new HashMap<>(snapshot.gameStats);
+
+        CoinLedger ledger = null; // Only rebuilt if the coins changed
+        Inventory inventory = null; // Only rebuilt if the inventory changed
+        long last = included;
+        long lastTime = save.getSavedAt();
+        for (GameEvent event : events) {
+            if (event.sequence <= included) {
+                continue;
+            }
+            switch (event.type) {
+                case STATS:
+                    save.petStats.put("health", event.getValue(0));
+                    save.petStats.put("sleep", event.getValue(1));
+                    save.petStats.put("fullness", event.getValue(2));
+                    save.petStats.put("happiness", event.getValue(3));
+                    break;
+                case STATE: // A sleeping pet is saved awake, as SaveGame does
+                    save.petStats.put("state", PetState.SLEEPING.getLabel().equals(event.text) ? PetState.NORMAL.getLabel() : event.text);
+                    break;
+                case SCORE:
+                    save.player.put("score", event.getValue(0));
+                    break;
+                case COINS:
+                    if (ledger == null) {
+                        ledger = savedLedger(save.player);
+                    }
+                    ledger.replay(event.amount, event.balance, event.time, event.text);
+                    break;
+                case ITEMS:
+                    if (inventory == null) {
+                        inventory = new Inventory();
+                        inventory.loadSaved(save.player.get("inventory"));
+                    }
+                    int held = inventory.getItemQuantity(event.text);
+                    int count = event.getValue(0);
+                    if (count > held) {
+                        inventory.addItems(ItemCatalog.getInstance().intern(event.text, event.price), count - held);
+                    } else {
+                        inventory.removeItems(event.text, held - count);
+                    }
+                    break;
+            }
+            last = Math.max(last, event.sequence);
+            lastTime = Math.max(lastTime, event.time);
+        }
+
+        if (ledger != null) {
+            long balance = ledger.getBalance();
+            save.player.put("money", CoinLedger.toCoins(balance));
+            save.player.put("coins", balance);
+            save.player.put("ledger", ledger.encodeTail(CoinLedger.SAVED_TAIL));
+        }
+        if (inventory != null) {
+            save.player.put("inventory", inventory.getItemCounts());
+        }
+        if (last > included) {
+            if (save.gameStats == null) {
+                save.gameStats = new HashMap<>();
+            }
+            save.gameStats.put(GameJournal.SEQUENCE_KEY, last);
+            save.gameStats.put(SaveGame.SAVED_AT, lastTime); // The state is as of the last event, not the snapshot
+        }
+        return save;
+    }
+
+    /**
+     * Reads the coin ledger stored in a save's player map.
+     *
+     * @param player the player map
+     * @return a ledger with the saved balance and history
+     */
+    private static CoinLedger savedLedger(Map<String, Object> player) {
+        CoinLedger ledger = new CoinLedger(0);
+        Object coins = player.get("coins");
+        Object money = player.get("money");
+        long balance = coins instanceof Number ? ((Number) coins).longValue()
+                : money instanceof Number ? CoinLedger.toMinor(((Number) money).doubleValue()) : 0;
+        Object tail = player.get("ledger");
+        ledger.restore(balance, tail instanceof String ? (String) tail : null);
+        return ledger;
+    }
+
+    /**
+     * Replays the journal of the save file named by the first argument and prints the result and how long it took.
+     *
+     * @param args the save file name
+     * @throws IOException if the save or its journal cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: JournalReplayer <save file>");
+            return;
+        }
+        Path saveFile = Path.of(args[0]);
+        SaveGame snapshot = SaveFormat.read(saveFile);
+        List<GameEvent> events = GameJournal.read(GameJournal.journalFor(saveFile));
+        long start = System.nanoTime();
+        SaveGame replayed = replay(snapshot, events);
+        long micros = (System.nanoTime() - start) / 1000;
+        System.out.println("Replayed " + events.size() + " events in " + micros + " us");
+        System.out.println("Pet: " + replayed.petStats);
+        System.out.println("Player: score " + replayed.player.get("score") + ", coins " + replayed.player.get("money"));
+    }
+}
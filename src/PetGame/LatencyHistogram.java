@@ -0,0 +1,165 @@
+package PetGame;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <b>Records how long something takes, keeping enough detail to report percentiles.</b>
+ * <p>
+ * Durations are counted in buckets the way an HDR histogram does it: every power of two is split into
+ * {@value #SUB_BUCKETS} equal sub-buckets, so a reported value is within about 3% of the real one whether it is a
+ * few microseconds or several seconds. The buckets are a fixed array of counters, so recording never allocates or
+ * takes a lock and can be done from any thread, e.g. the FX thread and the save writer at the same time. Reads made
+ * while other threads are recording may be off by the values being recorded.
+ * </p>
+ *
+ * @see PetGame.Metrics
+ */
+public class LatencyHistogram {
+    /** Number of bits of each value kept exactly */
+    private static final int SUB_BUCKET_BITS = 5;
+    /** Number of buckets each power of two is split into */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Number of buckets needed for every non-negative long */
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** Number of values recorded in each bucket */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Finds the bucket a value is counted in.
+     *
+     * @param value the value, not negative
+     * @return the bucket index
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Gets the largest value counted in a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the highest value that falls in the bucket
+     */
+    static long highestIn(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long sub = SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds, negative values count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        total.add(value);
+        min.accumulate(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Records the time since a start time taken with {@link System#nanoTime()}.
+     *
+     * @param startNanos the start time
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Gets the number of durations recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the shortest duration recorded.
+     *
+     * @return the duration in nanoseconds, 0 if nothing has been recorded
+     */
+    public long getMin() {
+        long value = min.get();
+        return value == Long.MAX_VALUE ? 0 : value;
+    }
+
+    /**
+     * Gets the longest duration recorded.
+     *
+     * @return the duration in nanoseconds, 0 if nothing has been recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the average duration.
+     *
+     * @return the mean in nanoseconds, 0 if nothing has been recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Gets the duration that a given share of the recorded durations are no longer than.
+     *
+     * @param percentile the share in percent, e.g. 99 for the 99th percentile
+     * @return the duration in nanoseconds, rounded up to its bucket and never more than {@link #getMax()}, or 0 if
+     *         nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestIn(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Describes the recorded durations in milliseconds, e.g. for the metrics overlay and dump.
+     *
+     * @return the count, mean and percentiles
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "count=%d mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms", getCount(),
+                millis(getMean()), millis(getValueAtPercentile(50)), millis(getValueAtPercentile(90)),
+                millis(getValueAtPercentile(99)), millis(getMax()));
+    }
+
+    private static double millis(double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
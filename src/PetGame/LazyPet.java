@@ -1,6 +1,5 @@
 package PetGame;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 /**
@@ -58,7 +57,7 @@ public class LazyPet implements Pet {
      */
     public LazyPet(ImageView petImage) {
         this.petImageView = petImage;
-        this.petSprite = new PetSprite(petImageView, new Image(getClass().getResource(regularImage).toExternalForm()));
+        this.petSprite = new PetSprite(petImageView, SpriteCache.getInstance().get(regularImage));
         this.state = "Normal";
     }
 
@@ -1,37 +1,22 @@
 package PetGame;
 
-import com.google.gson.Gson;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.time.LocalTime;
 
 /**
  * The {@code Limitations} class handles parental control restrictions
  * by allowing parents to set restricted hours during which the game cannot be played.
  * These settings are persistent across sessions and prevent starting or loading games
- * during blocked times when enabled.
+ * during blocked times when enabled. The settings themselves are kept in {@link PlaytimeLimits}.
  *
  * @author Ishaan Misra
  */
 public class Limitations extends MainController {
-
-    /** Indicates whether the playtime limitation feature is enabled. */
-    public static boolean enabled = false;
-
-    /** The hour (in 24-hour format) when playtime restrictions start. */
-    public static int startHour = 0; 
-
-    /** The hour (in 24-hour format) when playtime restrictions end. */
-    public static int endHour = 0;    
-
-    /** The filename used to persist limitation settings in JSON format. */
-    private static final String FILE_NAME = "limitations.json";
+    private static final Log LOG = Log.getInstance();
 
     /** ComboBox for selecting the start hour of the playtime block. */
     @FXML
@@ -59,9 +44,9 @@ public class Limitations extends MainController {
         }
 
         /**Set initial values */
-        startHourCombo.setValue(format12Hour(startHour));
-        endHourCombo.setValue(format12Hour(endHour));
-        playtimeCheckbox.setSelected(enabled);
+        startHourCombo.setValue(format12Hour(PlaytimeLimits.startHour));
+        endHourCombo.setValue(format12Hour(PlaytimeLimits.endHour));
+        playtimeCheckbox.setSelected(PlaytimeLimits.enabled);
     }
 
     /**
@@ -70,11 +55,11 @@ public class Limitations extends MainController {
     @FXML
     private void handleSaveLimitations() {
         try {
-            enabled = playtimeCheckbox.isSelected();
-            startHour = convertTo24Hour(startHourCombo.getValue());
-            endHour = convertTo24Hour(endHourCombo.getValue());
+            PlaytimeLimits.enabled = playtimeCheckbox.isSelected();
+            PlaytimeLimits.startHour = convertTo24Hour(startHourCombo.getValue());
+            PlaytimeLimits.endHour = convertTo24Hour(endHourCombo.getValue());
 
-            save();
+            PlaytimeLimits.save();
 
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Limitations Saved");
@@ -84,7 +69,7 @@ public class Limitations extends MainController {
 
         } 
         catch (Exception e) {
-            e.printStackTrace();
+            LOG.error("limitations.saveFailed", "error", e);
             Alert error = new Alert(Alert.AlertType.ERROR);
             error.setTitle("Error");
             error.setHeaderText("Could not save settings.");
@@ -93,26 +78,6 @@ public class Limitations extends MainController {
         }
     }
 
-    /**
-     * Returns true if the current time falls within the blocked range.
-     *
-     * @return true if access is currently restricted
-     */
-    public static boolean isBlockedTimeNow() {
-        if(!enabled) return false;
-
-        LocalTime now = LocalTime.now();
-        LocalTime start = LocalTime.of(startHour, 0);
-        LocalTime end = LocalTime.of(endHour, 0);
-
-        if(startHour < endHour) {
-            return now.isAfter(start) && now.isBefore(end);
-        } 
-        else {
-            return now.isAfter(start) || now.isBefore(end);
-        }
-    }
-
     /**
     * Converts a 12-hour format time string (e.g., "3 PM", "12 AM") to 24-hour format.
     *
@@ -144,50 +109,6 @@ public class Limitations extends MainController {
         return displayHour + " " + period;
     }
 
-    /**
-     * Loads the saved limitation settings from disk.
-     */
-    public static void load() {
-        try(FileReader reader = new FileReader(FILE_NAME)) {
-            Gson gson = new Gson();
-            LimitationsData data = gson.fromJson(reader, LimitationsData.class);
-            enabled = data.enabled;
-            startHour = data.startHour;
-            endHour = data.endHour;
-        } 
-        catch (IOException e) {
-            /**First run so file may not exist */
-        }
-    }
-
-    /**
-     * Saves the current limitation settings to disk.
-     */
-    public static void save() {
-        try(FileWriter writer = new FileWriter(FILE_NAME)) {
-            Gson gson = new Gson();
-            gson.toJson(new LimitationsData(enabled, startHour, endHour), writer);
-        } 
-        catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Private data holder for serialization to JSON.
-     */
-    private static class LimitationsData {
-        boolean enabled;
-        int startHour;
-        int endHour;
-
-        LimitationsData(boolean enabled, int startHour, int endHour) {
-            this.enabled = enabled;
-            this.startHour = startHour;
-            this.endHour = endHour;
-        }
-    }
-
     /**
      * Called when the user clicks "Back" to return to the Parental Controls screen.
      */
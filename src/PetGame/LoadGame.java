@@ -1,24 +1,18 @@
 package PetGame;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -32,32 +26,87 @@ import java.util.Map;
  * back to the main menu.
  * 
  * Features:
- * - Reads save files in JSON format.
- * - Displays save file details such as pet type, health, sleep, and state.
+ * - Reads save files in the JSON or binary format (see {@link SaveFormat}).
+ * - Lists every slot in the {@link SaveRepository}, a page at a time.
+ * - Displays save file details such as pet type, health, sleep, and state from the {@link SlotIndex}.
  * - Allows the player to load a save file and resume the game.
  * 
  * Dependencies:
- * - Gson library for parsing JSON save files.
  * - JavaFX for UI components and scene transitions.</p>
  * 
  * @author Novak Vukojicic
  */
 public class LoadGame extends MainController {
+    private static final Log LOG = Log.getInstance();
 
     @FXML
     private VBox saveFilesContainer; // Container to hold dynamically created save file buttons
+    @FXML
+    private Text pageLabel; // Shows which page of save slots is on screen
+    @FXML
+    private Button previousPageButton;
+    @FXML
+    private Button nextPageButton;
     public Game gameClass;
 
+    /** Number of save slots shown on each page */
+    public static final int PAGE_SIZE = 5;
+    private int page; // The page of save slots on screen, starting at 0
+
     /**
-     * Initializes the save file buttons by creating a button for each predefined save file.
+     * Initializes the save file buttons by showing the first page of slots in the {@link SaveRepository}.
      * This method is automatically called after the FXML file is loaded.
      */
     public void initialize() {
-        createSaveFileButton("save1.json");
-        createSaveFileButton("save2.json");
-        createSaveFileButton("save3.json");
-        createSaveFileButton("save4.json");
-        createSaveFileButton("save5.json");
+        showPage(0);
+    }
+
+    /**
+     * Replaces the buttons with one page of save slots. Only the slots on the page are looked up in the
+     * {@link SlotIndex}, so a page shows just as quickly however many slots there are.
+     * 
+     * @param page The page to show, starting at 0. It is clamped to the pages that exist.
+     */
+    public void showPage(int page) {
+        SaveRepository repository = SaveRepository.getInstance();
+        int pageCount = Math.max(1, (repository.getSlotCount() + PAGE_SIZE - 1) / PAGE_SIZE);
+        this.page = Math.max(0, Math.min(page, pageCount - 1));
+
+        List<String> slots = repository.getPage(this.page, PAGE_SIZE);
+        List<SlotIndex.Entry> summaries = repository.getSummaries(slots);
+        saveFilesContainer.getChildren().clear();
+        for (int i = 0; i < slots.size(); i++) {
+            createSaveFileButton(repository.resolve(slots.get(i)), summaries.get(i));
+        }
+        if (slots.isEmpty()) {
+            createSaveFileButton(repository.resolve(repository.getNewSlot()), null);
+        }
+
+        if (pageLabel != null) {
+            pageLabel.setText("Page " + (this.page + 1) + " of " + pageCount);
+        }
+        if (previousPageButton != null) {
+            previousPageButton.setDisable(this.page == 0);
+        }
+        if (nextPageButton != null) {
+            nextPageButton.setDisable(this.page >= pageCount - 1);
+        }
+    }
+
+    /**
+     * Shows the previous page of save slots.
+     */
+    @FXML
+    private void previousPage() {
+        showPage(page - 1);
+    }
+
+    /**
+     * Shows the next page of save slots.
+     */
+    @FXML
+    private void nextPage() {
+        showPage(page + 1);
     }
 
     /**
@@ -66,26 +115,17 @@ public class LoadGame extends MainController {
      * If the save file is empty or invalid, the button indicates that the save file is empty.
      * 
      * @param filename The name of the save file to create a button for.
+     * @param summary The slot's summary from the index, or null if the save is missing or invalid.
      */
-    private void createSaveFileButton(String filename) {
-        try (FileReader reader = new FileReader(filename)) {
-            Gson gson = new Gson();
-            Map<String, Object> saveData = gson.fromJson(reader, Map.class);
-
-            // Extract save file details for the petType and pet statistics
-            int petType = ((Double) saveData.get("petType")).intValue();
-            Map<String, Object> petStats = (Map<String, Object>) saveData.get("petStats");
-            int health = ((Double) petStats.get("health")).intValue();
-            int sleep = ((Double) petStats.get("sleep")).intValue();
-            String state = (String) petStats.get("state");
-
+    private void createSaveFileButton(String filename, SlotIndex.Entry summary) {
+        if (summary != null) {
             // Create a button with save file details
-            Button saveButton = new Button("Pet Type: " + petType + ", Health: " + health + ", Sleep: " + sleep + ", State: " + state);
+            Button saveButton = new Button("Pet Type: " + summary.petType + ", Health: " + summary.health + ", Sleep: " + summary.sleep + ", State: " + summary.state);
             saveButton.setPrefWidth(600);
             saveButton.setOnAction(event -> loadGame(event, filename));
 
             saveFilesContainer.getChildren().add(saveButton); // Add the button to the container
-        } catch (IOException e) {
+        } else {
             // Create a button for an empty or invalid save file
             Button saveButton = new Button("Empty save file for file: " + filename);
             saveButton.setPrefWidth(600);
@@ -102,17 +142,15 @@ public class LoadGame extends MainController {
      * @param filename The name of the save file to load.
      */
     public void loadGame(ActionEvent event, String filename) {
-        System.out.println("Loading game from: " + filename);
-        try (FileReader reader = new FileReader(filename)) {
-            Gson gson = new Gson();
-            Map<String, Object> saveData = gson.fromJson(reader, Map.class);
+        LOG.debug("game.loading", "slot", filename);
+        try {
+            SaveGame saveData = SaveGame.load(filename); // Reads JSON and binary saves alike
 
             // Extract save file details for the petType and pet statistics
-            int petType = ((Double) saveData.get("petType")).intValue();
-            String petName = (String) saveData.get("petName");
-            Map<String, Object> petStats = (Map<String, Object>) saveData.get("petStats");
-            Map<String, Object> player = (Map<String, Object>) saveData.get("player");
-            Map<String, Object> gameStats = (Map<String, Object>) saveData.get("gameStats");
+            int petType = saveData.petType;
+            String petName = saveData.petName;
+            Map<String, Object> petStats = saveData.petStats;
+            Map<String, Object> player = saveData.player;
 
             // Show confirmation dialog
             Alert alert = new Alert(AlertType.CONFIRMATION);
@@ -122,49 +160,64 @@ public class LoadGame extends MainController {
             
             if (alert.showAndWait().get() == ButtonType.OK) {
                 // Load the game screen
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/Game.fxml"));
-                Parent root = loader.load();
+                Navigator.Screen screen = Navigator.getInstance().load("FXML_Files/Game.fxml");
 
                 // Pass save data to the game controller
-                this.gameClass = loader.getController();
+                this.gameClass = screen.getController();
                 gameClass.startGame(event, petType, petName);
 
                 // Set pet stats
-                gameClass.pet.getPetStats().health.set(((Double) petStats.get("health")).intValue());
-                gameClass.pet.getPetStats().sleep.set(((Double) petStats.get("sleep")).intValue());
-                gameClass.pet.getPetStats().fullness.set(((Double) petStats.get("fullness")).intValue());
-                gameClass.pet.getPetStats().happiness.set(((Double) petStats.get("happiness")).intValue());
+                gameClass.pet.getPetStats().health.set(((Number) petStats.get("health")).intValue());
+                gameClass.pet.getPetStats().sleep.set(((Number) petStats.get("sleep")).intValue());
+                gameClass.pet.getPetStats().fullness.set(((Number) petStats.get("fullness")).intValue());
+                gameClass.pet.getPetStats().happiness.set(((Number) petStats.get("happiness")).intValue());
                 gameClass.pet.getPetStats().state.set((String) petStats.get("state"));
 
-                // Set player stats
-                gameClass.player.setCoins(((Double) player.get("money")).intValue());
-                gameClass.player.getScore().increaseScore((((Double) player.get("score")).intValue()));
+                // Set player stats, saves from older versions only have the balance as a number of coins
+                Object balance = player.get("coins");
+                if (balance instanceof Number) {
+                    gameClass.player.getLedger().restore(((Number) balance).longValue(), (String) player.get("ledger"));
+                } else {
+                    gameClass.player.setCoins(((Number) player.get("money")).doubleValue());
+                }
+                int score = ((Number) player.get("score")).intValue();
+                gameClass.player.getScore().increaseScore(score);
+                gameClass.markScoreRewarded(score); // The coins for the saved score are already in the balance
                 gameClass.setScore();
                 
-                // Set inventory
-                ArrayList<PurchasableItem> inventory = gson.fromJson(gson.toJson(player.get("inventory")), new TypeToken<List<PurchasableItem>>() {}.getType());
-                gameClass.player.inventory.items = inventory;
+                // Set inventory, saves from older versions list every copy of an item instead of a count
+                gameClass.player.inventory.loadSaved(player.get("inventory"));
+                gameClass.journalTo(filename); // Changes from here on are appended to the slot's journal
+
+                // Catch up on the time the pet was left alone, after the journal is open so this is only done once
+                long savedAt = saveData.getSavedAt();
+                if (savedAt > 0) {
+                    OfflineCatchUp.Result away = OfflineCatchUp.advance(gameClass.pet.getPetStats(), System.currentTimeMillis() - savedAt);
+                    away.applyTo(gameClass.pet.getPetStats());
+                    if (away.ticks > 0) {
+                        gameClass.statusTextArea.appendText(away.getSummary() + "\n");
+                    }
+                }
                 
                 // Transition to the game screen
                 Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-                Scene scene = new Scene(root);
+                Scene scene = screen.getScene();
 
                 // Add key press handler for the game screen
                 scene.setOnKeyPressed(eventKey -> {
                     try {
                         gameClass.handleKeyPress(eventKey.getCode(), event);
                     } catch (IOException e) {
-                        e.printStackTrace();
+                        LOG.error("key.failed", "key", eventKey.getCode(), "error", e);
                     }
                 });
 
                 stage.setScene(scene);
                 stage.show();
+                LOG.info("game.loaded", "slot", filename, "pet", petName, "petType", petType);
             }
-
-            System.out.println("Game loaded successfully from: " + filename);
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("game.loadFailed", "slot", filename, "error", e);
         }
     }
 
@@ -175,6 +228,6 @@ public class LoadGame extends MainController {
     @FXML
     private void switchToMainMenu() {
         // Logic to switch back to the main menu
-        System.out.println("Switching to Main Menu...");
+        LOG.debug("screen.mainMenu");
     }
 }
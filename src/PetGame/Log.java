@@ -0,0 +1,403 @@
+package PetGame;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <b>The game's log, written to rolling files on a background thread.</b>
+ * <p>
+ * Each line is an event name and a list of key/value fields, e.g.
+ * <pre>{@code
+ * Log.getInstance().info("game.loaded", "slot", filename, "pet", petName);
+ * }</pre>
+ * is written as {@code 2026-10-18T10:15:30.123Z INFO [JavaFX Application Thread] game.loaded slot=saves/save1.json pet=Rex}.
+ * Logging only puts the entry in a {@link LogRing}; turning the fields into text and writing the file is done by a
+ * daemon thread a few times a second, so a slow disk never holds up the FX thread. A {@link Throwable} given as a
+ * field is written with its stack trace.
+ * </p>
+ * <p>
+ * Entries below the log's level are thrown away before anything is done with them. Nothing is logged at all until
+ * {@link #open(Path, long, int, Level)} is called, so tests and tools that never open the log pay only that check.
+ * Code that logs often, or has to work out its fields, should check {@link #isEnabled(Level)} first so that not even
+ * the field array is built:
+ * <pre>{@code
+ * if (log.isEnabled(Log.Level.DEBUG)) {
+ *     log.debug("pet.warning", "state", getState(), "health", getHealth());
+ * }
+ * }</pre>
+ * </p>
+ *
+ * @see PetGame.RollingLogFile
+ */
+public class Log {
+    /** How important a log entry is, from least to most */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR,
+        /** Used as a level to log nothing */
+        OFF
+    }
+
+    /** System property that sets the level of the game's log, e.g. {@code -Dpetgame.log.level=DEBUG} */
+    public static final String LEVEL_PROPERTY = "petgame.log.level";
+    /** File the game logs to, in the working directory */
+    public static final String DEFAULT_FILE = "logs/petgame.log";
+    /** Size at which a log file is moved aside */
+    public static final long DEFAULT_MAX_BYTES = 1024 * 1024;
+    /** Number of older log files kept */
+    public static final int DEFAULT_KEPT_FILES = 3;
+    /** Number of entries that can be waiting to be written */
+    public static final int DEFAULT_CAPACITY = 8192;
+    /** Time between writes to the file */
+    private static final long FLUSH_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /** The shared log used by the game */
+    private static Log instance;
+
+    private final LogRing<Entry> ring;
+    /** Level set for the log, applied once it is open */
+    private volatile Level level = Level.INFO;
+    /** Ordinal of the lowest level that is logged, {@link Level#OFF} while the log is not open */
+    private volatile int threshold = Level.OFF.ordinal();
+    private RollingLogFile file;
+    private Thread writer;
+    private volatile boolean running;
+    /** Position in the ring up to which entries have been written to the file */
+    private volatile long written;
+    /** Number of dropped entries already reported in the file, only used by the writer thread */
+    private long droppedReported;
+
+    /**
+     * One entry waiting to be written.
+     */
+    private static final class Entry {
+        final long millis = System.currentTimeMillis();
+        final String thread = Thread.currentThread().getName();
+        final Level level;
+        final String event;
+        final Object[] fields;
+
+        Entry(Level level, String event, Object[] fields) {
+            this.level = level;
+            this.event = event;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * Constructs a log that is not open yet.
+     *
+     * @param capacity the number of entries that can be waiting to be written
+     */
+    public Log(int capacity) {
+        this.ring = new LogRing<>(capacity);
+    }
+
+    /**
+     * Gets the shared log used by the game, creating it on first use. It logs nothing until it is opened.
+     *
+     * @return the shared log
+     */
+    public static synchronized Log getInstance() {
+        if (instance == null) {
+            instance = new Log(DEFAULT_CAPACITY);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the level set with {@link #LEVEL_PROPERTY}.
+     *
+     * @return the level, {@link Level#INFO} if the property is missing or not a level
+     */
+    public static Level levelFromProperty() {
+        try {
+            return Level.valueOf(System.getProperty(LEVEL_PROPERTY, Level.INFO.name()).toUpperCase());
+        }
+        catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
+    }
+
+    /**
+     * Starts writing the log to a file. Does nothing if the log is already open.
+     *
+     * @param path the file to write
+     * @param maxBytes the size at which the file is moved aside
+     * @param keptFiles the number of older files to keep
+     * @param level the lowest level to log
+     * @throws IOException if the file cannot be opened
+     */
+    public synchronized void open(Path path, long maxBytes, int keptFiles, Level level) throws IOException {
+        if (writer != null) {
+            return;
+        }
+        file = new RollingLogFile(path, maxBytes, keptFiles);
+        running = true;
+        writer = new Thread(this::run, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        setLevel(level);
+    }
+
+    /**
+     * Changes the lowest level that is logged.
+     *
+     * @param level the new level
+     */
+    public synchronized void setLevel(Level level) {
+        this.level = level;
+        threshold = writer != null ? level.ordinal() : Level.OFF.ordinal();
+    }
+
+    /**
+     * Gets the lowest level that is logged once the log is open.
+     *
+     * @return the level
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Checks whether entries of a level are logged.
+     *
+     * @param level the level
+     * @return true if the log is open and the level is at or above the log's level
+     */
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold;
+    }
+
+    /**
+     * Logs an entry.
+     *
+     * @param level how important the entry is
+     * @param event the event name, e.g. {@code item.bought}
+     * @param fields the fields, as key, value, key, value...
+     */
+    public void log(Level level, String event, Object... fields) {
+        if (level.ordinal() >= threshold) {
+            ring.offer(new Entry(level, event, fields));
+        }
+    }
+
+    /**
+     * Logs an entry used while working on the game, off by default.
+     *
+     * @param event the event name
+     * @param fields the fields, as key, value, key, value...
+     */
+    public void debug(String event, Object... fields) {
+        log(Level.DEBUG, event, fields);
+    }
+
+    /**
+     * Logs something that happened in the game.
+     *
+     * @param event the event name
+     * @param fields the fields, as key, value, key, value...
+     */
+    public void info(String event, Object... fields) {
+        log(Level.INFO, event, fields);
+    }
+
+    /**
+     * Logs something that went wrong but that the game got past.
+     *
+     * @param event the event name
+     * @param fields the fields, as key, value, key, value...
+     */
+    public void warn(String event, Object... fields) {
+        log(Level.WARN, event, fields);
+    }
+
+    /**
+     * Logs something that failed.
+     *
+     * @param event the event name
+     * @param fields the fields, as key, value, key, value...
+     */
+    public void error(String event, Object... fields) {
+        log(Level.ERROR, event, fields);
+    }
+
+    /**
+     * Gets the number of entries dropped because the writer could not keep up.
+     *
+     * @return the dropped count
+     */
+    public long getDropped() {
+        return ring.getDropped();
+    }
+
+    /**
+     * Waits until everything logged so far is in the file.
+     *
+     * @param timeoutMillis the longest time to wait
+     * @return true if everything was written in time (or the log is not open)
+     */
+    public boolean flush(long timeoutMillis) {
+        Thread thread;
+        synchronized (this) {
+            thread = writer;
+        }
+        if (thread == null) {
+            return true;
+        }
+        long target = ring.getTail();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written < target) {
+            if (System.nanoTime() >= deadline || !thread.isAlive()) {
+                return false;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * Writes everything logged so far and closes the file. Entries logged after this are thrown away.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        threshold = Level.OFF.ordinal();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            file.close();
+        }
+        catch (IOException e) {
+            System.err.println("Could not close the log: " + e.getMessage());
+        }
+        writer = null;
+    }
+
+    /**
+     * Writes entries to the file until the log is closed. Runs on the writer thread.
+     */
+    private void run() {
+        while (true) {
+            boolean stopping = !running;
+            drain();
+            if (stopping) {
+                return;
+            }
+            LockSupport.parkNanos(FLUSH_PERIOD_NANOS);
+        }
+    }
+
+    /**
+     * Writes every waiting entry, and a warning if entries were dropped since the last time.
+     */
+    private void drain() {
+        long head = ring.getHead();
+        try {
+            boolean wrote = false;
+            Entry entry;
+            while ((entry = ring.poll()) != null) {
+                file.write(format(entry));
+                wrote = true;
+            }
+            head = ring.getHead();
+            long dropped = ring.getDropped();
+            if (dropped > droppedReported) {
+                file.write(format(new Entry(Level.WARN, "log.dropped", new Object[] {"count", dropped - droppedReported})));
+                droppedReported = dropped;
+                wrote = true;
+            }
+            if (wrote) {
+                file.flush();
+            }
+        }
+        catch (IOException | RuntimeException e) {
+            System.err.println("Could not write the log: " + e);
+            head = ring.getHead(); /** the entries that failed are lost rather than retried forever */
+        }
+        written = head;
+    }
+
+    /**
+     * Turns an entry into its line of text, followed by the stack trace of any {@link Throwable} field.
+     *
+     * @param entry the entry
+     * @return the text to write, ending in a line break
+     */
+    private static String format(Entry entry) {
+        StringBuilder line = new StringBuilder(96);
+        line.append(Instant.ofEpochMilli(entry.millis)).append(' ').append(entry.level).append(" [").append(entry.thread)
+                .append("] ").append(entry.event);
+        Throwable error = null;
+        Object[] fields = entry.fields;
+        for (int i = 0; fields != null && i < fields.length; i += 2) {
+            Object value = i + 1 < fields.length ? fields[i + 1] : null;
+            if (value instanceof Throwable) {
+                error = (Throwable) value;
+            }
+            line.append(' ').append(fields[i]).append('=');
+            appendValue(line, String.valueOf(value));
+        }
+        line.append('\n');
+        if (error != null) {
+            StringWriter trace = new StringWriter();
+            error.printStackTrace(new PrintWriter(trace));
+            line.append(trace.toString().replace(System.lineSeparator(), "\n"));
+        }
+        return line.toString();
+    }
+
+    /**
+     * Appends a field's value, quoting it if it is empty or has spaces, quotes, equals signs or line breaks in it.
+     *
+     * @param line the line being built
+     * @param value the value's text
+     */
+    private static void appendValue(StringBuilder line, String value) {
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ' ' || c == '"' || c == '=' || c == '\n' || c == '\r' || c == '\t';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,115 @@
+package PetGame;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <b>Fixed-size queue handing log entries from any thread to the one thread that writes them.</b>
+ * <p>
+ * Threads that log claim the next position with a compare-and-set on the tail and then place their entry in its
+ * slot; the reader takes entries in order from the head and clears each slot after it. Nothing ever locks or waits,
+ * so logging from the FX thread can never be held up by the writer or by another thread. If the writer has fallen so
+ * far behind that the queue is full, the entry is dropped and counted instead, since losing a log line is better
+ * than stalling the game.
+ * </p>
+ *
+ * @param <T> the type of the entries
+ * @see PetGame.Log
+ */
+public class LogRing<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    /** Position of the next entry to be claimed by a producer */
+    private final AtomicLong tail = new AtomicLong();
+    /** Position of the next entry to be taken by the reader, only written by the reader */
+    private volatile long head;
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Constructs an empty ring.
+     *
+     * @param capacity the most entries that can be waiting, rounded up to a power of two
+     */
+    public LogRing(int capacity) {
+        int size = 2;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an entry, unless the ring is full. Can be called from any number of threads at once.
+     *
+     * @param entry the entry, not null
+     * @return true if the entry was added, false if it was dropped
+     */
+    public boolean offer(T entry) {
+        while (true) {
+            long position = tail.get();
+            if (position - head >= slots.length()) {
+                dropped.increment();
+                return false;
+            }
+            if (tail.compareAndSet(position, position + 1)) {
+                slots.set((int) position & mask, entry); /** the reader waits for the slot to be filled */
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest entry. Must only be called from one thread at a time.
+     *
+     * @return the entry, or null if the ring is empty or the next entry is still being placed
+     */
+    public T poll() {
+        long position = head;
+        int index = (int) position & mask;
+        T entry = slots.get(index);
+        if (entry == null) {
+            return null;
+        }
+        slots.set(index, null);
+        head = position + 1; /** frees the slot for producers only after it has been cleared */
+        return entry;
+    }
+
+    /**
+     * Gets the number of entries added so far, including those already taken.
+     *
+     * @return the position after the newest entry
+     */
+    public long getTail() {
+        return tail.get();
+    }
+
+    /**
+     * Gets the number of entries taken so far.
+     *
+     * @return the position of the next entry to take
+     */
+    public long getHead() {
+        return head;
+    }
+
+    /**
+     * Gets the number of entries dropped because the ring was full.
+     *
+     * @return the dropped count
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Gets the most entries that can be waiting at once.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+}
@@ -1,15 +1,13 @@
 package PetGame;
 
-import java.util.List;
-
+import java.io.IOException;
+import java.nio.file.Path;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ButtonType;
-import javafx.scene.control.ChoiceDialog;
 import javafx.stage.Stage;
 
 /**
@@ -23,6 +21,13 @@ import javafx.stage.Stage;
  * @author Muhammad Shayaan Ali
  */
 public class Main extends Application {
+    private static final Log LOG = Log.getInstance();
+    /** Width of the game window, which cannot be resized */
+    public static final int WINDOW_WIDTH = 700;
+    /** Height of the game window, which cannot be resized */
+    public static final int WINDOW_HEIGHT = 500;
+    /** writes the game's metrics to a file while the game is running */
+    private MetricsReporter metricsReporter;
 
     /**
      * start method as an entry point to the game
@@ -37,13 +42,22 @@ public class Main extends Application {
      */
     @Override
     public void start(Stage primaryStage) throws Exception{
-        Statistics.loadStatistics(); /** Loads the statistics for the save files */
-        Limitations.load();
-        Statistics.playSessions++;
+        openLog();
+        PlaytimeStats.load(); /** Loads the statistics for the save files */
+        PlaytimeLimits.load();
+        PlaytimeStats.playSessions++;
+        SimulationEngine.getInstance().start(Platform::runLater); /** Pet stats are advanced on the FX thread */
+        Metrics metrics = Metrics.getInstance();
+        metrics.gauge("memory.heapUsed", () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        metrics.gauge("simulation.ticks", SimulationEngine.getInstance()::getTickCount);
+        metrics.gauge("simulation.tickables", SimulationEngine.getInstance()::getTickableCount);
+        metricsReporter = new MetricsReporter(metrics, Path.of(MetricsReporter.DEFAULT_FILE), MetricsReporter.DEFAULT_PERIOD_MILLIS);
         
-        Parent root = FXMLLoader.load(getClass().getResource("FXML_Files/Main.fxml"));
+        Navigator navigator = Navigator.getInstance();
+        Scene mainMenu = navigator.load("FXML_Files/Main.fxml").getScene();
+        navigator.warmUp(); /** Loads the other menu screens while the game is idle so the first click on them is fast */
         primaryStage.setTitle("Pet Game");
-        primaryStage.setScene(new Scene(root, 700, 500));
+        primaryStage.setScene(mainMenu);
         primaryStage.setFullScreen(false);
         primaryStage.setFullScreenExitHint("");
         primaryStage.setResizable(false);
@@ -71,28 +85,53 @@ public class Main extends Application {
         alert.setHeaderText("Leaving Game");
         alert.setContentText("Do you want to leave the game?");
 
-        SaveGame savegame = new SaveGame(); /** creates a savegame instance so the game file can be saved */
         Game game = Game.getInstance();
 
         if (alert.showAndWait().get() == ButtonType.OK) {
             if (game != null) {
-                List<String> saveOptions = List.of("save1.json", "save2.json", "save3.json", "save4.json", "save5.json");
-                ChoiceDialog<String> choiceDialog = new ChoiceDialog<>("save1.json", saveOptions);
-                choiceDialog.setTitle("Select Save File");
-                choiceDialog.setHeaderText("Choose a save file to save your progress:");
-                choiceDialog.setContentText("Save File:");
-
-                choiceDialog.showAndWait().ifPresent(selectedFile -> {
-                    savegame.initializeSaveGame(game);
-                    savegame.saveToFile(selectedFile); /** saves the game to the selected json file */
-                    System.out.println("Game saved to: " + selectedFile);
-                });
+                game.saveToChosenSlot(); /** saves the game to the selected slot */
             }
-            Statistics.saveStatistics(); 
+            SaveService.getInstance().flush(5000); /** makes sure queued saves are on disk before the program closes */
+            if (game != null) {
+                game.closeJournal();
+            }
+            PlaytimeStats.save(); 
+            SimulationEngine.getInstance().stop();
+            Navigator.getInstance().logLoadTimes();
+            LOG.info("game.exit", "totalMinutes", PlaytimeStats.totalPlaytime, "sessions", PlaytimeStats.playSessions);
             stage.close(); /** saves the statistics and ensures the stage is closed */
         }
     }
 
+    /**
+     * Called by JavaFX once the last window has closed, however the game was left. Waits for queued saves to be
+     * written, as the save writer is a daemon thread that would otherwise be stopped with the program, then writes
+     * the metrics for the whole session and everything still waiting to be logged.
+     */
+    @Override
+    public void stop() {
+        if (!SaveService.getInstance().flush(5000)) {
+            LOG.error("game.savesNotFlushed");
+        }
+        if (metricsReporter != null) {
+            metricsReporter.close();
+        }
+        Log.getInstance().close();
+    }
+
+    /**
+     * Starts the game's log at the level set with {@link Log#LEVEL_PROPERTY}. The game still runs if the log
+     * cannot be opened, it is just not logged.
+     */
+    private static void openLog() {
+        try {
+            Log.getInstance().open(Path.of(Log.DEFAULT_FILE), Log.DEFAULT_MAX_BYTES, Log.DEFAULT_KEPT_FILES, Log.levelFromProperty());
+        }
+        catch (IOException e) {
+            System.err.println("Could not open the log " + Log.DEFAULT_FILE + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Main class used to launch the application with the provided arguments
      * 
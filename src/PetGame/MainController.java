@@ -5,7 +5,6 @@ import java.util.Optional;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -27,6 +26,7 @@ import javafx.stage.Stage;
  * @author Ishaan Misra
  */
 public class MainController {
+    private static final Log LOG = Log.getInstance();
 
     @FXML
     /** stage that is being used on the application */
@@ -125,11 +125,9 @@ public class MainController {
      * @throws IOException if the FXML file can't be opened it will throw an expection
      */
     protected void switchScreen(ActionEvent event, String fxml) throws IOException {
-        root = FXMLLoader.load(getClass().getResource(fxml));
         stage = (Stage) ((Node) event.getSource()).getScene().getWindow(); /**Gets the window and stores it in the stage*/
-        scene = new Scene(root);
-        stage.setScene(scene); 
-        stage.show(); /** sets the new scene and shows it, ensuring the switch screen is done */
+        scene = Navigator.getInstance().show(stage, fxml).getScene(); /** sets the new scene and shows it, reusing it if the screen was loaded before */
+        root = scene.getRoot();
     } 
 
     /**
@@ -144,9 +142,9 @@ public class MainController {
         alert.setContentText("Do you want to leave the game?");
         
         if (alert.showAndWait().get() == ButtonType.OK) {
-            Statistics.saveStatistics();
+            PlaytimeStats.save();
             stage = (Stage) scenePane.getScene().getWindow();
-            System.out.println("Exiting game...");
+            LOG.info("game.exit");
             stage.close();
         }
         
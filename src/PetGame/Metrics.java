@@ -0,0 +1,152 @@
+package PetGame;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * <b>Named counters, gauges and latency histograms describing how the game is running.</b>
+ * <p>
+ * Code that wants to be measured asks for its metric once, usually into a static field, and then records into it:
+ * <pre>{@code
+ * private static final LatencyHistogram STEP_TIMES = Metrics.getInstance().histogram("simulation.step");
+ * ...
+ * long start = System.nanoTime();
+ * step();
+ * STEP_TIMES.recordSince(start);
+ * }</pre>
+ * Asking for the same name again gives the same metric. Counters and histograms never lock, so they can be used on
+ * the FX thread and on background threads alike. A gauge is read only when the metrics are reported.
+ * </p>
+ * <p>
+ * The game shows the metrics in an overlay on the game screen (F3) and a {@link MetricsReporter} writes them to a
+ * file every few seconds.
+ * </p>
+ *
+ * @see PetGame.LatencyHistogram
+ */
+public class Metrics {
+    /** The shared registry used by the game */
+    private static Metrics instance;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * A count that only goes up, e.g. the number of bytes saved.
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        /**
+         * Adds one to the count.
+         */
+        public void increment() {
+            value.increment();
+        }
+
+        /**
+         * Adds to the count.
+         *
+         * @param amount the amount to add
+         */
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        /**
+         * Gets the count.
+         *
+         * @return the current count
+         */
+        public long get() {
+            return value.sum();
+        }
+    }
+
+    /**
+     * Gets the shared registry used by the game, creating it on first use.
+     *
+     * @return the shared registry
+     */
+    public static synchronized Metrics getInstance() {
+        if (instance == null) {
+            instance = new Metrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a counter, creating it the first time its name is used.
+     *
+     * @param name the counter's name, e.g. {@code save.bytes}
+     * @return the counter
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    /**
+     * Adds a gauge, a value that is read each time the metrics are reported, replacing any gauge with the same name.
+     *
+     * @param name the gauge's name, e.g. {@code memory.heapUsed}
+     * @param value reads the current value
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Gets a latency histogram, creating it the first time its name is used.
+     *
+     * @param name the histogram's name, e.g. {@code fxml.load}
+     * @return the histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Gets the current value of every counter and gauge, sorted by name.
+     *
+     * @return the values by name
+     */
+    public Map<String, Long> getValues() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().get());
+        }
+        for (Map.Entry<String, LongSupplier> entry : gauges.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().getAsLong());
+        }
+        return values;
+    }
+
+    /**
+     * Gets every histogram, sorted by name.
+     *
+     * @return the histograms by name
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Describes every metric, one per line, sorted by name with the counters and gauges first.
+     *
+     * @return the report
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Long> entry : getValues().entrySet()) {
+            report.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            report.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        }
+        return report.toString();
+    }
+}
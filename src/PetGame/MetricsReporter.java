@@ -0,0 +1,86 @@
+package PetGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <b>Writes the game's {@link Metrics} to a local file every few seconds.</b>
+ * <p>
+ * The file always holds the latest report, written through a temporary file with
+ * {@link SaveService#writeAtomically(Path, String)} so it can be read at any time without seeing half a report.
+ * Reports are written on a daemon thread of their own, never on the FX thread. Closing the reporter writes one last
+ * report, so the file ends with the numbers for the whole session.
+ * </p>
+ *
+ * @see PetGame.Metrics
+ */
+public class MetricsReporter implements Closeable {
+    private static final Log LOG = Log.getInstance();
+    /** File the game writes its metrics to, in the working directory */
+    public static final String DEFAULT_FILE = "metrics.txt";
+    /** Time between reports written by the game */
+    public static final long DEFAULT_PERIOD_MILLIS = 10000;
+
+    private final Metrics metrics;
+    private final Path file;
+    private final ScheduledExecutorService timer;
+
+    /**
+     * Starts writing reports.
+     *
+     * @param metrics the metrics to report
+     * @param file the file to write
+     * @param periodMillis the time between reports
+     */
+    public MetricsReporter(Metrics metrics, Path file, long periodMillis) {
+        this.metrics = metrics;
+        this.file = file;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.scheduleAtFixedRate(this::report, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a report now.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void dump() throws IOException {
+        SaveService.writeAtomically(file, "# " + Instant.now() + "\n" + metrics.format());
+    }
+
+    /**
+     * Writes a report on the timer thread, where an error can only be printed.
+     */
+    private void report() {
+        try {
+            dump();
+        }
+        catch (IOException e) {
+            LOG.warn("metrics.writeFailed", "file", file, "error", e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the timer and writes a last report.
+     */
+    @Override
+    public void close() {
+        timer.shutdown();
+        try {
+            timer.awaitTermination(1, TimeUnit.SECONDS); /** lets a report already being written finish first */
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        report();
+    }
+}
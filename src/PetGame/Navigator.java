@@ -0,0 +1,376 @@
+package PetGame;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+/**
+ * <b>Navigation service that loads FXML screens and keeps the static ones in memory.</b>
+ * <p>
+ * Every button used to call {@code FXMLLoader.load} and build a new {@link Scene}, parsing the XML and creating
+ * the controller again on each click. Screens whose content never changes (the main menu, tutorial, help and
+ * parental control menus) are now loaded once and kept in a small least recently used cache along with their
+ * scene and controller. Screens that read game state when they are created, such as the game, inventory, item
+ * shop, load game and statistics screens, are still loaded fresh every time. The most often shown static screens can
+ * be loaded ahead of time at startup with {@link #warmUp()}, one at a time on the FX thread between other events, and
+ * the time taken by every load is recorded per screen.
+ * </p>
+ */
+public class Navigator {
+    private static final Log LOG = Log.getInstance();
+    /**
+     * Most screens kept in memory at once. Fewer than the static screens, so the rarely shown ones such as the
+     * tutorial pages make room for the others instead of all being kept for the whole session.
+     */
+    public static final int MAX_CACHED_SCREENS = 4;
+
+    /** Screens that do not depend on game state, so their loaded scene can be shown again, most often shown first */
+    private static final List<String> STATIC_SCREENS = List.of(
+            "FXML_Files/Main.fxml",
+            "FXML_Files/Settings.fxml",
+            "FXML_Files/Help.fxml",
+            "FXML_Files/ParentalControls.fxml",
+            "FXML_Files/Tutorial.fxml",
+            "FXML_Files/TutorialScreen.fxml");
+
+    /** Time taken by every FXML load, across all screens */
+    private static final LatencyHistogram LOAD_TIMES = Metrics.getInstance().histogram("fxml.load");
+    /** Number of screens shown from the cache instead of being loaded */
+    private static final Metrics.Counter CACHE_HITS = Metrics.getInstance().counter("fxml.cacheHits");
+
+    /** The shared navigator used by the game */
+    private static Navigator instance;
+
+    /** Loaded static screens, least recently shown first */
+    private final Map<String, Screen> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Screen> eldest) {
+            return size() > MAX_CACHED_SCREENS;
+        }
+    };
+    /** Load times per screen */
+    private final Map<String, LoadTime> loadTimes = new ConcurrentHashMap<>();
+
+    /**
+     * A loaded screen: its scene and the controller created for it.
+     */
+    public static final class Screen {
+        /** The scene holding the screen's root node. */
+        private final Scene scene;
+        /** The controller created by the FXML loader. */
+        private final Object controller;
+
+        /**
+         * Constructs a loaded screen.
+         *
+         * @param scene the scene holding the screen
+         * @param controller the screen's controller
+         */
+        public Screen(Scene scene, Object controller) {
+            this.scene = scene;
+            this.controller = controller;
+        }
+
+        /**
+         * Gets the scene holding the screen.
+         *
+         * @return the scene
+         */
+        public Scene getScene() {
+            return scene;
+        }
+
+        /**
+         * Gets the controller created for the screen.
+         *
+         * @param <T> the controller type
+         * @return the controller
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T getController() {
+            return (T) controller;
+        }
+    }
+
+    /**
+     * How long a screen has taken to load.
+     */
+    public static final class LoadTime {
+        private long loads;
+        private long cacheHits;
+        private long totalNanos;
+        private long maxNanos;
+
+        /**
+         * Records one load from the FXML file.
+         *
+         * @param nanos the time the load took
+         */
+        synchronized void recordLoad(long nanos) {
+            loads++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        /**
+         * Records one time the screen was shown from the cache.
+         */
+        synchronized void recordHit() {
+            cacheHits++;
+        }
+
+        /**
+         * Gets the number of times the screen was loaded from its FXML file.
+         *
+         * @return the load count
+         */
+        public synchronized long getLoads() {
+            return loads;
+        }
+
+        /**
+         * Gets the number of times the screen was shown from the cache.
+         *
+         * @return the cache hit count
+         */
+        public synchronized long getCacheHits() {
+            return cacheHits;
+        }
+
+        /**
+         * Gets the average time a load from the FXML file took.
+         *
+         * @return the average load time in milliseconds
+         */
+        public synchronized double getAverageMillis() {
+            return loads == 0 ? 0 : totalNanos / (double) loads / 1_000_000.0;
+        }
+
+        /**
+         * Gets the longest time a load from the FXML file took.
+         *
+         * @return the longest load time in milliseconds
+         */
+        public synchronized double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%d loads, %d cache hits, avg %.1f ms, max %.1f ms",
+                    loads, cacheHits, getAverageMillis(), getMaxMillis());
+        }
+    }
+
+    /**
+     * Gets the shared navigator used by the game, creating it on first use.
+     *
+     * @return the shared navigator
+     */
+    public static synchronized Navigator getInstance() {
+        if (instance == null) {
+            instance = new Navigator();
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether a screen is kept in memory once loaded.
+     *
+     * @param fxml the FXML file, relative to the {@code PetGame} package
+     * @return true if the screen does not depend on game state
+     */
+    public static boolean isCacheable(String fxml) {
+        return STATIC_SCREENS.contains(fxml);
+    }
+
+    /**
+     * Gets a screen, from the cache if it is a static screen that has already been loaded.
+     *
+     * @param fxml the FXML file, relative to the {@code PetGame} package (e.g. "FXML_Files/Main.fxml")
+     * @return the loaded screen
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    public Screen load(String fxml) throws IOException {
+        LoadTime time = loadTimes.computeIfAbsent(fxml, key -> new LoadTime());
+        FlightEvents.SceneLoad event = new FlightEvents.SceneLoad();
+        event.begin();
+        if (isCacheable(fxml)) {
+            synchronized (cache) {
+                Screen cached = cache.get(fxml);
+                if (cached != null) {
+                    time.recordHit();
+                    CACHE_HITS.increment();
+                    commit(event, fxml, true);
+                    return cached;
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        Screen screen = loadScreen(fxml);
+        long nanos = System.nanoTime() - start;
+        time.recordLoad(nanos);
+        LOAD_TIMES.record(nanos);
+        commit(event, fxml, false);
+
+        if (isCacheable(fxml)) {
+            synchronized (cache) {
+                Screen existing = cache.putIfAbsent(fxml, screen); /** Another thread may have loaded it in the meantime */
+                if (existing != null) {
+                    return existing;
+                }
+            }
+        }
+        return screen;
+    }
+
+    /**
+     * Builds a screen from its FXML file, creating its scene and controller. Must be called on the FX thread.
+     *
+     * @param fxml the FXML file, relative to the {@code PetGame} package
+     * @return the new screen
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    protected Screen loadScreen(String fxml) throws IOException {
+        FXMLLoader loader = new FXMLLoader(Navigator.class.getResource(fxml));
+        return new Screen(new Scene(loader.load()), loader.getController());
+    }
+
+    /**
+     * Shows a screen on the window the event came from.
+     *
+     * @param event the event triggered by the button that was clicked
+     * @param fxml the FXML file, relative to the {@code PetGame} package
+     * @return the screen that is now shown
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    public Screen show(ActionEvent event, String fxml) throws IOException {
+        return show((Stage) ((Node) event.getSource()).getScene().getWindow(), fxml);
+    }
+
+    /**
+     * Shows a screen on a window.
+     *
+     * @param stage the window to show the screen on
+     * @param fxml the FXML file, relative to the {@code PetGame} package
+     * @return the screen that is now shown
+     * @throws IOException if the FXML file cannot be loaded
+     */
+    public Screen show(Stage stage, String fxml) throws IOException {
+        FlightEvents.SceneSwitch event = new FlightEvents.SceneSwitch();
+        event.begin();
+        Screen screen = load(fxml);
+        stage.setScene(screen.getScene());
+        stage.show();
+        if (event.shouldCommit()) {
+            event.fxml = fxml;
+            event.commit();
+        }
+        return screen;
+    }
+
+    /**
+     * Records a screen load with the flight recorder, if it is recording.
+     *
+     * @param event the event begun when the load started
+     * @param fxml the FXML file of the screen
+     * @param cached whether the screen came from the cache
+     */
+    private static void commit(FlightEvents.SceneLoad event, String fxml, boolean cached) {
+        if (event.shouldCommit()) {
+            event.fxml = fxml;
+            event.cached = cached;
+            event.commit();
+        }
+    }
+
+    /**
+     * Loads the most often shown static screens, as many as the cache holds, so the first click on them is as fast as
+     * later ones. Scenes must be built on the FX thread, so each screen is loaded in its own
+     * {@link Platform#runLater(Runnable)} call, letting the events queued in the meantime (e.g. the player's first
+     * clicks) run between screens rather than waiting for all of them.
+     *
+     * @return a future completed on the FX thread once the screens have been loaded
+     */
+    public CompletableFuture<Void> warmUp() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Iterator<String> screens = STATIC_SCREENS.subList(0, Math.min(MAX_CACHED_SCREENS, STATIC_SCREENS.size())).iterator();
+        Platform.runLater(() -> warmUpNext(screens, done));
+        return done;
+    }
+
+    /**
+     * Loads the next static screen on the FX thread and queues the one after it, for {@link #warmUp()}.
+     *
+     * @param screens the screens still to load
+     * @param done the future to complete once they are all loaded
+     */
+    private void warmUpNext(Iterator<String> screens, CompletableFuture<Void> done) {
+        if (!screens.hasNext()) {
+            done.complete(null);
+            return;
+        }
+        try {
+            load(screens.next());
+        }
+        catch (IOException | RuntimeException e) {
+            done.completeExceptionally(e); /** A screen that fails here is simply loaded again when it is shown */
+            return;
+        }
+        Platform.runLater(() -> warmUpNext(screens, done));
+    }
+
+    /**
+     * Removes a screen from the cache so it is loaded again next time.
+     *
+     * @param fxml the FXML file, relative to the {@code PetGame} package
+     */
+    public void evict(String fxml) {
+        synchronized (cache) {
+            cache.remove(fxml);
+        }
+    }
+
+    /**
+     * Gets the screens currently in the cache, least recently shown first.
+     *
+     * @return the cached FXML files
+     */
+    public List<String> getCachedScreens() {
+        synchronized (cache) {
+            return List.copyOf(cache.keySet());
+        }
+    }
+
+    /**
+     * Gets the load times recorded for every screen that has been shown.
+     *
+     * @return the load times keyed by FXML file, sorted by name
+     */
+    public Map<String, LoadTime> getLoadTimes() {
+        return Collections.unmodifiableMap(new TreeMap<>(loadTimes));
+    }
+
+    /**
+     * Logs the load times of every screen that has been shown.
+     */
+    public void logLoadTimes() {
+        for (Map.Entry<String, LoadTime> entry : getLoadTimes().entrySet()) {
+            LOG.info("screen.loadTimes", "fxml", entry.getKey(), "times", entry.getValue());
+        }
+    }
+}
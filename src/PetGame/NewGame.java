@@ -14,6 +14,7 @@ import javafx.scene.control.TextInputDialog;
 import javafx.stage.Stage;
 
 public class NewGame extends MainController {
+    private static final Log LOG = Log.getInstance();
     public int petType;
 
     public void switchToPet1(ActionEvent event) throws IOException {
@@ -65,21 +66,19 @@ public class NewGame extends MainController {
                     return;
                 }
         
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/Game.fxml"));
-                Parent root = loader.load();
+                Navigator.Screen screen = Navigator.getInstance().load("FXML_Files/Game.fxml");
         
-                Game gameClass = loader.getController();
+                Game gameClass = screen.getController();
                 gameClass.startGame(event, petType, petName);
         
                 Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-                Scene scene = new Scene(root);
+                Scene scene = screen.getScene();
         
                 scene.setOnKeyPressed(eventKey -> {
                     try {
                         gameClass.handleKeyPress(eventKey.getCode(), event);
                     } catch (IOException e) {
-                        // TODO Auto-generated catch block
-                        e.printStackTrace();
+                        LOG.error("key.failed", "key", eventKey.getCode(), "error", e);
                     }
                 });
         
@@ -0,0 +1,290 @@
+package PetGame;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * <b>Works out what happened to a pet while the game was closed.</b>
+ * <p>
+ * Running one {@link SimulationEngine} step per second of absence would take as long as millions of steps for a pet
+ * left for a few weeks. Instead this class uses the fact that the decay, hunger drain and sleep recovery rules repeat
+ * every {@value #CYCLE_TICKS} steps (the decay and sleep recovery periods together). It runs one such cycle exactly
+ * with the {@link PetStatStore} rules and notes how far each stat moved during it. As long as no stat can reach 0 or
+ * its maximum, every following cycle moves the stats by the same amounts without changing the pet's state, so the
+ * number of such cycles is worked out directly and they are applied with one {@link PetStatStore#offset} call.
+ * Exact steps are only run around state changes, e.g. the pet getting hungry, falling asleep, waking up or dying,
+ * so the cost depends on how many times the state changes, not on how long the pet was away.
+ * </p>
+ * <p>
+ * The result is always the same as running every step one at a time, starting from step 1.
+ * </p>
+ *
+ * @see PetGame.PetStatStore
+ * @see PetGame.LoadGame
+ */
+public class OfflineCatchUp {
+    /** Number of steps after which the decay and sleep recovery steps repeat */
+    public static final int CYCLE_TICKS = lcm(PetStats.DECAY_PERIOD_TICKS, PetStats.SLEEP_RECOVERY_PERIOD_TICKS);
+    /** Number of stats tracked, in the order health, sleep, fullness, happiness */
+    private static final int STATS = 4;
+
+    /**
+     * The pet's stats and state after the time away.
+     */
+    public static final class Result {
+        public final int health;
+        public final int sleep;
+        public final int fullness;
+        public final int happiness;
+        /** The state the pet is in at the end */
+        public final PetState state;
+        /** Number of steps the time away was worth */
+        public final long ticks;
+        /** Number of steps that were run one at a time, the rest were applied in whole cycles */
+        public final long exactTicks;
+        /** Every state the pet entered while away, e.g. {@link PetState#HUNGRY} if it got hungry */
+        public final Set<PetState> entered;
+
+        Result(PetStatStore store, int slot, long ticks, long exactTicks, Set<PetState> entered) {
+            this.health = store.getHealth(slot);
+            this.sleep = store.getSleep(slot);
+            this.fullness = store.getFullness(slot);
+            this.happiness = store.getHappiness(slot);
+            this.state = PetState.fromCode(store.getState(slot));
+            this.ticks = ticks;
+            this.exactTicks = exactTicks;
+            this.entered = Collections.unmodifiableSet(entered);
+        }
+
+        /**
+         * Describes the time away for the player, e.g. {@code While you were away (2 h 5 min) your pet got hungry.}
+         *
+         * @return the description
+         */
+        public String getSummary() {
+            long minutes = ticks * SimulationEngine.STEP_MILLIS / 60000;
+            String time = minutes >= 60 ? (minutes / 60) + " h " + (minutes % 60) + " min" : minutes + " min";
+            StringBuilder text = new StringBuilder("While you were away (" + time + ") your pet");
+            if (entered.isEmpty()) {
+                return text.append(" was fine.").toString();
+            }
+            String joiner = " ";
+            for (PetState each : entered) {
+                text.append(joiner).append(describe(each));
+                joiner = ", ";
+            }
+            return text.append('.').toString();
+        }
+
+        /**
+         * Describes entering a state.
+         *
+         * @param state the state entered
+         * @return a short phrase, e.g. {@code got hungry}
+         */
+        private static String describe(PetState state) {
+            switch (state) {
+                case HUNGRY: return "got hungry";
+                case ANGRY: return "got angry";
+                case SLEEPING: return "fell asleep";
+                case DEAD: return "died";
+                default: return "woke up";
+            }
+        }
+
+        /**
+         * Sets a pet's stats and state to the result. A pet that is still asleep is set to its normal state, as
+         * {@code SaveGame} does, and falls asleep again on its own if its sleep runs out.
+         *
+         * @param statistics the pet's statistics
+         */
+        public void applyTo(PetStats statistics) {
+            statistics.setStatistics(health, sleep, fullness, happiness);
+            statistics.changeState(state == PetState.SLEEPING ? PetState.NORMAL : state);
+        }
+    }
+
+    /**
+     * Works out a pet's stats after some time away, using its own maximums and decay rates.
+     *
+     * @param statistics the pet's statistics as they were saved, not changed
+     * @param elapsedMillis the time since the game was saved
+     * @return the stats and state after that time
+     */
+    public static Result advance(PetStats statistics, long elapsedMillis) {
+        PetStatStore store = new PetStatStore(1);
+        int slot = store.add(statistics.getMaxHealth(), statistics.getMaxSleep(), statistics.getMaxFullness(), statistics.getMaxHappiness(),
+                statistics.getSleepDecayRate(), statistics.getFullnessDecayRate(), statistics.getHappinessDecayRate());
+        PetState state = statistics.getPetState();
+        store.set(slot, statistics.getHealth(), statistics.getSleep(), statistics.getFullness(), statistics.getHappiness(),
+                (state == null ? PetState.NORMAL : state).getCode());
+        return advance(store, slot, Math.max(0, elapsedMillis) / SimulationEngine.STEP_MILLIS);
+    }
+
+    /**
+     * Advances one pet in a store by a number of steps, with the same result as calling {@link PetStatStore#tick(long)}
+     * for steps 1 to {@code ticks}. The store should hold only this pet, as the exact steps advance every pet in it.
+     *
+     * @param store the store holding the pet
+     * @param slot the pet's slot
+     * @param ticks the number of steps to advance
+     * @return the stats and state after the steps
+     */
+    public static Result advance(PetStatStore store, int slot, long ticks) {
+        Set<PetState> entered = EnumSet.noneOf(PetState.class);
+        long tick = 0;
+        long exact = 0;
+        int[] start = new int[STATS];
+        int[] low = new int[STATS];
+        int[] high = new int[STATS];
+        while (tick < ticks && store.getState(slot) != PetStatStore.STATE_DEAD) {
+            if (tick % CYCLE_TICKS != 0 || ticks - tick < 2L * CYCLE_TICKS) {
+                step(store, slot, ++tick, entered);
+                exact++;
+                continue;
+            }
+
+            /** Run one cycle exactly, noting the lowest and highest point each stat reached relative to the start */
+            read(store, slot, start);
+            byte state = store.getState(slot);
+            boolean changed = false;
+            for (int i = 0; i < STATS; i++) {
+                low[i] = 0;
+                high[i] = 0;
+            }
+            for (int t = 0; t < CYCLE_TICKS; t++) {
+                changed |= step(store, slot, ++tick, entered);
+                for (int i = 0; i < STATS; i++) {
+                    int moved = get(store, slot, i) - start[i];
+                    low[i] = Math.min(low[i], moved);
+                    high[i] = Math.max(high[i], moved);
+                }
+            }
+            exact += CYCLE_TICKS;
+            if (changed || store.getState(slot) != state) {
+                continue;
+            }
+
+            /** Apply as many identical cycles as possible in one go */
+            long cycles = repeatableCycles(store, slot, start, low, high, (ticks - tick) / CYCLE_TICKS);
+            if (cycles > 0) {
+                int[] moved = new int[STATS];
+                for (int i = 0; i < STATS; i++) {
+                    moved[i] = (int) (cycles * (get(store, slot, i) - start[i]));
+                }
+                store.offset(slot, moved[0], moved[1], moved[2], moved[3]);
+                tick += cycles * CYCLE_TICKS;
+            }
+        }
+        return new Result(store, slot, ticks, exact, entered);
+    }
+
+    /**
+     * Works out how many more cycles behave exactly like the one just run. A cycle is repeated unchanged as long as no
+     * stat that moves during it reaches 0 or its maximum, and an angry pet's happiness stays at or below half, since
+     * those are the only things that can change the pet's state or cut a change short.
+     *
+     * @param store the store holding the pet
+     * @param slot the pet's slot
+     * @param start each stat at the start of the cycle just run
+     * @param low the lowest point of each stat during that cycle, relative to its start
+     * @param high the highest point of each stat during that cycle, relative to its start
+     * @param limit the most cycles that fit in the remaining steps
+     * @return the number of cycles that can be applied at once, at most {@code limit}
+     */
+    private static long repeatableCycles(PetStatStore store, int slot, int[] start, int[] low, int[] high, long limit) {
+        long cycles = limit;
+        for (int i = 0; i < STATS; i++) {
+            int now = get(store, slot, i);
+            int perCycle = now - start[i];
+            if (perCycle == 0 && low[i] == 0 && high[i] == 0) {
+                continue; /** the stat does not move at all */
+            }
+            int max = store.getMax(slot, i);
+            int ceiling = max - 1;
+            if (i == 3 && store.getState(slot) == PetStatStore.STATE_ANGRY) {
+                ceiling = Math.min(ceiling, max / 2); /** an angry pet calms down above half happiness */
+            }
+            /** Every repeated cycle must keep the stat above 0 and, if it rises, below its limit */
+            if (now + low[i] <= 0 || (high[i] > 0 && now + high[i] > ceiling)) {
+                return 0;
+            }
+            if (perCycle < 0) {
+                cycles = Math.min(cycles, (now + low[i] - 1) / -perCycle + 1);
+            }
+            else if (perCycle > 0) {
+                cycles = Math.min(cycles, (ceiling - now - high[i]) / perCycle + 1);
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * Runs one exact step and notes the state the pet enters, if it changes.
+     *
+     * @param store the store holding the pet
+     * @param slot the pet's slot
+     * @param tick the number of the step
+     * @param entered the states entered so far
+     * @return true if the pet's state changed
+     */
+    private static boolean step(PetStatStore store, int slot, long tick, Set<PetState> entered) {
+        byte before = store.getState(slot);
+        store.tick(tick);
+        byte after = store.getState(slot);
+        if (after != before) {
+            entered.add(PetState.fromCode(after));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Copies a pet's stats into an array.
+     *
+     * @param store the store holding the pet
+     * @param slot the pet's slot
+     * @param into the array to fill, in the order health, sleep, fullness, happiness
+     */
+    private static void read(PetStatStore store, int slot, int[] into) {
+        for (int i = 0; i < STATS; i++) {
+            into[i] = get(store, slot, i);
+        }
+    }
+
+    /**
+     * Gets one of a pet's stats by its position.
+     *
+     * @param store the store holding the pet
+     * @param slot the pet's slot
+     * @param stat 0 for health, 1 for sleep, 2 for fullness, 3 for happiness
+     * @return the stat value
+     */
+    private static int get(PetStatStore store, int slot, int stat) {
+        switch (stat) {
+            case 0: return store.getHealth(slot);
+            case 1: return store.getSleep(slot);
+            case 2: return store.getFullness(slot);
+            default: return store.getHappiness(slot);
+        }
+    }
+
+    /**
+     * Gets the least common multiple of two periods.
+     *
+     * @param a the first period
+     * @param b the second period
+     * @return the smallest number of steps both divide
+     */
+    private static int lcm(int a, int b) {
+        int x = a;
+        int y = b;
+        while (y != 0) {
+            int r = x % y;
+            x = y;
+            y = r;
+        }
+        return a / x * b;
+    }
+}
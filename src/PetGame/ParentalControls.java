@@ -4,13 +4,8 @@ import java.io.IOException;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.AnchorPane;
-import javafx.stage.Stage;
 
 /**
  * The {@code ParentalControls} class handles access to parental control features,
@@ -67,11 +62,7 @@ public class ParentalControls extends MainController {
      */
     @FXML
     private void switchToLimitationsScreen(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/Limitations.fxml"));
-        Parent root = loader.load();
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
-        stage.show();
+        Navigator.getInstance().show(event, "FXML_Files/Limitations.fxml");
     }
 
     /**
@@ -83,12 +74,8 @@ public class ParentalControls extends MainController {
      */
     @FXML
     private void switchToStatisticsScreen(ActionEvent event) throws IOException {
-        Statistics.loadStatistics();
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/Statistics.fxml"));
-        Parent root = loader.load();
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
-        stage.show();
+        PlaytimeStats.load();
+        Navigator.getInstance().show(event, "FXML_Files/Statistics.fxml");
     }
 
     /**
@@ -99,11 +86,7 @@ public class ParentalControls extends MainController {
      */
     @FXML
     private void switchToRevivePetScreen(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/RevivePet.fxml"));
-        Parent root = loader.load();
-        Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        stage.setScene(new Scene(root));
-        stage.show();
+        Navigator.getInstance().show(event, "FXML_Files/RevivePet.fxml");
     }
 
     /**
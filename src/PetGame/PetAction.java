@@ -0,0 +1,101 @@
+package PetGame;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * <b>The actions a player can take with their pet, and the rules for each.</b>
+ * <p>
+ * Each action lists the states it can be taken in, how it changes the pet's stats and the player's score, and the
+ * cooldown it starts. The values do not depend on JavaFX, so the game screen's {@link PetCommands} and the headless
+ * {@link PetServer} apply exactly the same rules. Feeding and giving a gift change the stats through the item that
+ * is used rather than through fixed amounts.
+ * </p>
+ *
+ * @see PetGame.PetCommands
+ */
+public enum PetAction {
+    /** Puts the pet to bed until its sleep is full */
+    SLEEP("sleep", EnumSet.of(PetState.NORMAL, PetState.HUNGRY), 0, 0, 0, 0, 10),
+    /** Uses a food item */
+    FEED("feed", EnumSet.of(PetState.NORMAL, PetState.HUNGRY, PetState.ANGRY), 0, 0, 0, 0, 0),
+    /** Uses a gift item */
+    GIFT("gift", EnumSet.of(PetState.NORMAL, PetState.HUNGRY, PetState.ANGRY), 0, 0, 0, 0, 0),
+    /** Restores health at the cost of score */
+    VET("vet", EnumSet.of(PetState.NORMAL, PetState.HUNGRY), 20, 0, 0, 0, -15),
+    /** Cheers the pet up */
+    PLAY("play", EnumSet.of(PetState.NORMAL, PetState.HUNGRY, PetState.ANGRY), 0, 0, 0, 10, 10),
+    /** Builds health but tires the pet and makes it hungry */
+    EXERCISE("exercise", EnumSet.of(PetState.NORMAL, PetState.HUNGRY), 10, -10, -10, 0, 10);
+
+    /** How long an action cannot be repeated after it is taken, the same for every action */
+    public static final long COOLDOWN_MILLIS = 5000;
+
+    /** The action's name, also the name of the cooldown it starts */
+    public final String name;
+    /** The states the action can be taken in */
+    private final Set<PetState> allowedIn;
+    public final int health;
+    public final int sleep;
+    public final int fullness;
+    public final int happiness;
+    /** The change to the player's score, negative for a penalty */
+    public final int score;
+
+    PetAction(String name, Set<PetState> allowedIn, int health, int sleep, int fullness, int happiness, int score) {
+        this.name = name;
+        this.allowedIn = allowedIn;
+        this.health = health;
+        this.sleep = sleep;
+        this.fullness = fullness;
+        this.happiness = happiness;
+        this.score = score;
+    }
+
+    /**
+     * Checks whether the action can be taken while the pet is in a state.
+     *
+     * @param state the pet's state
+     * @return true if the action is allowed
+     */
+    public boolean isAllowedIn(PetState state) {
+        return allowedIn.contains(state);
+    }
+
+    /**
+     * Checks whether the action works by using an item from the inventory.
+     *
+     * @return true for feeding and giving a gift
+     */
+    public boolean usesItem() {
+        return this == FEED || this == GIFT;
+    }
+
+    /**
+     * Changes a player's score by the action's amount. A penalty never takes the score below 0.
+     *
+     * @param playerScore the player's score
+     */
+    public void applyScore(PlayerScore playerScore) {
+        if (score < 0) {
+            playerScore.decreaseScore(-score);
+        } else if (score > 0) {
+            playerScore.increaseScore(score);
+        }
+    }
+
+    /**
+     * Finds an action by its name.
+     *
+     * @param name the name, e.g. {@code "vet"}, in any case
+     * @return the action, or null if there is none with that name
+     */
+    public static PetAction fromName(String name) {
+        for (PetAction action : values()) {
+            if (action.name.equalsIgnoreCase(name)) {
+                return action;
+            }
+        }
+        return null;
+    }
+}
@@ -6,7 +6,6 @@ import javafx.animation.KeyFrame;
 import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.event.ActionEvent;
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.util.Duration;
 
@@ -15,6 +14,9 @@ import javafx.util.Duration;
  * 
  * This class manages user interactions with the pet such as feeding, playing, etc.
  * It also handles cooldowns when an action is done while updating the pet's state and UI accordingly. 
+ * The rules of each action (when it is allowed and what it changes) come from {@link PetGame.PetAction}.
+ * Cooldowns are kept in a {@link PetGame.CooldownTable} as the time each action is next allowed, so nothing has to be
+ * scheduled per action and each game's pet has its own cooldowns.
  * 
  * @see PetGame.Game
  * @author Muhammad Shayaan Ali
@@ -32,18 +34,15 @@ public class PetCommands {
     /** Pet instance taken from the {@link PetGame.Game} */
     private Pet pet;
 
-    /** boolean variable keeping if the pet can sleep right now */
-    public boolean canSleep = true;
-    /** boolean variable keeping if the pet can be fed right now */
-    public static boolean canFeed = true;
-    /** boolean variable keeping if the pet can be given a gift right now */
-    public static boolean canGiveGift = true;
-    /** boolean variable keeping if the pet can use the vet right now */
-    public boolean canUseVet = true;
-    /** boolean variable keeping if the pet can play right now */
-    public boolean canPlay = true;
-    /** boolean variable keeping if the pet can exercise right now */
-    public boolean canExercise = true;
+    private static final Log LOG = Log.getInstance();
+    /** time taken to handle each command, shown in the metrics overlay */
+    private static final LatencyHistogram COMMAND_TIMES = Metrics.getInstance().histogram("command.handleInput");
+    /** slot of this game's pet in the cooldown table */
+    private static final int SLOT = 0;
+    /** the time each action is next allowed */
+    private final CooldownTable cooldowns = new CooldownTable(1);
+    /** actions whose cooldown is running and has not been announced as over yet, one bit per action */
+    private int unannounced = 0;
 
     /**
      * Consturctor for the petcommands class. 
@@ -68,161 +67,195 @@ public class PetCommands {
      * @throws IOException expection thrown if there is trouble handling the KeyCode.
      */
     public void handleInput(KeyCode keyCode, ActionEvent event) throws IOException {
+        long start = System.nanoTime();
+        FlightEvents.Command command = new FlightEvents.Command();
+        command.begin();
+        String state = game.pet.getPetStats().getState();
+        String outcome = null;
+        try {
+            outcome = runCommand(keyCode, event);
+        }
+        finally {
+            COMMAND_TIMES.recordSince(start);
+            if (command.shouldCommit()) {
+                command.key = keyCode.getName();
+                command.state = state;
+                command.outcome = outcome;
+                command.commit();
+            }
+            if (LOG.isEnabled(Log.Level.DEBUG)) {
+                LOG.debug("pet.command", "pet", game.petName, "key", keyCode, "state", state, "outcome", outcome);
+            }
+        }
+    }
+
+    /**
+     * Carries out the command for a key, for {@link #handleInput(KeyCode, ActionEvent)}.
+     *
+     * @param keyCode the key of the command
+     * @param event the action event triggered by the user
+     * @return what happened to the command, one of the {@link FlightEvents.Command} outcomes
+     * @throws IOException if a screen the command opens cannot be loaded
+     */
+    private String runCommand(KeyCode keyCode, ActionEvent event) throws IOException {
         PetStatistics petStats = game.pet.getPetStats();
-        String petState = petStats.getState();
+        PetState petState = petStats.getPetState();
 
-        if (petState.equals("Dead") || petState.equals("Sleeping")) {
+        if (petState == PetState.DEAD || petState == PetState.SLEEPING) {
             game.statusTextArea.appendText("No actions available in this state.\n"); /** No actions can be done in Sleeping or Dead states */
-            return;
+            return FlightEvents.Command.NOT_ALLOWED;
         }
-        if (petState.equals("Angry") || petState.equals("Angry") && petState.equals("Hungry")) {
+        if (petState == PetState.ANGRY) {
             if (keyCode != KeyCode.K && keyCode != KeyCode.O) { /** Only certain actions can be done in Angry state. */
                 game.statusTextArea.appendText("Pet is Angry, only able to play or give a gift.\n");
-                return;
+                return FlightEvents.Command.NOT_ALLOWED;
             }
         }
 
         switch (keyCode) { /** switch command to handle each different action */
             case U: /** when player clicks sleep */
-                if ((petState.equals("Normal") || petState.equals("Hungry")) && canSleep) {
+                if (PetAction.SLEEP.isAllowedIn(petState) && isReady(PetAction.SLEEP)) {
                     petStats.updateStatistics(0, 0, 0, 0);
-                    boolean wasHungry = petState.equals("Hungry");
-                    petStats.changeState("Sleeping");
-                    changeToSleep(wasHungry); /** private function to change the pet sprite */
+                    petStats.changeState(PetState.SLEEPING); /** the pet recovers and wakes up, hungry again if it was, on its own */
+                    changeToSleep(); /** private function to change the pet sprite */
                     game.statusTextArea.appendText("Pet is now sleeping..." + "\n");
                 } else {
                     game.statusTextArea.appendText("Sleep is on cooldown!" + "\n");
+                    return refused(PetAction.SLEEP, petState);
                 }
-                break;
+                return FlightEvents.Command.DONE;
     
             case I: /** when player clicks feed */
-                if ((petState.equals("Normal") || petState.equals("Hungry") || petState.equals("Angry")) && canFeed) {
+                if (PetAction.FEED.isAllowedIn(petState) && isReady(PetAction.FEED)) {
                     game.goToInventory(event);
                     
                 } else {
                     game.statusTextArea.appendText("Feed is on cooldown!" + "\n");
+                    return refused(PetAction.FEED, petState);
                 }
-                break;
+                return FlightEvents.Command.DONE;
     
             case O: /** when player clicks gift */
-                if ((petState.equals("Normal") || petState.equals("Hungry") || petState.equals("Angry")) && canGiveGift) {
+                if (PetAction.GIFT.isAllowedIn(petState) && isReady(PetAction.GIFT)) {
                     game.goToInventory(event);
                     
                 } else {
                     game.statusTextArea.appendText("Giving gift is on cooldown!" + "\n");
+                    return refused(PetAction.GIFT, petState);
                 }
-                break;
+                return FlightEvents.Command.DONE;
     
             case J: /** when player clicks go to vet */
-                if ((petState.equals("Normal") || petState.equals("Hungry")) && canUseVet) {
+                if (PetAction.VET.isAllowedIn(petState) && isReady(PetAction.VET)) {
                     changeToHappy();
-                    petStats.updateStatistics(20, 0, 0, 0);
+                    apply(PetAction.VET, petStats);
                     game.statusTextArea.appendText("Pet visited the vet! +20 Health" + "\n");
                     startCooldown("vet");
-                    player.getScore().decreaseScore(15);
+                    PetAction.VET.applyScore(player.getScore());
                     game.setScore();
                     game.statusTextArea.appendText("Pet went to the vet, lost 15 points!\n");
                 } else {
                     game.statusTextArea.appendText("Vet is on cooldown!" + "\n");
+                    return refused(PetAction.VET, petState);
                 }
-                break;
+                return FlightEvents.Command.DONE;
     
             case K: /** when player clicks play */
-                if ((petState.equals("Normal") || petState.equals("Hungry") || petState.equals("Angry")) && canPlay) {
-                    player.getScore().increaseScore(10);
+                if (PetAction.PLAY.isAllowedIn(petState) && isReady(PetAction.PLAY)) {
+                    PetAction.PLAY.applyScore(player.getScore());
                     changeToHappy();
-                    petStats.updateStatistics(0, 0, 0, 10);
+                    apply(PetAction.PLAY, petStats);
                     game.statusTextArea.appendText("Pet is playing! +10 Happiness" + "\n");
                     startCooldown("play");
                 } else {
                     game.statusTextArea.appendText("Play is on cooldown!" + "\n");
+                    return refused(PetAction.PLAY, petState);
                 }
-                break;
+                return FlightEvents.Command.DONE;
     
             case L: /** when player clicks exercise */
-                if ((petState.equals("Normal") || petState.equals("Hungry")) && canExercise) {
-                    player.getScore().increaseScore(10);
+                if (PetAction.EXERCISE.isAllowedIn(petState) && isReady(PetAction.EXERCISE)) {
+                    PetAction.EXERCISE.applyScore(player.getScore());
                     changeToHappy();
-                    petStats.updateStatistics(10, -10, -10, 0);
+                    apply(PetAction.EXERCISE, petStats);
                     game.statusTextArea.appendText("Pet exercised! +10 Health, -10 Sleep, -10 Fullness" + "\n");
                     startCooldown("exercise");
                 } else {
                     game.statusTextArea.appendText("Exercise is on cooldown!" + "\n");
+                    return refused(PetAction.EXERCISE, petState);
                 }
-                break;
+                return FlightEvents.Command.DONE;
     
             default:
                 game.statusTextArea.appendText("Invalid key: " + keyCode.getCode() + "\n");
+                return FlightEvents.Command.INVALID;
         }
     }
 
+    /**
+     * Works out why an action was refused, for the command's flight recorder event.
+     *
+     * @param action the action that was refused
+     * @param petState the state the pet is in
+     * @return {@link FlightEvents.Command#NOT_ALLOWED} if the state does not allow the action, otherwise
+     *         {@link FlightEvents.Command#COOLDOWN}
+     */
+    private static String refused(PetAction action, PetState petState) {
+        return action.isAllowedIn(petState) ? FlightEvents.Command.COOLDOWN : FlightEvents.Command.NOT_ALLOWED;
+    }
+
+    /**
+     * Helper method used to change the pet's stats by the amounts an action calls for
+     * @param action the action taken
+     * @param petStats the pet's statistics
+     */
+    private void apply(PetAction action, PetStatistics petStats) {
+        petStats.updateStatistics(action.health, action.sleep, action.fullness, action.happiness);
+    }
+
     /**
      * method used by handleInput and {@link PetGame.InventoryController#useItem(ActionEvent)} to issue an cooldown on an command
      * 
      * @param action the command that will be needing a cooldown
      */
     public void startCooldown(String action) {
-        int cooldownTime;
-    
-        switch (action) {
-            case "sleep":
-                cooldownTime = 5; canSleep = false;
-                break;
-            case "feed":
-                cooldownTime = 5; canFeed = false;
-                break;
-            case "gift":
-                cooldownTime = 5; canGiveGift = false;
-                break;
-            case "vet":
-                cooldownTime = 5; canUseVet = false;
-                break;
-            case "play":
-                cooldownTime = 5; canPlay = false;
-                break;
-            case "exercise":
-                cooldownTime = 5; canExercise = false;
-                break;
-            default:
-                return;
+        PetAction cooled = PetAction.fromName(action);
+        if (cooled == null) {
+            return;
         }
-    
-        Timeline cooldown = new Timeline(new KeyFrame(Duration.seconds(cooldownTime), e -> resetCooldown(action)));
-        cooldown.setCycleCount(1); /** Cooldown set for 5 seconds */
-        cooldown.play();
+        cooldowns.start(SLOT, cooled, PetAction.COOLDOWN_MILLIS); /** Cooldown set for 5 seconds */
+        unannounced |= 1 << cooled.ordinal();
     }
 
     /**
-     * Helper method used to reset the cooldowns
-     * @param action command which cooldown needs to be reset
+     * Checks if an action is off cooldown
+     * 
+     * @param action the action
+     * @return true if the action can be done right now
      */
-    private void resetCooldown(String action) {
-        switch (action) {
-            case "sleep":
-                canSleep = true;
-                game.pet.getPetStats().changeState("Normal");
-                break;
-            case "feed":
-                canFeed = true;
-                break;
-            case "gift":
-                canGiveGift = true;
-                break;
-            case "vet":
-                canUseVet = true;
-                break;
-            case "play":
-                canPlay = true;
-                break;
-            case "exercise":
-                canExercise = true;
-                break;
-        }
-        if (action != "sleep") {
-            game.statusTextArea.appendText(action + " is now available again!" + "\n");
+    public boolean isReady(PetAction action) {
+        return cooldowns.isReady(SLOT, action);
+    }
+
+    /**
+     * Tells the player about each cooldown that has ended since the last check. Called by {@link PetGame.Game} on
+     * every simulation step, so no timer is needed per cooldown.
+     */
+    public void announceReady() {
+        if (unannounced == 0) {
+            return;
         }
-        else if (action == "sleep" && canSleep) {
-            game.statusTextArea.appendText("Sleeping is now available again!" + "\n");
+        for (PetAction action : PetAction.values()) {
+            int bit = 1 << action.ordinal();
+            if ((unannounced & bit) != 0 && isReady(action)) {
+                unannounced &= ~bit;
+                if (action == PetAction.SLEEP) {
+                    game.statusTextArea.appendText("Sleeping is now available again!" + "\n");
+                }
+                else {
+                    game.statusTextArea.appendText(action.name + " is now available again!" + "\n");
+                }
+            }
         }
     }
 
@@ -233,10 +266,10 @@ public class PetCommands {
     public void changeToHappy() {
         game.setScore();
         flipping.stop();
-        game.petImageView.setImage(new Image(getClass().getResource(pet.getHappyImage()).toExternalForm()));
+        game.showSprite(pet.getHappyImage());
         PauseTransition pause = new PauseTransition(Duration.seconds(2)); /** pauses current transition to display a happy sprite */
         pause.setOnFinished(event -> {
-            game.petImageView.setImage(new Image(getClass().getResource(game.regularImage).toExternalForm()));
+            game.showSprite(game.regularImage);
             flipping.play();
         });
         pause.play();
@@ -244,27 +277,21 @@ public class PetCommands {
 
 
     /**
-     * Helper method used to display the sprite as sleeping when sleeping
-     * @param wasHungry checks if the pet was in a hungry state
+     * Helper method used to display the sprite as sleeping when sleeping, and to make sleeping available again
+     * once the pet has woken up
      */
-    private void changeToSleep(Boolean wasHungry) {
+    private void changeToSleep() {
         PetStatistics petStats = game.pet.getPetStats();
-        player.getScore().increaseScore(10); 
+        PetAction.SLEEP.applyScore(player.getScore());
         game.setScore();
 
         flipping.stop(); /** stops flipping animation and playing sleeping sprite */
-        game.petImageView.setImage(new Image(getClass().getResource(pet.getSleepImage()).toExternalForm()));
+        game.showSprite(pet.getSleepImage());
         sleepTimeline = new Timeline(new KeyFrame(Duration.seconds(1), event -> {;
-            if (petStats.sleep.get() >= petStats.maxSleep) {
+            if (petStats.getPetState() != PetState.SLEEPING) { /** the pet's sprite follows its state when it wakes up */
                 sleepTimeline.stop();
-                game.petImageView.setImage(new Image(getClass().getResource(game.regularImage).toExternalForm()));
-                resetCooldown("sleep");
-                if (wasHungry) { /** sets state back to hungry if pet was hungry and sleepy */
-                    petStats.changeState("Hungry");
-                }
-            }
-            else {
-                petStats.sleep.set(petStats.validateStat(petStats.sleep.get() + 5, petStats.maxSleep));
+                cooldowns.end(SLOT, PetAction.SLEEP);
+                game.statusTextArea.appendText("Sleeping is now available again!" + "\n");
             }
         }));
         sleepTimeline.setCycleCount(Timeline.INDEFINITE);
@@ -0,0 +1,764 @@
+package PetGame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <b>Runs many pets and players without a screen, controlled through a local HTTP API.</b>
+ * <p>
+ * Every hosted pet is a slot in one {@link PetStatStore}, advanced by the server's own {@link SimulationEngine}, and
+ * has its own {@link Player} with a score, coins and inventory. Commands follow the same {@link PetAction} rules as
+ * the game screen and feeding and gifts use the same catalog items, but nothing here touches the JavaFX toolkit, so
+ * thousands of pets can be run in one JVM. All game state is only read and changed on a single simulation thread,
+ * which also runs the simulation steps, so the store needs no locking; HTTP requests and callers of the Java methods
+ * hand their work to that thread and wait for the answer.
+ * </p>
+ * <p>
+ * Each pet is controlled through its own {@link PetSession}, which runs the player's commands on a virtual thread.
+ * Each pet's cooldowns are a row in a {@link CooldownTable} kept next to the store, so checking one is a single
+ * comparison and millions of running cooldowns need no timers.
+ * </p>
+ * <p>
+ * The API, answered in JSON:
+ * </p>
+ * <ul>
+ * <li>{@code GET /pets} lists every pet</li>
+ * <li>{@code POST /pets?name=Rex&type=balanced&coins=100} creates a pet</li>
+ * <li>{@code GET /pets/{id}} and {@code DELETE /pets/{id}} read or remove a pet</li>
+ * <li>{@code POST /pets/{id}/{action}} with an action of {@code sleep}, {@code vet}, {@code play},
+ * {@code exercise}, or {@code feed}/{@code gift} with {@code ?item=burger}</li>
+ * <li>{@code POST /pets/{id}/buy?item=burger&count=2} buys items for the pet's player</li>
+ * <li>{@code POST /pets/{id}/save?file=save3.json} saves the pet and its player to a slot of the
+ * {@link SaveRepository}</li>
+ * </ul>
+ * <p>
+ * Requests carrying an {@code Origin} header are refused, so a web page open in the player's browser cannot drive the
+ * API (e.g. with a form posted to 127.0.0.1), and saves can only be written to slot files in the save folder.
+ * </p>
+ * <p>
+ * Usage: {@code java PetGame.PetServer [port]}, listening on 127.0.0.1, port {@value #DEFAULT_PORT} by default.
+ * </p>
+ *
+ * @see PetGame.PetAction
+ * @see PetGame.PetStatStore
+ */
+public class PetServer {
+    private static final Log LOG = Log.getInstance();
+    /** Port listened on when none is given */
+    public static final int DEFAULT_PORT = 8080;
+    /** Coins each new player starts with when none are given */
+    public static final double STARTING_COINS = 100;
+    /** Most copies of an item that can be bought at once */
+    public static final int MAX_BUY_COUNT = 1000;
+    /** Longest time a request waits for its pet's session before answering 503 */
+    public static final long REQUEST_TIMEOUT_MILLIS = 10000;
+    /** File the server logs to when run on its own, in the working directory */
+    public static final String SERVER_LOG_FILE = "logs/petserver.log";
+
+    /**
+     * One hosted pet and the player who owns it.
+     */
+    private static final class HostedPet {
+        final long id;
+        final int slot;
+        final String name;
+        final PetType type;
+        final Player player;
+
+        HostedPet(long id, int slot, String name, PetType type, Player player) {
+            this.id = id;
+            this.slot = slot;
+            this.name = name;
+            this.type = type;
+            this.player = player;
+        }
+    }
+
+    /**
+     * The answer to a command.
+     */
+    public static final class Reply {
+        /** Whether the command was carried out */
+        public final boolean ok;
+        /** What happened, or why the command was refused */
+        public final String message;
+        /** The pet's state after the command, null if there is no such pet */
+        public final Map<String, Object> pet;
+
+        Reply(boolean ok, String message, Map<String, Object> pet) {
+            this.ok = ok;
+            this.message = message;
+            this.pet = pet;
+        }
+    }
+
+    /** Stats of every hosted pet, only used on the simulation thread */
+    private final PetStatStore store;
+    /** Advances the store */
+    private final SimulationEngine engine;
+    /** The items that can be bought and used */
+    private final ItemCatalog catalog;
+    /** The single thread all game state belongs to */
+    private final ExecutorService simulation;
+    /** Hosted pets by id, only used on the simulation thread. Ids are never reused, unlike store slots. */
+    private final Map<Long, HostedPet> pets = new LinkedHashMap<>();
+    /** The session of each hosted pet, by pet id */
+    private final Map<Long, PetSession> sessions = new ConcurrentHashMap<>();
+    /** When each pet's actions come off cooldown, by store slot, only used on the simulation thread */
+    private final CooldownTable cooldowns;
+    /** The id given to the last pet created */
+    private long lastId = 0;
+    /** The HTTP server, null when not listening */
+    private HttpServer http;
+    /** The slots HTTP saves are written to, null until first needed. Guarded by this. */
+    private SaveRepository saveRepository;
+    /** Writes the saves of every session, null until first needed. Guarded by this. */
+    private SaveService saveService;
+
+    /**
+     * Constructs a server using the shared item catalog.
+     */
+    public PetServer() {
+        this(ItemCatalog.getInstance(), new SimulationEngine());
+    }
+
+    /**
+     * Constructs a server with its own catalog and engine, e.g. so tests can advance time with
+     * {@link #advance(long)} instead of starting the engine.
+     *
+     * @param catalog the items that can be bought and used
+     * @param engine the engine that advances the pets, not shared with the game
+     */
+    public PetServer(ItemCatalog catalog, SimulationEngine engine) {
+        this(catalog, engine, System::nanoTime);
+    }
+
+    /**
+     * Constructs a server whose cooldowns read the time from the given clock, e.g. so tests can end cooldowns
+     * without waiting.
+     *
+     * @param catalog the items that can be bought and used
+     * @param engine the engine that advances the pets, not shared with the game
+     * @param clock gives the current time in nanoseconds
+     */
+    public PetServer(ItemCatalog catalog, SimulationEngine engine, LongSupplier clock) {
+        this.catalog = catalog;
+        this.engine = engine;
+        this.store = new PetStatStore();
+        this.cooldowns = new CooldownTable(16, clock);
+        this.simulation = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pet-server-sim");
+            thread.setDaemon(true);
+            return thread;
+        });
+        engine.register(store);
+    }
+
+    /**
+     * Starts advancing the pets in real time.
+     */
+    public void start() {
+        engine.start(simulation);
+    }
+
+    /**
+     * Starts answering HTTP requests on 127.0.0.1.
+     *
+     * @param port the port to listen on, 0 for any free port
+     * @return the address listened on
+     * @throws IOException if the port cannot be used
+     */
+    public synchronized InetSocketAddress listen(int port) throws IOException {
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.createContext("/pets", this::handle);
+        http.setExecutor(Executors.newVirtualThreadPerTaskExecutor()); /** requests mostly wait on a session */
+        http.start();
+        return http.getAddress();
+    }
+
+    /**
+     * Sets the slots that {@code POST /pets/{id}/save} writes to, instead of the game's own.
+     *
+     * @param repository the save slots
+     */
+    public synchronized void setSaveRepository(SaveRepository repository) {
+        this.saveRepository = repository;
+    }
+
+    /**
+     * Gets the slots that {@code POST /pets/{id}/save} writes to.
+     *
+     * @return the repository set with {@link #setSaveRepository(SaveRepository)}, or the game's own
+     */
+    public synchronized SaveRepository getSaveRepository() {
+        if (saveRepository == null) {
+            saveRepository = SaveRepository.getInstance();
+        }
+        return saveRepository;
+    }
+
+    /**
+     * Sets the service that writes the sessions' saves, instead of the game's own.
+     *
+     * @param service the save service
+     */
+    public synchronized void setSaveService(SaveService service) {
+        this.saveService = service;
+    }
+
+    /**
+     * Gets the service that writes the sessions' saves, one at a time on its writer thread.
+     *
+     * @return the service set with {@link #setSaveService(SaveService)}, or the game's own
+     */
+    public synchronized SaveService getSaveService() {
+        if (saveService == null) {
+            saveService = SaveService.getInstance();
+        }
+        return saveService;
+    }
+
+    /**
+     * Stops the sessions, the simulation and the HTTP server. The pets are not saved.
+     */
+    public synchronized void stop() {
+        for (PetSession session : sessions.values()) {
+            session.close();
+        }
+        engine.stop();
+        if (http != null) {
+            http.stop(0);
+            http = null;
+        }
+        simulation.shutdown();
+    }
+
+    /**
+     * Advances every pet by the given time on the simulation thread, used instead of {@link #start()} in tests.
+     *
+     * @param elapsedMillis the time to advance by
+     * @return the number of steps run
+     */
+    public int advance(long elapsedMillis) {
+        return onSimulation(() -> engine.advance(elapsedMillis));
+    }
+
+    /**
+     * Creates a pet with full stats, a new player and a session to control them.
+     *
+     * @param name the pet's name
+     * @param type the kind of pet
+     * @param coins the coins the player starts with
+     * @return the new pet's state, including its id
+     */
+    public Map<String, Object> createPet(String name, PetType type, double coins) {
+        Map<String, Object> created = onSimulation(() -> {
+            HostedPet pet = new HostedPet(++lastId, type.addTo(store), name, type, new Player(coins));
+            cooldowns.reset(pet.slot); /** the slot may have been used by a removed pet */
+            pets.put(pet.id, pet);
+            LOG.info("pet.created", "pet", pet.id, "slot", pet.slot, "type", type, "name", name);
+            return describe(pet);
+        });
+        long id = ((Number) created.get("id")).longValue();
+        sessions.put(id, new PetSession(this, id));
+        return created;
+    }
+
+    /**
+     * Gets the session controlling a pet.
+     *
+     * @param id the pet's id
+     * @return the session, or null if there is no such pet
+     */
+    public PetSession getSession(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Removes a pet and its player.
+     *
+     * @param id the pet's id
+     * @return true if there was such a pet
+     */
+    public boolean removePet(long id) {
+        PetSession session = sessions.remove(id);
+        if (session != null) {
+            session.close();
+        }
+        return onSimulation(() -> {
+            HostedPet pet = pets.remove(id);
+            if (pet == null) {
+                return false;
+            }
+            store.remove(pet.slot);
+            LOG.info("pet.removed", "pet", id, "slot", pet.slot);
+            return true;
+        });
+    }
+
+    /**
+     * Gets a pet's stats, state, score, coins and items.
+     *
+     * @param id the pet's id
+     * @return the pet's state, or null if there is no such pet
+     */
+    public Map<String, Object> getPet(long id) {
+        return onSimulation(() -> {
+            HostedPet pet = pets.get(id);
+            return pet == null ? null : describe(pet);
+        });
+    }
+
+    /**
+     * Takes a snapshot of a pet and its player in the form used by save files.
+     *
+     * @param id the pet's id
+     * @return the snapshot, or null if there is no such pet
+     */
+    public SaveGame snapshot(long id) {
+        return onSimulation(() -> {
+            HostedPet pet = pets.get(id);
+            if (pet == null) {
+                return null;
+            }
+            SaveGame save = new SaveGame();
+            save.petType = pet.type.number;
+            save.petName = pet.name;
+            save.petStats = save.getPetStats(store, pet.slot);
+            save.player = save.getPlayerStats(pet.player);
+            save.gameStats = new HashMap<>();
+            save.gameStats.put(SaveGame.SAVED_AT, System.currentTimeMillis());
+            return save;
+        });
+    }
+
+    /**
+     * Gets the state of every pet.
+     *
+     * @return the pets in the order they were created
+     */
+    public List<Map<String, Object>> getPets() {
+        return onSimulation(() -> {
+            List<Map<String, Object>> all = new ArrayList<>(pets.size());
+            for (HostedPet pet : pets.values()) {
+                all.add(describe(pet));
+            }
+            return all;
+        });
+    }
+
+    /**
+     * Gets the number of pets hosted.
+     *
+     * @return the pet count
+     */
+    public int getPetCount() {
+        return onSimulation(pets::size);
+    }
+
+    /**
+     * Takes an action with a pet, following the same rules and cooldowns as the game screen.
+     *
+     * @param id the pet's id
+     * @param action the action to take
+     * @param itemId the catalog id of the item to use when feeding or giving a gift, otherwise ignored
+     * @return whether the action was taken and the pet's state afterwards
+     */
+    public Reply command(long id, PetAction action, String itemId) {
+        Reply reply = runCommand(id, action, itemId);
+        if (LOG.isEnabled(Log.Level.DEBUG)) {
+            LOG.debug("pet.command", "pet", id, "action", action.name, "item", itemId, "ok", reply.ok, "message", reply.message);
+        }
+        return reply;
+    }
+
+    /**
+     * Takes an action with a pet on the simulation thread, for {@link #command(long, PetAction, String)}. Each command
+     * for a pet that exists is recorded with the flight recorder as a {@link FlightEvents.Command}.
+     *
+     * @param id the pet's id
+     * @param action the action to take
+     * @param itemId the catalog id of the item to use, if any
+     * @return whether the action was taken and the pet's state afterwards
+     */
+    private Reply runCommand(long id, PetAction action, String itemId) {
+        return onSimulation(() -> {
+            HostedPet pet = pets.get(id);
+            if (pet == null) {
+                return new Reply(false, "No pet " + id + ".", null);
+            }
+            FlightEvents.Command event = new FlightEvents.Command();
+            event.begin();
+            PetState state = PetState.fromCode(store.getState(pet.slot));
+            if (!action.isAllowedIn(state)) {
+                return recorded(event, action, state, FlightEvents.Command.NOT_ALLOWED,
+                        new Reply(false, "Cannot " + action.name + " while the pet is " + state.getLabel() + ".", describe(pet)));
+            }
+            if (!cooldowns.isReady(pet.slot, action)) {
+                return recorded(event, action, state, FlightEvents.Command.COOLDOWN,
+                        new Reply(false, "Cannot " + action.name + " yet, it is on cooldown.", describe(pet)));
+            }
+            String message;
+            if (action == PetAction.SLEEP) {
+                store.putToSleep(pet.slot);
+                action.applyScore(pet.player.getScore());
+                message = pet.name + " went to sleep.";
+            }
+            else if (action.usesItem()) {
+                CatalogItem item = itemId == null ? null : catalog.get(itemId);
+                if (item == null || !action.name.equals(item.getCooldown())) {
+                    return recorded(event, action, state, FlightEvents.Command.NOT_ALLOWED,
+                            new Reply(false, "Choose an item to " + action.name + ".", describe(pet)));
+                }
+                ItemUse use = ItemUse.take(pet.player.getInventory(), item, 1);
+                if (use.isEmpty()) {
+                    return recorded(event, action, state, FlightEvents.Command.NOT_ALLOWED,
+                            new Reply(false, "No " + item.getName() + " left.", describe(pet)));
+                }
+                store.updateStatistics(pet.slot, use.health, use.sleep, use.fullness, use.happiness);
+                pet.player.getScore().increaseScore(use.score);
+                message = pet.name + " got a " + item.getName() + ".";
+            }
+            else {
+                store.updateStatistics(pet.slot, action.health, action.sleep, action.fullness, action.happiness);
+                action.applyScore(pet.player.getScore());
+                message = "Done: " + action.name + ".";
+            }
+            cooldowns.start(pet.slot, action, PetAction.COOLDOWN_MILLIS);
+            pet.player.payScoreRewards();
+            return recorded(event, action, state, FlightEvents.Command.DONE, new Reply(true, message, describe(pet)));
+        });
+    }
+
+    /**
+     * Commits a command's flight recorder event, if it is recording, and passes its reply on.
+     *
+     * @param event the event begun when the command started
+     * @param action the action the command took
+     * @param state the state the pet was in when the command was given
+     * @param outcome one of the {@link FlightEvents.Command} outcomes
+     * @param reply the reply to the command
+     * @return the reply
+     */
+    private static Reply recorded(FlightEvents.Command event, PetAction action, PetState state, String outcome, Reply reply) {
+        if (event.shouldCommit()) {
+            event.key = action.name;
+            event.state = state.getLabel();
+            event.outcome = outcome;
+            event.commit();
+        }
+        return reply;
+    }
+
+    /**
+     * Checks whether a pet's action is off cooldown.
+     *
+     * @param id the pet's id
+     * @param action the action
+     * @return true if the action can be taken now, false if it is on cooldown or there is no such pet
+     */
+    public boolean isReady(long id, PetAction action) {
+        return onSimulation(() -> {
+            HostedPet pet = pets.get(id);
+            return pet != null && cooldowns.isReady(pet.slot, action);
+        });
+    }
+
+    /**
+     * Buys copies of an item for a pet's player.
+     *
+     * @param id the pet's id
+     * @param itemId the item's catalog id
+     * @param count the number of copies to buy, from 1 to {@value #MAX_BUY_COUNT}
+     * @return whether the items were bought and the pet's state afterwards
+     */
+    public Reply buy(long id, String itemId, int count) {
+        return onSimulation(() -> {
+            HostedPet pet = pets.get(id);
+            if (pet == null) {
+                return new Reply(false, "No pet " + id + ".", null);
+            }
+            CatalogItem item = itemId == null ? null : catalog.get(itemId);
+            if (item == null || count <= 0 || count > MAX_BUY_COUNT) {
+                return new Reply(false, "Choose an item and a count from 1 to " + MAX_BUY_COUNT + " to buy.", describe(pet));
+            }
+            if (pet.player.getInventory().size() > Integer.MAX_VALUE - count) { /** checked before any coins are spent */
+                return new Reply(false, "The inventory is full.", describe(pet));
+            }
+            try {
+                pet.player.spendCoins(item.getPrice() * count, "Bought " + count + " " + item.getName());
+            }
+            catch (NotEnoughCoinsException e) {
+                return new Reply(false, "Not enough coins.", describe(pet));
+            }
+            pet.player.getInventory().addItems(item, count);
+            return new Reply(true, "Bought " + count + " " + item.getName() + ".", describe(pet));
+        });
+    }
+
+    /**
+     * Describes a pet for the API. Only called on the simulation thread.
+     *
+     * @param pet the pet
+     * @return the pet's id, name, type, stats, state, score, coins and item counts
+     */
+    private Map<String, Object> describe(HostedPet pet) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", pet.id);
+        map.put("name", pet.name);
+        map.put("type", pet.type.label);
+        map.put("health", store.getHealth(pet.slot));
+        map.put("sleep", store.getSleep(pet.slot));
+        map.put("fullness", store.getFullness(pet.slot));
+        map.put("happiness", store.getHappiness(pet.slot));
+        map.put("state", store.getStateLabel(pet.slot));
+        map.put("score", pet.player.getScore().getScore());
+        map.put("coins", pet.player.getCoins());
+        Map<String, Integer> items = new LinkedHashMap<>();
+        for (Inventory.ItemCount count : pet.player.getInventory().getItemCounts()) {
+            items.put(count.itemName, count.count);
+        }
+        map.put("items", items);
+        return map;
+    }
+
+    /**
+     * Runs work on the simulation thread and waits for its result.
+     *
+     * @param work the work, which may read and change game state
+     * @return the work's result
+     */
+    private <T> T onSimulation(Callable<T> work) {
+        try {
+            return simulation.submit(work).get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the simulation", e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Answers one HTTP request under {@code /pets}.
+     *
+     * @param exchange the request and its response
+     * @throws IOException if the response cannot be sent
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes(); /** parameters are only read from the query */
+        }
+        if (exchange.getRequestHeaders().containsKey("Origin")) { /** sent by browsers, never by the game's own clients */
+            LOG.warn("server.crossOriginRefused", "origin", exchange.getRequestHeaders().getFirst("Origin"),
+                    "path", exchange.getRequestURI().getPath());
+            send(exchange, 403, error("Requests from web pages are not allowed."));
+            return;
+        }
+        String method = exchange.getRequestMethod();
+        URI uri = exchange.getRequestURI();
+        Map<String, String> query = parseQuery(uri.getRawQuery());
+        String[] parts = uri.getPath().replaceAll("^/+|/+$", "").split("/");
+        try {
+            if (parts.length == 1) {
+                if ("GET".equals(method)) {
+                    send(exchange, 200, getPets());
+                }
+                else if ("POST".equals(method)) {
+                    PetType type = parseType(query.getOrDefault("type", PetType.BALANCED.label));
+                    String name = query.getOrDefault("name", type.label + " pet");
+                    double coins = Double.parseDouble(query.getOrDefault("coins", String.valueOf(STARTING_COINS)));
+                    send(exchange, 201, createPet(name, type, coins));
+                }
+                else {
+                    send(exchange, 405, error("Use GET or POST."));
+                }
+                return;
+            }
+            long id = Long.parseLong(parts[1]);
+            if (parts.length == 2) {
+                if ("GET".equals(method)) {
+                    Map<String, Object> pet = getPet(id);
+                    send(exchange, pet == null ? 404 : 200, pet == null ? error("No pet " + id + ".") : pet);
+                }
+                else if ("DELETE".equals(method)) {
+                    boolean removed = removePet(id);
+                    send(exchange, removed ? 200 : 404, error(removed ? "Removed." : "No pet " + id + "."));
+                }
+                else {
+                    send(exchange, 405, error("Use GET or DELETE."));
+                }
+                return;
+            }
+            if (parts.length != 3 || !"POST".equals(method)) {
+                send(exchange, 404, error("Unknown request."));
+                return;
+            }
+            PetSession session = getSession(id);
+            if (session == null) {
+                send(exchange, 404, error("No pet " + id + "."));
+                return;
+            }
+            Reply reply;
+            if ("buy".equals(parts[2])) {
+                int count = Integer.parseInt(query.getOrDefault("count", "1"));
+                reply = session.buy(query.get("item"), count).get(REQUEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            else if ("save".equals(parts[2]) && query.containsKey("file")) {
+                String slot = query.get("file");
+                if (!SaveRepository.isSlotName(slot)) { /** also keeps out absolute paths and .. */
+                    send(exchange, 400, error("Save to a slot file such as save1.json or save1.sav."));
+                    return;
+                }
+                Path folder = getSaveRepository().getDirectory();
+                Files.createDirectories(folder);
+                Path file = session.saveAsync(folder.resolve(slot)).get(REQUEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                send(exchange, 200, error("Saved to " + file + "."));
+                return;
+            }
+            else {
+                PetAction action = PetAction.fromName(parts[2]);
+                if (action == null) {
+                    send(exchange, 404, error("Unknown action " + parts[2] + "."));
+                    return;
+                }
+                reply = session.submit(action, query.get("item")).get(REQUEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            send(exchange, reply.pet == null ? 404 : reply.ok ? 200 : 409, reply);
+        }
+        catch (IllegalArgumentException e) { /** a bad number or pet type */
+            send(exchange, 400, error(e.getMessage()));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 503, error("The server is stopping."));
+        }
+        catch (TimeoutException e) { /** the session is stuck behind a slow command or save */
+            LOG.warn("server.requestTimedOut", "path", uri.getPath());
+            send(exchange, 503, error("The pet is busy, try again later."));
+        }
+        catch (ExecutionException e) { /** the session was closed, or the save could not be written */
+            send(exchange, 500, error(String.valueOf(e.getCause().getMessage())));
+        }
+        catch (RuntimeException e) { /** a bug, answered so the client is not left without a response */
+            LOG.error("server.requestFailed", "method", method, "path", uri.getPath(), "error", e);
+            send(exchange, 500, error("Internal error."));
+        }
+    }
+
+    /**
+     * Finds a pet type by its name or number.
+     *
+     * @param text the name, e.g. {@code lazy}, or the saved number
+     * @return the type
+     * @throws IllegalArgumentException if there is no such type
+     */
+    private static PetType parseType(String text) {
+        for (PetType type : PetType.values()) {
+            if (type.label.equalsIgnoreCase(text) || String.valueOf(type.number).equals(text)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown pet type " + text + ".");
+    }
+
+    /**
+     * Splits a query string into its parameters.
+     *
+     * @param raw the encoded query, may be null
+     * @return the decoded parameters
+     */
+    private static Map<String, String> parseQuery(String raw) {
+        Map<String, String> query = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    /**
+     * Wraps a message for an error response.
+     *
+     * @param message the message
+     * @return a map holding the message
+     */
+    private static Map<String, Object> error(String message) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("message", message);
+        return map;
+    }
+
+    /**
+     * Sends a response as JSON.
+     *
+     * @param exchange the request being answered
+     * @param status the HTTP status code
+     * @param body the object to send
+     * @throws IOException if the response cannot be written
+     */
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = SaveGame.GSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Starts a server in real time and listens until the JVM is stopped.
+     *
+     * @param args the port to listen on, optional
+     * @throws IOException if the port cannot be used
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        LOG.open(Path.of(SERVER_LOG_FILE), Log.DEFAULT_MAX_BYTES, Log.DEFAULT_KEPT_FILES, Log.levelFromProperty());
+        PetServer server = new PetServer();
+        server.start();
+        InetSocketAddress address = server.listen(port);
+        System.out.println("Pet server listening on http://" + address.getHostString() + ":" + address.getPort() + "/pets");
+        LOG.info("server.listening", "host", address.getHostString(), "port", address.getPort());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            LOG.info("server.stopped");
+            LOG.close();
+        }));
+    }
+}
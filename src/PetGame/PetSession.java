@@ -0,0 +1,214 @@
+package PetGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <b>One player's connection to a pet hosted by a {@link PetServer}.</b>
+ * <p>
+ * Each session runs its commands one at a time, in the order they arrive, on its own virtual thread, so a slow
+ * command or save only holds up its own player. The pet's stats, cooldowns and the player's score, coins and items
+ * stay in the server, each pet with its own, and are only changed on the server's simulation thread.
+ * </p>
+ * <p>
+ * As virtual threads are cheap while they wait, a server can keep a session open for each of many thousands of
+ * players. A session's thread waits while its save is written, giving up its carrier thread as it does. Saves from
+ * every session go through the server's {@link SaveService}, whose single writer thread writes one file at a time, so
+ * two sessions saving to the same slot never write its temporary file at once.
+ * </p>
+ *
+ * @see PetGame.PetServer
+ */
+public class PetSession implements Closeable {
+    /** The server hosting the pet */
+    private final PetServer server;
+    /** The id of the session's pet */
+    private final long petId;
+    /** Commands waiting to run */
+    private final BlockingQueue<Runnable> mailbox = new LinkedBlockingQueue<>();
+    /** Makes checking {@link #closed} and queueing a command one step, so no command is queued after the last one runs */
+    private final ReentrantLock mailboxLock = new ReentrantLock();
+    /** The virtual thread running the commands */
+    private final Thread thread;
+    /** Set once no more commands are accepted. Only changed while holding the mailbox lock. */
+    private volatile boolean closed;
+
+    /**
+     * Opens a session for a hosted pet and starts its thread.
+     *
+     * @param server the server hosting the pet
+     * @param petId the pet's id
+     */
+    public PetSession(PetServer server, long petId) {
+        this.server = server;
+        this.petId = petId;
+        this.thread = Thread.ofVirtual().name("pet-session-" + petId).start(this::run);
+    }
+
+    /**
+     * Gets the id of the session's pet.
+     *
+     * @return the pet id
+     */
+    public long getPetId() {
+        return petId;
+    }
+
+    /**
+     * Takes an action with the pet once the commands before it have run, following the same rules and cooldowns as
+     * {@link PetServer#command(long, PetAction, String)}.
+     *
+     * @param action the action to take
+     * @param itemId the catalog id of the item to use when feeding or giving a gift, otherwise ignored
+     * @return a future completed with whether the action was taken and the pet's state afterwards
+     */
+    public CompletableFuture<PetServer.Reply> submit(PetAction action, String itemId) {
+        return post(() -> server.command(petId, action, itemId));
+    }
+
+    /**
+     * Buys copies of an item for the session's player once the commands before it have run, following the same
+     * rules as {@link PetServer#buy(long, String, int)}.
+     *
+     * @param itemId the catalog id of the item to buy
+     * @param count the number of copies to buy
+     * @return a future completed with whether the items were bought and the pet's state afterwards
+     */
+    public CompletableFuture<PetServer.Reply> buy(String itemId, int count) {
+        return post(() -> server.buy(petId, itemId, count));
+    }
+
+    /**
+     * Checks whether an action is off cooldown. Only meaningful once the commands already submitted have run.
+     *
+     * @param action the action
+     * @return a future completed with true if the action can be taken now
+     */
+    public CompletableFuture<Boolean> isReady(PetAction action) {
+        return post(() -> server.isReady(petId, action));
+    }
+
+    /**
+     * Saves the pet and its player on the session thread, once the commands before it have run.
+     *
+     * @param file the file to write, in the {@link SaveFormat} its name calls for
+     * @return a future completed with the file once it is written
+     */
+    public CompletableFuture<Path> saveAsync(Path file) {
+        return post(() -> save(file));
+    }
+
+    /**
+     * Saves the pet and its player through the server's {@link SaveService}, blocking until the file is written.
+     * Meant to be called from a virtual thread, such as the session's own.
+     *
+     * @param file the file to write, in the {@link SaveFormat} its name calls for
+     * @return the file written
+     * @throws IOException if the pet no longer exists or the file cannot be written
+     */
+    public Path save(Path file) throws IOException {
+        SaveGame snapshot = server.snapshot(petId);
+        if (snapshot == null) {
+            throw new IOException("No pet " + petId + " to save.");
+        }
+        try {
+            return server.getSaveService().save(file.toString(), snapshot).get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while saving pet " + petId + ".");
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    /**
+     * Stops accepting commands. Commands already submitted still run, then the session's thread ends.
+     */
+    @Override
+    public void close() {
+        mailboxLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            mailbox.add(() -> { }); /** wakes the thread so it sees the session is closed */
+        }
+        finally {
+            mailboxLock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the session's thread to end after {@link #close()}.
+     *
+     * @param timeoutMillis the longest time to wait
+     * @return true if the thread has ended
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitClosed(long timeoutMillis) throws InterruptedException {
+        return thread.join(Duration.ofMillis(timeoutMillis));
+    }
+
+    /**
+     * Queues work to run on the session thread.
+     *
+     * @param work the work to run
+     * @return a future completed with the work's result, or failed if the session is closed or the work failed
+     */
+    private <T> CompletableFuture<T> post(Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailboxLock.lock();
+        try {
+            if (closed) {
+                result.completeExceptionally(new IllegalStateException("Session for pet " + petId + " is closed."));
+                return result;
+            }
+            mailbox.add(() -> {
+                try {
+                    result.complete(work.call());
+                }
+                catch (Exception e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        }
+        finally {
+            mailboxLock.unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Runs queued commands until the session is closed and nothing is left to run. Nothing is queued once the
+     * session is closed, so every command accepted before {@link #close()} runs.
+     */
+    private void run() {
+        try {
+            while (true) {
+                mailbox.take().run();
+                if (closed && mailbox.isEmpty()) {
+                    return;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            close(); /** refuses new commands, then runs the ones already queued so no caller is left waiting */
+            for (Runnable late = mailbox.poll(); late != null; late = mailbox.poll()) {
+                late.run();
+            }
+        }
+    }
+}
@@ -12,6 +12,10 @@ import javafx.scene.image.ImageView;
  * This class can be extended or modified in the future to allow dynamic 
  * image changes like flipping, animations, and emotion-based visuals
  * 
+ * Frames are switched with {@link #showFrame(String)}. Once the pet's {@link SpriteAtlas} is
+ * ready, a frame change only moves the viewport over the atlas (mirroring the view for flipped
+ * frames), so no image is loaded or decoded.
+ * 
  * @author Ishaan Misra
  */
 public class PetSprite {
@@ -22,6 +26,12 @@ public class PetSprite {
     /** The image currently assigned to ImageView. */
     private final Image image;
 
+    /** The packed sprite set, or null until it has been built */
+    private SpriteAtlas atlas;
+
+    /** Resource path of the frame currently shown */
+    private String currentFrame;
+
     /**
      * The Constructor. It constructs a new {@code PetSprite} with the specified ImageView and initial image
      *
@@ -53,4 +63,46 @@ public class PetSprite {
     public String getFlippedImage() {
         throw new UnsupportedOperationException("Unimplemented method 'getFlippedImage'");
     }
+
+    /**
+     * Sets the atlas used to show frames, redrawing the current frame from it.
+     *
+     * @param atlas the pet's packed sprite set
+     */
+    public void setAtlas(SpriteAtlas atlas) {
+        this.atlas = atlas;
+        if (currentFrame != null) {
+            showFrame(currentFrame);
+        }
+    }
+
+    /**
+     * Shows one of the pet's sprites. If the sprite is in the atlas only the viewport changes,
+     * otherwise the sprite is taken from the {@link SpriteCache}.
+     *
+     * @param path the resource path of the sprite to show
+     */
+    public void showFrame(String path) {
+        currentFrame = path;
+        SpriteAtlas.Frame frame = atlas == null ? null : atlas.getFrame(path);
+        if (frame != null) {
+            imageView.setImage(atlas.getImage());
+            imageView.setViewport(frame.getViewport());
+            imageView.setScaleX(frame.isMirrored() ? -1 : 1);
+        }
+        else {
+            imageView.setViewport(null);
+            imageView.setScaleX(1);
+            imageView.setImage(SpriteCache.getInstance().get(path));
+        }
+    }
+
+    /**
+     * Gets the resource path of the sprite currently shown.
+     *
+     * @return the current frame's path, or null if no frame has been shown
+     */
+    public String getCurrentFrame() {
+        return currentFrame;
+    }
 }
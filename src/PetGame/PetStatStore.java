@@ -0,0 +1,556 @@
+package PetGame;
+
+import java.util.Arrays;
+
+/**
+ * <b>Column-based store holding the stats of many pets at once.</b>
+ * <p>
+ * Where {@code PetStatistics} keeps one set of JavaFX properties per pet, this store keeps every stat in its own
+ * primitive array indexed by a slot number, with the pet's {@link PetState} stored as its one byte code. This lets
+ * the decay, hunger drain and sleep recovery rules be applied to every pet in tight loops without allocating anything,
+ * which is what is needed to simulate large numbers of pets. This is the only place the rules and timings live: the
+ * pet on screen is a {@code PetStatistics} object backed by a slot of its own, which it copies into its JavaFX
+ * properties with {@link #publish(int, PetStats)} after every step.
+ * </p>
+ *
+ * @see PetGame.PetStats
+ */
+public class PetStatStore implements Tickable {
+    /** State code for a slot that is not in use. */
+    public static final byte STATE_EMPTY = -1;
+    /** State code for a pet in its normal state. */
+    public static final byte STATE_NORMAL = PetState.NORMAL.getCode();
+    /** State code for a hungry pet. */
+    public static final byte STATE_HUNGRY = PetState.HUNGRY.getCode();
+    /** State code for an angry pet. */
+    public static final byte STATE_ANGRY = PetState.ANGRY.getCode();
+    /** State code for a sleeping pet. */
+    public static final byte STATE_SLEEPING = PetState.SLEEPING.getCode();
+    /** State code for a dead pet. */
+    public static final byte STATE_DEAD = PetState.DEAD.getCode();
+    /** Health lost when a pet falls asleep from exhaustion. */
+    private static final int SLEEP_PENALTY = 10;
+    /** Number of slots allocated when no capacity is given. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Number of slots handed out so far, including freed ones */
+    private int size = 0;
+    /** Slots that have been freed and can be reused */
+    private int[] freeSlots = new int[0];
+    /** Number of entries in freeSlots */
+    private int freeCount = 0;
+
+    private int[] health;
+    private int[] sleep;
+    private int[] fullness;
+    private int[] happiness;
+    private byte[] state;
+    /** State each pet was in before falling asleep, restored when it wakes up */
+    private byte[] stateBeforeSleep;
+    /** Whether each pet is hungry and losing health and happiness on every decay step */
+    private boolean[] hungerDraining;
+
+    private int[] maxHealth;
+    private int[] maxSleep;
+    private int[] maxFullness;
+    private int[] maxHappiness;
+    private int[] sleepDecayRate;
+    private int[] fullnessDecayRate;
+    private int[] happinessDecayRate;
+
+    /**
+     * Constructs an empty store with room for a default number of pets. The store grows as needed.
+     */
+    public PetStatStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty store with room for the given number of pets. The store grows as needed.
+     *
+     * @param capacity the number of pets to allocate room for
+     */
+    public PetStatStore(int capacity) {
+        allocate(Math.max(1, capacity));
+    }
+
+    /**
+     * Adds a pet with full stats in its normal state.
+     *
+     * @param maxHealth max health value
+     * @param maxSleep max sleep value
+     * @param maxFullness max fullness value
+     * @param maxHappiness max happiness value
+     * @param sleepDecayRate how quickly sleep decays
+     * @param fullnessDecayRate how quickly fullness decays
+     * @param happinessDecayRate how quickly happiness decays
+     * @return the slot number the pet is stored at
+     */
+    public int add(int maxHealth, int maxSleep, int maxFullness, int maxHappiness,
+                   int sleepDecayRate, int fullnessDecayRate, int happinessDecayRate) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        }
+        else {
+            if (size == state.length) {
+                allocate(state.length * 2);
+            }
+            slot = size++;
+        }
+        this.maxHealth[slot] = maxHealth;
+        this.maxSleep[slot] = maxSleep;
+        this.maxFullness[slot] = maxFullness;
+        this.maxHappiness[slot] = maxHappiness;
+        this.sleepDecayRate[slot] = sleepDecayRate;
+        this.fullnessDecayRate[slot] = fullnessDecayRate;
+        this.happinessDecayRate[slot] = happinessDecayRate;
+        health[slot] = maxHealth;
+        sleep[slot] = maxSleep;
+        fullness[slot] = maxFullness;
+        happiness[slot] = maxHappiness;
+        state[slot] = STATE_NORMAL;
+        stateBeforeSleep[slot] = STATE_NORMAL;
+        hungerDraining[slot] = false;
+        return slot;
+    }
+
+    /**
+     * Removes a pet from the store. Its slot may be handed out again by {@link #add}.
+     *
+     * @param slot the slot of the pet to remove
+     */
+    public void remove(int slot) {
+        if (state[slot] == STATE_EMPTY) {
+            return;
+        }
+        state[slot] = STATE_EMPTY;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(8, freeSlots.length * 2));
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Gets the number of pets currently in the store.
+     *
+     * @return the number of occupied slots
+     */
+    public int getPetCount() {
+        return size - freeCount;
+    }
+
+    /**
+     * Advances every pet by one simulation step. Stats decay every {@link PetStats#DECAY_PERIOD_TICKS} steps, a hungry
+     * pet loses health and happiness on the same steps, and a sleeping pet recovers sleep every
+     * {@link PetStats#SLEEP_RECOVERY_PERIOD_TICKS} steps.
+     *
+     * @param tick the number of the current simulation step
+     */
+    @Override
+    public void tick(long tick) {
+        if (tick % PetStats.DECAY_PERIOD_TICKS == 0) {
+            drainHunger();
+            decay();
+        }
+        if (tick % PetStats.SLEEP_RECOVERY_PERIOD_TICKS == 0) {
+            recoverSleep();
+        }
+    }
+
+    /**
+     * Applies one stat decay step to every living pet. Sleeping pets do not lose sleep.
+     */
+    public void decay() {
+        for (int i = 0; i < size; i++) {
+            byte s = state[i];
+            if (s == STATE_EMPTY || s == STATE_DEAD) {
+                continue;
+            }
+            if (s != STATE_SLEEPING) {
+                sleep[i] = clamp(sleep[i] - sleepDecayRate[i], maxSleep[i]);
+            }
+            fullness[i] = clamp(fullness[i] - fullnessDecayRate[i], maxFullness[i]);
+            happiness[i] = clamp(happiness[i] - happinessDecayRate[i], maxHappiness[i]);
+        }
+        checkWarnings();
+    }
+
+    /**
+     * Applies one hunger drain step to every pet that has run out of fullness.
+     */
+    public void drainHunger() {
+        for (int i = 0; i < size; i++) {
+            if (hungerDraining[i] && fullness[i] == 0 && state[i] != STATE_DEAD && state[i] != STATE_EMPTY) {
+                health[i] = clamp(health[i] - PetStats.HUNGER_HEALTH_LOSS, maxHealth[i]);
+                happiness[i] = clamp(happiness[i] - (int)(happinessDecayRate[i] + happinessDecayRate[i] * 0.5), maxHappiness[i]);
+            }
+        }
+        checkWarnings();
+    }
+
+    /**
+     * Restores sleep for every sleeping pet, waking up those whose sleep is full.
+     */
+    public void recoverSleep() {
+        for (int i = 0; i < size; i++) {
+            if (state[i] != STATE_SLEEPING) {
+                continue;
+            }
+            sleep[i] = clamp(sleep[i] + PetStats.SLEEP_RECOVERY_AMOUNT, maxSleep[i]);
+            if (sleep[i] >= maxSleep[i]) {
+                PetState woken = PetState.fromCode(stateBeforeSleep[i]);
+                enter(i, PetState.SLEEPING, woken == PetState.NORMAL ? PetStateMachine.next(PetState.SLEEPING, PetStateMachine.Trigger.WOKE) : woken);
+            }
+        }
+    }
+
+    /**
+     * Changes one pet's stats by the given amounts, keeping them within range.
+     *
+     * @param slot the slot of the pet
+     * @param healthChange amount to change health
+     * @param sleepChange amount to change sleep
+     * @param fullnessChange amount to change fullness
+     * @param happinessChange amount to change happiness
+     */
+    public void updateStatistics(int slot, int healthChange, int sleepChange, int fullnessChange, int happinessChange) {
+        health[slot] = clamp(health[slot] + healthChange, maxHealth[slot]);
+        sleep[slot] = clamp(sleep[slot] + sleepChange, maxSleep[slot]);
+        fullness[slot] = clamp(fullness[slot] + fullnessChange, maxFullness[slot]);
+        happiness[slot] = clamp(happiness[slot] + happinessChange, maxHappiness[slot]);
+        checkWarnings(slot);
+    }
+
+    /**
+     * Puts a pet to bed at the player's request. Unlike falling asleep from exhaustion this costs no health. The pet
+     * wakes up once its sleep is full, hungry again if it was hungry before.
+     *
+     * @param slot the slot of the pet
+     * @return true if the pet went to sleep, false if it was asleep, dead or angry
+     */
+    public boolean putToSleep(int slot) {
+        byte s = state[slot];
+        if (s != STATE_NORMAL && s != STATE_HUNGRY) {
+            return false;
+        }
+        recordChange(slot, PetState.fromCode(s), PetState.SLEEPING);
+        stateBeforeSleep[slot] = s;
+        state[slot] = STATE_SLEEPING;
+        return true;
+    }
+
+    /**
+     * Moves one pet's stats by the given amounts without running the state checks, e.g. to apply many simulation
+     * steps at once when it is already known that none of them changes the pet's state.
+     *
+     * @param slot the slot of the pet
+     * @param healthChange amount to change health
+     * @param sleepChange amount to change sleep
+     * @param fullnessChange amount to change fullness
+     * @param happinessChange amount to change happiness
+     */
+    public void offset(int slot, int healthChange, int sleepChange, int fullnessChange, int happinessChange) {
+        health[slot] = clamp(health[slot] + healthChange, maxHealth[slot]);
+        sleep[slot] = clamp(sleep[slot] + sleepChange, maxSleep[slot]);
+        fullness[slot] = clamp(fullness[slot] + fullnessChange, maxFullness[slot]);
+        happiness[slot] = clamp(happiness[slot] + happinessChange, maxHappiness[slot]);
+    }
+
+    /**
+     * Gets the largest value a stat of a pet can have.
+     *
+     * @param slot the slot of the pet
+     * @param stat 0 for health, 1 for sleep, 2 for fullness, 3 for happiness
+     * @return the maximum value
+     */
+    public int getMax(int slot, int stat) {
+        switch (stat) {
+            case 0: return maxHealth[slot];
+            case 1: return maxSleep[slot];
+            case 2: return maxFullness[slot];
+            default: return maxHappiness[slot];
+        }
+    }
+
+    /**
+     * Ensures that a stat remains within its valid range.
+     *
+     * @param value the stat value to validate
+     * @param max the maximum allowed value for the stat
+     * @return the value limited to between 0 and max
+     */
+    public static int clamp(int value, int max) {
+        return Math.max(0, Math.min(max, value));
+    }
+
+    /**
+     * Runs the state checks for every pet in the store.
+     */
+    private void checkWarnings() {
+        for (int i = 0; i < size; i++) {
+            checkWarnings(i);
+        }
+    }
+
+    /**
+     * Changes a pet's state if its stats have dropped to critical levels, following the {@link PetStateMachine}
+     * transition table.
+     *
+     * @param i the slot of the pet
+     */
+    private void checkWarnings(int i) {
+        byte s = state[i];
+        if (s == STATE_EMPTY || s == STATE_DEAD) {
+            return;
+        }
+        PetState current = PetState.fromCode(s);
+        PetStateMachine.Trigger trigger;
+        if (health[i] == 0) {
+            trigger = PetStateMachine.Trigger.HEALTH_DEPLETED;
+        }
+        else if (s == STATE_SLEEPING) {
+            return;
+        }
+        else if (sleep[i] == 0) {
+            trigger = PetStateMachine.Trigger.SLEEP_DEPLETED;
+        }
+        else if (fullness[i] == 0) {
+            trigger = PetStateMachine.Trigger.FULLNESS_DEPLETED;
+        }
+        else if (happiness[i] == 0) {
+            trigger = PetStateMachine.Trigger.HAPPINESS_DEPLETED;
+        }
+        else if (s == STATE_HUNGRY) {
+            trigger = PetStateMachine.Trigger.FED;
+        }
+        else if (s == STATE_ANGRY && happiness[i] > maxHappiness[i] / 2) {
+            trigger = PetStateMachine.Trigger.CHEERED;
+        }
+        else {
+            return;
+        }
+        PetState next = PetStateMachine.next(current, trigger);
+        if (next != null) {
+            enter(i, current, next);
+        }
+    }
+
+    /**
+     * Moves a pet to a new state and runs that state's entry rules: a sleeping pet remembers the state to wake up in
+     * and loses health for staying up too long, and the hunger drain runs only while the pet is hungry.
+     *
+     * @param i the slot of the pet
+     * @param from the state the pet is leaving
+     * @param to the state the pet is entering
+     */
+    private void enter(int i, PetState from, PetState to) {
+        recordChange(i, from, to);
+        state[i] = to.getCode();
+        switch (to) {
+            case SLEEPING:
+                stateBeforeSleep[i] = (from == PetState.HUNGRY || from == PetState.ANGRY) ? from.getCode() : STATE_NORMAL;
+                health[i] = clamp(health[i] - SLEEP_PENALTY, maxHealth[i]);
+                if (health[i] == 0) {
+                    enter(i, to, PetState.DEAD);
+                }
+                break;
+            case HUNGRY:
+                hungerDraining[i] = true;
+                break;
+            case NORMAL:
+            case DEAD:
+                hungerDraining[i] = false;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Records a pet's change of state with the flight recorder, if it is recording.
+     *
+     * @param i the slot of the pet
+     * @param from the state the pet is leaving
+     * @param to the state the pet is entering
+     */
+    private static void recordChange(int i, PetState from, PetState to) {
+        FlightEvents.StateChange event = new FlightEvents.StateChange();
+        if (event.shouldCommit()) {
+            event.from = from.getLabel();
+            event.to = to.getLabel();
+            event.slot = i;
+            event.commit();
+        }
+    }
+
+    /**
+     * Copies one pet's stats into a view of the pet, e.g. a {@code PetStatistics} object bound to the UI.
+     * Only the pet that is currently displayed needs a view. The view enters the pet's state the usual way, so a
+     * sprite follows it.
+     *
+     * @param slot the slot of the pet to display
+     * @param view the stats that are updated
+     */
+    public void publish(int slot, PetStats view) {
+        view.setStatistics(health[slot], sleep[slot], fullness[slot], happiness[slot]);
+        view.changeState(PetState.fromCode(state[slot]));
+    }
+
+    /**
+     * Gets the current health of a pet.
+     *
+     * @param slot the slot of the pet
+     * @return the pet's health
+     */
+    public int getHealth(int slot) {
+        return health[slot];
+    }
+
+    /**
+     * Gets the current sleep level of a pet.
+     *
+     * @param slot the slot of the pet
+     * @return the pet's sleep
+     */
+    public int getSleep(int slot) {
+        return sleep[slot];
+    }
+
+    /**
+     * Gets the current fullness level of a pet.
+     *
+     * @param slot the slot of the pet
+     * @return the pet's fullness
+     */
+    public int getFullness(int slot) {
+        return fullness[slot];
+    }
+
+    /**
+     * Gets the current happiness level of a pet.
+     *
+     * @param slot the slot of the pet
+     * @return the pet's happiness
+     */
+    public int getHappiness(int slot) {
+        return happiness[slot];
+    }
+
+    /**
+     * Gets the state code of a pet, one of the {@code STATE_} constants.
+     *
+     * @param slot the slot of the pet
+     * @return the pet's state code
+     */
+    public byte getState(int slot) {
+        return state[slot];
+    }
+
+    /**
+     * Gets the state of a pet as the name used elsewhere in the game (e.g. "Normal", "Hungry").
+     *
+     * @param slot the slot of the pet
+     * @return the pet's state name, or an empty string for an unused slot
+     */
+    public String getStateLabel(int slot) {
+        byte s = state[slot];
+        return s == STATE_EMPTY ? "" : PetState.fromCode(s).getLabel();
+    }
+
+    /**
+     * Sets all of a pet's stats and its state at once, e.g. when loading a saved pet.
+     *
+     * @param slot the slot of the pet
+     * @param health the health value
+     * @param sleep the sleep value
+     * @param fullness the fullness value
+     * @param happiness the happiness value
+     * @param stateCode the state code, one of the {@code STATE_} constants
+     */
+    public void set(int slot, int health, int sleep, int fullness, int happiness, byte stateCode) {
+        this.health[slot] = clamp(health, maxHealth[slot]);
+        this.sleep[slot] = clamp(sleep, maxSleep[slot]);
+        this.fullness[slot] = clamp(fullness, maxFullness[slot]);
+        this.happiness[slot] = clamp(happiness, maxHappiness[slot]);
+        state[slot] = stateCode;
+        stateBeforeSleep[slot] = STATE_NORMAL;
+        hungerDraining[slot] = stateCode == STATE_HUNGRY;
+    }
+
+    /**
+     * Sets one pet's stats without running the state checks, e.g. when a view of the pet is changed directly.
+     *
+     * @param slot the slot of the pet
+     * @param health the health value
+     * @param sleep the sleep value
+     * @param fullness the fullness value
+     * @param happiness the happiness value
+     */
+    public void setStatistics(int slot, int health, int sleep, int fullness, int happiness) {
+        this.health[slot] = clamp(health, maxHealth[slot]);
+        this.sleep[slot] = clamp(sleep, maxSleep[slot]);
+        this.fullness[slot] = clamp(fullness, maxFullness[slot]);
+        this.happiness[slot] = clamp(happiness, maxHappiness[slot]);
+    }
+
+    /**
+     * Moves a pet straight to a state chosen elsewhere, e.g. by a command or a loaded save. A pet sent to sleep this
+     * way costs no health and wakes up in the state it was in, and the hunger drain starts and stops as usual.
+     *
+     * @param slot the slot of the pet
+     * @param stateCode the state code, one of the {@code STATE_} constants
+     */
+    public void setState(int slot, byte stateCode) {
+        byte s = state[slot];
+        if (s == stateCode || s == STATE_EMPTY) {
+            return;
+        }
+        recordChange(slot, PetState.fromCode(s), PetState.fromCode(stateCode));
+        state[slot] = stateCode;
+        if (stateCode == STATE_SLEEPING) {
+            stateBeforeSleep[slot] = (s == STATE_HUNGRY || s == STATE_ANGRY) ? s : STATE_NORMAL;
+        }
+        else if (stateCode == STATE_HUNGRY) {
+            hungerDraining[slot] = true;
+        }
+        else if (stateCode == STATE_NORMAL || stateCode == STATE_DEAD) {
+            hungerDraining[slot] = false;
+        }
+    }
+
+    /**
+     * Grows every column to the given capacity, keeping the existing values.
+     *
+     * @param capacity the new number of slots
+     */
+    private void allocate(int capacity) {
+        int old = state == null ? 0 : state.length;
+        health = grow(health, capacity);
+        sleep = grow(sleep, capacity);
+        fullness = grow(fullness, capacity);
+        happiness = grow(happiness, capacity);
+        maxHealth = grow(maxHealth, capacity);
+        maxSleep = grow(maxSleep, capacity);
+        maxFullness = grow(maxFullness, capacity);
+        maxHappiness = grow(maxHappiness, capacity);
+        sleepDecayRate = grow(sleepDecayRate, capacity);
+        fullnessDecayRate = grow(fullnessDecayRate, capacity);
+        happinessDecayRate = grow(happinessDecayRate, capacity);
+        state = state == null ? new byte[capacity] : Arrays.copyOf(state, capacity);
+        stateBeforeSleep = stateBeforeSleep == null ? new byte[capacity] : Arrays.copyOf(stateBeforeSleep, capacity);
+        hungerDraining = hungerDraining == null ? new boolean[capacity] : Arrays.copyOf(hungerDraining, capacity);
+        Arrays.fill(state, old, capacity, STATE_EMPTY);
+    }
+
+    /**
+     * Copies an int column into a larger array.
+     *
+     * @param column the existing column, or null if it has not been created yet
+     * @param capacity the new length
+     * @return the grown column
+     */
+    private static int[] grow(int[] column, int capacity) {
+        return column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+    }
+}
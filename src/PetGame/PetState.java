@@ -0,0 +1,92 @@
+package PetGame;
+
+/**
+ * <b>The states a pet can be in.</b>
+ * <p>
+ * Each state keeps the name it has always been saved and displayed with (e.g. "Hungry"), so save files
+ * written before states were an enum still load, and a one byte code used by {@link PetStatStore}.
+ * </p>
+ *
+ * @see PetGame.PetStateMachine
+ */
+public enum PetState {
+    /** The pet is fine and can do every action. */
+    NORMAL("Normal"),
+    /** The pet has run out of fullness and is losing health until it is fed. */
+    HUNGRY("Hungry"),
+    /** The pet has run out of happiness and will only play or take a gift. */
+    ANGRY("Angry"),
+    /** The pet is asleep and cannot do any action. */
+    SLEEPING("Sleeping"),
+    /** The pet has run out of health. */
+    DEAD("Dead");
+
+    /** Every state, indexed by its code, so looking one up does not copy {@code values()}. */
+    private static final PetState[] BY_CODE = values();
+
+    /** The name the state is displayed and saved with. */
+    private final String label;
+
+    /**
+     * Constructs a state with the name it is displayed and saved with.
+     *
+     * @param label the state's name
+     */
+    PetState(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the name the state is displayed and saved with.
+     *
+     * @return the state's name, e.g. "Sleeping"
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Gets the one byte code used to store the state in {@link PetStatStore}.
+     *
+     * @return the state's code
+     */
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+
+    /**
+     * Gets the state with the given code.
+     *
+     * @param code the state's code
+     * @return the matching state
+     */
+    public static PetState fromCode(byte code) {
+        return BY_CODE[code];
+    }
+
+    /**
+     * Gets the state with the given saved name.
+     *
+     * @param label the state's name, as written in a save file
+     * @return the matching state, or {@code null} if the name is not a known state
+     */
+    public static PetState fromLabel(String label) {
+        if (label == null) {
+            return null;
+        }
+        switch (label) {
+            case "Normal":
+                return NORMAL;
+            case "Hungry":
+                return HUNGRY;
+            case "Angry":
+                return ANGRY;
+            case "Sleeping":
+                return SLEEPING;
+            case "Dead":
+                return DEAD;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package PetGame;
+
+import java.util.function.Consumer;
+
+/**
+ * <b>State machine deciding how a pet moves between its {@link PetState}s.</b>
+ * <p>
+ * Transitions are looked up in a fixed table indexed by the current state and a {@link Trigger}, so checking
+ * a pet's state on every stat update is a single array access with no string comparisons. Entry and exit actions
+ * can be attached to each state, which {@link PetStatistics} uses to change the sprite and to start and stop
+ * the hunger drain.
+ * </p>
+ *
+ * @see PetGame.PetState
+ */
+public class PetStateMachine {
+
+    /**
+     * The events that can cause a pet to change state.
+     */
+    public enum Trigger {
+        /** Health has reached 0. */
+        HEALTH_DEPLETED,
+        /** Sleep has reached 0, so the pet falls asleep from exhaustion. */
+        SLEEP_DEPLETED,
+        /** Fullness has reached 0. */
+        FULLNESS_DEPLETED,
+        /** Happiness has reached 0. */
+        HAPPINESS_DEPLETED,
+        /** A hungry pet has some fullness again. */
+        FED,
+        /** An angry pet's happiness is back above half. */
+        CHEERED,
+        /** The player has put the pet to bed. */
+        GO_TO_BED,
+        /** A sleeping pet has fully recovered its sleep. */
+        WOKE
+    }
+
+    /** Number of states, used to size the per-state tables. */
+    private static final int STATE_COUNT = PetState.values().length;
+    /** Next state for each current state and trigger, or null if the trigger does not apply. */
+    private static final PetState[][] TRANSITIONS = new PetState[STATE_COUNT][Trigger.values().length];
+
+    static {
+        for (PetState state : PetState.values()) {
+            if (state != PetState.DEAD) {
+                transition(state, Trigger.HEALTH_DEPLETED, PetState.DEAD);
+            }
+        }
+        transition(PetState.NORMAL, Trigger.SLEEP_DEPLETED, PetState.SLEEPING);
+        transition(PetState.NORMAL, Trigger.FULLNESS_DEPLETED, PetState.HUNGRY);
+        transition(PetState.NORMAL, Trigger.HAPPINESS_DEPLETED, PetState.ANGRY);
+        transition(PetState.NORMAL, Trigger.GO_TO_BED, PetState.SLEEPING);
+
+        transition(PetState.HUNGRY, Trigger.SLEEP_DEPLETED, PetState.SLEEPING);
+        transition(PetState.HUNGRY, Trigger.HAPPINESS_DEPLETED, PetState.ANGRY);
+        transition(PetState.HUNGRY, Trigger.FED, PetState.NORMAL);
+        transition(PetState.HUNGRY, Trigger.GO_TO_BED, PetState.SLEEPING);
+
+        transition(PetState.ANGRY, Trigger.SLEEP_DEPLETED, PetState.SLEEPING);
+        transition(PetState.ANGRY, Trigger.FULLNESS_DEPLETED, PetState.HUNGRY);
+        transition(PetState.ANGRY, Trigger.CHEERED, PetState.NORMAL);
+
+        transition(PetState.SLEEPING, Trigger.WOKE, PetState.NORMAL);
+    }
+
+    /** Actions run when a state is entered, indexed by state */
+    private final Runnable[] entryActions = new Runnable[STATE_COUNT];
+    /** Actions run when a state is left, indexed by state */
+    private final Runnable[] exitActions = new Runnable[STATE_COUNT];
+    /** Called with the new state after every change, before the entry action */
+    private Consumer<PetState> onChange;
+    /** The state the pet is currently in */
+    private PetState current;
+
+    /**
+     * Constructs a state machine starting in the given state. No entry action is run for the starting state.
+     *
+     * @param initial the starting state
+     */
+    public PetStateMachine(PetState initial) {
+        this.current = initial;
+    }
+
+    /**
+     * Adds an entry to the transition table.
+     *
+     * @param from the current state
+     * @param trigger the event
+     * @param to the state to move to
+     */
+    private static void transition(PetState from, Trigger trigger, PetState to) {
+        TRANSITIONS[from.ordinal()][trigger.ordinal()] = to;
+    }
+
+    /**
+     * Looks up the state a trigger leads to without changing anything.
+     *
+     * @param from the current state
+     * @param trigger the event
+     * @return the next state, or {@code null} if the trigger does not apply in that state
+     */
+    public static PetState next(PetState from, Trigger trigger) {
+        return TRANSITIONS[from.ordinal()][trigger.ordinal()];
+    }
+
+    /**
+     * Applies a trigger to the current state, moving to the next state if the transition table allows it.
+     *
+     * @param trigger the event that happened
+     * @return true if the state changed
+     */
+    public boolean fire(Trigger trigger) {
+        PetState next = TRANSITIONS[current.ordinal()][trigger.ordinal()];
+        if (next == null) {
+            return false;
+        }
+        transitionTo(next);
+        return true;
+    }
+
+    /**
+     * Moves straight to a state, running the exit action of the current state and the entry action of the new one.
+     * Used when the state is chosen by something other than the transition table, e.g. a pet waking up hungry.
+     *
+     * @param next the state to move to
+     */
+    public void transitionTo(PetState next) {
+        if (next == current) {
+            return;
+        }
+        Runnable exit = exitActions[current.ordinal()];
+        if (exit != null) {
+            exit.run();
+        }
+        FlightEvents.StateChange event = new FlightEvents.StateChange();
+        if (event.shouldCommit()) {
+            event.from = current.getLabel();
+            event.to = next.getLabel();
+            event.slot = -1;
+            event.commit();
+        }
+        current = next;
+        if (onChange != null) {
+            onChange.accept(next);
+        }
+        Runnable entry = entryActions[next.ordinal()];
+        if (entry != null) {
+            entry.run();
+        }
+    }
+
+    /**
+     * Sets the current state without running any actions, e.g. when restoring a saved pet.
+     *
+     * @param state the new current state
+     */
+    public void setState(PetState state) {
+        this.current = state;
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return the current state
+     */
+    public PetState getState() {
+        return current;
+    }
+
+    /**
+     * Sets the action run whenever the given state is entered.
+     *
+     * @param state the state
+     * @param action the action to run
+     */
+    public void onEnter(PetState state, Runnable action) {
+        entryActions[state.ordinal()] = action;
+    }
+
+    /**
+     * Sets the action run whenever the given state is left.
+     *
+     * @param state the state
+     * @param action the action to run
+     */
+    public void onExit(PetState state, Runnable action) {
+        exitActions[state.ordinal()] = action;
+    }
+
+    /**
+     * Sets a listener called with the new state after every change.
+     *
+     * @param onChange the listener
+     */
+    public void setOnChange(Consumer<PetState> onChange) {
+        this.onChange = onChange;
+    }
+}
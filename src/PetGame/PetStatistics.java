@@ -1,14 +1,12 @@
 
 package PetGame;
-import javafx.animation.KeyFrame;
-import javafx.scene.image.Image;
 import javafx.animation.Timeline;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.StringProperty;
 import javafx.scene.image.ImageView;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.util.Duration;
+import javafx.beans.value.ChangeListener;
 /**
  * The {@code PetStatistics} class manages the core stats of a pet: health,
  * sleep, fullness, and happiness. These stats automatically decay over time,
@@ -17,11 +15,20 @@ import javafx.util.Duration;
  * It uses JavaFX properties for real-time binding with the UI and manages pet state transitions,
  * including reactions like hunger, anger, sleep, and death.
  * </p>
+ * <p>
+ * The pet is simulated by a one-slot {@link PetStatStore}, the same code used when many pets are simulated at once,
+ * which is advanced by the shared {@link SimulationEngine}. After every step the slot is copied into this object's
+ * properties with {@link PetStatStore#publish(int, PetStats)}, and this class only turns the resulting state changes
+ * into sprites and status messages. Changes made directly to the properties, e.g. when loading a save, are written
+ * back to the slot. The stats can also be advanced without the JavaFX toolkit (e.g. in tests), in which case
+ * {@code game} and {@code pet} may be {@code null}.
+ * </p>
  *
  * @author Ishaan Misra
  * @author Muhammad Shayaan Ali
  */
-public class PetStatistics {
+public class PetStatistics implements PetStats, Tickable {
+    private static final Log LOG = Log.getInstance();
     /** Represents the pet's current health as a JavaFX property for UI binding. */
     public IntegerProperty health;
     /** Represents the pet's current sleep level as a JavaFX property for UI binding. */
@@ -32,6 +39,14 @@ public class PetStatistics {
     public IntegerProperty happiness;
     /** Represents the pet's current state (e.g., Normal, Angry, Hungry) as a JavaFX property. */
     public StringProperty state;
+    /** State machine holding the pet's current {@link PetState}, kept in sync with {@link #state}. */
+    private final PetStateMachine stateMachine = new PetStateMachine(PetState.NORMAL);
+    /** Store that simulates this pet; the properties are a view of its only slot. */
+    private final PetStatStore store = new PetStatStore(1);
+    /** The pet's slot in {@link #store}. */
+    private final int slot;
+    /** True while the store is being copied into the properties, so the copy is not written back. */
+    private boolean publishing = false;
     /** The maximum health value the pet can reach. */
     private final int maxHealth;
     /** The maximum sleep value the pet can reach. */
@@ -52,12 +67,8 @@ public class PetStatistics {
     private Timeline flipping;
     /** Reference to the pet associated with this statistics tracker. */
     private Pet pet;
-    /** Indicates whether the pet has already received a penalty for staying awake too long. */
-    private boolean sleepPenaltyApplied = false;
-    /** Tracks whether the pet is currently sleeping to manage state transitions. */
-    private boolean isSleeping = false;
-    /** Timeline for the automatic stat decay */
-    transient Timeline decayTimer;
+    /** Told about every stat and state change, e.g. by the {@link GameJournal}. */
+    private PetStats.Listener listener;
     /**
      * The constructor. It constructs a {@code PetStatistics} object with given max values and decay rates.
      * @param maxHealth max health value
@@ -83,28 +94,110 @@ public class PetStatistics {
         this.game = game;
         this.flipping = flipping;
         this.pet = pet;
+        this.slot = store.add(maxHealth, maxSleep, maxFullness, maxHappiness, sleepDecayRate, fullnessDecayRate, happinessDecayRate);
         this.health = new SimpleIntegerProperty(maxHealth);
         this.sleep = new SimpleIntegerProperty(maxSleep);
         this.fullness = new SimpleIntegerProperty(maxFullness);
         this.happiness = new SimpleIntegerProperty(maxHappiness);
-        this.state = new SimpleStringProperty("Normal");
+        this.state = new SimpleStringProperty(PetState.NORMAL.getLabel());
+        /** The state property stays the source for bindings and saves, the state machine and store follow it */
+        this.state.addListener((observable, oldState, newState) -> {
+            PetState known = PetState.fromLabel(newState);
+            stateMachine.setState(known == null ? PetState.NORMAL : known);
+            if (!publishing) {
+                store.setState(slot, stateMachine.getState().getCode());
+            }
+        });
+        stateMachine.setOnChange(next -> state.set(next.getLabel()));
+        ChangeListener<Number> statsListener = (observable, oldValue, newValue) -> {
+            if (!publishing) {
+                store.setStatistics(slot, getHealth(), getSleep(), getFullness(), getHappiness());
+            }
+            if (listener != null) {
+                listener.statsChanged();
+            }
+        };
+        this.health.addListener(statsListener);
+        this.sleep.addListener(statsListener);
+        this.fullness.addListener(statsListener);
+        this.happiness.addListener(statsListener);
+        this.state.addListener((observable, oldState, newState) -> {
+            if (listener != null) {
+                listener.stateChanged(newState);
+            }
+        });
+        setUpStateActions();
         /** Starting automatic stat decay */
         startStatDecay();
     }
+
     /**
-     * Starts a periodic stat decay system that decreases stats over time.
+     * Attaches the sprite changes to the state machine's entry and exit actions.
      */
-    private void startStatDecay() {
-        decayTimer = new Timeline(new KeyFrame(Duration.seconds(5), event -> {
-            if (state.get().equals("Sleeping")) { /** If the pet is in any state other than sleeping, decay the stats except health */
-                updateStatistics(0, 0, -fullnessDecayRate, -happinessDecayRate);
+    private void setUpStateActions() {
+        stateMachine.onEnter(PetState.NORMAL, () -> {
+            if (pet != null) {
+                changeImage(pet.getRegularImage(), pet.getFlippedImage());
+            }
+        });
+        stateMachine.onEnter(PetState.HUNGRY, () -> {
+            if (pet != null) {
+                changeImage(pet.getHungryImage(), pet.getHungryFImage());
+            }
+        });
+        stateMachine.onEnter(PetState.ANGRY, () -> {
+            if (pet != null) {
+                changeImage(pet.getAngryImage(), pet.getAngryFImage());
+            }
+        });
+        stateMachine.onEnter(PetState.SLEEPING, () -> {
+            if (pet != null) {
+                changeImage(pet.getSleepImage(), "");
+            }
+        });
+        stateMachine.onExit(PetState.SLEEPING, () -> {
+            if (flipping != null) {
+                flipping.play();
             }
-            else {
-                updateStatistics(0, -sleepDecayRate, -fullnessDecayRate, -happinessDecayRate);
+        });
+        stateMachine.onEnter(PetState.DEAD, () -> {
+            stopStatDecay();
+            if (pet != null) {
+                changeImage(pet.getDeadImage(), "");
             }
-        }));
-        decayTimer.setCycleCount(Timeline.INDEFINITE);
-        decayTimer.play();
+        });
+    }
+    /**
+     * Starts the periodic stat decay by registering these stats with the {@link SimulationEngine}.
+     */
+    private void startStatDecay() {
+        SimulationEngine.getInstance().register(this);
+    }
+
+    /**
+     * Stops all automatic stat changes for this pet, e.g. when leaving the game screen or when the pet dies.
+     */
+    public void stopStatDecay() {
+        SimulationEngine.getInstance().unregister(this);
+    }
+
+    /**
+     * Advances the pet by one simulation step in its store and shows the result. Stats decay every
+     * {@link #DECAY_PERIOD_TICKS} steps, a hungry pet loses health and happiness on the same steps, and a sleeping pet
+     * recovers sleep every {@link #SLEEP_RECOVERY_PERIOD_TICKS} steps.
+     *
+     * @param tick the number of the current simulation step
+     */
+    @Override
+    public void tick(long tick) {
+        if (stateMachine.getState() == PetState.DEAD) {
+            return;
+        }
+        store.tick(tick);
+        show();
+        if (tick % DECAY_PERIOD_TICKS == 0) {
+            warnLowStats();
+        }
     }
     /**
      * Updates all pet stats with the specified change values.
@@ -115,160 +208,107 @@ public class PetStatistics {
      * @param happinessChange amount to change happiness
      */
     public void updateStatistics(int healthChange, int sleepChange, int fullnessChange, int happinessChange) {
-        health.set(validateStat(health.get() + healthChange, maxHealth));
-        sleep.set(validateStat(sleep.get() + sleepChange, maxSleep));
-        fullness.set(validateStat(fullness.get() + fullnessChange, maxFullness));
-        happiness.set(validateStat(happiness.get() + happinessChange, maxHappiness));
-        checkWarnings();
-    }
-    /** 
-    * Timeline used to gradually restore the pet's sleep stat while it is in the "Sleeping" state. 
-    * This timeline runs independently until the sleep stat reaches its maximum value.
-    */
-    private Timeline sleepRecovery;
+        store.updateStatistics(slot, healthChange, sleepChange, fullnessChange, happinessChange);
+        show();
+        warnLowStats();
+    }
     /**
-    * Checks if any statistics have dropped below critical levels and changes the pet's state accordingly.
-    */
-    private void checkWarnings() {
-        if (getHealth() == 0) {
-            game.statusTextArea.setText("Your pet has died. Please go to Main Menu and make a new or load a game.\n");
-            if (sleepRecovery != null && sleepRecovery.getStatus() == Timeline.Status.RUNNING) {
-                sleepRecovery.stop();
-            }
-            changeState("Dead");
-            decayTimer.stop();
-            hungerDecayTimer.stop();
-            String dead = pet.getDeadImage();
-            changeImage(dead, "");
-            return;
-        } 
-        if (getState().equals("Sleeping")) {
+     * Sets all four stats at once, e.g. to show a pet simulated elsewhere. The state is left as it is and no
+     * warnings are shown.
+     *
+     * @param health the new health
+     * @param sleep the new sleep
+     * @param fullness the new fullness
+     * @param happiness the new happiness
+     */
+    public void setStatistics(int health, int sleep, int fullness, int happiness) {
+        this.health.set(health);
+        this.sleep.set(sleep);
+        this.fullness.set(fullness);
+        this.happiness.set(happiness);
+    }
+    /**
+     * Sets the listener told about each change to the stats and state.
+     *
+     * @param listener the listener, or null for none
+     */
+    public void setListener(PetStats.Listener listener) {
+        this.listener = listener;
+    }
+    /**
+     * Copies the pet's slot into the properties and tells the player about any change of state the store made.
+     */
+    private void show() {
+        PetState before = stateMachine.getState();
+        publishing = true;
+        try {
+            store.publish(slot, this);
+        }
+        finally {
+            publishing = false;
+        }
+        PetState after = stateMachine.getState();
+        if (after == before) {
             return;
         }
-        else if (getSleep() == 0) {
-            if (!isSleeping) {
-                isSleeping = true;
-                sleepRecover();
-            }
-        }  
-        else if (getFullness() == 0) {
-            if (!state.get().equals("Hungry")) {
-                changeState("Hungry");
-                game.statusTextArea.setText("Your pet is hungry, please feed it.\n");
-                changeImage(pet.getHungryImage(), pet.getHungryFImage());
-                startHungerDecay();
+        if (after == PetState.DEAD) {
+            showStatus("Your pet has died. Please go to Main Menu and make a new or load a game.\n");
+        }
+        else if (after == PetState.SLEEPING) {
+            if (game != null) {
+                game.statusTextArea.appendText("Pet is going into sleep");
             }
-            
-        } 
-        else if (getHappiness() == 0) {
-            changeState("Angry");
-            game.statusTextArea.setText("Your pet is angry, please play with it to make it happy.\n");
-            changeImage(pet.getAngryImage(), pet.getAngryFImage());
         }
-        else if (getState().equals("Hungry") && getFullness() > 0) {
-            changeState("Normal");
-            game.statusTextArea.setText("Your pet is no longer hungry.\n");
-            changeImage(pet.getRegularImage(), pet.getFlippedImage());
-            stopHungerDecay();
+        else if (before == PetState.SLEEPING) {
+            showStatus("Your pet has woken up.\n");
+        }
+        else if (after == PetState.HUNGRY) {
+            showStatus("Your pet is hungry, please feed it.\n");
+        }
+        else if (after == PetState.ANGRY) {
+            showStatus("Your pet is angry, please play with it to make it happy.\n");
         }
-        else if (getState().equals("Angry") && getHappiness() > maxHappiness / 2) {
-            changeState("Normal");
-            System.out.println("Stuff");
-            game.statusTextArea.setText("Your pet is no longer angry.\n");
-            changeImage(pet.getRegularImage(), pet.getFlippedImage());
+        else if (before == PetState.HUNGRY) {
+            showStatus("Your pet is no longer hungry.\n");
+        }
+        else if (before == PetState.ANGRY) {
+            LOG.info("pet.cheeredUp", "happiness", getHappiness(), "maxHappiness", maxHappiness);
+            showStatus("Your pet is no longer angry.\n");
+        }
+    }
+    /**
+    * Warns the player about any stat that has dropped below a quarter of its max, unless the pet is asleep or dead.
+    */
+    private void warnLowStats() {
+        PetState current = stateMachine.getState();
+        if (current == PetState.SLEEPING || current == PetState.DEAD) {
+            return;
         }
-        /** Checking warnings for low stats */
         if(getHealth() < maxHealth * 0.25) {
-            game.statusTextArea.setText("Warning: Low Health!\n");
+            showStatus("Warning: Low Health!\n");
         }
         if(getSleep() < maxSleep * 0.25) {
-            game.statusTextArea.setText("Warning: Low Sleep!\n");
+            showStatus("Warning: Low Sleep!\n");
         }
         if(getFullness() < maxFullness * 0.25) {
-            game.statusTextArea.setText("Warning: Low Fullness!\n");
+            showStatus("Warning: Low Fullness!\n");
         }
         if(getHappiness() < maxHappiness * 0.25) {
-            game.statusTextArea.setText("Warning: Low Happiness!\n");
+            showStatus("Warning: Low Happiness!\n");
         }
     }
-    /** 
-    * Timeline that triggers periodic health and happiness loss when the pet is in a hungry state. 
-    * It continues running until the pet is fed.
-    */
-    private Timeline hungerDecayTimer;
-    /**
-     * Starts a timeline that reduces health and happiness while pet is hungry.
-     */
-    private void startHungerDecay() {
-        hungerDecayTimer = new Timeline(new KeyFrame(Duration.seconds(5), event -> {
-            if (getFullness() == 0) {
-                updateStatistics(-5, 0, 0, -(int)(happinessDecayRate + happinessDecayRate * 0.5));
-            }
-        }));
-        hungerDecayTimer.setCycleCount(Timeline.INDEFINITE);
-        hungerDecayTimer.play();
-    }
-    /**
-     * Stops the hunger decay timeline if it's running.
-     */
-    private void stopHungerDecay() {
-        if (hungerDecayTimer != null) {
-            hungerDecayTimer.stop();
-        }
-    }
-    /** 
-    * Flag indicating whether the pet was hungry before it went to sleep. 
-    * Used to restore the correct state after waking up.
-    */
-    private boolean isHungryDuringSleep = false;
-    /** 
-    * Flag indicating whether the pet was angry before it went to sleep. 
-    * Used to restore the correct state after waking up.
-    */
-    private boolean isAngryDuringSleep = false;
+
     /**
-     * Initiates pet sleep behavior to restore sleep stat and transition back to normal state.
+     * Displays a message in the game's status area, if there is a game screen to show it on.
+     *
+     * @param message the message to display
      */
-    private void sleepRecover() {
-        isHungryDuringSleep = getState().equals("Hungry");
-        isAngryDuringSleep = getState().equals("Angry");
-        changeState("Sleeping");
-        game.statusTextArea.appendText("Pet is going into sleep");
-        if (!sleepPenaltyApplied) {
-            sleepPenaltyApplied = true;
-            updateStatistics(-10, 0, 0, 0);
+    private void showStatus(String message) {
+        if (game != null) {
+            game.statusTextArea.setText(message);
         }
-        String sleepSprite = pet.getSleepImage();
-        /** Keeping the pet in sleep mode until health reaches max */
-        sleepRecovery = new Timeline(new KeyFrame(Duration.seconds(3), event -> {
-            changeImage(sleepSprite, "");
-            if (getSleep() < maxSleep) {
-                sleep.set(validateStat(sleep.get() + 12, maxSleep));
-            }
-            /** When fully restored, wake up the pet */
-            if (getSleep() >= maxSleep) {
-                isSleeping = false;
-                sleepPenaltyApplied = false;
-                sleepRecovery.stop();
-                if (isHungryDuringSleep) {
-                    changeState("Hungry");
-                    changeImage(pet.getHungryImage(), pet.getHungryFImage());
-                }
-                else if (isAngryDuringSleep) {
-                    changeState("Angry");
-                    changeImage(pet.getAngryImage(), pet.getAngryFImage());
-                }
-                else {
-                    changeState("Normal");
-                    changeImage(pet.getRegularImage(), pet.getFlippedImage());
-                }
-                flipping.play();
-                game.statusTextArea.setText("Your pet has woken up.\n");
-            }
-        }));
-        sleepRecovery.setCycleCount(Timeline.INDEFINITE);
-        sleepRecovery.play();
     }
+
     /**
      * Sets the appropriate pet image based on current state
      *
@@ -276,23 +316,52 @@ public class PetStatistics {
      * @param flipped alternate (flipped) image path
      */
     public void changeImage(String image, String flipped) {
-        if (getState().equals("Dead") || getState().equals("Sleeping")) {
-            flipping.stop();
-            game.petImageView.setImage(new Image(getClass().getResource(image).toExternalForm()));
+        if (game == null) {
+            return;
+        }
+        PetState current = stateMachine.getState();
+        if (current == PetState.DEAD || current == PetState.SLEEPING) {
+            if (flipping != null) {
+                flipping.stop();
+            }
+            game.showSprite(image);
         }
         else {
             game.flippedImage = flipped;
             game.regularImage = image;
-            game.petImageView.setImage(new Image(getClass().getResource(image).toExternalForm()));
+            game.showSprite(image);
         }
     }
-     /**
-     * Changes the pet's state dynamically.
+    /**
+     * Changes the pet's state dynamically, running the state's entry and exit actions.
      *
      * @param newState The new state of the pet
      */
+    public void changeState(PetState newState) {
+        if (publishing) {
+            if (newState == stateMachine.getState()) {
+                return; /** keeps a state name that is not a known PetState until the store moves on */
+            }
+        }
+        else {
+            store.setState(slot, newState.getCode());
+        }
+        stateMachine.transitionTo(newState);
+        state.set(newState.getLabel()); /** also replaces a state name that is not a known PetState */
+    }
+    /**
+     * Changes the pet's state dynamically from its saved name.
+     * Names that are not a known {@link PetState} are kept as they are for display and saving.
+     *
+     * @param newState The name of the new state of the pet
+     */
     public void changeState(String newState) {
-        state.set(newState);
+        PetState known = PetState.fromLabel(newState);
+        if (known == null) {
+            state.set(newState);
+            return;
+        }
+        changeState(known);
     }
     /**
      * Ensures that stats remain within valid ranges.
@@ -302,7 +371,7 @@ public class PetStatistics {
      * @return A valid stat value within the allowed range
      */
     public int validateStat(int value, int max) {
-        return Math.max(0, Math.min(max, value));
+        return PetStatStore.clamp(value, max);
     }
     /**
      * Gets the current health value of the pet.
@@ -344,6 +413,14 @@ public class PetStatistics {
     public String getState() {
         return state.get();
     }
+    /**
+     * Gets the current state of the pet as a {@link PetState}, without any string comparisons.
+     * 
+     * @return the pet's current state
+     */
+    public PetState getPetState() {
+        return stateMachine.getState();
+    }
     /**
      * Gets the JavaFX property for health, allowing UI bindings.
      * 
@@ -413,4 +490,25 @@ public class PetStatistics {
     public int getMaxHappiness() {
         return maxHappiness;
     }
-}
\ No newline at end of file
+    /**
+    * Returns how much sleep the pet loses on each decay step
+    * @return the sleep decay rate
+    */
+    public int getSleepDecayRate() {
+        return sleepDecayRate;
+    }
+    /**
+    * Returns how much fullness the pet loses on each decay step
+    * @return the fullness decay rate
+    */
+    public int getFullnessDecayRate() {
+        return fullnessDecayRate;
+    }
+    /**
+    * Returns how much happiness the pet loses on each decay step
+    * @return the happiness decay rate
+    */
+    public int getHappinessDecayRate() {
+        return happinessDecayRate;
+    }
+}
@@ -0,0 +1,113 @@
+package PetGame;
+
+/**
+ * <b>The stats of a single pet, as seen by the game model.</b>
+ * <p>
+ * Items, the offline catch up and the save files only need to read and change a pet's stats, so they work with this
+ * interface rather than with {@link PetStatistics}, whose JavaFX properties and sprite changes belong to the UI. This
+ * keeps the model and the persistence code free of JavaFX, e.g. for the headless {@link PetServer}.
+ * </p>
+ * <p>
+ * The timings for how often stats decay and recover are kept here. {@link PetStatStore} applies them, including for the
+ * pet on screen, whose {@link PetStatistics} is backed by a store slot.
+ * </p>
+ *
+ * @see PetGame.PetStatistics
+ */
+public interface PetStats {
+    /** Number of simulation steps between each stat decay and hunger drain. */
+    int DECAY_PERIOD_TICKS = 5;
+    /** Number of simulation steps between each sleep recovery while the pet is asleep. */
+    int SLEEP_RECOVERY_PERIOD_TICKS = 3;
+    /** Amount of sleep restored on each sleep recovery step. */
+    int SLEEP_RECOVERY_AMOUNT = 12;
+    /** Amount of health lost on each hunger drain step. */
+    int HUNGER_HEALTH_LOSS = 5;
+
+    /**
+     * Told about every change to a pet's stats and state.
+     */
+    interface Listener {
+        /**
+         * Called after one of the stats has changed.
+         */
+        void statsChanged();
+
+        /**
+         * Called after the pet's state has changed.
+         *
+         * @param state the name of the new state
+         */
+        void stateChanged(String state);
+    }
+
+    /**
+     * Changes the stats by the given amounts, keeping them within their limits, and updates the pet's state to match.
+     *
+     * @param healthChange the change in health
+     * @param sleepChange the change in sleep
+     * @param fullnessChange the change in fullness
+     * @param happinessChange the change in happiness
+     */
+    void updateStatistics(int healthChange, int sleepChange, int fullnessChange, int happinessChange);
+
+    /**
+     * Sets the stats to the given values as they are, without changing the pet's state.
+     *
+     * @param health the new health
+     * @param sleep the new sleep
+     * @param fullness the new fullness
+     * @param happiness the new happiness
+     */
+    void setStatistics(int health, int sleep, int fullness, int happiness);
+
+    /**
+     * Moves the pet to a new state, running whatever goes with entering it.
+     *
+     * @param newState the new state
+     */
+    void changeState(PetState newState);
+
+    /**
+     * Sets the listener told about changes to the stats and state, replacing any earlier one.
+     *
+     * @param listener the listener, or null for none
+     */
+    void setListener(Listener listener);
+
+    int getHealth();
+
+    int getSleep();
+
+    int getFullness();
+
+    int getHappiness();
+
+    /**
+     * Gets the name of the pet's state, as it is saved.
+     *
+     * @return the state name, e.g. {@code Normal}
+     */
+    String getState();
+
+    /**
+     * Gets the pet's state.
+     *
+     * @return the state
+     */
+    PetState getPetState();
+
+    int getMaxHealth();
+
+    int getMaxSleep();
+
+    int getMaxFullness();
+
+    int getMaxHappiness();
+
+    int getSleepDecayRate();
+
+    int getFullnessDecayRate();
+
+    int getHappinessDecayRate();
+}
@@ -0,0 +1,70 @@
+package PetGame;
+
+/**
+ * <b>The kinds of pet a player can choose, with their maximum stats and decay rates.</b>
+ * <p>
+ * The numbers are the ones saved as {@code petType}. The values are plain data so both the game screen, which wraps
+ * them in a {@link PetStatistics}, and the headless {@link PetServer}, which stores them in a {@link PetStatStore},
+ * use the same pets.
+ * </p>
+ *
+ * @see PetGame.Game
+ */
+public enum PetType {
+    /** Loses sleep quickly but starts with the most happiness */
+    ENERGETIC(1, "Energetic", 90, 75, 80, 100, 6, 3, 4),
+    /** Every stat the same */
+    BALANCED(2, "Balanced", 85, 85, 85, 85, 3, 3, 3),
+    /** Sleeps well but has little health and loses happiness quickly */
+    LAZY(3, "Lazy", 50, 100, 70, 80, 2, 3, 5);
+
+    /** The number saved as {@code petType} */
+    public final int number;
+    /** The name shown for the type */
+    public final String label;
+    public final int maxHealth;
+    public final int maxSleep;
+    public final int maxFullness;
+    public final int maxHappiness;
+    public final int sleepDecayRate;
+    public final int fullnessDecayRate;
+    public final int happinessDecayRate;
+
+    PetType(int number, String label, int maxHealth, int maxSleep, int maxFullness, int maxHappiness,
+            int sleepDecayRate, int fullnessDecayRate, int happinessDecayRate) {
+        this.number = number;
+        this.label = label;
+        this.maxHealth = maxHealth;
+        this.maxSleep = maxSleep;
+        this.maxFullness = maxFullness;
+        this.maxHappiness = maxHappiness;
+        this.sleepDecayRate = sleepDecayRate;
+        this.fullnessDecayRate = fullnessDecayRate;
+        this.happinessDecayRate = happinessDecayRate;
+    }
+
+    /**
+     * Gets the type saved with a number.
+     *
+     * @param number the saved {@code petType}
+     * @return the type, or null if no type has that number
+     */
+    public static PetType fromNumber(int number) {
+        for (PetType type : values()) {
+            if (type.number == number) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a pet of this type with full stats to a store.
+     *
+     * @param store the store to add the pet to
+     * @return the pet's slot
+     */
+    public int addTo(PetStatStore store) {
+        return store.add(maxHealth, maxSleep, maxFullness, maxHappiness, sleepDecayRate, fullnessDecayRate, happinessDecayRate);
+    }
+}
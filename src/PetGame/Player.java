@@ -1,20 +1,34 @@
 package PetGame;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * <b>Represents the player in the game.</b>
  * <p>
  * Manages the player's attributes such as score, coins, and inventory.
  * </p>
+ * <p>
+ * Coins are held in a {@link CoinLedger}, which keeps the balance in exact minor units and records every change.
+ * The methods here take and return whole coins as {@code double} values for the screens that show them.
+ * </p>
  * 
  * @author Julia Kasperek
  */
 public class Player {
+    private static final Log LOG = Log.getInstance();
+    /** The score needed for each coin reward. */
+    public static final int SCORE_PER_REWARD = 100;
+    /** The coins paid for each {@value #SCORE_PER_REWARD} score. */
+    public static final int COINS_PER_REWARD = 25;
+
     // The player's score.
     public PlayerScore score;
-    // The player's coin balance.
-    protected double playerCoins;
+    // The player's coin balance and its history.
+    protected final CoinLedger ledger;
     // The player's inventory.
     public Inventory inventory;
+    // The number of score milestones already paid out in coins, so none is paid twice.
+    private final AtomicInteger rewardedMilestones = new AtomicInteger();
     
     /**
     * Constructs a {@code Player} object with a specified amount of starting coins.
@@ -27,7 +41,7 @@ public class Player {
     */
     public Player(double playerCoins) {
         this.score = new PlayerScore();
-        this.playerCoins = playerCoins;
+        this.ledger = new CoinLedger(CoinLedger.toMinor(playerCoins));
         this.inventory = new Inventory();
     }
     
@@ -37,32 +51,42 @@ public class Player {
     * @param amount The amount of coins to add to the player's balance.
     */
     public void addCoins(double amount) {
-        this.playerCoins += amount;
+        ledger.credit(CoinLedger.toMinor(amount), "Coins added");
     }
 
     /**
     * Subtracts a specified amount of coins from the player's coins balance.
     * <p>
-    * If the player does not have enough coins, it will print a warning message.
+    * If the player does not have enough coins, it will print a warning message and the balance does not change.
     * </p>
     *
     * @param amount The amount of coins to subtract from the player's balance.
     */
     public void subtractCoins(double amount) {
-        if (playerCoins >= amount) {
-            this.playerCoins -= amount;
-        } else {
-            System.out.println("Not enough coins.");
+        if (!ledger.tryDebit(CoinLedger.toMinor(amount), "Coins spent")) {
+            LOG.info("coins.notEnough", "amount", amount, "balance", getCoins());
         }
     }
 
+    /**
+    * Spends coins in one step, checking and deducting the balance together so that two purchases can never spend
+    * the same coins.
+    *
+    * @param amount The amount of coins to spend.
+    * @param reason What the coins were spent on, recorded in the ledger.
+    * @throws NotEnoughCoinsException If the player does not have enough coins, in which case nothing is spent.
+    */
+    public void spendCoins(double amount, String reason) throws NotEnoughCoinsException {
+        ledger.debit(CoinLedger.toMinor(amount), reason);
+    }
+
     /**
     * Get the current amount of coins that the player has.
     *
     *@return The player's current coin balance
     */
     public double getCoins() {
-        return playerCoins;
+        return CoinLedger.toCoins(ledger.getBalance());
     }
 
     /**
@@ -71,8 +95,46 @@ public class Player {
      * @param amount The new coin balance for the player.
      */
     public void setCoins(double amount) {
-        this.playerCoins = amount;
+        ledger.set(CoinLedger.toMinor(amount), "Balance set");
+    }
+
+    /**
+     * Gets the ledger holding the player's coins.
+     * 
+     * @return The player's {@code CoinLedger}.
+     */
+    public CoinLedger getLedger() {
+        return ledger;
+    }
+
+    /**
+     * Pays {@value #COINS_PER_REWARD} coins for every {@value #SCORE_PER_REWARD} score reached that has not been
+     * paid yet. The milestones already paid are claimed with a compare-and-set before the coins are credited, so a
+     * score that drops and rises again, or two score updates at once, never pay the same milestone twice.
+     * 
+     * @return The number of coins paid, 0 if no new milestone was reached.
+     */
+    public int payScoreRewards() {
+        int reached = Math.max(0, score.getScore()) / SCORE_PER_REWARD;
+        int paid = rewardedMilestones.get();
+        while (reached > paid) {
+            if (rewardedMilestones.compareAndSet(paid, reached)) {
+                int coins = (reached - paid) * COINS_PER_REWARD;
+                ledger.credit(CoinLedger.toMinor(coins), "Score reached " + reached * SCORE_PER_REWARD);
+                return coins;
+            }
+            paid = rewardedMilestones.get();
+        }
+        return 0;
+    }
 
+    /**
+     * Marks the coins for a score as already paid, e.g. when a saved game is loaded with the coins it had earned.
+     * 
+     * @param score The score whose milestones have been paid.
+     */
+    public void markScoreRewarded(int score) {
+        rewardedMilestones.set(Math.max(0, score) / SCORE_PER_REWARD);
     }
 
     /**
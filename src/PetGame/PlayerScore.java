@@ -1,5 +1,7 @@
 package PetGame;
 
+import java.util.function.IntConsumer;
+
 /**
  * <b>Manages the player's score.</b>
  * <p>
@@ -12,6 +14,8 @@ package PetGame;
 public class PlayerScore {
     // The player's score.
     public int score;
+    // Told the new score after every change, e.g. by a GameJournal.
+    private IntConsumer onChange;
 
     /**
      * Constructs a {@code PlayerScore} object with an initial score of 0.
@@ -27,6 +31,7 @@ public class PlayerScore {
      */
     public void increaseScore(int value) {
         score += value;
+        changed();
     }
 
     /**
@@ -36,6 +41,7 @@ public class PlayerScore {
      */
     public void decreaseScore(int value) {
         score = Math.max(0, score - value);
+        changed();
     }
 
     /**
@@ -43,6 +49,7 @@ public class PlayerScore {
      */
     public void resetScore() {
         this.score = 0;
+        changed();
     }
 
     /**
@@ -61,5 +68,24 @@ public class PlayerScore {
      */
     public void setScore(int score) {
         this.score = score;
+        changed();
+    }
+
+    /**
+     * Sets the action told the new score after every change, replacing any earlier one.
+     * 
+     * @param onChange the action to run, or null for none
+     */
+    public void setOnChange(IntConsumer onChange) {
+        this.onChange = onChange;
+    }
+
+    /**
+     * Tells the change action the current score.
+     */
+    private void changed() {
+        if (onChange != null) {
+            onChange.accept(score);
+        }
     }
 }
@@ -0,0 +1,98 @@
+package PetGame;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalTime;
+
+import com.google.gson.Gson;
+
+/**
+ * The {@code PlaytimeLimits} class holds the parental control restriction, the hours during which the game cannot
+ * be played, and saves it across sessions in the `limitations.json` file.
+ * <p>
+ * The {@code Limitations} screen lets parents change these settings. They are kept apart from it so the check can
+ * be made without the JavaFX UI.
+ * </p>
+ *
+ * @author Ishaan Misra
+ */
+public class PlaytimeLimits {
+    private static final Log LOG = Log.getInstance();
+
+    /** Indicates whether the playtime limitation feature is enabled. */
+    public static boolean enabled = false;
+
+    /** The hour (in 24-hour format) when playtime restrictions start. */
+    public static int startHour = 0; 
+
+    /** The hour (in 24-hour format) when playtime restrictions end. */
+    public static int endHour = 0;    
+
+    /** The filename used to persist limitation settings in JSON format. */
+    private static final String FILE_NAME = "limitations.json";
+
+    /**
+     * Returns true if the current time falls within the blocked range.
+     *
+     * @return true if access is currently restricted
+     */
+    public static boolean isBlockedTimeNow() {
+        if(!enabled) return false;
+
+        LocalTime now = LocalTime.now();
+        LocalTime start = LocalTime.of(startHour, 0);
+        LocalTime end = LocalTime.of(endHour, 0);
+
+        if(startHour < endHour) {
+            return now.isAfter(start) && now.isBefore(end);
+        } 
+        else {
+            return now.isAfter(start) || now.isBefore(end);
+        }
+    }
+
+    /**
+     * Loads the saved limitation settings from disk.
+     */
+    public static void load() {
+        try(FileReader reader = new FileReader(FILE_NAME)) {
+            Gson gson = new Gson();
+            LimitationsData data = gson.fromJson(reader, LimitationsData.class);
+            enabled = data.enabled;
+            startHour = data.startHour;
+            endHour = data.endHour;
+        } 
+        catch (IOException e) {
+            /**First run so file may not exist */
+        }
+    }
+
+    /**
+     * Saves the current limitation settings to disk.
+     */
+    public static void save() {
+        try(FileWriter writer = new FileWriter(FILE_NAME)) {
+            Gson gson = new Gson();
+            gson.toJson(new LimitationsData(enabled, startHour, endHour), writer);
+        } 
+        catch (IOException e) {
+            LOG.error("limitations.saveFailed", "file", FILE_NAME, "error", e);
+        }
+    }
+
+    /**
+     * Private data holder for serialization to JSON.
+     */
+    private static class LimitationsData {
+        boolean enabled;
+        int startHour;
+        int endHour;
+
+        LimitationsData(boolean enabled, int startHour, int endHour) {
+            this.enabled = enabled;
+            this.startHour = startHour;
+            this.endHour = endHour;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package PetGame;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gson.Gson;
+
+/**
+ * The {@code PlaytimeStats} class keeps the player's playtime statistics, the total playtime and the number of
+ * play sessions, and saves them across sessions in the `stats.json` file.
+ * <p>
+ * The {@code Statistics} screen shows and resets these values. They are kept apart from it so the game can count
+ * and save its playtime without the JavaFX UI.
+ * </p>
+ *
+ * @author Ishaan Misra
+ */
+public class PlaytimeStats {
+    private static final Log LOG = Log.getInstance();
+
+    /** The file the statistics are saved in. */
+    private static final String FILE_NAME = "stats.json";
+
+    /** Total playtime in minutes across all sessions. */
+    public static int totalPlaytime = 0;
+
+    /** Number of total play sessions. */
+    public static int playSessions = 0;
+
+    /** Seconds played during the current session. */
+    public static int secondsPlayed = 0;
+
+    /**
+     * Clears all the statistics and saves them.
+     */
+    public static void reset() {
+        totalPlaytime = 0;
+        playSessions = 0;
+        secondsPlayed = 0;
+        save();
+    }
+
+    /**
+     * Saves the current statistics to the `stats.json` file for persistence across sessions.
+     */
+    public static void save() {
+        try(FileWriter writer = new FileWriter(FILE_NAME)) {
+            Gson gson = new Gson();
+            Map<String, Integer> stats = new HashMap<>();
+            stats.put("totalPlaytime", totalPlaytime);
+            stats.put("playSessions", playSessions);
+            stats.put("secondsPlayed", secondsPlayed);
+            gson.toJson(stats, writer);
+        } catch (IOException e) {
+            LOG.error("playtime.saveFailed", "file", FILE_NAME, "error", e);
+        }
+    }
+
+    /**
+     * Loads saved statistics from the `stats.json` file.
+     * If the file does not exist or cannot be read, default values remain.
+     */
+    public static void load() {
+        try(FileReader reader = new FileReader(FILE_NAME)) {
+            Gson gson = new Gson();
+            Map<String, Double> stats = gson.fromJson(reader, Map.class);
+            totalPlaytime = stats.get("totalPlaytime").intValue();
+            playSessions = stats.get("playSessions").intValue();
+            secondsPlayed = stats.get("secondsPlayed").intValue();
+        } 
+        catch (IOException e) {
+            /**File might not exist the first time running */
+        }
+    }
+}
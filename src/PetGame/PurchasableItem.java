@@ -1,11 +1,5 @@
 package PetGame;
 
-import javafx.scene.control.Alert;
-import javafx.scene.control.ButtonType;
-
-import java.util.List;
-import java.util.Optional;
-
 /**
  * <b>Represents an item that can be purchased in the game.</b>
  * <p>
@@ -57,10 +51,7 @@ protected String itemName;
      * @throws NotEnoughCoinsException If the player does not have enough coins to make the purchase an exception is thrown
      */
     public void deductCoins(Player player) throws NotEnoughCoinsException {
-        if (player.getCoins() >= coinsRequired) {
-            player.subtractCoins(coinsRequired);
-        } 
-        else {
+        if (!player.getLedger().tryDebit(CoinLedger.toMinor(coinsRequired), "Bought " + itemName)) {
             throw new NotEnoughCoinsException("Not enough coins to purchase this item.");
         }
     }
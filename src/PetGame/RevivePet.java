@@ -1,6 +1,5 @@
 package PetGame;
 
-import com.google.gson.Gson;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
@@ -9,54 +8,68 @@ import javafx.scene.control.Alert.AlertType;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.HBox;
 
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Map;
+import java.util.List;
 
 /**
  * The {@code RevivePet} class allows the user to revive a previously saved pet by restoring
  * its stats to maximum values and setting its state to "Normal". This feature is accessible
  * through the parental controls menu
  * <p>
- * It loads and displays available save files (save1.json to save5.json),
+ * It lists the save slots in the {@link SaveRepository} a page at a time (in either {@link SaveFormat}),
  * and provides an option to revive each pet with a button.
  * </p>
  *
  * @author Ishaan Misra
  */
 public class RevivePet extends MainController {
+    private static final Log LOG = Log.getInstance();
 
     /** VBox container that holds the list of save files for pet revival. */
     @FXML
     private VBox saveFileContainer;
+
+    /** Buttons that move between pages of save slots */
+    @FXML
+    private Button previousPageButton;
+    @FXML
+    private Button nextPageButton;
+
+    /** The page of save slots on screen, starting at 0 */
+    private int page;
     
     /**
-     * Initializes the revive screen by attempting to read and display all 5 save files.
-     * For each valid file, it creates a UI section with the pet's current stats and a "Revive" button.
-     * If a save file is missing or invalid, it displays a placeholder label.
+     * Initializes the revive screen by showing the first page of slots in the {@link SaveRepository}.
      */
     @FXML
     public void initialize() {
-        Gson gson = new Gson();
-
-        for(int i = 1; i <= 5; i++) { /** Going through the save files */
-            String filename = "save" + i + ".json";
-            try(FileReader reader = new FileReader(filename)) {
-                Map<String, Object> saveData = gson.fromJson(reader, Map.class);
-
-                String petName = (String) saveData.getOrDefault("petName", "Unnamed");
-                Map<String, Object> petStats = (Map<String, Object>) saveData.get("petStats");
-
-                /** Getting the pets stats and state */
-                int health = ((Double) petStats.get("health")).intValue();
-                int sleep = ((Double) petStats.get("sleep")).intValue();
-                int fullness = ((Double) petStats.get("fullness")).intValue();
-                int happiness = ((Double) petStats.get("happiness")).intValue();
-                String state = (String) petStats.get("state");
+        showPage(0);
+    }
 
-                String titleLine = String.format("Revive \"%s\" (%s)", petName, filename);
-                String statsLine = String.format("Health: %d | Sleep: %d | Fullness: %d | Happiness: %d | State: %s", health, sleep, fullness, happiness, state);
+    /**
+     * Shows one page of save slots with their summaries from the {@link SlotIndex}.
+     * For each valid file, it creates a UI section with the pet's current stats and a "Revive" button.
+     * If a save file is invalid, it displays a placeholder label.
+     *
+     * @param page the page to show, starting at 0, clamped to the pages that exist
+     */
+    public void showPage(int page) {
+        SaveRepository repository = SaveRepository.getInstance();
+        int pageCount = Math.max(1, (repository.getSlotCount() + LoadGame.PAGE_SIZE - 1) / LoadGame.PAGE_SIZE);
+        this.page = Math.max(0, Math.min(page, pageCount - 1));
+
+        List<String> slots = repository.getPage(this.page, LoadGame.PAGE_SIZE);
+        List<SlotIndex.Entry> summaries = repository.getSummaries(slots); /** one index read instead of parsing every save */
+        saveFileContainer.getChildren().clear();
+        for(int i = 0; i < slots.size(); i++) { /** Going through the save files on this page */
+            String slot = slots.get(i);
+            String filename = repository.resolve(slot);
+            SlotIndex.Entry summary = summaries.get(i);
+            if (summary != null) {
+                String petName = summary.petName != null ? summary.petName : "Unnamed";
+
+                String titleLine = String.format("Revive \"%s\" (%s)", petName, slot);
+                String statsLine = String.format("Health: %d | Sleep: %d | Fullness: %d | Happiness: %d | State: %s", summary.health, summary.sleep, summary.fullness, summary.happiness, summary.state);
 
                 VBox buttonBox = new VBox(2); /** 2px spacing */
                 buttonBox.setPrefWidth(600);
@@ -69,49 +82,59 @@ public class RevivePet extends MainController {
                 stats.setStyle("-fx-font-size: 12;");
 
                 Button reviveBtn = new Button("Revive");
-                reviveBtn.setOnAction(e -> reviveSaveFile(filename));
+                reviveBtn.setOnAction(e -> reviveSaveFile(slot));
 
                 buttonBox.getChildren().addAll(title, stats, reviveBtn);
                 saveFileContainer.getChildren().add(buttonBox);
-
             } 
-            catch (IOException e) {
+            else {
                 VBox errorBox = new VBox();
                 errorBox.setPrefWidth(600);
                 errorBox.setStyle("-fx-alignment: center;");
 
-                Label errorLabel = new Label("Revive " + filename + " (Empty or Invalid Save)");
+                Label errorLabel = new Label("Revive " + slot + " (Empty or Invalid Save)");
                 errorLabel.setStyle("-fx-font-style: italic; -fx-opacity: 0.7;");
                 errorBox.getChildren().add(errorLabel);
 
                 saveFileContainer.getChildren().add(errorBox);
             }
         }
+        if (previousPageButton != null) {
+            previousPageButton.setDisable(this.page == 0);
+        }
+        if (nextPageButton != null) {
+            nextPageButton.setDisable(this.page >= pageCount - 1);
+        }
     }
 
 
+    /**
+     * Shows the previous page of save slots.
+     */
+    @FXML
+    private void previousPage() {
+        showPage(page - 1);
+    }
+
+    /**
+     * Shows the next page of save slots.
+     */
+    @FXML
+    private void nextPage() {
+        showPage(page + 1);
+    }
+
     /**
      * Revives a pet by restoring its stats to their maximum values and changing its state to "Normal".
-     * The updated data is saved back into the specified file.
+     * The updated data is saved back into the slot through {@link SaveRepository#revive(String)}.
      *
-     * @param filename The name of the save file to revive
+     * @param slot The save slot to revive
      */
-    private void reviveSaveFile(String filename) {
-        try(FileReader reader = new FileReader(filename)) {
-            Gson gson = new Gson();
-            Map<String, Object> saveData = gson.fromJson(reader, Map.class);
-
-            /** Resetting the stats to max and state to normal */
-            Map<String, Object> petStats = (Map<String, Object>) saveData.get("petStats");
-            petStats.put("health", 100);
-            petStats.put("sleep", 100);
-            petStats.put("fullness", 100);
-            petStats.put("happiness", 100);
-            petStats.put("state", "Normal");
-
-            try(FileWriter writer = new FileWriter(filename)) {
-                gson.toJson(saveData, writer);
-            }
+    private void reviveSaveFile(String slot) {
+        String filename = SaveRepository.getInstance().resolve(slot);
+        try {
+            SaveRepository.getInstance().revive(slot);
+            showPage(page); /** shows the revived stats */
 
             Alert alert = new Alert(AlertType.INFORMATION);
             alert.setTitle("Pet Revived");
@@ -120,7 +143,7 @@ public class RevivePet extends MainController {
             alert.showAndWait();
 
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("pet.reviveFailed", "slot", filename, "error", e);
         }
     }
 
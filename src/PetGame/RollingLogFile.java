@@ -0,0 +1,118 @@
+package PetGame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <b>A log file that is moved aside once it gets too big, keeping a few older files.</b>
+ * <p>
+ * Text is appended to the file until it would grow past its size limit. The file is then renamed to
+ * {@code <name>.1}, an existing {@code <name>.1} to {@code <name>.2} and so on, the oldest one is deleted and a new
+ * file is started, so the logs never take more than about {@code maxBytes * (keptFiles + 1)} of disk.
+ * </p>
+ * <p>
+ * Not thread safe; {@link Log} only writes to it from its writer thread.
+ * </p>
+ *
+ * @see PetGame.Log
+ */
+public class RollingLogFile implements Closeable {
+    private final Path file;
+    private final long maxBytes;
+    private final int keptFiles;
+    private Writer writer;
+    /** Number of bytes in the current file */
+    private long size;
+
+    /**
+     * Opens a log file, appending to it if it already exists.
+     *
+     * @param file the file to write
+     * @param maxBytes the size at which the file is moved aside
+     * @param keptFiles the number of older files to keep
+     * @throws IOException if the file cannot be opened
+     */
+    public RollingLogFile(Path file, long maxBytes, int keptFiles) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.keptFiles = keptFiles;
+        Path folder = file.toAbsolutePath().getParent();
+        if (folder != null) {
+            Files.createDirectories(folder);
+        }
+        open();
+    }
+
+    /**
+     * Appends text, first moving the file aside if the text would take it past its size limit.
+     *
+     * @param text the text to append
+     * @throws IOException if the file cannot be written
+     */
+    public void write(String text) throws IOException {
+        long length = text.getBytes(StandardCharsets.UTF_8).length;
+        if (size > 0 && size + length > maxBytes) {
+            roll();
+        }
+        writer.write(text);
+        size += length;
+    }
+
+    /**
+     * Makes sure everything written so far is in the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Gets an older log file.
+     *
+     * @param generation 1 for the newest older file, up to the number of files kept
+     * @return the path of that file
+     */
+    public Path getOlderFile(int generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    /**
+     * Moves the current file aside and starts a new one.
+     *
+     * @throws IOException if the files cannot be moved
+     */
+    private void roll() throws IOException {
+        writer.close();
+        if (keptFiles > 0) {
+            Files.deleteIfExists(getOlderFile(keptFiles));
+            for (int generation = keptFiles - 1; generation >= 1; generation--) {
+                Path older = getOlderFile(generation);
+                if (Files.exists(older)) {
+                    Files.move(older, getOlderFile(generation + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, getOlderFile(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        else {
+            Files.deleteIfExists(file);
+        }
+        open();
+    }
+
+    private void open() throws IOException {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(file);
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
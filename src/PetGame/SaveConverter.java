@@ -0,0 +1,52 @@
+package PetGame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <b>Converts save files between the JSON and binary formats.</b>
+ * <p>
+ * The input can be in either format, it is detected from the file contents. The output format is chosen from the
+ * output file name, {@value SaveFormat#BINARY_EXTENSION} files are written as binary and everything else as JSON.
+ * </p>
+ * <p>
+ * Usage: {@code java PetGame.SaveConverter save1.json save1.sav}
+ * </p>
+ *
+ * @see PetGame.SaveFormat
+ */
+public class SaveConverter {
+
+    /**
+     * Converts one save file.
+     *
+     * @param input the file to read, in either format
+     * @param output the file to write, in the format its name calls for
+     * @return the number of bytes written
+     * @throws IOException if the input is not a valid save or the output cannot be written
+     */
+    public static int convert(Path input, Path output) throws IOException {
+        SaveGame save = SaveFormat.read(input);
+        byte[] contents = SaveFormat.forFile(output.getFileName().toString()).encode(save);
+        SaveService.writeAtomically(output, contents);
+        return contents.length;
+    }
+
+    /**
+     * Converts the file named by the first argument into the file named by the second.
+     *
+     * @param args the input and output file names
+     * @throws IOException if the conversion fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: SaveConverter <input> <output>");
+            return;
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        int written = convert(input, output);
+        System.out.println("Converted " + input + " (" + Files.size(input) + " bytes) to " + output + " (" + written + " bytes)");
+    }
+}
@@ -0,0 +1,121 @@
+package PetGame;
+
+import com.google.gson.JsonParseException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * <b>The file formats a save can be stored in.</b>
+ * <p>
+ * {@link #JSON} is the original Gson format. {@link #BINARY} is a compact, versioned format written by
+ * {@link BinarySaveWriter} and read by {@link BinarySaveReader}. Files are read with {@link #read(Path)}, which
+ * looks at the first bytes of the file to pick the format, so the existing {@code save1.json} to {@code save5.json}
+ * still load no matter which format new saves are written in.
+ * </p>
+ *
+ * @see PetGame.SaveConverter
+ */
+public enum SaveFormat {
+    /** Gson JSON, readable by hand and by older versions of the game. */
+    JSON {
+        @Override
+        public byte[] encode(SaveGame save) {
+            return SaveGame.GSON.toJson(save).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public SaveGame decode(InputStream in) throws IOException {
+            SaveGame save;
+            try {
+                save = SaveGame.GSON.fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), SaveGame.class);
+            }
+            catch (JsonParseException e) { /** Gson reports malformed files with unchecked exceptions */
+                throw new IOException("Invalid save file", e);
+            }
+            if (save == null) {
+                throw new IOException("Empty save file");
+            }
+            return save;
+        }
+    },
+
+    /** Compact binary format with a fixed header and typed fields. */
+    BINARY {
+        @Override
+        public byte[] encode(SaveGame save) throws IOException {
+            return new BinarySaveWriter().write(save);
+        }
+
+        @Override
+        public SaveGame decode(InputStream in) throws IOException {
+            return new BinarySaveReader().read(in);
+        }
+    };
+
+    /** File extension of binary saves. */
+    public static final String BINARY_EXTENSION = ".sav";
+
+    /**
+     * Converts a save to this format.
+     *
+     * @param save the save to convert
+     * @return the encoded file contents
+     * @throws IOException if the save cannot be encoded
+     */
+    public abstract byte[] encode(SaveGame save) throws IOException;
+
+    /**
+     * Reads a save stored in this format.
+     *
+     * @param in the file contents
+     * @return the decoded save
+     * @throws IOException if the contents are not a valid save in this format
+     */
+    public abstract SaveGame decode(InputStream in) throws IOException;
+
+    /**
+     * Picks the format to write a file in from its name: {@value #BINARY_EXTENSION} files are binary, everything
+     * else is JSON.
+     *
+     * @param filename the name of the save file
+     * @return the format to write it in
+     */
+    public static SaveFormat forFile(String filename) {
+        return filename.endsWith(BINARY_EXTENSION) ? BINARY : JSON;
+    }
+
+    /**
+     * Works out which format some file contents are in from their first bytes.
+     *
+     * @param contents the file contents
+     * @return {@link #BINARY} if the contents start with the binary magic number, otherwise {@link #JSON}
+     */
+    public static SaveFormat detect(byte[] contents) {
+        if (contents.length >= 4) {
+            int magic = ((contents[0] & 0xFF) << 24) | ((contents[1] & 0xFF) << 16)
+                    | ((contents[2] & 0xFF) << 8) | (contents[3] & 0xFF);
+            if (magic == BinarySaveWriter.MAGIC) {
+                return BINARY;
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Reads a save file in whichever format it was written in.
+     *
+     * @param file the save file
+     * @return the decoded save
+     * @throws IOException if the file cannot be read or is not a valid save
+     */
+    public static SaveGame read(Path file) throws IOException {
+        byte[] contents = Files.readAllBytes(file);
+        return detect(contents).decode(new ByteArrayInputStream(contents));
+    }
+}
@@ -2,6 +2,9 @@ package PetGame;
 
 import com.google.gson.Gson;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,12 +22,20 @@ import java.util.Map;
  * - Gson library for JSON serialization.</p>
  * 
  * Usage:
- * 1. Call {@link #initializeSaveGame(Game)} to populate the SaveGame object with the current game state.
- * 2. Call {@link #saveToFile(String)} to save the game state to a file.
+ * 1. Call {@link #initializeSaveGame(int, String, PetStats, Player)} to populate the SaveGame object with the current game state.
+ * 2. Call {@link #saveToFile(String)} to save the game state to a file, or hand the object to
+ *    {@link SaveService#save(String, SaveGame)} to write it on a background thread.
  * 
  * @author Novak Vukojicic
  */
 public class SaveGame {
+    private static final Log LOG = Log.getInstance();
+    /** Shared Gson instance, it is thread safe so every save can reuse it */
+    static final Gson GSON = new Gson();
+    /** Key in {@link #gameStats} holding the time the game state was taken, in milliseconds since the epoch */
+    public static final String SAVED_AT = "savedAt";
+    /** Time taken to read each save file along with its journal */
+    private static final LatencyHistogram LOAD_TIMES = Metrics.getInstance().histogram("save.load");
 
     public int petType; // The type of pet selected by the player
     public String petName; // The name of the pet
@@ -35,63 +46,144 @@ public class SaveGame {
     /**
      * Initializes the SaveGame object with the current game state.
      * 
-     * @param game The current game instance containing the pet, player, and game data.
+     * @param petType The type of the pet being played.
+     * @param petName The name of the pet.
+     * @param statistics The pet's current stats.
+     * @param player The player, with their score, coins and inventory.
      */
-    public void initializeSaveGame(Game game) {
-        this.petType = game.petType; // Set the pet type
-        this.petName = game.petName; // Set the pet name
-        this.petStats = getPetStats(game.pet.getPetStats()); // Extract pet statistics
-        this.player = getPlayerStats(game.player); // Extract player statistics
+    public void initializeSaveGame(int petType, String petName, PetStats statistics, Player player) {
+        this.petType = petType; // Set the pet type
+        this.petName = petName; // Set the pet name
+        this.petStats = getPetStats(statistics); // Extract pet statistics
+        this.player = getPlayerStats(player); // Extract player statistics
+        this.gameStats = new HashMap<>();
+        this.gameStats.put(SAVED_AT, System.currentTimeMillis()); // Lets the next load work out how long the pet was left alone
+    }
+
+    /**
+     * Gets the time this game state was taken.
+     * 
+     * @return The time in milliseconds since the epoch, or 0 for saves from older versions that do not record it.
+     */
+    public long getSavedAt() {
+        Object savedAt = gameStats == null ? null : gameStats.get(SAVED_AT);
+        return savedAt instanceof Number ? ((Number) savedAt).longValue() : 0;
     }
 
     /**
      * Extracts the pet's statistics and stores them in a map.
      * If the pet is in a "Sleeping" state, it is converted to "Normal" for saving purposes.
      * 
-     * @param statistics The PetStatistics object containing the pet's current stats.
+     * @param statistics The pet's current stats.
      * @return A map containing the pet's health, sleep, fullness, happiness, and state.
      */
-    public Map<String, Object> getPetStats(PetStatistics statistics) {
+    public Map<String, Object> getPetStats(PetStats statistics) {
         Map<String, Object> statsMap = new HashMap<>();
         statsMap.put("health", statistics.getHealth());
         statsMap.put("sleep", statistics.getSleep());
         statsMap.put("fullness", statistics.getFullness());
         statsMap.put("happiness", statistics.getHappiness());
-        if (statistics.getState().equals("Sleeping")) {
-            statsMap.put("state", "Normal"); // Convert "Sleeping" state to "Normal"
+        if (statistics.getPetState() == PetState.SLEEPING) {
+            statsMap.put("state", PetState.NORMAL.getLabel()); // Convert "Sleeping" state to "Normal"
         } else {
             statsMap.put("state", statistics.getState());
         }
         return statsMap;
     }
 
+    /**
+     * Extracts the statistics of a pet held in a {@link PetStatStore}, in the same form as
+     * {@link #getPetStats(PetStats)}.
+     * 
+     * @param store The store holding the pet.
+     * @param slot The pet's slot.
+     * @return A map containing the pet's health, sleep, fullness, happiness, and state.
+     */
+    public Map<String, Object> getPetStats(PetStatStore store, int slot) {
+        Map<String, Object> statsMap = new HashMap<>();
+        statsMap.put("health", store.getHealth(slot));
+        statsMap.put("sleep", store.getSleep(slot));
+        statsMap.put("fullness", store.getFullness(slot));
+        statsMap.put("happiness", store.getHappiness(slot));
+        if (store.getState(slot) == PetStatStore.STATE_SLEEPING) {
+            statsMap.put("state", PetState.NORMAL.getLabel()); // Convert "Sleeping" state to "Normal"
+        } else {
+            statsMap.put("state", store.getStateLabel(slot));
+        }
+        return statsMap;
+    }
+
     /**
      * Extracts the player's statistics and stores them in a map.
      * 
      * @param player The Player object containing the player's current stats and inventory.
-     * @return A map containing the player's money, score, and inventory items.
+     * @return A map containing the player's money, exact balance, recent coin history, score, and inventory items.
      */
     public Map<String, Object> getPlayerStats(Player player) {
         Map<String, Object> playerMap = new HashMap<>();
-        playerMap.put("money", player.getCoins()); // Add player's money
+        CoinLedger.Snapshot coins = player.getLedger().getSnapshot();
+        playerMap.put("money", CoinLedger.toCoins(coins.balance)); // Add player's money, read by older versions
+        playerMap.put("coins", coins.balance); // The exact balance in minor units
+        playerMap.put("ledger", player.getLedger().encodeTail(CoinLedger.SAVED_TAIL)); // The most recent coin changes
         playerMap.put("score", player.getScore().getScore()); // Add player's score
-        playerMap.put("inventory", player.inventory.items); // Add player's inventory
+        playerMap.put("inventory", player.inventory.getItemCounts()); // One entry per item with its count, a copy so later purchases do not change the snapshot
         return playerMap;
     }
 
+    /**
+     * Reads a save file written in either the JSON or the binary format, with the changes recorded in its
+     * {@link GameJournal} since it was written.
+     * 
+     * @param filename The name of the save file.
+     * @return The saved game state. Numbers in the stat maps may be any {@link Number} type.
+     * @throws IOException If the file is missing or is not a valid save.
+     */
+    public static SaveGame load(String filename) throws IOException {
+        long start = System.nanoTime();
+        FlightEvents.SaveLoad event = new FlightEvents.SaveLoad();
+        event.begin();
+        Path saveFile = Path.of(filename);
+        try {
+            return JournalReplayer.load(saveFile);
+        }
+        finally {
+            LOAD_TIMES.recordSince(start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = filename;
+                event.bytes = sizeOf(saveFile) + sizeOf(GameJournal.journalFor(saveFile));
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Gets the size of a file that may not exist.
+     *
+     * @param file the file
+     * @return its size in bytes, or 0 if it cannot be read
+     */
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        }
+        catch (IOException e) {
+            return 0;
+        }
+    }
+
     /**
      * Saves the current game state to a file in JSON format.
      * 
      * @param filename The name of the file to save the game state to.
      */
     public void saveToFile(String filename) {
-        Gson gson = new Gson(); // Create a Gson instance for JSON serialization
-        String json = gson.toJson(this); // Convert the SaveGame object to JSON
+        String json = GSON.toJson(this); // Convert the SaveGame object to JSON
 
-        try (java.io.FileWriter writer = new java.io.FileWriter(filename)) {
-            writer.write(json); // Write the JSON data to the specified file
-        } catch (java.io.IOException e) {
-            e.printStackTrace(); // Print the stack trace if an error occurs
+        try {
+            SaveService.writeAtomically(Path.of(filename), json); // Write through a temporary file so a failed write keeps the old save
+        } catch (IOException e) {
+            LOG.error("save.writeFailed", "file", filename, "error", e); // Log the error with its stack trace
         }
     }
 }
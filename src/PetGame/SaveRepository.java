@@ -0,0 +1,325 @@
+package PetGame;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <b>Stores any number of save slots in one folder.</b>
+ * <p>
+ * Slots are files named {@code save<N>.json} or {@code save<N>.sav} in the {@value #DEFAULT_DIRECTORY} folder, next
+ * to the {@link SlotIndex} that summarizes them. There is no fixed number of slots: {@link #getSlots()} scans the
+ * folder and {@link #getNewSlot()} names the slot after the highest one in use. Saves written by older versions to
+ * {@code save1.json}..{@code save5.json} in the working folder are moved in the first time the repository is used.
+ * </p>
+ * <p>
+ * The sorted slot list is cached and only rescanned when the folder's modification time changes, which happens
+ * whenever a slot is added or removed. Screens then ask for one {@link #getPage(int, int) page} of slots and look up
+ * just those summaries in the index, so opening the load screen costs the same with five slots or five thousand.
+ * </p>
+ *
+ * @see PetGame.SlotIndex
+ * @see PetGame.SaveService
+ */
+public class SaveRepository {
+    private static final Log LOG = Log.getInstance();
+    /** Folder the game keeps its saves in, relative to the working folder */
+    public static final String DEFAULT_DIRECTORY = "saves";
+
+    /** Matches slot file names and captures the slot number */
+    private static final Pattern SLOT_NAME = Pattern.compile("save(\\d+)\\.(json|sav)");
+
+    /** The shared repository used by the game */
+    private static SaveRepository instance;
+
+    /** Folder holding the slots */
+    private final Path directory;
+    /** Index of slot summaries, stored in the same folder */
+    private final SlotIndex index;
+    /** Slot file names sorted by slot number, or null until the first scan. Guarded by this. */
+    private List<String> slots;
+    /** Modification time of the folder when it was last scanned */
+    private FileTime scannedAt;
+    /** Number of folder scans, for tests and diagnostics */
+    private int scans;
+
+    /**
+     * Gets the shared repository used by the game, creating it and moving old saves into it on first use.
+     *
+     * @return the shared save repository
+     */
+    public static synchronized SaveRepository getInstance() {
+        if (instance == null) {
+            instance = new SaveRepository(Path.of(DEFAULT_DIRECTORY), SlotIndex.getInstance());
+            instance.importLegacySaves(Path.of(""));
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs a repository for a folder. The folder is created when the first slot list is needed.
+     *
+     * @param directory the folder holding the slots
+     * @param index the index of slot summaries
+     */
+    public SaveRepository(Path directory, SlotIndex index) {
+        this.directory = directory;
+        this.index = index;
+    }
+
+    /**
+     * Gets the folder holding the slots.
+     *
+     * @return the save folder
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Checks whether a name is a slot file name, e.g. {@code save3.json}. Such a name has no folders in it, so it
+     * always {@link #resolve(String) resolves} to a file inside the save folder.
+     *
+     * @param name the name to check
+     * @return true if the name is {@code save<N>.json} or {@code save<N>.sav}
+     */
+    public static boolean isSlotName(String name) {
+        return name != null && SLOT_NAME.matcher(name).matches();
+    }
+
+    /**
+     * Gets the file of a slot, for reading it or handing it to the {@link SaveService}.
+     *
+     * @param slot the slot file name, e.g. {@code save3.json}
+     * @return the path of the slot file as a string
+     */
+    public String resolve(String slot) {
+        return directory.resolve(slot).toString();
+    }
+
+    /**
+     * Gets every slot in the folder, sorted by slot number.
+     *
+     * @return the slot file names
+     */
+    public synchronized List<String> getSlots() {
+        FileTime modified;
+        try {
+            Files.createDirectories(directory);
+            modified = Files.getLastModifiedTime(directory);
+        }
+        catch (IOException e) {
+            LOG.warn("saves.openFailed", "folder", directory, "error", e.getMessage());
+            return List.of();
+        }
+        if (slots == null || !modified.equals(scannedAt)) {
+            slots = Collections.unmodifiableList(scan());
+            scannedAt = modified;
+        }
+        return slots;
+    }
+
+    /**
+     * Gets the number of slots in the folder.
+     *
+     * @return the slot count
+     */
+    public int getSlotCount() {
+        return getSlots().size();
+    }
+
+    /**
+     * Gets one page of slots.
+     *
+     * @param page the page number, starting at 0
+     * @param pageSize the number of slots per page
+     * @return the slot file names on that page, empty past the last page
+     */
+    public List<String> getPage(int page, int pageSize) {
+        List<String> all = getSlots();
+        int from = Math.min(page * pageSize, all.size());
+        int to = Math.min(from + pageSize, all.size());
+        return all.subList(from, to);
+    }
+
+    /**
+     * Gets the summaries of some slots from the index.
+     *
+     * @param slots the slot file names, e.g. one page
+     * @return the summaries in the same order, with null for invalid saves
+     */
+    public List<SlotIndex.Entry> getSummaries(List<String> slots) {
+        List<String> files = new ArrayList<>(slots.size());
+        for (String slot : slots) {
+            files.add(resolve(slot));
+        }
+        return index.summaries(files);
+    }
+
+    /**
+     * Names a new slot after the highest slot in use, e.g. {@code save6.json} if there are five.
+     *
+     * @return the new slot's file name
+     */
+    public String getNewSlot() {
+        List<String> all = getSlots();
+        int next = all.isEmpty() ? 1 : slotNumber(all.get(all.size() - 1)) + 1;
+        return "save" + next + ".json";
+    }
+
+    /**
+     * Gets the slots a player can save to: every existing slot followed by a new one.
+     *
+     * @return the slot file names to offer
+     */
+    public List<String> getSaveChoices() {
+        List<String> choices = new ArrayList<>(getSlots());
+        choices.add(getNewSlot());
+        return choices;
+    }
+
+    /**
+     * Deletes a slot, its journal and its index entry.
+     *
+     * @param slot the slot file name
+     * @throws IOException if the file cannot be deleted
+     */
+    public void delete(String slot) throws IOException {
+        Files.deleteIfExists(directory.resolve(slot));
+        Files.deleteIfExists(GameJournal.journalFor(directory.resolve(slot)));
+        index.remove(resolve(slot));
+        invalidate();
+    }
+
+    /**
+     * Revives the pet in a slot, setting its stats to their maximum values and its state to Normal.
+     * <p>
+     * The slot's journal is replayed first, so coins, score and items changed since the last snapshot are kept, and
+     * the revived game is written as a new snapshot that includes every journaled event. The journal is then
+     * deleted, so its events (including the pet's death) can never be replayed on top of the revived pet. The save
+     * is written back in the format it was read in, and counts as saved now, so the time the pet spent dead is not
+     * caught up on the next load.
+     * </p>
+     *
+     * @param slot the slot file name
+     * @return the revived game
+     * @throws IOException if the slot cannot be read or written
+     */
+    public SaveGame revive(String slot) throws IOException {
+        Path file = directory.resolve(slot);
+        SaveFormat format = SaveFormat.detect(Files.readAllBytes(file));
+        SaveGame save = JournalReplayer.load(file); /** also records the journal's last sequence number in the save */
+
+        save.petStats.put("health", 100);
+        save.petStats.put("sleep", 100);
+        save.petStats.put("fullness", 100);
+        save.petStats.put("happiness", 100);
+        save.petStats.put("state", PetState.NORMAL.getLabel());
+        if (save.gameStats == null) {
+            save.gameStats = new HashMap<>();
+        }
+        save.gameStats.put(SaveGame.SAVED_AT, System.currentTimeMillis());
+
+        SaveService.writeAtomically(file, format.encode(save));
+        Files.deleteIfExists(GameJournal.journalFor(file)); /** only after the snapshot including its events is on disk */
+        index.record(file, save);
+        return save;
+    }
+
+    /**
+     * Forgets the cached slot list so the next call scans the folder again.
+     */
+    public synchronized void invalidate() {
+        slots = null;
+    }
+
+    /**
+     * Gets the number of times the folder has been scanned.
+     *
+     * @return the scan count
+     */
+    public synchronized int getScanCount() {
+        return scans;
+    }
+
+    /**
+     * Moves slot files from another folder into this one, skipping any slot that already exists here.
+     *
+     * @param from the folder older versions saved to
+     * @return the number of saves moved
+     */
+    public int importLegacySaves(Path from) {
+        int moved = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(from.toAbsolutePath(), "save*.{json,sav}")) {
+            Files.createDirectories(directory);
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Path target = directory.resolve(name);
+                if (SLOT_NAME.matcher(name).matches() && !Files.exists(target)) {
+                    Files.move(file, target);
+                    moved++;
+                }
+            }
+        }
+        catch (IOException e) {
+            LOG.warn("saves.migrateFailed", "folder", directory, "error", e.getMessage());
+        }
+        if (moved > 0) {
+            invalidate();
+        }
+        return moved;
+    }
+
+    /**
+     * Lists the slot files in the folder, sorted by slot number.
+     *
+     * @return the slot file names
+     */
+    private List<String> scan() {
+        scans++;
+        List<String> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "save*.{json,sav}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (SLOT_NAME.matcher(name).matches()) {
+                    found.add(name);
+                }
+            }
+        }
+        catch (IOException e) {
+            LOG.warn("saves.listFailed", "folder", directory, "error", e.getMessage());
+        }
+        found.sort((a, b) -> {
+            int order = Integer.compare(slotNumber(a), slotNumber(b));
+            return order != 0 ? order : a.compareTo(b);
+        });
+        return found;
+    }
+
+    /**
+     * Gets the number of a slot from its file name.
+     *
+     * @param slot the slot file name
+     * @return the slot number
+     */
+    private static int slotNumber(String slot) {
+        Matcher matcher = SLOT_NAME.matcher(slot);
+        if (!matcher.matches()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(matcher.group(1));
+        }
+        catch (NumberFormatException e) { /** more digits than an int holds */
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package PetGame;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <b>Writes save files on a background thread.</b>
+ * <p>
+ * Saving used to serialize and write the file on the JavaFX thread, freezing the game on a slow disk. The caller
+ * now takes a snapshot of the game on the FX thread with {@link SaveGame#initializeSaveGame(int, String, PetStats, Player)} and hands it to
+ * {@link #save(String, SaveGame)}, which serializes and writes it on a single background thread, in the
+ * {@link SaveFormat} the file name calls for. Each file is
+ * written to a temporary file first and then renamed over the old one, so a crash mid-write never leaves a broken
+ * save. If a slot is saved again before its earlier save has started writing, only the newest snapshot is written.
+ * </p>
+ * <p>
+ * The returned future completes once the file is on disk, or fails with the I/O error, so the UI can report the
+ * result (e.g. with {@code whenCompleteAsync(..., Platform::runLater)}).
+ * </p>
+ * <p>
+ * After each write the slot's summary is recorded in the {@link SlotIndex}, so the load screens do not have to parse
+ * the save again.
+ * </p>
+ *
+ * @see PetGame.SaveGame
+ */
+public class SaveService {
+    /** Time taken to encode and write each save */
+    private static final LatencyHistogram WRITE_TIMES = Metrics.getInstance().histogram("save.write");
+    /** Number of bytes of saves written */
+    private static final Metrics.Counter BYTES_WRITTEN = Metrics.getInstance().counter("save.bytesWritten");
+
+    /** The shared service used by the game */
+    private static SaveService instance;
+
+    /** Single thread that does every write, so writes to the same file happen in order */
+    private final ExecutorService writer;
+    /** Index updated after each write, or null to skip it */
+    private final SlotIndex index;
+    /** Saves waiting to be written, keyed by file name. Guarded by itself. */
+    private final Map<String, PendingSave> pending = new HashMap<>();
+    /** Number of files written */
+    private final AtomicLong writes = new AtomicLong();
+    /** Number of saves replaced by a newer snapshot before they were written */
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * A snapshot waiting to be written and the future of everyone waiting on it.
+     */
+    private static final class PendingSave {
+        /** The newest snapshot for the file */
+        SaveGame snapshot;
+        /** Completed once the snapshot has been written */
+        final CompletableFuture<Path> done = new CompletableFuture<>();
+
+        PendingSave(SaveGame snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * Gets the shared service used by the game, creating it on first use.
+     *
+     * @return the shared save service
+     */
+    public static synchronized SaveService getInstance() {
+        if (instance == null) {
+            instance = new SaveService();
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs a save service with its own background writer thread.
+     */
+    public SaveService() {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save-writer");
+            thread.setDaemon(true);
+            return thread;
+        }), SlotIndex.getInstance());
+    }
+
+    /**
+     * Constructs a save service that writes on the given executor without updating a slot index.
+     * The executor must run one task at a time, in order.
+     *
+     * @param writer the executor that writes the files
+     */
+    public SaveService(ExecutorService writer) {
+        this(writer, null);
+    }
+
+    /**
+     * Constructs a save service that writes on the given executor and records each write in an index.
+     *
+     * @param writer the executor that writes the files, one task at a time, in order
+     * @param index the slot index to update, or null to skip it
+     */
+    public SaveService(ExecutorService writer, SlotIndex index) {
+        this.writer = writer;
+        this.index = index;
+    }
+
+    /**
+     * Queues a snapshot to be written to a file. The snapshot must not be changed after it is handed over.
+     *
+     * @param filename the file to write
+     * @param snapshot the game state taken on the FX thread
+     * @return a future completed with the written file, or failed with the error that stopped the write
+     */
+    public CompletableFuture<Path> save(String filename, SaveGame snapshot) {
+        synchronized (pending) {
+            PendingSave queued = pending.get(filename);
+            if (queued != null) { /** The earlier save has not started yet, so it can just write the newer snapshot */
+                queued.snapshot = snapshot;
+                coalesced.incrementAndGet();
+                return queued.done;
+            }
+            queued = new PendingSave(snapshot);
+            pending.put(filename, queued);
+            writer.execute(() -> write(filename));
+            return queued.done;
+        }
+    }
+
+    /**
+     * Waits for every queued save to be written, e.g. before the game closes.
+     *
+     * @param timeoutMillis the longest time to wait
+     * @return true if every save finished in time
+     */
+    public boolean flush(long timeoutMillis) {
+        CompletableFuture<Void> barrier = CompletableFuture.runAsync(() -> { }, writer); /** runs after everything already queued */
+        try {
+            barrier.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        }
+        catch (TimeoutException | ExecutionException e) {
+            return false;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Gets the number of files written so far.
+     *
+     * @return the write count
+     */
+    public long getWriteCount() {
+        return writes.get();
+    }
+
+    /**
+     * Gets the number of saves that were replaced by a newer snapshot before being written.
+     *
+     * @return the coalesced save count
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Writes the newest snapshot for a file. Runs on the writer thread.
+     *
+     * @param filename the file to write
+     */
+    private void write(String filename) {
+        PendingSave save;
+        synchronized (pending) {
+            save = pending.remove(filename);
+        }
+        try {
+            long start = System.nanoTime();
+            FlightEvents.SaveWrite event = new FlightEvents.SaveWrite();
+            event.begin();
+            Path target = Path.of(filename);
+            byte[] contents = SaveFormat.forFile(filename).encode(save.snapshot);
+            writeAtomically(target, contents);
+            WRITE_TIMES.recordSince(start);
+            BYTES_WRITTEN.add(contents.length);
+            if (event.shouldCommit()) {
+                event.file = filename;
+                event.bytes = contents.length;
+                event.commit();
+            }
+            writes.incrementAndGet();
+            if (index != null) {
+                index.record(target, save.snapshot);
+            }
+            save.done.complete(target);
+        }
+        catch (IOException | RuntimeException e) {
+            save.done.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Writes text to a file through a temporary file in the same folder, then renames it over the target so
+     * readers only ever see the old or the new contents.
+     *
+     * @param target the file to write
+     * @param contents the text to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeAtomically(Path target, String contents) throws IOException {
+        writeAtomically(target, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes bytes to a file through a temporary file in the same folder, then renames it over the target.
+     *
+     * @param target the file to write
+     * @param contents the bytes to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeAtomically(Path target, byte[] contents) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        Files.write(temp, contents);
+        try {
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package PetGame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>Items the player is about to buy from the {@link ItemShop}.</b>
+ * <p>
+ * The cart collects items and quantities so that they can be paid for in one go with
+ * {@link ItemShop#checkout(ShoppingCart)}: the total is priced and checked against the player's coins once, and the
+ * player gets one summary instead of a dialog per item.
+ * </p>
+ *
+ * @see PetGame.ItemShop
+ */
+public class ShoppingCart {
+    /** Lines of the cart keyed by item name, in the order the items were added */
+    private final Map<String, Line> lines = new LinkedHashMap<>();
+
+    /**
+     * One item in the cart and how many of it to buy.
+     */
+    public static final class Line {
+        private final PurchasableItem item;
+        private int quantity;
+
+        private Line(PurchasableItem item) {
+            this.item = item;
+        }
+
+        /**
+         * Gets the item to buy.
+         *
+         * @return the item
+         */
+        public PurchasableItem getItem() {
+            return item;
+        }
+
+        /**
+         * Gets the number of copies to buy.
+         *
+         * @return the quantity
+         */
+        public int getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * Gets the price of all the copies on this line.
+         *
+         * @return the item price times the quantity
+         */
+        public double getSubtotal() {
+            return item.getPrice() * quantity;
+        }
+    }
+
+    /**
+     * Adds copies of an item to the cart.
+     *
+     * @param item the item to buy
+     * @param quantity the number of copies to add, ignored if not positive
+     */
+    public void add(PurchasableItem item, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        Line line = lines.get(item.getName());
+        if (line == null) {
+            line = new Line(item);
+            lines.put(item.getName(), line);
+        }
+        line.quantity += quantity;
+    }
+
+    /**
+     * Removes an item from the cart.
+     *
+     * @param itemName the name of the item to remove
+     */
+    public void remove(String itemName) {
+        lines.remove(itemName);
+    }
+
+    /**
+     * Gets the number of copies of an item in the cart.
+     *
+     * @param itemName the item name
+     * @return the quantity, 0 if the item is not in the cart
+     */
+    public int getQuantity(String itemName) {
+        Line line = lines.get(itemName);
+        return line == null ? 0 : line.quantity;
+    }
+
+    /**
+     * Gets the number of copies of all items in the cart.
+     *
+     * @return the total quantity
+     */
+    public int getItemCount() {
+        int count = 0;
+        for (Line line : lines.values()) {
+            count += line.quantity;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the price of everything in the cart.
+     *
+     * @return the total price
+     */
+    public double getTotalPrice() {
+        double total = 0;
+        for (Line line : lines.values()) {
+            total += line.getSubtotal();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the lines of the cart.
+     *
+     * @return a read-only copy of the lines, in the order the items were added
+     */
+    public List<Line> getLines() {
+        return Collections.unmodifiableList(new ArrayList<>(lines.values()));
+    }
+
+    /**
+     * Checks whether the cart is empty.
+     *
+     * @return true if nothing is in the cart
+     */
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Empties the cart.
+     */
+    public void clear() {
+        lines.clear();
+    }
+
+    /**
+     * Describes the contents of the cart, e.g. {@code 20 x Burger, 2 x Cake}.
+     *
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Line line : lines.values()) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append(line.quantity).append(" x ").append(line.item.getName());
+        }
+        return text.toString();
+    }
+}
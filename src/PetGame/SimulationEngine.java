@@ -0,0 +1,190 @@
+package PetGame;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <b>Fixed-timestep engine that advances every pet in the game from a single loop.</b>
+ * <p>
+ * Rather than each {@link PetStatistics} owning its own decay, hunger and sleep timelines, every
+ * {@link Tickable} registers here and all of them are stepped together, one {@link #STEP_MILLIS} step at a time.
+ * The engine does not use the JavaFX toolkit: a background clock thread measures the elapsed time and hands
+ * the due steps to a publisher. The game publishes with {@code Platform::runLater} so the UI is only touched
+ * on the FX thread, while tests and servers can call {@link #advance(long)} directly.
+ * </p>
+ *
+ * @see PetGame.Tickable
+ */
+public class SimulationEngine {
+    /** Length of one simulation step in milliseconds. */
+    public static final long STEP_MILLIS = 1000;
+    /** Most steps that are run in one go, so a long stall cannot freeze the publisher thread. */
+    private static final int MAX_CATCH_UP_STEPS = 60;
+    /** Time taken by each step, for every engine in the program */
+    private static final LatencyHistogram STEP_TIMES = Metrics.getInstance().histogram("simulation.step");
+
+    /** The shared engine used by the game */
+    private static SimulationEngine instance;
+
+    /** Everything that gets advanced on each step */
+    private final List<Tickable> tickables = new CopyOnWriteArrayList<>();
+    /** Elapsed time that has not yet been turned into whole steps, only used by the thread running the steps */
+    private long accumulatedMillis = 0;
+    /** Number of steps run so far */
+    private long tickCount = 0;
+
+    /** Clock thread measuring real time while the engine is running */
+    private ScheduledExecutorService clock;
+    /** Real time measured by the clock that has not been handed to the publisher yet */
+    private final AtomicLong pendingNanos = new AtomicLong();
+    /** Makes sure only one batch of steps is waiting on the publisher at a time */
+    private final AtomicBoolean publishQueued = new AtomicBoolean(false);
+
+    /**
+     * Gets the shared engine instance used by the game, creating it on first use.
+     *
+     * @return the shared engine
+     */
+    public static synchronized SimulationEngine getInstance() {
+        if (instance == null) {
+            instance = new SimulationEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Adds an object to be advanced on every step.
+     *
+     * @param tickable the object to advance
+     */
+    public void register(Tickable tickable) {
+        if (!tickables.contains(tickable)) {
+            tickables.add(tickable);
+        }
+    }
+
+    /**
+     * Stops advancing an object. Does nothing if it was never registered.
+     *
+     * @param tickable the object to remove
+     */
+    public void unregister(Tickable tickable) {
+        tickables.remove(tickable);
+    }
+
+    /**
+     * Gets the number of objects currently being advanced.
+     *
+     * @return the number of registered tickables
+     */
+    public int getTickableCount() {
+        return tickables.size();
+    }
+
+    /**
+     * Gets the number of steps the engine has run.
+     *
+     * @return the current step count
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Advances the simulation by an amount of elapsed time, running one step for every whole
+     * {@link #STEP_MILLIS} that has built up. Left over time is kept for the next call.
+     *
+     * @param elapsedMillis the time that has passed since the last call, in milliseconds
+     * @return the number of steps that were run
+     */
+    public int advance(long elapsedMillis) {
+        accumulatedMillis += elapsedMillis;
+        int steps = 0;
+        while (accumulatedMillis >= STEP_MILLIS) {
+            accumulatedMillis -= STEP_MILLIS;
+            step();
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * Runs exactly one simulation step on every registered object.
+     */
+    public void step() {
+        long start = System.nanoTime();
+        FlightEvents.StatTick event = new FlightEvents.StatTick();
+        event.begin();
+        tickCount++;
+        for (Tickable tickable : tickables) {
+            tickable.tick(tickCount);
+        }
+        STEP_TIMES.recordSince(start);
+        if (event.shouldCommit()) {
+            event.tick = tickCount;
+            event.tickables = tickables.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Starts the clock thread. Due steps are handed to the publisher, which decides which thread runs them.
+     *
+     * @param publisher the executor the steps are run on (e.g. {@code Platform::runLater} for the UI)
+     */
+    public synchronized void start(Executor publisher) {
+        if (clock != null) {
+            return;
+        }
+        clock = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulation-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long[] last = { System.nanoTime() };
+        clock.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            pendingNanos.addAndGet(now - last[0]);
+            last[0] = now;
+            if (publishQueued.compareAndSet(false, true)) { /** Only queue a new batch once the previous one has run */
+                publisher.execute(this::runPending);
+            }
+        }, STEP_MILLIS, STEP_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the clock thread. Registered objects are kept so the engine can be started again.
+     */
+    public synchronized void stop() {
+        if (clock != null) {
+            clock.shutdownNow();
+            clock = null;
+        }
+    }
+
+    /**
+     * Checks whether the clock thread is running.
+     *
+     * @return true if the engine has been started and not stopped
+     */
+    public synchronized boolean isRunning() {
+        return clock != null;
+    }
+
+    /**
+     * Runs the steps measured by the clock on the publisher's thread.
+     */
+    private void runPending() {
+        publishQueued.set(false);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(pendingNanos.get());
+        pendingNanos.addAndGet(-TimeUnit.MILLISECONDS.toNanos(elapsedMillis)); /** the part of a millisecond left over counts next time */
+        long maxMillis = MAX_CATCH_UP_STEPS * STEP_MILLIS;
+        advance(Math.min(elapsedMillis, maxMillis));
+    }
+}
@@ -0,0 +1,298 @@
+package PetGame;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <b>Keeps a small summary of every save slot in one index file.</b>
+ * <p>
+ * The load and revive screens only show a one-line summary of each save, but used to open and fully parse every
+ * save file to build it. The index keeps that summary, along with the size and modification time of the save it was
+ * taken from, in a single file ({@value #DEFAULT_FILE} in the save folder) that is rewritten every time a save is
+ * written through {@link SaveService}.
+ * </p>
+ * <p>
+ * {@link #get(String)} checks the save's size and modification time against the entry (one {@code stat}, no read),
+ * and only parses the save again if the entry is missing or stale, e.g. after the file was copied in by hand.
+ * The summary is of the game as {@link SaveGame#load(String)} would load it, with the slot's {@link GameJournal}
+ * replayed on top of the save, so the size and modification time of the journal are checked as well.
+ * {@link #summaries(List)} does this for a whole list of slots and writes the index back at most once.
+ * </p>
+ *
+ * @see PetGame.SaveService
+ */
+public class SlotIndex {
+    private static final Log LOG = Log.getInstance();
+    /** Name of the index file used by the game */
+    public static final String DEFAULT_FILE = "slots.json";
+
+    /** The shared index used by the game */
+    private static SlotIndex instance;
+
+    private static final Type ENTRIES_TYPE = new TypeToken<LinkedHashMap<String, Entry>>() {}.getType();
+
+    /** The index file */
+    private final Path indexFile;
+    /** Entries keyed by save file name, in the order they were added. Guarded by this. */
+    private Map<String, Entry> entries;
+
+    /**
+     * The summary of one save slot.
+     */
+    public static class Entry {
+        public String petName;
+        public int petType;
+        public int health;
+        public int sleep;
+        public int fullness;
+        public int happiness;
+        public String state;
+        /** Modification time of the save file, in milliseconds since the epoch */
+        public long lastModified;
+        /** Size of the save file in bytes */
+        public long size;
+        /** Size of the slot's journal in bytes, -1 if it has none */
+        public long journalSize = -1;
+        /** Modification time of the slot's journal, in milliseconds since the epoch */
+        public long journalModified;
+
+        /**
+         * Builds the summary of a save.
+         *
+         * @param save the save to summarize, with its journal already replayed
+         * @param attributes the attributes of the file it is stored in
+         * @param journal the attributes of the slot's journal, or null if it has none
+         * @return the summary
+         */
+        static Entry of(SaveGame save, BasicFileAttributes attributes, BasicFileAttributes journal) {
+            Entry entry = new Entry();
+            entry.petName = save.petName;
+            entry.petType = save.petType;
+            if (save.petStats != null) {
+                entry.health = stat(save.petStats, "health");
+                entry.sleep = stat(save.petStats, "sleep");
+                entry.fullness = stat(save.petStats, "fullness");
+                entry.happiness = stat(save.petStats, "happiness");
+                entry.state = (String) save.petStats.get("state");
+            }
+            entry.lastModified = attributes.lastModifiedTime().toMillis();
+            entry.size = attributes.size();
+            entry.journalSize = journal == null ? -1 : journal.size();
+            entry.journalModified = journal == null ? 0 : journal.lastModifiedTime().toMillis();
+            return entry;
+        }
+
+        /**
+         * Checks whether this summary was taken from the files as they are now.
+         *
+         * @param attributes the current attributes of the save file
+         * @param journal the current attributes of the slot's journal, or null if it has none
+         * @return true if the sizes and modification times still match
+         */
+        boolean matches(BasicFileAttributes attributes, BasicFileAttributes journal) {
+            return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis()
+                    && journalSize == (journal == null ? -1 : journal.size())
+                    && journalModified == (journal == null ? 0 : journal.lastModifiedTime().toMillis());
+        }
+
+        private static int stat(Map<String, Object> stats, String name) {
+            Object value = stats.get(name);
+            return value instanceof Number ? ((Number) value).intValue() : 0;
+        }
+    }
+
+    /**
+     * Gets the shared index used by the game, creating it on first use.
+     *
+     * @return the shared slot index
+     */
+    public static synchronized SlotIndex getInstance() {
+        if (instance == null) {
+            instance = new SlotIndex(Path.of(SaveRepository.DEFAULT_DIRECTORY, DEFAULT_FILE));
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs an index stored in the given file. The file is read the first time an entry is needed.
+     *
+     * @param indexFile the index file
+     */
+    public SlotIndex(Path indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Gets the summary of a save slot, parsing the save only if the index has no up to date entry for it.
+     *
+     * @param filename the save file name
+     * @return the summary, or null if the file is missing or is not a valid save
+     */
+    public synchronized Entry get(String filename) {
+        Entry before = entries().get(filename);
+        Entry entry = lookup(filename);
+        if (before != entry) {
+            writeIndex();
+        }
+        return entry;
+    }
+
+    /**
+     * Gets the summaries of several save slots with a single write of the index at most.
+     *
+     * @param filenames the save file names
+     * @return the summaries in the same order, with null for missing or invalid saves
+     */
+    public synchronized List<Entry> summaries(List<String> filenames) {
+        Map<String, Entry> loaded = entries();
+        List<Entry> result = new ArrayList<>(filenames.size());
+        boolean changed = false;
+        for (String filename : filenames) {
+            Entry before = loaded.get(filename); /** lookup replaces stale entries, so compare by identity */
+            Entry entry = lookup(filename);
+            changed |= before != entry;
+            result.add(entry);
+        }
+        if (changed) {
+            writeIndex();
+        }
+        return result;
+    }
+
+    /**
+     * Records a save that was just written. Called by {@link SaveService} on its writer thread. Any events in the
+     * slot's journal that the save does not include are replayed on top of it first.
+     *
+     * @param file the file the save was written to
+     * @param save the save that was written
+     * @throws IOException if the file's attributes or the journal cannot be read
+     */
+    public synchronized void record(Path file, SaveGame save) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        BasicFileAttributes journal = journalAttributes(file);
+        SaveGame summarized = journal == null ? save : JournalReplayer.replay(save, GameJournal.read(GameJournal.journalFor(file)));
+        entries().put(file.toString(), Entry.of(summarized, attributes, journal));
+        writeIndex();
+    }
+
+    /**
+     * Forgets a save slot, e.g. after its file was deleted.
+     *
+     * @param filename the save file name
+     */
+    public synchronized void remove(String filename) {
+        if (entries().remove(filename) != null) {
+            writeIndex();
+        }
+    }
+
+    /**
+     * Gets the number of slots in the index.
+     *
+     * @return the entry count
+     */
+    public synchronized int size() {
+        return entries().size();
+    }
+
+    /**
+     * Finds an up to date entry, refreshing it from the save file if needed. Does not write the index.
+     *
+     * @param filename the save file name
+     * @return the entry, or null if the file is missing or invalid
+     */
+    private Entry lookup(String filename) {
+        Path file = Path.of(filename);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        }
+        catch (IOException e) { /** The save is gone */
+            entries.remove(filename);
+            return null;
+        }
+        BasicFileAttributes journal = journalAttributes(file);
+        Entry entry = entries.get(filename);
+        if (entry != null && entry.matches(attributes, journal)) {
+            return entry;
+        }
+        try { /** Stale or missing entry, fall back to parsing the save and replaying its journal */
+            entry = Entry.of(JournalReplayer.load(file), attributes, journal);
+            entries.put(filename, entry);
+            return entry;
+        }
+        catch (IOException e) {
+            entries.remove(filename);
+            return null;
+        }
+    }
+
+    /**
+     * Gets the attributes of a slot's journal.
+     *
+     * @param file the slot's save file
+     * @return the journal's attributes, or null if it has no journal
+     */
+    private static BasicFileAttributes journalAttributes(Path file) {
+        try {
+            return Files.readAttributes(GameJournal.journalFor(file), BasicFileAttributes.class);
+        }
+        catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the entries, reading the index file the first time. A missing or broken index starts out empty and is
+     * rebuilt from the save files as they are looked up.
+     *
+     * @return the entries
+     */
+    private Map<String, Entry> entries() {
+        if (entries == null) {
+            try {
+                entries = SaveGame.GSON.fromJson(Files.readString(indexFile, StandardCharsets.UTF_8), ENTRIES_TYPE);
+            }
+            catch (NoSuchFileException e) {
+                entries = null;
+            }
+            catch (IOException | JsonParseException e) {
+                LOG.warn("slotIndex.unreadable", "file", indexFile, "error", e.getMessage());
+                entries = null;
+            }
+            if (entries == null) {
+                entries = new LinkedHashMap<>();
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the entries back to the index file. A failed write only costs a slower next start, so it is reported
+     * and otherwise ignored.
+     */
+    private void writeIndex() {
+        try {
+            Path folder = indexFile.toAbsolutePath().getParent();
+            if (folder != null) {
+                Files.createDirectories(folder);
+            }
+            SaveService.writeAtomically(indexFile, SaveGame.GSON.toJson(entries, ENTRIES_TYPE));
+        }
+        catch (IOException e) {
+            LOG.warn("slotIndex.writeFailed", "file", indexFile, "error", e.getMessage());
+        }
+    }
+}
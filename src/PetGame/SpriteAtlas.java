@@ -0,0 +1,233 @@
+package PetGame;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+/**
+ * <b>A pet's whole sprite set packed into one image, with an index of where each frame is.</b>
+ * <p>
+ * Each pet type ships its sprites as separate PNGs, including flipped copies of the normal, hungry and angry frames.
+ * The atlas is packed the first time a pet type is played: every frame that is not a flipped copy is decoded once
+ * through the {@link SpriteCache} and copied into a single image, and the flipped paths are recorded as mirrored
+ * views of their originals. As the decoded frames stay in the cache, a sprite shown before the atlas is ready is
+ * not decoded a second time.
+ * {@link PetSprite} then shows a frame by moving its viewport and mirroring the view, so a state change or flip
+ * does no I/O and no decoding.
+ * </p>
+ *
+ * @see PetGame.PetSprite
+ */
+public class SpriteAtlas {
+    /** Widest the packed image is allowed to get before frames wrap onto a new row. */
+    private static final int MAX_WIDTH = 2048;
+
+    /** Atlases that have been packed or are being packed, keyed by the pet's regular image path */
+    private static final Map<String, CompletableFuture<SpriteAtlas>> ATLASES = new ConcurrentHashMap<>();
+    /** Background thread that packs atlases, created on first use */
+    private static ExecutorService packer;
+
+    /**
+     * Where one frame is in the atlas.
+     */
+    public static final class Frame {
+        /** The area of the atlas image holding the frame. */
+        private final Rectangle2D viewport;
+        /** Whether the frame is drawn mirrored left to right. */
+        private final boolean mirrored;
+
+        /**
+         * Constructs a frame.
+         *
+         * @param viewport the area of the atlas image holding the frame
+         * @param mirrored whether the frame is drawn mirrored left to right
+         */
+        Frame(Rectangle2D viewport, boolean mirrored) {
+            this.viewport = viewport;
+            this.mirrored = mirrored;
+        }
+
+        /**
+         * Gets the area of the atlas image holding the frame.
+         *
+         * @return the viewport to show
+         */
+        public Rectangle2D getViewport() {
+            return viewport;
+        }
+
+        /**
+         * Checks whether the frame is drawn mirrored.
+         *
+         * @return true if the view should be flipped left to right
+         */
+        public boolean isMirrored() {
+            return mirrored;
+        }
+    }
+
+    /** The packed image holding every frame */
+    private final Image image;
+    /** Frames keyed by the resource path they were packed from (or stand in for) */
+    private final Map<String, Frame> frames;
+
+    /**
+     * Constructs an atlas from an already packed image.
+     *
+     * @param image the packed image
+     * @param frames the frames keyed by resource path
+     */
+    private SpriteAtlas(Image image, Map<String, Frame> frames) {
+        this.image = image;
+        this.frames = frames;
+    }
+
+    /**
+     * Gets the atlas for a pet's sprite set, packing it on a background thread the first time it is asked for.
+     *
+     * @param pet the pet whose sprites to pack
+     * @return a future completed with the atlas
+     */
+    public static CompletableFuture<SpriteAtlas> load(Pet pet) {
+        return ATLASES.computeIfAbsent(pet.getRegularImage(), key -> CompletableFuture.supplyAsync(
+                () -> pack(framePaths(pet), mirroredPaths(pet), SpriteCache.getInstance()::get), getPacker()));
+    }
+
+    /**
+     * Gets the paths of a pet's sprites that are packed into the atlas, i.e. every sprite that is not a flipped copy.
+     *
+     * @param pet the pet
+     * @return the paths of the frames to pack
+     */
+    public static List<String> framePaths(Pet pet) {
+        return List.of(pet.getRegularImage(), pet.getHappyImage(), pet.getHungryImage(),
+                pet.getSleepImage(), pet.getAngryImage(), pet.getDeadImage());
+    }
+
+    /**
+     * Gets a pet's flipped sprites, each mapped to the sprite it is a mirror image of.
+     *
+     * @param pet the pet
+     * @return the flipped paths mapped to their original paths
+     */
+    public static Map<String, String> mirroredPaths(Pet pet) {
+        Map<String, String> mirrors = new HashMap<>();
+        mirrors.put(pet.getFlippedImage(), pet.getRegularImage());
+        mirrors.put(pet.getHungryFImage(), pet.getHungryImage());
+        mirrors.put(pet.getAngryFImage(), pet.getAngryImage());
+        return mirrors;
+    }
+
+    /**
+     * Packs a set of images into one atlas. Frames are placed left to right in rows, tallest first, and a new row is
+     * started once a row would be wider than {@link #MAX_WIDTH}.
+     *
+     * @param paths the resource paths of the frames to pack
+     * @param mirrors flipped paths mapped to the packed path they mirror
+     * @param loader gets the decoded image of a resource path, e.g. {@link SpriteCache#get(String)}
+     * @return the packed atlas
+     */
+    public static SpriteAtlas pack(List<String> paths, Map<String, String> mirrors, Function<String, Image> loader) {
+        Map<String, Image> sources = new LinkedHashMap<>();
+        for (String path : paths) {
+            sources.put(path, loader.apply(path));
+        }
+        List<String> order = new ArrayList<>(sources.keySet());
+        order.sort(Comparator.comparingDouble((String path) -> sources.get(path).getHeight()).reversed());
+
+        /** First pass lays the frames out, second pass copies the pixels once the final size is known */
+        Map<String, Rectangle2D> layout = new LinkedHashMap<>();
+        int x = 0;
+        int y = 0;
+        int rowHeight = 0;
+        int width = 0;
+        for (String path : order) {
+            Image source = sources.get(path);
+            int w = (int) source.getWidth();
+            int h = (int) source.getHeight();
+            if (x > 0 && x + w > MAX_WIDTH) {
+                x = 0;
+                y += rowHeight;
+                rowHeight = 0;
+            }
+            layout.put(path, new Rectangle2D(x, y, w, h));
+            x += w;
+            rowHeight = Math.max(rowHeight, h);
+            width = Math.max(width, x);
+        }
+        int height = y + rowHeight;
+
+        WritableImage atlas = new WritableImage(Math.max(1, width), Math.max(1, height));
+        Map<String, Frame> frames = new HashMap<>();
+        for (Map.Entry<String, Rectangle2D> entry : layout.entrySet()) {
+            Rectangle2D area = entry.getValue();
+            atlas.getPixelWriter().setPixels((int) area.getMinX(), (int) area.getMinY(),
+                    (int) area.getWidth(), (int) area.getHeight(),
+                    sources.get(entry.getKey()).getPixelReader(), 0, 0);
+            frames.put(entry.getKey(), new Frame(area, false));
+        }
+        for (Map.Entry<String, String> mirror : mirrors.entrySet()) {
+            Frame original = frames.get(mirror.getValue());
+            if (original != null) {
+                frames.put(mirror.getKey(), new Frame(original.getViewport(), true));
+            }
+        }
+        return new SpriteAtlas(atlas, frames);
+    }
+
+    /**
+     * Gets the packed image holding every frame.
+     *
+     * @return the atlas image
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Gets a frame by the resource path of the sprite it replaces.
+     *
+     * @param path the resource path of the sprite
+     * @return the frame, or {@code null} if the sprite is not in this atlas
+     */
+    public Frame getFrame(String path) {
+        return frames.get(path);
+    }
+
+    /**
+     * Gets the number of sprite paths this atlas can show, including mirrored ones.
+     *
+     * @return the number of frames
+     */
+    public int getFrameCount() {
+        return frames.size();
+    }
+
+    /**
+     * Gets the packing thread, creating it on first use.
+     *
+     * @return the packing executor
+     */
+    private static synchronized ExecutorService getPacker() {
+        if (packer == null) {
+            packer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "sprite-atlas");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return packer;
+    }
+}
@@ -0,0 +1,172 @@
+package PetGame;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javafx.scene.image.Image;
+
+/**
+ * <b>Cache of decoded pet and item images, keyed by resource path.</b>
+ * <p>
+ * Every sprite change used to construct a new {@link Image}, decoding the same PNG again each time the pet flipped
+ * or changed state. This cache decodes each resource once and hands back the same {@code Image} afterwards.
+ * A pet's sprites are decoded into it on a background thread when its {@link SpriteAtlas} is packed, so the first
+ * state change does not stall the FX thread. Hit, miss and decode time counters are kept so the cache can be checked.
+ * </p>
+ *
+ * @see PetGame.Game#startGame
+ */
+public class SpriteCache {
+    /** Time taken by each image decode, shared with the backgrounds */
+    private static final LatencyHistogram DECODE_TIMES = Metrics.getInstance().histogram("image.decode");
+    /** The shared cache used by the game */
+    private static SpriteCache instance;
+
+    /** Decoded images, keyed by resource path */
+    private final Map<String, Image> images = new ConcurrentHashMap<>();
+    /** Turns a resource path into a decoded image */
+    private final Function<String, Image> decoder;
+    /** Number of lookups answered from the cache */
+    private final AtomicLong hits = new AtomicLong();
+    /** Number of lookups that needed the image to be decoded */
+    private final AtomicLong misses = new AtomicLong();
+    /** Total time spent decoding images, in nanoseconds */
+    private final AtomicLong decodeNanos = new AtomicLong();
+
+    /**
+     * Gets the shared cache used by the game, creating it on first use.
+     *
+     * @return the shared cache
+     */
+    public static synchronized SpriteCache getInstance() {
+        if (instance == null) {
+            instance = new SpriteCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs a cache that loads images from the game's resources.
+     */
+    public SpriteCache() {
+        this(path -> new Image(SpriteCache.class.getResource(path).toExternalForm()));
+    }
+
+    /**
+     * Constructs a cache with a custom decoder, e.g. for tests that cannot load resources.
+     *
+     * @param decoder turns a resource path into a decoded image
+     */
+    public SpriteCache(Function<String, Image> decoder) {
+        this.decoder = decoder;
+    }
+
+    /**
+     * Gets the image at a resource path, decoding it if it has not been loaded yet.
+     *
+     * @param path the resource path of the image (e.g. "/images/blueSprite/BNormal.png")
+     * @return the decoded image
+     */
+    public Image get(String path) {
+        Image image = images.get(path);
+        if (image != null) {
+            hits.incrementAndGet();
+            return image;
+        }
+        return images.computeIfAbsent(path, this::decode);
+    }
+
+    /**
+     * Checks whether an image has already been decoded, without loading it.
+     *
+     * @param path the resource path of the image
+     * @return true if the image is in the cache
+     */
+    public boolean contains(String path) {
+        return images.containsKey(path);
+    }
+
+    /**
+     * Gets the number of lookups that were answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of images that had to be decoded, including those decoded for an atlas.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the total time spent decoding images.
+     *
+     * @return the decode time in nanoseconds
+     */
+    public long getDecodeNanos() {
+        return decodeNanos.get();
+    }
+
+    /**
+     * Gets the number of images currently cached.
+     *
+     * @return the cache size
+     */
+    public int size() {
+        return images.size();
+    }
+
+    /**
+     * Removes every cached image and resets the counters.
+     */
+    public void clear() {
+        images.clear();
+        hits.set(0);
+        misses.set(0);
+        decodeNanos.set(0);
+    }
+
+    /**
+     * Decodes one image, counting it as a miss and timing the decode.
+     *
+     * @param path the resource path of the image
+     * @return the decoded image
+     */
+    private Image decode(String path) {
+        misses.incrementAndGet();
+        long start = System.nanoTime();
+        FlightEvents.ImageDecode event = new FlightEvents.ImageDecode();
+        event.begin();
+        Image image = decoder.apply(path);
+        long nanos = System.nanoTime() - start;
+        decodeNanos.addAndGet(nanos);
+        DECODE_TIMES.record(nanos);
+        recordDecode(event, path, image);
+        return image;
+    }
+
+    /**
+     * Records an image decode with the flight recorder, if it is recording. Also used by {@link Backgrounds}.
+     *
+     * @param event the event begun before the decode
+     * @param path the resource path of the image
+     * @param image the decoded image
+     */
+    static void recordDecode(FlightEvents.ImageDecode event, String path, Image image) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.path = path;
+            event.width = (int) image.getWidth();
+            event.height = (int) image.getHeight();
+            event.commit();
+        }
+    }
+}
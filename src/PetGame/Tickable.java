@@ -0,0 +1,20 @@
+package PetGame;
+
+/**
+ * <b>Represents anything that is advanced by the {@link SimulationEngine}.</b>
+ * <p>
+ * Implementations are called once per fixed simulation step and decide for themselves
+ * which steps they act on (for example, every fifth step for stat decay).
+ * </p>
+ *
+ * @see PetGame.SimulationEngine
+ */
+public interface Tickable {
+
+    /**
+     * Advances this object by one simulation step.
+     *
+     * @param tick the number of the step being run, starting at 1 and increasing by one each step
+     */
+    void tick(long tick);
+}
@@ -4,7 +4,6 @@ import java.io.IOException;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -27,10 +26,10 @@ public class Tutorial extends MainController {
      * @throws IOException If the FXML file for the tutorial screen cannot be loaded.
      */
     public void goToTutorial(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/TutorialScreen.fxml"));
-        Scene scene = new Scene(loader.load());
+        Navigator.Screen screen = Navigator.getInstance().load("FXML_Files/TutorialScreen.fxml");
+        Scene scene = screen.getScene();
     
-        TutorialController controller = loader.getController();
+        TutorialController controller = screen.getController();
         controller.setPreScene(tutorialButton.getScene());
 
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
@@ -45,10 +44,10 @@ public class Tutorial extends MainController {
      * @throws IOException If the FXML file for the help screen cannot be loaded.
      */
     public void goToHelp(ActionEvent event) throws IOException {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("FXML_Files/Help.fxml"));
-        Scene scene = new Scene(loader.load());
+        Navigator.Screen screen = Navigator.getInstance().load("FXML_Files/Help.fxml");
+        Scene scene = screen.getScene();
     
-        HelpController controller = loader.getController();
+        HelpController controller = screen.getController();
         controller.setPreScene(helpButton.getScene());
 
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();